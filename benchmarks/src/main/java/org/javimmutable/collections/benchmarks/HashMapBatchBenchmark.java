@@ -0,0 +1,116 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.hash.JImmutableHashMap;
+import org.javimmutable.collections.util.JImmutables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies a batch of changes to a large existing hash map either one persistent
+ * assign() at a time or through a transient JImmutableHashMap.Editor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HashMapBatchBenchmark
+{
+    @Param({"100000", "1000000"})
+    public int size;
+
+    @Param({"1000", "100000"})
+    public int batchSize;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    public KeyDistribution keys;
+
+    private JImmutableHashMap<?, Integer, Integer> map;
+    private int[] batch;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp()
+    {
+        final int[] present = keys.keys(size);
+        final int[] missing = keys.missingKeys(present, batchSize / 2);
+        final JImmutableMap.Builder<Integer, Integer> builder = JImmutables.mapBuilder();
+        for (int key : present) {
+            builder.add(key, key);
+        }
+        map = (JImmutableHashMap<?, Integer, Integer>)builder.build();
+        batch = new int[batchSize];
+        for (int i = 0; i < batchSize; ++i) {
+            batch[i] = (i % 2 == 0) ? present[i] : missing[i / 2];
+        }
+    }
+
+    @Benchmark
+    public Object assignLoop()
+    {
+        JImmutableMap<Integer, Integer> answer = map;
+        for (int i = 0; i < batch.length; ++i) {
+            answer = answer.assign(batch[i], i);
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public Object editor()
+    {
+        final JImmutableHashMap.Editor<Integer, Integer> editor = map.edit();
+        for (int i = 0; i < batch.length; ++i) {
+            editor.assign(batch[i], i);
+        }
+        return editor.freeze();
+    }
+}
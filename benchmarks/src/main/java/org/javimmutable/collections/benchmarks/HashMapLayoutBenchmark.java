@@ -0,0 +1,159 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.benchmarks;
+
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.util.JImmutables;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the HAMT layout used by JImmutableHashMap with the CHAMP layout used by
+ * JImmutableChampMap.  The footprint benchmark walks the loaded map's object graph and
+ * reports the retained bytes and object count as secondary results.  Both layouts
+ * hold the same Integer keys and values so differences come from the tries themselves.
+ * The equal benchmark compares two separately built maps holding the same entries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HashMapLayoutBenchmark
+{
+    @Param({"hamt", "champ"})
+    public String layout;
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    public KeyDistribution keys;
+
+    private int[] present;
+    private int[] missing;
+    private JImmutableMap<Integer, Integer> map;
+    private JImmutableMap<Integer, Integer> copy;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint
+    {
+        public long bytes;
+        public long objects;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        present = keys.keys(size);
+        missing = keys.missingKeys(present, size);
+        map = buildMap();
+        copy = buildMap();
+    }
+
+    @Benchmark
+    public Object build()
+    {
+        return buildMap();
+    }
+
+    @Benchmark
+    public void getPresent(Blackhole bh)
+    {
+        for (int key : present) {
+            bh.consume(map.getValueOr(key, null));
+        }
+    }
+
+    @Benchmark
+    public void getMissing(Blackhole bh)
+    {
+        for (int key : missing) {
+            bh.consume(map.getValueOr(key, null));
+        }
+    }
+
+    @Benchmark
+    public long iterate()
+    {
+        long sum = 0;
+        for (JImmutableMap.Entry<Integer, Integer> e : map) {
+            sum += e.getValue();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public boolean equal()
+    {
+        return map.equals(copy);
+    }
+
+    @Benchmark
+    public void footprint(Footprint footprint)
+    {
+        final GraphLayout graph = GraphLayout.parseInstance(map);
+        footprint.bytes = graph.totalSize();
+        footprint.objects = graph.totalCount();
+    }
+
+    private JImmutableMap<Integer, Integer> buildMap()
+    {
+        final JImmutableMap.Builder<Integer, Integer> builder = layout.equals("champ") ? JImmutables.champMapBuilder() : JImmutables.mapBuilder();
+        for (int key : present) {
+            builder.add(key, key);
+        }
+        return builder.build();
+    }
+}
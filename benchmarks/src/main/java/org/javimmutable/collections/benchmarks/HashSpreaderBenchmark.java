@@ -0,0 +1,166 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.hash.HashSpreader;
+import org.javimmutable.collections.hash.JImmutableHashMap;
+import org.javimmutable.collections.util.JImmutables;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares hash maps using the identity HashSpreader with maps mixing their hash codes
+ * for each of the key distributions.  Strided keys only differ in their high bits so
+ * without mixing they produce a deep trie.  The depth benchmark reports the maximum and
+ * mean node depth of the loaded map as secondary results and the trial setup prints the
+ * number of nodes at each depth.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HashSpreaderBenchmark
+{
+    @Param({"IDENTITY", "MIXING"})
+    public String spreader;
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "STRIDED", "RANDOM"})
+    public KeyDistribution keys;
+
+    private HashSpreader hashSpreader;
+    private int[] present;
+    private int[] missing;
+    private JImmutableMap<Integer, Integer> map;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Depth
+    {
+        public long maxDepth;
+        public double meanDepth;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        hashSpreader = spreader.equals("MIXING") ? HashSpreader.mixing() : HashSpreader.identity();
+        present = keys.keys(size);
+        missing = keys.missingKeys(present, size);
+        map = buildMap();
+        System.out.printf("%n%s %s nodes per depth: %s%n", spreader, keys, statistics().getDepthCounts());
+    }
+
+    @Benchmark
+    public Object build()
+    {
+        return buildMap();
+    }
+
+    @Benchmark
+    public Object assign()
+    {
+        JImmutableMap<Integer, Integer> answer = JImmutables.map(hashSpreader);
+        for (int key : present) {
+            answer = answer.assign(key, key);
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public void getPresent(Blackhole bh)
+    {
+        for (int key : present) {
+            bh.consume(map.getValueOr(key, null));
+        }
+    }
+
+    @Benchmark
+    public void getMissing(Blackhole bh)
+    {
+        for (int key : missing) {
+            bh.consume(map.getValueOr(key, null));
+        }
+    }
+
+    @Benchmark
+    public void depth(Depth depth)
+    {
+        final StructureStatistics stats = statistics();
+        final List<Integer> counts = stats.getDepthCounts();
+        long depthSum = 0;
+        for (int i = 0; i < counts.size(); ++i) {
+            depthSum += (long)i * counts.get(i);
+        }
+        depth.maxDepth = stats.getMaxDepth();
+        depth.meanDepth = (double)depthSum / stats.getNodeCount();
+    }
+
+    private StructureStatistics statistics()
+    {
+        return ((JImmutableHashMap<?, Integer, Integer>)map).getStatistics();
+    }
+
+    private JImmutableMap<Integer, Integer> buildMap()
+    {
+        final JImmutableMap.Builder<Integer, Integer> builder = JImmutables.mapBuilder(hashSpreader);
+        for (int key : present) {
+            builder.add(key, key);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,126 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.hash.JImmutableIntHashMap;
+import org.javimmutable.collections.util.JImmutables;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares JImmutableIntHashMap's primitive methods with a JImmutableHashMap using
+ * boxed Integer keys.  Run with -prof gc to compare allocation rates.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class IntHashMapBenchmark
+{
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"SEQUENTIAL", "RANDOM"})
+    public KeyDistribution keys;
+
+    private int[] present;
+    private JImmutableMap<Integer, Integer> boxedMap;
+    private JImmutableIntHashMap<Integer> intMap;
+
+    @Setup(Level.Trial)
+    public void setUp()
+    {
+        present = keys.keys(size);
+        boxedMap = JImmutables.map();
+        intMap = JImmutables.intMap();
+        for (int key : present) {
+            boxedMap = boxedMap.assign(key, key);
+            intMap = intMap.assign(key, Integer.valueOf(key));
+        }
+    }
+
+    @Benchmark
+    public void boxedGet(Blackhole bh)
+    {
+        for (int key : present) {
+            bh.consume(boxedMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public void intGet(Blackhole bh)
+    {
+        for (int key : present) {
+            bh.consume(intMap.get(key));
+        }
+    }
+
+    @Benchmark
+    public Object boxedAssign()
+    {
+        JImmutableMap<Integer, Integer> answer = JImmutables.map();
+        for (int key : present) {
+            answer = answer.assign(key, key);
+        }
+        return answer;
+    }
+
+    @Benchmark
+    public Object intAssign()
+    {
+        JImmutableIntHashMap<Integer> answer = JImmutables.intMap();
+        for (int key : present) {
+            answer = answer.assign(key, Integer.valueOf(key));
+        }
+        return answer;
+    }
+}
@@ -0,0 +1,141 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import javax.annotation.Nonnull;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Shapes of integer keys used to load collections in the benchmarks.  Sequential
+ * and strided keys have poorly dispersed hash codes (Integer.hashCode() is the
+ * value itself) while random keys approximate a well behaved hash function.
+ */
+public enum KeyDistribution
+{
+    /**
+     * 0, 1, 2, ... size-1
+     */
+    SEQUENTIAL
+        {
+            @Override
+            int key(@Nonnull Random random,
+                    int index)
+            {
+                return index;
+            }
+        },
+    /**
+     * Uniformly distributed non-negative random ints.
+     */
+    RANDOM
+        {
+            @Override
+            int key(@Nonnull Random random,
+                    int index)
+            {
+                return random.nextInt(Integer.MAX_VALUE);
+            }
+        },
+    /**
+     * Multiples of 1024, i.e. ids whose low ten bits are always zero.
+     */
+    STRIDED
+        {
+            @Override
+            int key(@Nonnull Random random,
+                    int index)
+            {
+                return index << 10;
+            }
+        };
+
+    private static final long SEED = 20190401L;
+
+    abstract int key(@Nonnull Random random,
+                     int index);
+
+    /**
+     * Produces size distinct keys in a repeatable order.  The order is shuffled so that
+     * benchmarks cycling through the array do not simply walk the structure in order.
+     */
+    @Nonnull
+    public int[] keys(int size)
+    {
+        final Random random = new Random(SEED);
+        final Set<Integer> seen = new HashSet<>();
+        final int[] answer = new int[size];
+        int index = 0;
+        while (index < size) {
+            final int key = key(random, index);
+            if (seen.add(key)) {
+                answer[index++] = key;
+            }
+        }
+        for (int i = size - 1; i > 0; --i) {
+            final int j = random.nextInt(i + 1);
+            final int temp = answer[i];
+            answer[i] = answer[j];
+            answer[j] = temp;
+        }
+        return answer;
+    }
+
+    /**
+     * Produces count keys drawn from the same distribution that are not contained in keys.
+     */
+    @Nonnull
+    public int[] missingKeys(@Nonnull int[] keys,
+                             int count)
+    {
+        final Set<Integer> present = new HashSet<>();
+        for (int key : keys) {
+            present.add(key);
+        }
+        final Random random = new Random(SEED + 1);
+        final int[] answer = new int[count];
+        int index = 0;
+        int candidate = keys.length;
+        while (index < count) {
+            final int key = key(random, candidate++);
+            if (!present.contains(key)) {
+                answer[index++] = key;
+            }
+        }
+        return answer;
+    }
+}
@@ -0,0 +1,281 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import com.google.common.collect.ImmutableList;
+import org.javimmutable.collections.JImmutableList;
+import org.javimmutable.collections.util.JImmutables;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uniform facade over the list-like collections being compared.  Follows the same
+ * conventions as MapTarget: mutable baselines undo their changes so the loaded list
+ * keeps a stable size and Guava lists are copied for every update.
+ */
+abstract class ListTarget
+{
+    abstract void load(int size);
+
+    abstract Object get(int index);
+
+    abstract Object assign(int index,
+                           int value);
+
+    abstract Object insertFirst(int value);
+
+    abstract Object insertLast(int value);
+
+    abstract Object deleteLast();
+
+    abstract long iterate();
+
+    abstract Object build(int size);
+
+    @Nonnull
+    static ListTarget create(@Nonnull String name)
+    {
+        switch (name) {
+            case "list":
+                return new Persistent();
+            case "java.ArrayList":
+                return new Mutable();
+            case "guava.ImmutableList":
+                return new Guava();
+            default:
+                throw new IllegalArgumentException("unknown list implementation: " + name);
+        }
+    }
+
+    private static class Persistent
+        extends ListTarget
+    {
+        private JImmutableList<Integer> list;
+
+        @Override
+        void load(int size)
+        {
+            list = build(size);
+        }
+
+        @Override
+        Object get(int index)
+        {
+            return list.get(index);
+        }
+
+        @Override
+        Object assign(int index,
+                      int value)
+        {
+            return list.assign(index, value);
+        }
+
+        @Override
+        Object insertFirst(int value)
+        {
+            return list.insertFirst(value);
+        }
+
+        @Override
+        Object insertLast(int value)
+        {
+            return list.insertLast(value);
+        }
+
+        @Override
+        Object deleteLast()
+        {
+            return list.deleteLast();
+        }
+
+        @Override
+        long iterate()
+        {
+            long sum = 0;
+            for (Integer value : list) {
+                sum += value;
+            }
+            return sum;
+        }
+
+        @Override
+        JImmutableList<Integer> build(int size)
+        {
+            final JImmutableList.Builder<Integer> builder = JImmutables.listBuilder();
+            for (int i = 0; i < size; ++i) {
+                builder.add(i);
+            }
+            return builder.build();
+        }
+    }
+
+    private static class Mutable
+        extends ListTarget
+    {
+        private List<Integer> list;
+
+        @Override
+        void load(int size)
+        {
+            list = build(size);
+        }
+
+        @Override
+        Object get(int index)
+        {
+            return list.get(index);
+        }
+
+        @Override
+        Object assign(int index,
+                      int value)
+        {
+            return list.set(index, value);
+        }
+
+        @Override
+        Object insertFirst(int value)
+        {
+            list.add(0, value);
+            return list.remove(0);
+        }
+
+        @Override
+        Object insertLast(int value)
+        {
+            list.add(value);
+            return list.remove(list.size() - 1);
+        }
+
+        @Override
+        Object deleteLast()
+        {
+            final Integer value = list.remove(list.size() - 1);
+            list.add(value);
+            return value;
+        }
+
+        @Override
+        long iterate()
+        {
+            long sum = 0;
+            for (Integer value : list) {
+                sum += value;
+            }
+            return sum;
+        }
+
+        @Override
+        List<Integer> build(int size)
+        {
+            final List<Integer> answer = new ArrayList<>(size);
+            for (int i = 0; i < size; ++i) {
+                answer.add(i);
+            }
+            return answer;
+        }
+    }
+
+    private static class Guava
+        extends ListTarget
+    {
+        private ImmutableList<Integer> list;
+
+        @Override
+        void load(int size)
+        {
+            list = build(size);
+        }
+
+        @Override
+        Object get(int index)
+        {
+            return list.get(index);
+        }
+
+        @Override
+        Object assign(int index,
+                      int value)
+        {
+            final ImmutableList.Builder<Integer> builder = ImmutableList.builder();
+            builder.addAll(list.subList(0, index));
+            builder.add(value);
+            builder.addAll(list.subList(index + 1, list.size()));
+            return builder.build();
+        }
+
+        @Override
+        Object insertFirst(int value)
+        {
+            return ImmutableList.<Integer>builder().add(value).addAll(list).build();
+        }
+
+        @Override
+        Object insertLast(int value)
+        {
+            return ImmutableList.<Integer>builder().addAll(list).add(value).build();
+        }
+
+        @Override
+        Object deleteLast()
+        {
+            return list.subList(0, list.size() - 1);
+        }
+
+        @Override
+        long iterate()
+        {
+            long sum = 0;
+            for (Integer value : list) {
+                sum += value;
+            }
+            return sum;
+        }
+
+        @Override
+        ImmutableList<Integer> build(int size)
+        {
+            final ImmutableList.Builder<Integer> builder = ImmutableList.builder();
+            for (int i = 0; i < size; ++i) {
+                builder.add(i);
+            }
+            return builder.build();
+        }
+    }
+}
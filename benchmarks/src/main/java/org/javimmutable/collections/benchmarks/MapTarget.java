@@ -0,0 +1,333 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import com.google.common.collect.ImmutableMap;
+import org.javimmutable.collections.JImmutableArray;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.util.JImmutables;
+
+import javax.annotation.Nonnull;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Uniform facade over the map-like collections being compared so that a single
+ * parameterized benchmark class can drive all of them.  The persistent implementations
+ * return a new version from assign() and delete() and leave the loaded map untouched.
+ * The mutable java.util baselines modify the loaded map in place, so they undo any
+ * insert or delete afterwards to keep the map size stable between invocations.
+ * Guava's ImmutableMap has no update methods so assign() and delete() copy the map.
+ */
+abstract class MapTarget
+{
+    abstract void load(@Nonnull int[] keys);
+
+    abstract Object get(int key);
+
+    abstract Object assign(int key,
+                           int value);
+
+    abstract Object delete(int key);
+
+    abstract long iterate();
+
+    abstract Object build(@Nonnull int[] keys);
+
+    @Nonnull
+    static MapTarget create(@Nonnull String name)
+    {
+        switch (name) {
+            case "hash":
+                return new Persistent(JImmutables::mapBuilder);
+            case "champ":
+                return new Persistent(JImmutables::champMapBuilder);
+            case "tree":
+                return new Persistent(JImmutables::sortedMapBuilder);
+            case "insertOrder":
+                return new Persistent(JImmutables::insertOrderMapBuilder);
+            case "array":
+                return new Array();
+            case "java.HashMap":
+                return new Mutable(HashMap::new);
+            case "java.TreeMap":
+                return new Mutable(TreeMap::new);
+            case "guava.ImmutableMap":
+                return new Guava();
+            default:
+                throw new IllegalArgumentException("unknown map implementation: " + name);
+        }
+    }
+
+    private static class Persistent
+        extends MapTarget
+    {
+        private final Supplier<JImmutableMap.Builder<Integer, Integer>> builderFactory;
+        private JImmutableMap<Integer, Integer> map;
+
+        private Persistent(@Nonnull Supplier<JImmutableMap.Builder<Integer, Integer>> builderFactory)
+        {
+            this.builderFactory = builderFactory;
+        }
+
+        @Override
+        void load(@Nonnull int[] keys)
+        {
+            map = build(keys);
+        }
+
+        @Override
+        Object get(int key)
+        {
+            return map.getValueOr(key, null);
+        }
+
+        @Override
+        Object assign(int key,
+                      int value)
+        {
+            return map.assign(key, value);
+        }
+
+        @Override
+        Object delete(int key)
+        {
+            return map.delete(key);
+        }
+
+        @Override
+        long iterate()
+        {
+            long sum = 0;
+            for (JImmutableMap.Entry<Integer, Integer> e : map) {
+                sum += e.getValue();
+            }
+            return sum;
+        }
+
+        @Override
+        JImmutableMap<Integer, Integer> build(@Nonnull int[] keys)
+        {
+            final JImmutableMap.Builder<Integer, Integer> builder = builderFactory.get();
+            for (int key : keys) {
+                builder.add(key, key);
+            }
+            return builder.build();
+        }
+    }
+
+    private static class Array
+        extends MapTarget
+    {
+        private JImmutableArray<Integer> array;
+
+        @Override
+        void load(@Nonnull int[] keys)
+        {
+            array = build(keys);
+        }
+
+        @Override
+        Object get(int key)
+        {
+            return array.getValueOr(key, null);
+        }
+
+        @Override
+        Object assign(int key,
+                      int value)
+        {
+            return array.assign(key, value);
+        }
+
+        @Override
+        Object delete(int key)
+        {
+            return array.delete(key);
+        }
+
+        @Override
+        long iterate()
+        {
+            long sum = 0;
+            for (JImmutableMap.Entry<Integer, Integer> e : array) {
+                sum += e.getValue();
+            }
+            return sum;
+        }
+
+        @Override
+        JImmutableArray<Integer> build(@Nonnull int[] keys)
+        {
+            JImmutableArray<Integer> answer = JImmutables.array();
+            for (int key : keys) {
+                answer = answer.assign(key, key);
+            }
+            return answer;
+        }
+    }
+
+    private static class Mutable
+        extends MapTarget
+    {
+        private final Supplier<Map<Integer, Integer>> mapFactory;
+        private Map<Integer, Integer> map;
+
+        private Mutable(@Nonnull Supplier<Map<Integer, Integer>> mapFactory)
+        {
+            this.mapFactory = mapFactory;
+        }
+
+        @Override
+        void load(@Nonnull int[] keys)
+        {
+            map = build(keys);
+        }
+
+        @Override
+        Object get(int key)
+        {
+            return map.get(key);
+        }
+
+        @Override
+        Object assign(int key,
+                      int value)
+        {
+            final Integer previous = map.put(key, value);
+            if (previous == null) {
+                map.remove(key);
+            }
+            return previous;
+        }
+
+        @Override
+        Object delete(int key)
+        {
+            final Integer value = map.remove(key);
+            if (value != null) {
+                map.put(key, value);
+            }
+            return value;
+        }
+
+        @Override
+        long iterate()
+        {
+            long sum = 0;
+            for (Map.Entry<Integer, Integer> e : map.entrySet()) {
+                sum += e.getValue();
+            }
+            return sum;
+        }
+
+        @Override
+        Map<Integer, Integer> build(@Nonnull int[] keys)
+        {
+            final Map<Integer, Integer> answer = mapFactory.get();
+            for (int key : keys) {
+                answer.put(key, key);
+            }
+            return answer;
+        }
+    }
+
+    private static class Guava
+        extends MapTarget
+    {
+        private ImmutableMap<Integer, Integer> map;
+
+        @Override
+        void load(@Nonnull int[] keys)
+        {
+            map = build(keys);
+        }
+
+        @Override
+        Object get(int key)
+        {
+            return map.get(key);
+        }
+
+        @Override
+        Object assign(int key,
+                      int value)
+        {
+            final ImmutableMap.Builder<Integer, Integer> builder = ImmutableMap.builder();
+            for (Map.Entry<Integer, Integer> e : map.entrySet()) {
+                if (e.getKey() != key) {
+                    builder.put(e);
+                }
+            }
+            builder.put(key, value);
+            return builder.build();
+        }
+
+        @Override
+        Object delete(int key)
+        {
+            final ImmutableMap.Builder<Integer, Integer> builder = ImmutableMap.builder();
+            for (Map.Entry<Integer, Integer> e : map.entrySet()) {
+                if (e.getKey() != key) {
+                    builder.put(e);
+                }
+            }
+            return builder.build();
+        }
+
+        @Override
+        long iterate()
+        {
+            long sum = 0;
+            for (Map.Entry<Integer, Integer> e : map.entrySet()) {
+                sum += e.getValue();
+            }
+            return sum;
+        }
+
+        @Override
+        ImmutableMap<Integer, Integer> build(@Nonnull int[] keys)
+        {
+            final ImmutableMap.Builder<Integer, Integer> builder = ImmutableMap.builder();
+            for (int key : keys) {
+                builder.put(key, key);
+            }
+            return builder.build();
+        }
+    }
+}
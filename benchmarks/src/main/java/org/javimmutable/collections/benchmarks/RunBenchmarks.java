@@ -33,47 +33,44 @@
 // (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
 // OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
-package org.javimmutable.collections.listmap;
+package org.javimmutable.collections.benchmarks;
 
-import org.javimmutable.collections.JImmutableListMap;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
 
-import java.util.Random;
-
-public final class ListMapTimingLoop
+/**
+ * Entry point for benchmarks.jar.  Accepts the standard JMH command line but
+ * writes results in JSON to jmh-result.json unless -rf or -rff are given.
+ */
+public final class RunBenchmarks
 {
-    private ListMapTimingLoop()
+    private RunBenchmarks()
     {
     }
 
-    public static void main(String[] args)
+    public static void main(String[] argv)
+        throws Exception
     {
-        final int maxLoops = 25000000;
-        final int maxKey = 75000;
-        final int maxValue = 999999999;
-        Random random = new Random(1000);
-        int adds = 0;
-        int removes = 0;
-        int gets = 0;
-        long startPer = System.currentTimeMillis();
-        JImmutableListMap<Integer, Integer> map = JImmutableHashListMap.of();
-        for (int i = 1; i <= maxLoops; ++i) {
-            int command = 1 + random.nextInt(12);
-            if (command <= 6) {
-                Integer key = random.nextInt(maxKey);
-                Integer value = random.nextInt(maxValue);
-                map = map.insert(key, value);
-                adds += 1;
-            } else if (command <= 7) {
-                Integer key = random.nextInt(maxKey);
-                map = map.delete(key);
-                removes += 1;
-            } else {
-                Integer key = random.nextInt(maxKey);
-                map.find(key);
-                gets += 1;
-            }
+        final CommandLineOptions commandLine = new CommandLineOptions(argv);
+        if (commandLine.shouldHelp()) {
+            commandLine.showHelp();
+            return;
+        }
+        final ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            options.result("jmh-result.json");
+        }
+        final Runner runner = new Runner(options.build());
+        if (commandLine.shouldList()) {
+            runner.list();
+        } else {
+            runner.run();
         }
-        long endPer = System.currentTimeMillis();
-        System.out.printf("phm size %d adds %d removes %d gets %d elapsed %d%n", map.size(), adds, removes, gets, (endPer - startPer));
     }
 }
@@ -0,0 +1,284 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.benchmarks;
+
+import com.google.common.collect.ImmutableSet;
+import org.javimmutable.collections.JImmutableSet;
+import org.javimmutable.collections.util.JImmutables;
+
+import javax.annotation.Nonnull;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Uniform facade over the set-like collections being compared.  Follows the same
+ * conventions as MapTarget for the mutable and Guava baselines.
+ */
+abstract class SetTarget
+{
+    abstract void load(@Nonnull int[] keys);
+
+    abstract boolean contains(int key);
+
+    abstract Object insert(int key);
+
+    abstract Object delete(int key);
+
+    abstract long iterate();
+
+    abstract Object build(@Nonnull int[] keys);
+
+    @Nonnull
+    static SetTarget create(@Nonnull String name)
+    {
+        switch (name) {
+            case "hash":
+                return new Persistent(keys -> viaBuilder(JImmutables.setBuilder(), keys));
+            case "tree":
+                return new Persistent(keys -> viaBuilder(JImmutables.sortedSetBuilder(), keys));
+            case "insertOrder":
+                return new Persistent(keys -> viaBuilder(JImmutables.insertOrderSetBuilder(), keys));
+            case "hashMultiset":
+                return new Persistent(keys -> viaInsert(JImmutables.multiset(), keys));
+            case "treeMultiset":
+                return new Persistent(keys -> viaInsert(JImmutables.sortedMultiset(), keys));
+            case "insertOrderMultiset":
+                return new Persistent(keys -> viaInsert(JImmutables.insertOrderMultiset(), keys));
+            case "java.HashSet":
+                return new Mutable(HashSet::new);
+            case "java.TreeSet":
+                return new Mutable(TreeSet::new);
+            case "guava.ImmutableSet":
+                return new Guava();
+            default:
+                throw new IllegalArgumentException("unknown set implementation: " + name);
+        }
+    }
+
+    @Nonnull
+    private static JImmutableSet<Integer> viaBuilder(@Nonnull JImmutableSet.Builder<Integer> builder,
+                                                     @Nonnull int[] keys)
+    {
+        for (int key : keys) {
+            builder.add(key);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Multisets have no builders so they are loaded one value at a time.
+     */
+    @Nonnull
+    private static JImmutableSet<Integer> viaInsert(@Nonnull JImmutableSet<Integer> set,
+                                                    @Nonnull int[] keys)
+    {
+        for (int key : keys) {
+            set = set.insert(key);
+        }
+        return set;
+    }
+
+    private static class Persistent
+        extends SetTarget
+    {
+        private final Function<int[], JImmutableSet<Integer>> factory;
+        private JImmutableSet<Integer> set;
+
+        private Persistent(@Nonnull Function<int[], JImmutableSet<Integer>> factory)
+        {
+            this.factory = factory;
+        }
+
+        @Override
+        void load(@Nonnull int[] keys)
+        {
+            set = build(keys);
+        }
+
+        @Override
+        boolean contains(int key)
+        {
+            return set.contains(key);
+        }
+
+        @Override
+        Object insert(int key)
+        {
+            return set.insert(key);
+        }
+
+        @Override
+        Object delete(int key)
+        {
+            return set.delete(key);
+        }
+
+        @Override
+        long iterate()
+        {
+            long sum = 0;
+            for (Integer value : set) {
+                sum += value;
+            }
+            return sum;
+        }
+
+        @Override
+        JImmutableSet<Integer> build(@Nonnull int[] keys)
+        {
+            return factory.apply(keys);
+        }
+    }
+
+    private static class Mutable
+        extends SetTarget
+    {
+        private final Supplier<Set<Integer>> setFactory;
+        private Set<Integer> set;
+
+        private Mutable(@Nonnull Supplier<Set<Integer>> setFactory)
+        {
+            this.setFactory = setFactory;
+        }
+
+        @Override
+        void load(@Nonnull int[] keys)
+        {
+            set = build(keys);
+        }
+
+        @Override
+        boolean contains(int key)
+        {
+            return set.contains(key);
+        }
+
+        @Override
+        Object insert(int key)
+        {
+            return set.add(key);
+        }
+
+        @Override
+        Object delete(int key)
+        {
+            final boolean removed = set.remove(key);
+            if (removed) {
+                set.add(key);
+            }
+            return removed;
+        }
+
+        @Override
+        long iterate()
+        {
+            long sum = 0;
+            for (Integer value : set) {
+                sum += value;
+            }
+            return sum;
+        }
+
+        @Override
+        Set<Integer> build(@Nonnull int[] keys)
+        {
+            final Set<Integer> answer = setFactory.get();
+            for (int key : keys) {
+                answer.add(key);
+            }
+            return answer;
+        }
+    }
+
+    private static class Guava
+        extends SetTarget
+    {
+        private ImmutableSet<Integer> set;
+
+        @Override
+        void load(@Nonnull int[] keys)
+        {
+            set = build(keys);
+        }
+
+        @Override
+        boolean contains(int key)
+        {
+            return set.contains(key);
+        }
+
+        @Override
+        Object insert(int key)
+        {
+            return ImmutableSet.<Integer>builder().addAll(set).add(key).build();
+        }
+
+        @Override
+        Object delete(int key)
+        {
+            final ImmutableSet.Builder<Integer> builder = ImmutableSet.builder();
+            for (Integer value : set) {
+                if (value != key) {
+                    builder.add(value);
+                }
+            }
+            return builder.build();
+        }
+
+        @Override
+        long iterate()
+        {
+            long sum = 0;
+            for (Integer value : set) {
+                sum += value;
+            }
+            return sum;
+        }
+
+        @Override
+        ImmutableSet<Integer> build(@Nonnull int[] keys)
+        {
+            final ImmutableSet.Builder<Integer> builder = ImmutableSet.builder();
+            for (int key : keys) {
+                builder.add(key);
+            }
+            return builder.build();
+        }
+    }
+}
@@ -267,4 +267,38 @@ public interface JImmutableArray<T>
      */
     @Nonnull
     IterableStreamable<T> values();
+
+    /**
+     * Passes every index and value in this array to proc using tasks running on the common
+     * ForkJoinPool.  proc may be called from several threads at once and in any order.
+     *
+     * @param proc procedure to call with each index and value
+     */
+    default void parallelForEach(@Nonnull Proc2<Integer, T> proc)
+    {
+        parallelReduce(null, (sum, index, value) -> {
+            proc.apply(index, value);
+            return null;
+        }, (a, b) -> null);
+    }
+
+    /**
+     * Processes every index and value in this array using tasks running on the common ForkJoinPool.
+     * Each task folds a contiguous range of the array into identity using accumulator and the
+     * results of the tasks are merged in index order using combiner.  As with Stream.reduce()
+     * identity must be an identity value for combiner and both functions must be associative
+     * and free of side effects.
+     *
+     * @param identity    initial value for each task
+     * @param accumulator function to combine a sum with an index and value to produce a new sum
+     * @param combiner    function to merge the sums produced by two tasks
+     * @param <R>         type of the sum
+     * @return final value (or identity if this array is empty)
+     */
+    default <R> R parallelReduce(R identity,
+                                 @Nonnull Sum2<Integer, T, R> accumulator,
+                                 @Nonnull Func2<R, R, R> combiner)
+    {
+        return parallelStream().reduce(identity, (sum, e) -> accumulator.apply(sum, e.getKey(), e.getValue()), combiner::apply);
+    }
 }
@@ -38,7 +38,9 @@ package org.javimmutable.collections;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.function.Predicate;
@@ -370,6 +372,63 @@ public interface JImmutableList<T>
         return GenericCollector.ordered(this, deleteAll(), a -> a.isEmpty(), (a, v) -> a.insert(v), (a, b) -> a.insertAll(b));
     }
 
+    /**
+     * Returns a list of the same type as this containing the same values sorted using comparator.
+     * The sort is stable so equal values remain in their original order.
+     *
+     * @param comparator determines the order of values
+     * @return sorted list
+     */
+    @Nonnull
+    default JImmutableList<T> sorted(@Nonnull Comparator<? super T> comparator)
+    {
+        final List<T> values = new ArrayList<>(getList());
+        values.sort(comparator);
+        return deleteAll().insertAll(values);
+    }
+
+    /**
+     * Same as sorted() but implementations may sort large lists using multiple threads
+     * of the common ForkJoinPool.
+     *
+     * @param comparator determines the order of values
+     * @return sorted list
+     */
+    @Nonnull
+    default JImmutableList<T> parallelSorted(@Nonnull Comparator<? super T> comparator)
+    {
+        return sorted(comparator);
+    }
+
+    /**
+     * Searches this list for value using binary search.  The list must already be sorted
+     * according to comparator or the result is undefined.  If the list contains multiple
+     * values equal to value there is no guarantee which one will be found.
+     *
+     * @param value      value to search for
+     * @param comparator order of the values in the list
+     * @return index of value if it is in the list, otherwise (-(insertion point) - 1)
+     * where insertion point is the index at which value would be inserted to keep the list sorted
+     */
+    default int binarySearch(T value,
+                             @Nonnull Comparator<? super T> comparator)
+    {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int diff = comparator.compare(get(mid), value);
+            if (diff < 0) {
+                low = mid + 1;
+            } else if (diff > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
     /**
      * Apply the transform function to all elements in iterator order and add each transformed
      * value to a new collection of this type.
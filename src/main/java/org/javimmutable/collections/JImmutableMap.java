@@ -40,6 +40,7 @@ import javax.annotation.concurrent.Immutable;
 import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Objects;
 import java.util.function.BiPredicate;
 import java.util.stream.Collector;
 
@@ -68,6 +69,23 @@ public interface JImmutableMap<K, V>
         V getValue();
     }
 
+    /**
+     * Receives the differences between two maps found by diff().  changed() is only called
+     * for keys whose values are not equal according to Objects.equals().
+     */
+    interface DiffVisitor<K, V>
+    {
+        void added(@Nonnull K key,
+                   V value);
+
+        void removed(@Nonnull K key,
+                     V value);
+
+        void changed(@Nonnull K key,
+                     V oldValue,
+                     V newValue);
+    }
+
     interface Builder<K, V>
     {
         @Nonnull
@@ -386,6 +404,71 @@ public interface JImmutableMap<K, V>
         return sum;
     }
 
+    /**
+     * Passes every key value pair in this map to proc using tasks running on the common
+     * ForkJoinPool.  proc may be called from several threads at once and in any order.
+     * The default implementation uses parallelStream().  Implementations backed by trees
+     * override it to split the work at node boundaries.
+     *
+     * @param proc procedure to call with each key value pair
+     */
+    default void parallelForEach(@Nonnull Proc2<K, V> proc)
+    {
+        parallelReduce(null, (sum, key, value) -> {
+            proc.apply(key, value);
+            return null;
+        }, (a, b) -> null);
+    }
+
+    /**
+     * Processes every key value pair in this map using tasks running on the common ForkJoinPool.
+     * Each task folds its share of the pairs into identity using accumulator and the results of
+     * the tasks are merged using combiner.  As with Stream.reduce() identity must be an identity
+     * value for combiner and both functions must be associative and free of side effects.
+     *
+     * @param identity    initial value for each task
+     * @param accumulator function to combine a sum with a key value pair to produce a new sum
+     * @param combiner    function to merge the sums produced by two tasks
+     * @param <R>         type of the sum
+     * @return final value (or identity if this map is empty)
+     */
+    default <R> R parallelReduce(R identity,
+                                 @Nonnull Sum2<K, V, R> accumulator,
+                                 @Nonnull Func2<R, R, R> combiner)
+    {
+        return parallelStream().reduce(identity, (sum, e) -> accumulator.apply(sum, e.getKey(), e.getValue()), combiner::apply);
+    }
+
+    /**
+     * Reports every difference between this map and newer to the visitor.  Keys only in this map are
+     * reported as removed, keys only in newer are reported as added, and keys in both whose values
+     * are not equal are reported as changed.  Maps derived from one another by a series of updates
+     * can override this to skip the parts of their structure that they still share so that the cost
+     * is proportional to the number of changes rather than to the size of the maps.
+     *
+     * @param newer   map to compare with this one
+     * @param visitor receives each difference
+     */
+    default void diff(@Nonnull JImmutableMap<K, V> newer,
+                      @Nonnull DiffVisitor<K, V> visitor)
+    {
+        if (newer != this) {
+            for (Entry<K, V> e : this) {
+                final Holder<V> newValue = newer.find(e.getKey());
+                if (newValue.isEmpty()) {
+                    visitor.removed(e.getKey(), e.getValue());
+                } else if (!Objects.equals(e.getValue(), newValue.getValue())) {
+                    visitor.changed(e.getKey(), e.getValue(), newValue.getValue());
+                }
+            }
+            for (Entry<K, V> e : newer) {
+                if (find(e.getKey()).isEmpty()) {
+                    visitor.added(e.getKey(), e.getValue());
+                }
+            }
+        }
+    }
+
     /**
      * Returns a map of the same type as this containing only those elements for which
      * predicate returns true.  Implementations are optimized assuming predicate will
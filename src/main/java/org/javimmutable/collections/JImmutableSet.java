@@ -419,4 +419,37 @@ public interface JImmutableSet<T>
     {
         return GenericCollector.unordered(this, deleteAll(), a -> a.isEmpty(), (a, v) -> a.insert(v), (a, b) -> a.insertAll(b));
     }
+
+    /**
+     * Passes every value in this set to proc using tasks running on the common ForkJoinPool.
+     * proc may be called from several threads at once and in any order.
+     *
+     * @param proc procedure to call with each value
+     */
+    default void parallelForEach(@Nonnull Proc1<T> proc)
+    {
+        parallelReduce(null, (sum, value) -> {
+            proc.apply(value);
+            return null;
+        }, (a, b) -> null);
+    }
+
+    /**
+     * Processes every value in this set using tasks running on the common ForkJoinPool.
+     * Each task folds its share of the values into identity using accumulator and the results
+     * of the tasks are merged using combiner.  As with Stream.reduce() identity must be an identity
+     * value for combiner and both functions must be associative and free of side effects.
+     *
+     * @param identity    initial value for each task
+     * @param accumulator function to combine a sum with a value to produce a new sum
+     * @param combiner    function to merge the sums produced by two tasks
+     * @param <R>         type of the sum
+     * @return final value (or identity if this set is empty)
+     */
+    default <R> R parallelReduce(R identity,
+                                 @Nonnull Sum1<T, R> accumulator,
+                                 @Nonnull Func2<R, R, R> combiner)
+    {
+        return parallelStream().reduce(identity, accumulator::apply, combiner::apply);
+    }
 }
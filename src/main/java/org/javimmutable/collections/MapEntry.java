@@ -36,6 +36,7 @@
 package org.javimmutable.collections;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.util.Collection;
 import java.util.List;
@@ -142,6 +143,15 @@ public class MapEntry<K, V>
 
     @Override
     public int hashCode()
+    {
+        return entryHashCode(key, value);
+    }
+
+    /**
+     * Hash code of an entry with the specified key and value as documented in javadoc for Map.Entry.
+     */
+    public static int entryHashCode(@Nullable Object key,
+                                    @Nullable Object value)
     {
         return ((key == null) ? 0 : key.hashCode()) ^
                ((value == null) ? 0 : value.hashCode());
@@ -38,10 +38,13 @@ package org.javimmutable.collections.array;
 import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.Holders;
 import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import java.util.function.Consumer;
 
 @Immutable
 class EmptyTrieNode<T>
@@ -115,6 +118,27 @@ class EmptyTrieNode<T>
         return this;
     }
 
+    @Override
+    public int copyTo(@Nonnull Object[] dest,
+                      int offset)
+    {
+        return offset;
+    }
+
+    @Override
+    public void copyRange(int base,
+                          int from,
+                          int to,
+                          @Nonnull Object[] dest,
+                          int destOffset)
+    {
+    }
+
+    @Override
+    public void forEachValue(@Nonnull Consumer<? super T> proc)
+    {
+    }
+
     @Nullable
     @Override
     public GenericIterator.State<JImmutableMap.Entry<Integer, T>> iterateOverRange(@Nullable GenericIterator.State<JImmutableMap.Entry<Integer, T>> parent,
@@ -128,4 +152,10 @@ class EmptyTrieNode<T>
     public void checkInvariants()
     {
     }
+
+    @Override
+    public void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                                  int depth)
+    {
+    }
 }
@@ -35,14 +35,20 @@
 
 package org.javimmutable.collections.array;
 
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.Indexed;
 import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.Sum2;
+import org.javimmutable.collections.common.ForkJoinHelper;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.indexed.IndexedArray;
 import org.javimmutable.collections.iterators.GenericIterator;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import java.util.function.Consumer;
 
 @Immutable
 class FullBranchTrieNode<T>
@@ -138,12 +144,56 @@ class FullBranchTrieNode<T>
         return shift;
     }
 
+    @Override
+    public <R> R parallelReduce(R identity,
+                                @Nonnull Sum2<Integer, T, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        if (valueCount <= ForkJoinHelper.SEQUENTIAL_THRESHOLD) {
+            return reduce(identity, accumulator);
+        }
+        return parallelReduceChildren(entries, identity, accumulator, combiner);
+    }
+
     @Override
     public boolean isLeaf()
     {
         return false;
     }
 
+    @Override
+    public int copyTo(@Nonnull Object[] dest,
+                      int offset)
+    {
+        for (TrieNode<T> entry : entries) {
+            offset = entry.copyTo(dest, offset);
+        }
+        return offset;
+    }
+
+    @Override
+    public void copyRange(int base,
+                          int from,
+                          int to,
+                          @Nonnull Object[] dest,
+                          int destOffset)
+    {
+        for (int i = 0; i < 32; ++i) {
+            final int childBase = base | (i << shift);
+            if (childInRange(childBase, shift, from, to)) {
+                entries[i].copyRange(childBase, from, to, dest, destOffset);
+            }
+        }
+    }
+
+    @Override
+    public void forEachValue(@Nonnull Consumer<? super T> proc)
+    {
+        for (TrieNode<T> entry : entries) {
+            entry.forEachValue(proc);
+        }
+    }
+
     @Nullable
     @Override
     public GenericIterator.State<JImmutableMap.Entry<Integer, T>> iterateOverRange(@Nullable GenericIterator.State<JImmutableMap.Entry<Integer, T>> parent,
@@ -170,6 +220,16 @@ class FullBranchTrieNode<T>
         }
     }
 
+    @Override
+    public void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                                  int depth)
+    {
+        stats.addNode(this, depth, entries.length, StructureStatistics.objectBytes(1, 2) + StructureStatistics.arrayBytes(entries.length));
+        for (TrieNode<T> entry : entries) {
+            entry.collectStatistics(stats, depth + 1);
+        }
+    }
+
     private TrieNode<T> createUpdatedEntries(int shift,
                                              int childIndex,
                                              TrieNode<T> newChild)
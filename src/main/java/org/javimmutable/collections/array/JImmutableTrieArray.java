@@ -35,6 +35,8 @@
 
 package org.javimmutable.collections.array;
 
+import org.javimmutable.collections.ArrayChunkConsumer;
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.Holders;
 import org.javimmutable.collections.Indexed;
@@ -43,8 +45,11 @@ import org.javimmutable.collections.JImmutableArray;
 import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.MapEntry;
 import org.javimmutable.collections.SplitableIterator;
+import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.common.ArrayToMapAdaptor;
+import org.javimmutable.collections.common.ForkJoinHelper;
 import org.javimmutable.collections.common.StreamConstants;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 import org.javimmutable.collections.iterators.IteratorHelper;
 import org.javimmutable.collections.iterators.TransformIterator;
@@ -55,8 +60,10 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collector;
 
 @Immutable
@@ -67,6 +74,7 @@ public class JImmutableTrieArray<T>
     @SuppressWarnings("unchecked")
     private static final JImmutableTrieArray EMPTY = new JImmutableTrieArray(TrieNode.of());
     private static final long serialVersionUID = -121805;
+    private static final int CHUNK_SIZE = 32;
 
     private final TrieNode<T> root;
 
@@ -208,6 +216,14 @@ public class JImmutableTrieArray<T>
         return this;
     }
 
+    @Override
+    public <R> R parallelReduce(R identity,
+                                @Nonnull Sum2<Integer, T, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        return ForkJoinHelper.invoke(() -> root.parallelReduce(identity, accumulator, combiner));
+    }
+
     @Nonnull
     @Override
     public IterableStreamable<Integer> keys()
@@ -248,6 +264,76 @@ public class JImmutableTrieArray<T>
         root.checkInvariants();
     }
 
+    /**
+     * Describes the shape of the trie.  Visits every node so it takes time proportional
+     * to the size of the array.
+     */
+    @Nonnull
+    public StructureStatistics getStatistics()
+    {
+        final StructureStatistics.Builder stats = StructureStatistics.builder();
+        root.collectStatistics(stats, 0);
+        return stats.build();
+    }
+
+    /**
+     * Copies the values of this array into array in index order (the same order as iterator())
+     * and returns it.  If array is too small a new array of the same runtime type is allocated
+     * instead.  As with Collection.toArray() if array is larger than this array the element
+     * following the last value is set to null.  The trie is walked directly so no entries
+     * are created.
+     */
+    @Nonnull
+    public T[] toArray(@Nonnull T[] array)
+    {
+        final int size = size();
+        if (array.length < size) {
+            array = Arrays.copyOf(array, size);
+        } else if (array.length > size) {
+            array[size] = null;
+        }
+        root.copyTo(array, 0);
+        return array;
+    }
+
+    /**
+     * Copies the value at each index from (inclusive) through to (exclusive) into
+     * dest[destOffset + index - from].  Elements of dest corresponding to indexes that have
+     * no value are set to null.  Branches of the trie outside of the range are skipped
+     * entirely.
+     *
+     * @throws IllegalArgumentException  if from is greater than to
+     * @throws IndexOutOfBoundsException if dest is too small to hold the range
+     * @throws ArrayStoreException       if a value cannot be stored in dest
+     */
+    public void copyRange(int from,
+                          int to,
+                          @Nonnull Object[] dest,
+                          int destOffset)
+    {
+        if (from > to) {
+            throw new IllegalArgumentException();
+        }
+        final long length = (long)to - (long)from;
+        if (destOffset < 0 || destOffset > dest.length - length) {
+            throw new IndexOutOfBoundsException();
+        }
+        Arrays.fill(dest, destOffset, destOffset + (int)length, null);
+        root.copyRange(0, from, to, dest, destOffset);
+    }
+
+    /**
+     * Passes the values of this array to consumer in index order.  Each leaf of the trie
+     * holds a single value so values are gathered into a reused buffer and passed on
+     * in chunks of up to 32.
+     */
+    public void forEachChunk(@Nonnull ArrayChunkConsumer consumer)
+    {
+        final ChunkBuffer buffer = new ChunkBuffer(consumer, Math.min(size(), CHUNK_SIZE));
+        root.forEachValue(buffer);
+        buffer.flush();
+    }
+
     @Override
     public boolean equals(Object o)
     {
@@ -271,6 +357,38 @@ public class JImmutableTrieArray<T>
         return new JImmutableArrayProxy(this);
     }
 
+    private static class ChunkBuffer
+        implements Consumer<Object>
+    {
+        private final ArrayChunkConsumer consumer;
+        private final Object[] values;
+        private int length;
+
+        private ChunkBuffer(@Nonnull ArrayChunkConsumer consumer,
+                            int capacity)
+        {
+            this.consumer = consumer;
+            values = new Object[capacity];
+        }
+
+        @Override
+        public void accept(Object value)
+        {
+            values[length++] = value;
+            if (length == values.length) {
+                flush();
+            }
+        }
+
+        private void flush()
+        {
+            if (length > 0) {
+                consumer.accept(values, 0, length);
+                length = 0;
+            }
+        }
+    }
+
     public static class Builder<T>
         implements JImmutableArray.Builder<T>
     {
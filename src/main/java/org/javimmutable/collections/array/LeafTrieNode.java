@@ -39,11 +39,13 @@ import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.Holders;
 import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import java.util.function.Consumer;
 
 @Immutable
 class LeafTrieNode<T>
@@ -164,6 +166,32 @@ class LeafTrieNode<T>
         }
     }
 
+    @Override
+    public int copyTo(@Nonnull Object[] dest,
+                      int offset)
+    {
+        dest[offset] = value;
+        return offset + 1;
+    }
+
+    @Override
+    public void copyRange(int base,
+                          int from,
+                          int to,
+                          @Nonnull Object[] dest,
+                          int destOffset)
+    {
+        if (index >= from && index < to) {
+            dest[destOffset + index - from] = value;
+        }
+    }
+
+    @Override
+    public void forEachValue(@Nonnull Consumer<? super T> proc)
+    {
+        proc.accept(value);
+    }
+
     @Nullable
     @Override
     public GenericIterator.State<JImmutableMap.Entry<Integer, T>> iterateOverRange(@Nullable GenericIterator.State<JImmutableMap.Entry<Integer, T>> parent,
@@ -181,6 +209,13 @@ class LeafTrieNode<T>
         }
     }
 
+    @Override
+    public void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                                  int depth)
+    {
+        stats.addNode(this, depth, 0, StructureStatistics.objectBytes(1, 2));
+    }
+
     @Override
     public boolean equals(Object o)
     {
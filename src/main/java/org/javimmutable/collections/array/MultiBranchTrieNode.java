@@ -35,16 +35,21 @@
 
 package org.javimmutable.collections.array;
 
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.Holders;
 import org.javimmutable.collections.Indexed;
 import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.Sum2;
+import org.javimmutable.collections.common.ForkJoinHelper;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.indexed.IndexedArray;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import java.util.function.Consumer;
 
 @Immutable
 class MultiBranchTrieNode<T>
@@ -224,6 +229,18 @@ class MultiBranchTrieNode<T>
         return shift;
     }
 
+    @Override
+    public <R> R parallelReduce(R identity,
+                                @Nonnull Sum2<Integer, T, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        if (valueCount <= ForkJoinHelper.SEQUENTIAL_THRESHOLD) {
+            return reduce(identity, accumulator);
+        }
+        final TrieNode<T>[] children = (shift != ROOT_SHIFT) ? entries : entriesForSignedOrderIteration();
+        return parallelReduceChildren(children, identity, accumulator, combiner);
+    }
+
     @Override
     public boolean isLeaf()
     {
@@ -236,6 +253,43 @@ class MultiBranchTrieNode<T>
         return (bitmask == 1) ? entries[0].trimmedToMinimumDepth() : this;
     }
 
+    @Override
+    public int copyTo(@Nonnull Object[] dest,
+                      int offset)
+    {
+        final TrieNode<T>[] children = (shift != ROOT_SHIFT) ? entries : entriesForSignedOrderIteration();
+        for (TrieNode<T> child : children) {
+            offset = child.copyTo(dest, offset);
+        }
+        return offset;
+    }
+
+    @Override
+    public void copyRange(int base,
+                          int from,
+                          int to,
+                          @Nonnull Object[] dest,
+                          int destOffset)
+    {
+        int remaining = bitmask;
+        for (TrieNode<T> entry : entries) {
+            final int childBase = base | (Integer.numberOfTrailingZeros(remaining) << shift);
+            if (childInRange(childBase, shift, from, to)) {
+                entry.copyRange(childBase, from, to, dest, destOffset);
+            }
+            remaining &= remaining - 1;
+        }
+    }
+
+    @Override
+    public void forEachValue(@Nonnull Consumer<? super T> proc)
+    {
+        final TrieNode<T>[] children = (shift != ROOT_SHIFT) ? entries : entriesForSignedOrderIteration();
+        for (TrieNode<T> child : children) {
+            child.forEachValue(proc);
+        }
+    }
+
     @Nullable
     @Override
     public GenericIterator.State<JImmutableMap.Entry<Integer, T>> iterateOverRange(@Nullable GenericIterator.State<JImmutableMap.Entry<Integer, T>> parent,
@@ -268,6 +322,16 @@ class MultiBranchTrieNode<T>
         }
     }
 
+    @Override
+    public void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                                  int depth)
+    {
+        stats.addNode(this, depth, entries.length, StructureStatistics.objectBytes(1, 3) + StructureStatistics.arrayBytes(entries.length));
+        for (TrieNode<T> entry : entries) {
+            entry.collectStatistics(stats, depth + 1);
+        }
+    }
+
     // for use by unit tests
     int getBitmask()
     {
@@ -35,13 +35,18 @@
 
 package org.javimmutable.collections.array;
 
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.Holders;
 import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.Sum2;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
+import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import java.util.function.Consumer;
 
 @Immutable
 class SingleBranchTrieNode<T>
@@ -142,6 +147,14 @@ class SingleBranchTrieNode<T>
         return shift;
     }
 
+    @Override
+    public <R> R parallelReduce(R identity,
+                                @Nonnull Sum2<Integer, T, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        return child.parallelReduce(identity, accumulator, combiner);
+    }
+
     @Override
     public boolean isLeaf()
     {
@@ -154,6 +167,32 @@ class SingleBranchTrieNode<T>
         return (branchIndex == 0) ? child.trimmedToMinimumDepth() : this;
     }
 
+    @Override
+    public int copyTo(@Nonnull Object[] dest,
+                      int offset)
+    {
+        return child.copyTo(dest, offset);
+    }
+
+    @Override
+    public void copyRange(int base,
+                          int from,
+                          int to,
+                          @Nonnull Object[] dest,
+                          int destOffset)
+    {
+        final int childBase = base | (branchIndex << shift);
+        if (childInRange(childBase, shift, from, to)) {
+            child.copyRange(childBase, from, to, dest, destOffset);
+        }
+    }
+
+    @Override
+    public void forEachValue(@Nonnull Consumer<? super T> proc)
+    {
+        child.forEachValue(proc);
+    }
+
     @Nullable
     @Override
     public GenericIterator.State<JImmutableMap.Entry<Integer, T>> iterateOverRange(@Nullable GenericIterator.State<JImmutableMap.Entry<Integer, T>> parent,
@@ -175,6 +214,14 @@ class SingleBranchTrieNode<T>
         child.checkInvariants();
     }
 
+    @Override
+    public void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                                  int depth)
+    {
+        stats.addNode(this, depth, 1, StructureStatistics.objectBytes(1, 2));
+        child.collectStatistics(stats, depth + 1);
+    }
+
     // for tests
     int getBranchIndex()
     {
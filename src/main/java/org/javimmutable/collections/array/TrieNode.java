@@ -35,12 +35,21 @@
 
 package org.javimmutable.collections.array;
 
+import org.javimmutable.collections.Func0;
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.InvariantCheckable;
 import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.Sum2;
+import org.javimmutable.collections.common.ForkJoinHelper;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
+import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
 
 @Immutable
 abstract class TrieNode<T>
@@ -71,6 +80,59 @@ abstract class TrieNode<T>
 
     public abstract boolean isLeaf();
 
+    /**
+     * Records this node and all of its descendants in stats.  The node is at depth.
+     */
+    public abstract void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                                           int depth);
+
+    /**
+     * Stores the value of every leaf in this node into dest in index order starting
+     * at offset.  Returns the offset following the last value stored.
+     */
+    public abstract int copyTo(@Nonnull Object[] dest,
+                               int offset);
+
+    /**
+     * Stores the value of every leaf in this node whose index is from (inclusive) through
+     * to (exclusive) into dest at destOffset + (index - from).  base contains the index bits
+     * selected by the ancestors of this node so branches can skip children outside the range.
+     */
+    public abstract void copyRange(int base,
+                                   int from,
+                                   int to,
+                                   @Nonnull Object[] dest,
+                                   int destOffset);
+
+    /**
+     * Passes the value of every leaf in this node to proc in index order.
+     */
+    public abstract void forEachValue(@Nonnull Consumer<? super T> proc);
+
+    /**
+     * Folds every index and value in this node into sum in index order.
+     */
+    public <R> R reduce(R sum,
+                        @Nonnull Sum2<Integer, T, R> proc)
+    {
+        for (JImmutableMap.Entry<Integer, T> entry : this) {
+            sum = proc.apply(sum, entry.getKey(), entry.getValue());
+        }
+        return sum;
+    }
+
+    /**
+     * Same as reduce() but large branches reduce their children as separate tasks whose
+     * results are merged in index order using combiner.  Must be called by a reduction
+     * passed to ForkJoinHelper.invoke().
+     */
+    public <R> R parallelReduce(R identity,
+                                @Nonnull Sum2<Integer, T, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        return reduce(identity, accumulator);
+    }
+
     public TrieNode<T> trimmedToMinimumDepth()
     {
         return this;
@@ -93,6 +155,31 @@ abstract class TrieNode<T>
         return valueCount();
     }
 
+    static <T, R> R parallelReduceChildren(@Nonnull TrieNode<T>[] children,
+                                           R identity,
+                                           @Nonnull Sum2<Integer, T, R> accumulator,
+                                           @Nonnull Func2<R, R, R> combiner)
+    {
+        final List<Func0<R>> parts = new ArrayList<>(children.length);
+        for (TrieNode<T> child : children) {
+            parts.add(() -> child.parallelReduce(identity, accumulator, combiner));
+        }
+        return ForkJoinHelper.reduceAll(parts, combiner);
+    }
+
+    /**
+     * Determines whether any index within the child at childBase of a branch at shift
+     * falls within from (inclusive) through to (exclusive).  Every child covers a contiguous
+     * range of signed ints so simple comparisons suffice.
+     */
+    static boolean childInRange(int childBase,
+                                int shift,
+                                int from,
+                                int to)
+    {
+        return (childBase < to) && ((childBase | ((1 << shift) - 1)) >= from);
+    }
+
     public static int computeValueCount(TrieNode<?>[] nodes)
     {
         int answer = 0;
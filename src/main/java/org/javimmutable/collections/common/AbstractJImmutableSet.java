@@ -35,10 +35,12 @@
 
 package org.javimmutable.collections.common;
 
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.JImmutableMultiset;
 import org.javimmutable.collections.JImmutableSet;
 import org.javimmutable.collections.SplitableIterator;
+import org.javimmutable.collections.Sum1;
 import org.javimmutable.collections.iterators.IteratorHelper;
 
 import javax.annotation.Nonnull;
@@ -246,6 +248,14 @@ public abstract class AbstractJImmutableSet<T>
         return map.size();
     }
 
+    @Override
+    public <R> R parallelReduce(R identity,
+                                @Nonnull Sum1<T, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        return map.parallelReduce(identity, (sum, value, ignored) -> accumulator.apply(sum, value), combiner);
+    }
+
     @Override
     public boolean isEmpty()
     {
@@ -272,12 +282,26 @@ public abstract class AbstractJImmutableSet<T>
         return map.keys().getSpliteratorCharacteristics();
     }
 
+    /**
+     * Sum of the hash codes of the values as defined by Set.hashCode().  This implementation
+     * visits every value.  Derived classes whose maps maintain the sum of their keys' hash codes
+     * override it to return that instead.
+     */
     @Override
     public int hashCode()
     {
-        return IteratorHelper.iteratorHashCode(iterator());
+        int answer = 0;
+        for (T value : this) {
+            answer += value.hashCode();
+        }
+        return answer;
     }
 
+    /**
+     * Sets built on maps hold the same value for every element so two such sets are
+     * equal exactly when their maps are.  Comparing the maps lets compatible implementations
+     * use their structural comparison instead of looking up every element.
+     */
     @Override
     public boolean equals(Object o)
     {
@@ -287,6 +311,8 @@ public abstract class AbstractJImmutableSet<T>
             return false;
         } else if (o instanceof JImmutableMultiset) {
             return o.equals(this);
+        } else if (o instanceof AbstractJImmutableSet) {
+            return map.equals(((AbstractJImmutableSet)o).map);
         } else if (o instanceof JImmutableSet) {
             return getSet().equals(((JImmutableSet)o).getSet());
         } else {
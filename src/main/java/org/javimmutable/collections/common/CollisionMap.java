@@ -38,6 +38,7 @@ package org.javimmutable.collections.common;
 import org.javimmutable.collections.Func1;
 import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.MapEntry;
 import org.javimmutable.collections.Proc2;
 import org.javimmutable.collections.Proc2Throws;
 import org.javimmutable.collections.SplitableIterable;
@@ -48,6 +49,7 @@ import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Objects;
 
 /**
  * Interface for simple collection objects that manage the contents of leaf nodes in the hash table.
@@ -64,6 +66,25 @@ public interface CollisionMap<K, V>
 
     int size(@Nonnull Node node);
 
+    /**
+     * Hash code used to place key in a hash trie.  Must be consistent with the way this
+     * collision map decides whether two keys are equal.  The default uses the key's own
+     * hashCode() method.
+     */
+    default int keyHashCode(@Nonnull K key)
+    {
+        return key.hashCode();
+    }
+
+    /**
+     * Sum of the hash codes of every entry in node as defined by Map.Entry.hashCode().
+     * The default implementation visits every entry.
+     */
+    default int entriesHashCode(@Nonnull Node node)
+    {
+        return reduce(node, 0, (sum, key, value) -> sum + MapEntry.entryHashCode(key, value));
+    }
+
     @Nonnull
     Node update(@Nonnull Node node,
                 @Nonnull K key,
@@ -130,6 +151,63 @@ public interface CollisionMap<K, V>
         return genericIterable(node).iterator();
     }
 
+    /**
+     * Reports every difference between the entries of older and newer to the visitor.
+     * Implementations may skip parts of the nodes that are shared by both.
+     */
+    default void diff(@Nonnull Node older,
+                      @Nonnull Node newer,
+                      @Nonnull JImmutableMap.DiffVisitor<K, V> visitor)
+    {
+        if (older != newer) {
+            forEach(older, (k, v) -> {
+                final Holder<V> newValue = findValue(newer, k);
+                if (newValue.isEmpty()) {
+                    visitor.removed(k, v);
+                } else if (!Objects.equals(v, newValue.getValue())) {
+                    visitor.changed(k, v, newValue.getValue());
+                }
+            });
+            forEach(newer, (k, v) -> {
+                if (findValue(older, k).isEmpty()) {
+                    visitor.added(k, v);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns true if node and other contain equal entries.  Implementations may skip
+     * parts of the nodes that are shared by both.
+     */
+    default boolean isEqualTo(@Nonnull Node node,
+                              @Nonnull Node other)
+    {
+        if (node == other) {
+            return true;
+        } else if (size(node) != size(other)) {
+            return false;
+        }
+        for (JImmutableMap.Entry<K, V> e : genericIterable(node)) {
+            final Holder<V> otherValue = findValue(other, e.getKey());
+            if (otherValue.isEmpty() || !Objects.equals(e.getValue(), otherValue.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Records node as a collision chain in stats along with whatever internal nodes the
+     * implementation uses to store it.  Nodes are recorded at depth or below.
+     */
+    default void collectStatistics(@Nonnull Node node,
+                                   @Nonnull StructureStatistics.Builder stats,
+                                   int depth)
+    {
+        stats.addCollisionChain(size(node));
+    }
+
     void forEach(@Nonnull Node node,
                  @Nonnull Proc2<K, V> proc);
 
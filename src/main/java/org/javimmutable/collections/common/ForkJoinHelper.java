@@ -0,0 +1,123 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.common;
+
+import org.javimmutable.collections.Func0;
+import org.javimmutable.collections.Func2;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Support for reducing tree structured collections on a ForkJoinPool.  A structure splits
+ * itself at node boundaries into parts that are reduced as separate tasks and combines the
+ * results of the parts in iteration order.  Nodes holding no more than SEQUENTIAL_THRESHOLD
+ * values are not worth splitting and should be reduced sequentially.
+ */
+public final class ForkJoinHelper
+{
+    public static final int SEQUENTIAL_THRESHOLD = 4096;
+
+    private ForkJoinHelper()
+    {
+    }
+
+    /**
+     * Evaluates reduction on the common ForkJoinPool.  If the calling thread is already
+     * running in a ForkJoinPool reduction is evaluated directly in that pool.
+     */
+    public static <R> R invoke(@Nonnull Func0<R> reduction)
+    {
+        if (ForkJoinTask.inForkJoinPool()) {
+            return reduction.apply();
+        } else {
+            return ForkJoinPool.commonPool().invoke(task(reduction));
+        }
+    }
+
+    /**
+     * Evaluates every part as a separate task and combines their results in order
+     * using combiner.  There must be at least one part.  Must only be called by a
+     * reduction passed to invoke().
+     */
+    public static <R> R reduceAll(@Nonnull List<Func0<R>> parts,
+                                  @Nonnull Func2<R, R, R> combiner)
+    {
+        final List<R> results = invokeAll(parts);
+        R answer = results.get(0);
+        for (int i = 1; i < results.size(); ++i) {
+            answer = combiner.apply(answer, results.get(i));
+        }
+        return answer;
+    }
+
+    /**
+     * Evaluates every part as a separate task and returns their results in the same
+     * order as the parts.  Must only be called by a reduction passed to invoke().
+     */
+    @Nonnull
+    public static <R> List<R> invokeAll(@Nonnull List<Func0<R>> parts)
+    {
+        final List<RecursiveTask<R>> tasks = new ArrayList<>(parts.size());
+        for (Func0<R> part : parts) {
+            tasks.add(task(part));
+        }
+        ForkJoinTask.invokeAll(tasks);
+        final List<R> answer = new ArrayList<>(tasks.size());
+        for (RecursiveTask<R> task : tasks) {
+            answer.add(task.join());
+        }
+        return answer;
+    }
+
+    @Nonnull
+    private static <R> RecursiveTask<R> task(@Nonnull Func0<R> reduction)
+    {
+        return new RecursiveTask<R>()
+        {
+            @Override
+            protected R compute()
+            {
+                return reduction.apply();
+            }
+        };
+    }
+}
@@ -0,0 +1,278 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.common;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Summary of the internal shape of a collection: how many nodes of each type it contains,
+ * how deep they sit, how wide its branches are and how long its hash collision chains are.
+ * Shared empty singletons are not counted.  Byte counts are estimates for a 64 bit JVM
+ * using compressed references and only cover the collection's own nodes and arrays, not
+ * the keys and values stored in them.
+ */
+@Immutable
+public final class StructureStatistics
+{
+    static final int OBJECT_HEADER_BYTES = 12;
+    static final int ARRAY_HEADER_BYTES = 16;
+    static final int REFERENCE_BYTES = 4;
+    static final int INT_BYTES = 4;
+    static final int ALIGNMENT = 8;
+
+    private final Map<String, Integer> nodeCounts;
+    private final List<Integer> depthCounts;
+    private final Map<Integer, Integer> collisionChainCounts;
+    private final int maxCollisionChainLength;
+    private final int nodeCount;
+    private final int branchCount;
+    private final long childCount;
+    private final long estimatedBytes;
+
+    private StructureStatistics(@Nonnull Builder builder)
+    {
+        nodeCounts = Collections.unmodifiableMap(new TreeMap<>(builder.nodeCounts));
+        depthCounts = Collections.unmodifiableList(new ArrayList<>(builder.depthCounts));
+        collisionChainCounts = Collections.unmodifiableMap(new TreeMap<>(builder.collisionChainCounts));
+        maxCollisionChainLength = builder.maxCollisionChainLength;
+        nodeCount = builder.nodeCount;
+        branchCount = builder.branchCount;
+        childCount = builder.childCount;
+        estimatedBytes = builder.estimatedBytes;
+    }
+
+    @Nonnull
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * Estimated size of an object with the specified number of reference and int fields.
+     */
+    public static long objectBytes(int referenceFields,
+                                   int intFields)
+    {
+        return align(OBJECT_HEADER_BYTES + REFERENCE_BYTES * referenceFields + INT_BYTES * intFields);
+    }
+
+    /**
+     * Estimated size of an array of references of the specified length.
+     */
+    public static long arrayBytes(int length)
+    {
+        return align(ARRAY_HEADER_BYTES + (long)REFERENCE_BYTES * length);
+    }
+
+    /**
+     * Estimated size of an array of primitive values of the specified length.
+     */
+    public static long primitiveArrayBytes(int length,
+                                           int elementBytes)
+    {
+        return align(ARRAY_HEADER_BYTES + (long)elementBytes * length);
+    }
+
+    /**
+     * Total number of nodes in the collection.
+     */
+    public int getNodeCount()
+    {
+        return nodeCount;
+    }
+
+    /**
+     * Number of nodes of each type keyed by the simple class name of the node.
+     */
+    @Nonnull
+    public Map<String, Integer> getNodeCounts()
+    {
+        return nodeCounts;
+    }
+
+    /**
+     * Number of nodes at each depth.  The root is at depth zero.
+     */
+    @Nonnull
+    public List<Integer> getDepthCounts()
+    {
+        return depthCounts;
+    }
+
+    /**
+     * Depth of the deepest node or -1 if the collection has no nodes.
+     */
+    public int getMaxDepth()
+    {
+        return depthCounts.size() - 1;
+    }
+
+    /**
+     * Number of nodes that have at least one child node.
+     */
+    public int getBranchCount()
+    {
+        return branchCount;
+    }
+
+    /**
+     * Average number of child nodes of the nodes that have any children.
+     */
+    public double getAverageFanOut()
+    {
+        return (branchCount == 0) ? 0.0 : (double)childCount / (double)branchCount;
+    }
+
+    /**
+     * Number of collision chains of each length keyed by length.  Every non-empty bucket of
+     * a hash collection is a chain so a well distributed hash produces almost only chains of
+     * length one.
+     */
+    @Nonnull
+    public Map<Integer, Integer> getCollisionChainCounts()
+    {
+        return collisionChainCounts;
+    }
+
+    /**
+     * Length of the longest collision chain or zero if there are none.
+     */
+    public int getMaxCollisionChainLength()
+    {
+        return maxCollisionChainLength;
+    }
+
+    /**
+     * Estimated number of bytes retained by the nodes of the collection.
+     */
+    public long getEstimatedBytes()
+    {
+        return estimatedBytes;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "StructureStatistics{" +
+               "nodeCount=" + nodeCount +
+               ", nodeCounts=" + nodeCounts +
+               ", depthCounts=" + depthCounts +
+               ", averageFanOut=" + getAverageFanOut() +
+               ", collisionChainCounts=" + collisionChainCounts +
+               ", estimatedBytes=" + estimatedBytes +
+               '}';
+    }
+
+    private static long align(long bytes)
+    {
+        return (bytes + ALIGNMENT - 1) & ~(long)(ALIGNMENT - 1);
+    }
+
+    /**
+     * Accumulates statistics while the nodes of a collection are visited.
+     */
+    @NotThreadSafe
+    public static final class Builder
+    {
+        private final Map<String, Integer> nodeCounts = new TreeMap<>();
+        private final List<Integer> depthCounts = new ArrayList<>();
+        private final Map<Integer, Integer> collisionChainCounts = new TreeMap<>();
+        private int maxCollisionChainLength;
+        private int nodeCount;
+        private int branchCount;
+        private long childCount;
+        private long estimatedBytes;
+
+        private Builder()
+        {
+        }
+
+        /**
+         * Records one node of the collection.
+         *
+         * @param node       the node itself, its class name is used as its type
+         * @param depth      distance from the root of the collection
+         * @param childCount number of child nodes it contains
+         * @param bytes      estimated size of the node and any arrays it owns
+         */
+        @Nonnull
+        public Builder addNode(@Nonnull Object node,
+                               int depth,
+                               int childCount,
+                               long bytes)
+        {
+            nodeCounts.merge(node.getClass().getSimpleName(), 1, Integer::sum);
+            while (depthCounts.size() <= depth) {
+                depthCounts.add(0);
+            }
+            depthCounts.set(depth, depthCounts.get(depth) + 1);
+            nodeCount += 1;
+            if (childCount > 0) {
+                branchCount += 1;
+                this.childCount += childCount;
+            }
+            estimatedBytes += bytes;
+            return this;
+        }
+
+        /**
+         * Records one hash bucket containing length entries.  Empty buckets are ignored.
+         */
+        @Nonnull
+        public Builder addCollisionChain(int length)
+        {
+            if (length > 0) {
+                collisionChainCounts.merge(length, 1, Integer::sum);
+                maxCollisionChainLength = Math.max(maxCollisionChainLength, length);
+            }
+            return this;
+        }
+
+        @Nonnull
+        public StructureStatistics build()
+        {
+            return new StructureStatistics(this);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash;
+
+import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.Holders;
+import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.Proc2;
+import org.javimmutable.collections.common.AbstractJImmutableMap;
+import org.javimmutable.collections.hash.hamt.LongHamtNode;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Base class for the hash maps keyed by primitive integer types.  Every key is widened
+ * to a long and stored unboxed in a LongHamtNode trie.  The trie branches on the lowest
+ * bits of the key first so keys that fit in fewer bits produce the same shallow trie they
+ * would in a trie of that width.  Derived classes provide the unboxed methods for their
+ * key type and convert keys to and from their widened form.  Keys are widened so that
+ * Long.hashCode() of the widened key equals the hash code of the boxed key, which lets
+ * the trie maintain the map's hash code as it is modified.
+ */
+@Immutable
+abstract class AbstractPrimitiveKeyHashMap<K extends Number, V>
+    extends AbstractJImmutableMap<K, V>
+{
+    final LongHamtNode<V> root;
+
+    AbstractPrimitiveKeyHashMap(@Nonnull LongHamtNode<V> root)
+    {
+        this.root = root;
+    }
+
+    /**
+     * Converts a key stored in the trie back into the boxed key type of this map.
+     */
+    @Nonnull
+    abstract K boxKey(long key);
+
+    /**
+     * Converts a boxed key of this map into the form stored in the trie.
+     */
+    abstract long widenKey(@Nonnull K key);
+
+    @Override
+    public V getValueOr(K key,
+                        V defaultValue)
+    {
+        return root.getValueOr(widenKey(key), 0, defaultValue);
+    }
+
+    @Nonnull
+    @Override
+    public Holder<V> find(@Nonnull K key)
+    {
+        return root.find(widenKey(key), 0);
+    }
+
+    @Nonnull
+    @Override
+    public Holder<Entry<K, V>> findEntry(@Nonnull K key)
+    {
+        final Holder<V> value = root.find(widenKey(key), 0);
+        if (value.isEmpty()) {
+            return Holders.of();
+        } else {
+            return Holders.of(MapEntry.of(key, value.getValue()));
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return root.size();
+    }
+
+    /**
+     * Sum of the hash codes of the entries as defined by Map.hashCode().  The trie
+     * maintains the sum as it is modified so no entries are visited.
+     */
+    @Override
+    public int hashCode()
+    {
+        return root.entriesHashCode();
+    }
+
+    @Override
+    public void forEach(@Nonnull Proc2<K, V> proc)
+    {
+        root.forEach((key, value) -> proc.apply(boxKey(key), value));
+    }
+
+    @Override
+    public void checkInvariants()
+    {
+        root.checkInvariants(0);
+    }
+}
@@ -41,8 +41,11 @@ import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.SplitableIterator;
 import org.javimmutable.collections.common.AbstractJImmutableMap;
 import org.javimmutable.collections.common.StreamConstants;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.hash.hamt.HamtEmptyNode;
 import org.javimmutable.collections.iterators.EmptyIterator;
 import org.javimmutable.collections.serialization.JImmutableHashMapProxy;
+import org.javimmutable.collections.serialization.JImmutableSpreadHashMapProxy;
 
 import javax.annotation.Nonnull;
 import javax.annotation.concurrent.Immutable;
@@ -58,19 +61,53 @@ public class EmptyHashMap<K, V>
     extends AbstractJImmutableMap<K, V>
     implements Serializable
 {
-    static final EmptyHashMap INSTANCE = new EmptyHashMap();
+    static final EmptyHashMap INSTANCE = new EmptyHashMap(HashSpreader.identity());
+
+    static final EmptyHashMap MIXING_INSTANCE = new EmptyHashMap(HashSpreader.mixing());
 
     private static final long serialVersionUID = -121805;
 
-    private EmptyHashMap()
+    private final HashSpreader spreader;
+
+    private EmptyHashMap(@Nonnull HashSpreader spreader)
+    {
+        this.spreader = spreader;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    static <K, V> EmptyHashMap<K, V> of(@Nonnull HashSpreader spreader)
+    {
+        if (spreader == HashSpreader.identity()) {
+            return INSTANCE;
+        } else if (spreader == HashSpreader.mixing()) {
+            return MIXING_INSTANCE;
+        } else {
+            return new EmptyHashMap<>(spreader);
+        }
+    }
+
+    @Nonnull
+    public HashSpreader getSpreader()
     {
+        return spreader;
     }
 
     @Nonnull
     @Override
     public Builder<K, V> mapBuilder()
     {
-        return JImmutableHashMap.builder();
+        return JImmutableHashMap.builder(spreader);
+    }
+
+    /**
+     * Creates an empty transient Editor.  The collision handling strategy is selected
+     * based on the first key assigned.
+     */
+    @Nonnull
+    public JImmutableHashMap.Editor<K, V> edit()
+    {
+        return new JImmutableHashMap.Editor<>(HamtEmptyNode.of(), null, spreader);
     }
 
     @Nonnull
@@ -92,7 +129,26 @@ public class EmptyHashMap<K, V>
     public JImmutableMap<K, V> assign(@Nonnull K key,
                                       V value)
     {
-        return JImmutableHashMap.<K, V>forKey(key).assign(key, value);
+        return JImmutableHashMap.<K, V>forKey(key, spreader).assign(key, value);
+    }
+
+    /**
+     * A non-empty JImmutableHashMap is returned as is when it uses the same collision handling
+     * strategy that assign() would have selected for its keys and the same HashSpreader as this map.
+     */
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public JImmutableMap<K, V> assignAll(@Nonnull JImmutableMap<? extends K, ? extends V> map)
+    {
+        if (map instanceof JImmutableHashMap && !map.isEmpty()) {
+            final JImmutableHashMap<?, K, V> other = (JImmutableHashMap<?, K, V>)map;
+            final JImmutableHashMap<?, K, V> empty = (JImmutableHashMap<?, K, V>)JImmutableHashMap.<K, V>forKey(other.iterator().next().getKey(), spreader);
+            if (other.getCollisionMap() == empty.getCollisionMap() && other.getSpreader() == spreader) {
+                return other;
+            }
+        }
+        return super.assignAll(map);
     }
 
     @Nonnull
@@ -108,6 +164,12 @@ public class EmptyHashMap<K, V>
         return 0;
     }
 
+    @Override
+    public int hashCode()
+    {
+        return 0;
+    }
+
     @Nonnull
     @Override
     public JImmutableMap<K, V> deleteAll()
@@ -141,8 +203,18 @@ public class EmptyHashMap<K, V>
         //TODO: fix empty checkInvariants()
     }
 
+    @Nonnull
+    public StructureStatistics getStatistics()
+    {
+        return StructureStatistics.builder().build();
+    }
+
     private Object writeReplace()
     {
-        return new JImmutableHashMapProxy(this);
+        if (spreader == HashSpreader.identity()) {
+            return new JImmutableHashMapProxy(this);
+        } else {
+            return new JImmutableSpreadHashMapProxy(this);
+        }
     }
 }
@@ -0,0 +1,72 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash;
+
+import java.io.Serializable;
+
+/**
+ * Transforms key hash codes before they are used to navigate a hash trie.  The trie consumes
+ * hash codes five bits at a time starting with the lowest bits so keys whose hash codes differ
+ * mostly in their high bits (strided ids, shifted values, floating point keys, etc) produce
+ * deep tries with long collision chains.  A spreader that mixes high bits into low bits avoids
+ * that at the cost of a few arithmetic operations per lookup.
+ * <p>
+ * Spreaders should be bijective so that they never introduce new collisions.  Spreaders must
+ * be Serializable for maps using them to be serialized.
+ */
+@FunctionalInterface
+public interface HashSpreader
+    extends Serializable
+{
+    int spread(int hashCode);
+
+    /**
+     * Returns a spreader that uses hash codes unchanged.  This is the default for all hash maps.
+     */
+    static HashSpreader identity()
+    {
+        return StandardHashSpreader.IDENTITY;
+    }
+
+    /**
+     * Returns a spreader that mixes all 32 bits of the hash code using the finalization
+     * step of MurmurHash3.
+     */
+    static HashSpreader mixing()
+    {
+        return StandardHashSpreader.MIXING;
+    }
+}
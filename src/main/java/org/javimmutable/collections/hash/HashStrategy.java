@@ -0,0 +1,81 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash;
+
+import javax.annotation.Nonnull;
+import java.io.Serializable;
+
+/**
+ * Defines how a hash map or hash set computes hash codes for its keys and decides whether
+ * two keys are the same.  The standard strategy uses the keys' own hashCode() and equals()
+ * methods.  Other strategies can avoid calling an expensive equals() method, for example by
+ * comparing keys by identity or by comparing a hash code that was computed when the key
+ * was created before comparing anything else.
+ * <p>
+ * Equivalent keys must have equal hash codes.  Maps using any strategy other than the
+ * standard one always keep keys with equal hash codes in lists since a Comparable key's
+ * ordering might not be consistent with the strategy.  Strategies must be Serializable
+ * for maps using them to be serialized and two maps can only share nodes when their
+ * strategies are equal.
+ */
+public interface HashStrategy<K>
+    extends Serializable
+{
+    int hash(@Nonnull K key);
+
+    boolean equivalent(@Nonnull K a,
+                       @Nonnull K b);
+
+    /**
+     * Returns a strategy that uses each key's own hashCode() and equals() methods.  This is
+     * the default for all hash maps.
+     */
+    @SuppressWarnings("unchecked")
+    static <K> HashStrategy<K> standard()
+    {
+        return (HashStrategy<K>)StandardHashStrategy.STANDARD;
+    }
+
+    /**
+     * Returns a strategy that treats keys as equivalent only if they are the same object,
+     * like java.util.IdentityHashMap.  Keys are hashed using System.identityHashCode().
+     */
+    @SuppressWarnings("unchecked")
+    static <K> HashStrategy<K> identity()
+    {
+        return (HashStrategy<K>)StandardHashStrategy.IDENTITY;
+    }
+}
@@ -0,0 +1,261 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.hash;
+
+import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.Holders;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.Proc2;
+import org.javimmutable.collections.SplitableIterator;
+import org.javimmutable.collections.Sum2;
+import org.javimmutable.collections.common.AbstractJImmutableMap;
+import org.javimmutable.collections.hash.hamt.ChampBranchNode;
+import org.javimmutable.collections.hash.hamt.ChampNode;
+import org.javimmutable.collections.iterators.GenericIterator;
+import org.javimmutable.collections.serialization.JImmutableChampMapProxy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Serializable;
+
+/**
+ * Hash map stored in a compressed hash array mapped prefix trie (CHAMP).  Entries are
+ * stored inline in the trie's branch nodes rather than in separate leaf nodes so the
+ * map needs fewer objects per entry than JImmutableHashMap and iterates over them
+ * with fewer pointer hops.  The trie for a given set of keys always has the same shape
+ * so two of these maps can be compared for equality node by node.  Keys must implement
+ * hashCode and equals.  Keys with equal hash codes are held in a simple list so, unlike
+ * JImmutableHashMap, no special handling is given to Comparable keys.
+ */
+@Immutable
+public class JImmutableChampMap<K, V>
+    extends AbstractJImmutableMap<K, V>
+    implements Serializable
+{
+    @SuppressWarnings("unchecked")
+    private static final JImmutableChampMap EMPTY = new JImmutableChampMap(ChampBranchNode.of());
+
+    private static final long serialVersionUID = -121805;
+
+    private final ChampNode<K, V> root;
+
+    private JImmutableChampMap(@Nonnull ChampNode<K, V> root)
+    {
+        this.root = root;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <K, V> JImmutableChampMap<K, V> of()
+    {
+        return EMPTY;
+    }
+
+    @Nonnull
+    public static <K, V> Builder<K, V> builder()
+    {
+        return new Builder<>();
+    }
+
+    @Nonnull
+    @Override
+    public Builder<K, V> mapBuilder()
+    {
+        return builder();
+    }
+
+    @Override
+    public V getValueOr(K key,
+                        V defaultValue)
+    {
+        return root.getValueOr(key.hashCode(), 0, key, defaultValue);
+    }
+
+    @Nonnull
+    @Override
+    public Holder<V> find(@Nonnull K key)
+    {
+        return root.find(key.hashCode(), 0, key);
+    }
+
+    @Nonnull
+    @Override
+    public Holder<Entry<K, V>> findEntry(@Nonnull K key)
+    {
+        final Holder<V> value = find(key);
+        if (value.isEmpty()) {
+            return Holders.of();
+        } else {
+            return Holders.of(MapEntry.of(key, value.getValue()));
+        }
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableChampMap<K, V> assign(@Nonnull K key,
+                                           V value)
+    {
+        return withRoot(root.assign(key.hashCode(), 0, key, value));
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableChampMap<K, V> delete(@Nonnull K key)
+    {
+        return withRoot(root.delete(key.hashCode(), 0, key));
+    }
+
+    @Override
+    public int size()
+    {
+        return root.size();
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableChampMap<K, V> deleteAll()
+    {
+        return of();
+    }
+
+    @Nonnull
+    @Override
+    public SplitableIterator<Entry<K, V>> iterator()
+    {
+        return new GenericIterator<>(root, 0, root.size());
+    }
+
+    @Override
+    public void forEach(@Nonnull Proc2<K, V> proc)
+    {
+        root.forEach(proc);
+    }
+
+    @Override
+    public <R> R reduce(R sum,
+                        @Nonnull Sum2<K, V, R> proc)
+    {
+        return root.reduce(sum, proc);
+    }
+
+    /**
+     * Two of these maps are compared by walking their tries in parallel which avoids
+     * looking up every key and stops at the first node whose shape differs.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o instanceof JImmutableChampMap) {
+            return root.isEqualTo(((JImmutableChampMap<K, V>)o).root);
+        } else {
+            return super.equals(o);
+        }
+    }
+
+    /**
+     * Sum of the hash codes of the entries as defined by Map.hashCode().  The trie
+     * maintains the sum as it is modified so no entries are visited.
+     */
+    @Override
+    public int hashCode()
+    {
+        return root.entriesHashCode();
+    }
+
+    @Override
+    public void checkInvariants()
+    {
+        root.checkInvariants(0);
+    }
+
+    @Nonnull
+    private JImmutableChampMap<K, V> withRoot(@Nonnull ChampNode<K, V> newRoot)
+    {
+        if (newRoot == root) {
+            return this;
+        } else if (newRoot.isEmpty()) {
+            return of();
+        } else {
+            return new JImmutableChampMap<>(newRoot);
+        }
+    }
+
+    private Object writeReplace()
+    {
+        return new JImmutableChampMapProxy(this);
+    }
+
+    @ThreadSafe
+    public static class Builder<K, V>
+        implements JImmutableMap.Builder<K, V>
+    {
+        private JImmutableChampMap<K, V> map = of();
+
+        @Nonnull
+        @Override
+        public synchronized JImmutableChampMap<K, V> build()
+        {
+            return map;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized Builder<K, V> clear()
+        {
+            map = of();
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized Builder<K, V> add(@Nonnull K key,
+                                              V value)
+        {
+            map = map.assign(key, value);
+            return this;
+        }
+
+        @Override
+        public synchronized int size()
+        {
+            return map.size();
+        }
+    }
+}
@@ -36,8 +36,10 @@
 package org.javimmutable.collections.hash;
 
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.Holders;
+import org.javimmutable.collections.Indexed;
 import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.MapEntry;
 import org.javimmutable.collections.Proc2;
@@ -47,17 +49,28 @@ import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
 import org.javimmutable.collections.common.AbstractJImmutableMap;
 import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.common.ForkJoinHelper;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.hash.hamt.HamtBuilder;
+import org.javimmutable.collections.hash.hamt.HamtEdit;
 import org.javimmutable.collections.hash.hamt.HamtEmptyNode;
 import org.javimmutable.collections.hash.hamt.HamtNode;
+import org.javimmutable.collections.indexed.IndexedList;
 import org.javimmutable.collections.list.ListCollisionMap;
 import org.javimmutable.collections.serialization.JImmutableHashMapProxy;
+import org.javimmutable.collections.serialization.JImmutableSpreadHashMapProxy;
+import org.javimmutable.collections.serialization.JImmutableStrategyHashMapProxy;
 import org.javimmutable.collections.tree.TreeCollisionMap;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collector;
 
 @Immutable
@@ -73,22 +86,28 @@ public class JImmutableHashMap<T, K, V>
 
     // this is safe since the transformations object works for any possible K and V
     @SuppressWarnings("unchecked")
-    static final JImmutableHashMap LIST_EMPTY = new JImmutableHashMap(HamtEmptyNode.of(), LIST_COLLISION_MAP);
+    static final JImmutableHashMap LIST_EMPTY = new JImmutableHashMap(HamtEmptyNode.of(), LIST_COLLISION_MAP, HashSpreader.identity());
 
     // this is safe since the transformations object works for any possible K and V
     @SuppressWarnings("unchecked")
-    static final JImmutableHashMap TREE_EMPTY = new JImmutableHashMap(HamtEmptyNode.of(), TREE_COLLISION_MAP);
+    static final JImmutableHashMap TREE_EMPTY = new JImmutableHashMap(HamtEmptyNode.of(), TREE_COLLISION_MAP, HashSpreader.identity());
+
+    // below this size building in parallel costs more than it saves
+    private static final int PARALLEL_BUILD_THRESHOLD = 8192;
 
     private static final long serialVersionUID = -121805;
 
     private final HamtNode<K, V> root;
     private final CollisionMap<K, V> collisionMap;
+    private final HashSpreader spreader;
 
     private JImmutableHashMap(HamtNode<K, V> root,
-                              CollisionMap<K, V> collisionMap)
+                              CollisionMap<K, V> collisionMap,
+                              HashSpreader spreader)
     {
         this.root = root;
         this.collisionMap = collisionMap;
+        this.spreader = spreader;
     }
 
     /**
@@ -104,6 +123,36 @@ public class JImmutableHashMap<T, K, V>
         return EmptyHashMap.INSTANCE;
     }
 
+    /**
+     * Returns an empty hash map that passes every key's hash code through spreader before using
+     * it.  Collision handling strategy is selected the same way as for of().
+     */
+    public static <K, V> EmptyHashMap<K, V> of(@Nonnull HashSpreader spreader)
+    {
+        return EmptyHashMap.of(spreader);
+    }
+
+    /**
+     * Returns an empty hash map that hashes and compares keys using strategy instead of their own
+     * hashCode() and equals() methods.  Unless strategy is the standard one hash code collisions
+     * are always handled using lists.
+     */
+    @Nonnull
+    public static <K, V> JImmutableMap<K, V> of(@Nonnull HashStrategy<K> strategy)
+    {
+        return of(strategy, HashSpreader.identity());
+    }
+
+    /**
+     * Same as of(strategy) but the map also passes every key's hash code through spreader.
+     */
+    @Nonnull
+    public static <K, V> JImmutableMap<K, V> of(@Nonnull HashStrategy<K> strategy,
+                                                @Nonnull HashSpreader spreader)
+    {
+        return emptyMap(ListCollisionMap.forStrategy(strategy), spreader);
+    }
+
     /**
      * Returns an empty map using the appropriate collision handling strategy for keys of the given
      * class.  All keys used with that map should derive from the specified class to avoid runtime
@@ -126,6 +175,20 @@ public class JImmutableHashMap<T, K, V>
         return (key instanceof Comparable) ? TREE_EMPTY : LIST_EMPTY;
     }
 
+    /**
+     * Same as forKey(key) but the map passes every key's hash code through spreader.
+     */
+    @Nonnull
+    public static <K, V> JImmutableMap<K, V> forKey(@Nonnull K key,
+                                                    @Nonnull HashSpreader spreader)
+    {
+        if (spreader == HashSpreader.identity()) {
+            return forKey(key);
+        } else {
+            return new JImmutableHashMap<>(HamtEmptyNode.of(), collisionMapForKey(key), spreader);
+        }
+    }
+
     /**
      * Returns an empty map using linked lists for handling hash code collisions.  This is safe
      * for any type of key but is slower when many keys have the same hash code.
@@ -149,39 +212,110 @@ public class JImmutableHashMap<T, K, V>
 
     public static <K, V> JImmutableMap.Builder<K, V> builder()
     {
-        return new Builder<>();
+        return new Builder<>(HashStrategy.standard(), HashSpreader.identity());
+    }
+
+    public static <K, V> JImmutableMap.Builder<K, V> builder(@Nonnull HashSpreader spreader)
+    {
+        return new Builder<>(HashStrategy.standard(), spreader);
+    }
+
+    public static <K, V> JImmutableMap.Builder<K, V> builder(@Nonnull HashStrategy<K> strategy,
+                                                             @Nonnull HashSpreader spreader)
+    {
+        return new Builder<>(strategy, spreader);
     }
 
     @Nonnull
     @Override
     public JImmutableMap.Builder<K, V> mapBuilder()
     {
-        return builder();
+        return builder(getStrategy(), spreader);
+    }
+
+    /**
+     * Creates a map containing every entry in source.  Large inputs are built in parallel
+     * on the common ForkJoinPool.  When several entries have equal keys the last one in
+     * source wins.
+     */
+    @Nonnull
+    public static <K, V> JImmutableMap<K, V> buildParallel(@Nonnull Indexed<? extends Entry<? extends K, ? extends V>> source)
+    {
+        return buildParallel(source, HashSpreader.identity(), ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Same as buildParallel(source) but the map passes every key's hash code through spreader
+     * and any parallel work is done on pool.
+     */
+    @Nonnull
+    public static <K, V> JImmutableMap<K, V> buildParallel(@Nonnull Indexed<? extends Entry<? extends K, ? extends V>> source,
+                                                           @Nonnull HashSpreader spreader,
+                                                           @Nonnull ForkJoinPool pool)
+    {
+        return buildParallel(source, HashStrategy.standard(), spreader, pool);
+    }
+
+    /**
+     * Same as buildParallel(source, spreader, pool) but the map hashes and compares keys
+     * using strategy.
+     */
+    @Nonnull
+    public static <K, V> JImmutableMap<K, V> buildParallel(@Nonnull Indexed<? extends Entry<? extends K, ? extends V>> source,
+                                                           @Nonnull HashStrategy<K> strategy,
+                                                           @Nonnull HashSpreader spreader,
+                                                           @Nonnull ForkJoinPool pool)
+    {
+        if (source.size() < PARALLEL_BUILD_THRESHOLD || pool.getParallelism() == 1) {
+            return JImmutableHashMap.<K, V>builder(strategy, spreader).add(source).build();
+        }
+        final CollisionMap<K, V> collisionMap = (strategy == HashStrategy.standard()) ? collisionMapForKey(source.get(0).getKey()) : ListCollisionMap.forStrategy(strategy);
+        final HamtNode<K, V> root = HamtBuilder.buildParallel(pool, collisionMap, spreader, source);
+        return new JImmutableHashMap<>(root, collisionMap, spreader);
     }
 
+    /**
+     * Collects entries into lists which are combined and then passed to buildParallel().
+     * This allows a parallel stream to build the map on all of its threads rather than
+     * funneling every entry through a single synchronized Builder.
+     */
     @Nonnull
     public static <K, V> Collector<Entry<K, V>, ?, JImmutableMap<K, V>> createMapCollector()
     {
-        return Collector.<Entry<K, V>, JImmutableMap.Builder<K, V>, JImmutableMap<K, V>>of(JImmutableHashMap::builder,
-                                                                                           (b, v) -> b.add(v),
-                                                                                           (b1, b2) -> b1.add(b2),
-                                                                                           b -> b.build(),
-                                                                                           Collector.Characteristics.UNORDERED,
-                                                                                           Collector.Characteristics.CONCURRENT);
+        return Collector.<Entry<K, V>, List<Entry<K, V>>, JImmutableMap<K, V>>of(ArrayList::new,
+                                                                                 List::add,
+                                                                                 (a, b) -> {
+                                                                                     a.addAll(b);
+                                                                                     return a;
+                                                                                 },
+                                                                                 list -> buildParallel(IndexedList.retained(list)),
+                                                                                 Collector.Characteristics.UNORDERED);
+    }
+
+    /**
+     * Creates a transient Editor initialized with the contents of this map.  The Editor
+     * can apply a large batch of changes much more cheaply than repeated calls to assign()
+     * and delete() since it modifies nodes it has already copied in place rather than
+     * copying them again for every change.  This map itself is never modified.
+     */
+    @Nonnull
+    public Editor<K, V> edit()
+    {
+        return new Editor<>(root, collisionMap, spreader);
     }
 
     @Override
     public V getValueOr(K key,
                         V defaultValue)
     {
-        return root.getValueOr(collisionMap, key.hashCode(), key, defaultValue);
+        return root.getValueOr(collisionMap, spreader.spread(collisionMap.keyHashCode(key)), key, defaultValue);
     }
 
     @Nonnull
     @Override
     public Holder<V> find(@Nonnull K key)
     {
-        return root.find(collisionMap, key.hashCode(), key);
+        return root.find(collisionMap, spreader.spread(collisionMap.keyHashCode(key)), key);
     }
 
     @Nonnull
@@ -201,11 +335,51 @@ public class JImmutableHashMap<T, K, V>
     public JImmutableMap<K, V> assign(@Nonnull K key,
                                       V value)
     {
-        final HamtNode<K, V> newRoot = root.assign(collisionMap, key.hashCode(), key, value);
+        final HamtNode<K, V> newRoot = root.assign(collisionMap, spreader.spread(collisionMap.keyHashCode(key)), key, value);
         if (newRoot == root) {
             return this;
         } else {
-            return new JImmutableHashMap<>(newRoot, collisionMap);
+            return new JImmutableHashMap<>(newRoot, collisionMap, spreader);
+        }
+    }
+
+    /**
+     * When map is also a JImmutableHashMap using the same collision handling strategy the two
+     * tries are merged node by node rather than assigning every entry of map individually.
+     * Subtrees that appear in only one of the maps or that are shared by both are reused as is.
+     */
+    @Nonnull
+    @Override
+    @SuppressWarnings("unchecked")
+    public JImmutableMap<K, V> assignAll(@Nonnull JImmutableMap<? extends K, ? extends V> map)
+    {
+        if (map instanceof JImmutableHashMap) {
+            final JImmutableHashMap<?, K, V> other = (JImmutableHashMap<?, K, V>)map;
+            if (isCompatible(other)) {
+                final HamtNode<K, V> newRoot = root.merge(collisionMap, other.root);
+                if (newRoot == root) {
+                    return this;
+                } else {
+                    return new JImmutableHashMap<>(newRoot, collisionMap, spreader);
+                }
+            }
+        }
+        return super.assignAll(map);
+    }
+
+    /**
+     * When newer is also a JImmutableHashMap using the same collision handling strategy the two
+     * tries are compared node by node and subtrees shared by both maps are skipped.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void diff(@Nonnull JImmutableMap<K, V> newer,
+                     @Nonnull DiffVisitor<K, V> visitor)
+    {
+        if (newer instanceof JImmutableHashMap && isCompatible((JImmutableHashMap<?, K, V>)newer)) {
+            root.diff(collisionMap, ((JImmutableHashMap<?, K, V>)newer).root, visitor);
+        } else {
+            super.diff(newer, visitor);
         }
     }
 
@@ -214,11 +388,11 @@ public class JImmutableHashMap<T, K, V>
     public JImmutableMap<K, V> update(@Nonnull K key,
                                       @Nonnull Func1<Holder<V>, V> generator)
     {
-        final HamtNode<K, V> newRoot = root.update(collisionMap, key.hashCode(), key, generator);
+        final HamtNode<K, V> newRoot = root.update(collisionMap, spreader.spread(collisionMap.keyHashCode(key)), key, generator);
         if (newRoot == root) {
             return this;
         } else {
-            return new JImmutableHashMap<>(newRoot, collisionMap);
+            return new JImmutableHashMap<>(newRoot, collisionMap, spreader);
         }
     }
 
@@ -226,13 +400,13 @@ public class JImmutableHashMap<T, K, V>
     @Override
     public JImmutableMap<K, V> delete(@Nonnull K key)
     {
-        final HamtNode<K, V> newRoot = root.delete(collisionMap, key.hashCode(), key);
+        final HamtNode<K, V> newRoot = root.delete(collisionMap, spreader.spread(collisionMap.keyHashCode(key)), key);
         if (newRoot == root) {
             return this;
         } else if (newRoot.isEmpty(collisionMap)) {
-            return of();
+            return emptyMap(collisionMap, spreader);
         } else {
-            return new JImmutableHashMap<>(newRoot, collisionMap);
+            return new JImmutableHashMap<>(newRoot, collisionMap, spreader);
         }
     }
 
@@ -242,11 +416,38 @@ public class JImmutableHashMap<T, K, V>
         return root.size(collisionMap);
     }
 
+    /**
+     * Every branch node maintains the sum of the hash codes of the entries beneath it
+     * so this only visits the entries stored directly in the root.
+     */
+    @Override
+    public int hashCode()
+    {
+        return root.entriesHashCode(collisionMap);
+    }
+
+    /**
+     * When o is also a JImmutableHashMap that places keys in the same positions the two
+     * tries are compared node by node.  Subtrees shared by both maps are skipped and the
+     * comparison stops as soon as the sizes, entry hash sums or slots of any pair of
+     * branches differ.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o)
+    {
+        if (o instanceof JImmutableHashMap && isCompatible((JImmutableHashMap<?, K, V>)o)) {
+            return root.isEqualTo(collisionMap, ((JImmutableHashMap<?, K, V>)o).root);
+        } else {
+            return super.equals(o);
+        }
+    }
+
     @Nonnull
     @Override
     public JImmutableMap<K, V> deleteAll()
     {
-        return of();
+        return emptyMap(collisionMap, spreader);
     }
 
     @Nonnull
@@ -276,6 +477,14 @@ public class JImmutableHashMap<T, K, V>
         return root.reduce(collisionMap, sum, proc);
     }
 
+    @Override
+    public <R> R parallelReduce(R identity,
+                                @Nonnull Sum2<K, V, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        return ForkJoinHelper.invoke(() -> root.parallelReduce(collisionMap, identity, accumulator, combiner));
+    }
+
     @Override
     public <R, E extends Exception> R reduceThrows(R sum,
                                                    @Nonnull Sum2Throws<K, V, R, E> proc)
@@ -290,22 +499,202 @@ public class JImmutableHashMap<T, K, V>
         root.checkInvariants(collisionMap);
     }
 
+    /**
+     * Describes the shape of the hash trie and its collision maps.  Intended for
+     * monitoring the key distribution of large maps.  Visits every node so it takes
+     * time proportional to the size of the map.
+     */
+    @Nonnull
+    public StructureStatistics getStatistics()
+    {
+        final StructureStatistics.Builder stats = StructureStatistics.builder();
+        root.collectStatistics(collisionMap, stats, 0);
+        return stats.build();
+    }
+
     // for unit test to verify proper transforms selected
     CollisionMap getCollisionMap()
     {
         return collisionMap;
     }
 
+    @Nonnull
+    public HashSpreader getSpreader()
+    {
+        return spreader;
+    }
+
+    @Nonnull
+    public HashStrategy<K> getStrategy()
+    {
+        if (collisionMap instanceof ListCollisionMap) {
+            return ((ListCollisionMap<K, V>)collisionMap).getStrategy();
+        } else {
+            return HashStrategy.standard();
+        }
+    }
+
+    /**
+     * Two hash maps can be combined or compared node by node only if their keys are
+     * placed in the same positions within their tries.
+     */
+    private boolean isCompatible(@Nonnull JImmutableHashMap<?, K, V> other)
+    {
+        return other.collisionMap.equals(collisionMap) && other.spreader == spreader;
+    }
+
     private Object writeReplace()
     {
-        return new JImmutableHashMapProxy(this);
+        if (getStrategy() != HashStrategy.standard()) {
+            return new JImmutableStrategyHashMapProxy(this);
+        } else if (spreader == HashSpreader.identity()) {
+            return new JImmutableHashMapProxy(this);
+        } else {
+            return new JImmutableSpreadHashMapProxy(this);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private static <K, V> CollisionMap<K, V> collisionMapForKey(@Nonnull K key)
+    {
+        return (key instanceof Comparable) ? TREE_COLLISION_MAP : LIST_COLLISION_MAP;
+    }
+
+    /**
+     * Maps using the standard strategy select their collision map based on their first key
+     * so they revert to an EmptyHashMap when they become empty.  Maps using any other strategy
+     * have to keep their collision map to remember the strategy.
+     */
+    @Nonnull
+    private static <K, V> JImmutableMap<K, V> emptyMap(@Nullable CollisionMap<K, V> collisionMap,
+                                                       @Nonnull HashSpreader spreader)
+    {
+        if (collisionMap instanceof ListCollisionMap && ((ListCollisionMap<K, V>)collisionMap).getStrategy() != HashStrategy.standard()) {
+            return new JImmutableHashMap<>(HamtEmptyNode.of(), collisionMap, spreader);
+        } else {
+            return of(spreader);
+        }
+    }
+
+    /**
+     * Mutable view of a JImmutableHashMap used to apply many changes in one batch.
+     * Nodes copied by the Editor belong to it and are modified in place by later
+     * changes, so a batch of N changes allocates far fewer objects than N calls to
+     * assign().  Calling freeze() returns a normal persistent map containing all of
+     * the changes so far.  The Editor can continue to be used afterwards and later
+     * changes do not affect any map previously returned by freeze().
+     * <p>
+     * Editors are not thread safe and must not be shared between threads without
+     * external synchronization.
+     */
+    @NotThreadSafe
+    public static class Editor<K, V>
+    {
+        private HamtNode<K, V> root;
+        @Nullable
+        private CollisionMap<K, V> collisionMap;
+        private final HashSpreader spreader;
+        private HamtEdit edit;
+
+        Editor(@Nonnull HamtNode<K, V> root,
+               @Nullable CollisionMap<K, V> collisionMap,
+               @Nonnull HashSpreader spreader)
+        {
+            this.root = root;
+            this.collisionMap = collisionMap;
+            this.spreader = spreader;
+            edit = new HamtEdit();
+        }
+
+        @Nonnull
+        public Holder<V> find(@Nonnull K key)
+        {
+            return (collisionMap == null) ? Holders.of() : root.find(collisionMap, spreader.spread(collisionMap.keyHashCode(key)), key);
+        }
+
+        public V getValueOr(@Nonnull K key,
+                            V defaultValue)
+        {
+            return (collisionMap == null) ? defaultValue : root.getValueOr(collisionMap, spreader.spread(collisionMap.keyHashCode(key)), key, defaultValue);
+        }
+
+        @Nonnull
+        public Editor<K, V> assign(@Nonnull K key,
+                                   V value)
+        {
+            if (collisionMap == null) {
+                collisionMap = collisionMapForKey(key);
+            }
+            root = root.assign(collisionMap, edit, spreader.spread(collisionMap.keyHashCode(key)), key, value);
+            return this;
+        }
+
+        @Nonnull
+        public Editor<K, V> assignAll(@Nonnull Iterable<? extends Entry<? extends K, ? extends V>> entries)
+        {
+            for (Entry<? extends K, ? extends V> entry : entries) {
+                assign(entry.getKey(), entry.getValue());
+            }
+            return this;
+        }
+
+        @Nonnull
+        public Editor<K, V> update(@Nonnull K key,
+                                   @Nonnull Func1<Holder<V>, V> generator)
+        {
+            return assign(key, generator.apply(find(key)));
+        }
+
+        @Nonnull
+        public Editor<K, V> delete(@Nonnull K key)
+        {
+            if (collisionMap != null) {
+                root = root.delete(collisionMap, edit, spreader.spread(collisionMap.keyHashCode(key)), key);
+            }
+            return this;
+        }
+
+        public int size()
+        {
+            return (collisionMap == null) ? 0 : root.size(collisionMap);
+        }
+
+        public boolean isEmpty()
+        {
+            return size() == 0;
+        }
+
+        /**
+         * Returns a persistent map containing the current contents of the Editor.  Every node
+         * reachable from the returned map becomes immutable.  Later changes made through this
+         * Editor copy those nodes again as needed.
+         */
+        @Nonnull
+        public JImmutableMap<K, V> freeze()
+        {
+            edit = new HamtEdit();
+            if (collisionMap == null || root.isEmpty(collisionMap)) {
+                return emptyMap(collisionMap, spreader);
+            } else {
+                return new JImmutableHashMap<>(root, collisionMap, spreader);
+            }
+        }
     }
 
     @ThreadSafe
     public static class Builder<K, V>
         implements JImmutableMap.Builder<K, V>
     {
-        private final HamtBuilder<K, V> builder = new HamtBuilder<>();
+        private final HamtBuilder<K, V> builder;
+        private final HashSpreader spreader;
+
+        private Builder(@Nonnull HashStrategy<K> strategy,
+                        @Nonnull HashSpreader spreader)
+        {
+            builder = new HamtBuilder<>(strategy, spreader);
+            this.spreader = spreader;
+        }
 
         @Nonnull
         @Override
@@ -314,9 +703,9 @@ public class JImmutableHashMap<T, K, V>
             final HamtNode<K, V> root = builder.build();
             final CollisionMap<K, V> collisionMap = builder.getCollisionMap();
             if (root.isEmpty(collisionMap)) {
-                return of();
+                return emptyMap(collisionMap, spreader);
             } else {
-                return new JImmutableHashMap<>(root, collisionMap);
+                return new JImmutableHashMap<>(root, collisionMap, spreader);
             }
         }
 
@@ -35,30 +35,62 @@
 
 package org.javimmutable.collections.hash;
 
-import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.Func2;
+import org.javimmutable.collections.JImmutableMultiset;
 import org.javimmutable.collections.JImmutableSet;
-import org.javimmutable.collections.common.AbstractJImmutableSet;
-import org.javimmutable.collections.common.GenericSetBuilder;
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.SplitableIterator;
+import org.javimmutable.collections.Sum1;
+import org.javimmutable.collections.common.ForkJoinHelper;
+import org.javimmutable.collections.common.SetAdaptor;
+import org.javimmutable.collections.common.StreamConstants;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.hash.hamt.ChampSetBranchNode;
+import org.javimmutable.collections.hash.hamt.ChampSetNode;
+import org.javimmutable.collections.iterators.GenericIterator;
+import org.javimmutable.collections.iterators.IteratorHelper;
 import org.javimmutable.collections.serialization.JImmutableHashSetProxy;
+import org.javimmutable.collections.serialization.JImmutableStrategyHashSetProxy;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
-import java.util.HashSet;
+import java.util.Iterator;
 import java.util.Set;
+import java.util.function.Consumer;
 
+/**
+ * Hash set stored in a CHAMP trie that holds only the values themselves.  Unlike the
+ * map backed sets no value slot, leaf node or entry object is needed for each value so
+ * large sets use a fraction of the memory of a JImmutableHashMap with the same keys.
+ * The trie for a given set of values always has the same shape so two sets using the
+ * same HashStrategy are compared for equality node by node.
+ * <p>
+ * This class no longer extends AbstractJImmutableSet.  That class is built around a
+ * protected JImmutableMap&lt;T, Boolean&gt; holding the values and this set has no such
+ * map to give it.  Code that relied on the old superclass should use JImmutableSet,
+ * which this class still implements in full.  Equality with the map based sets is
+ * unchanged since both sides fall back to comparing their java.util.Set views.
+ */
 @Immutable
 public class JImmutableHashSet<T>
-    extends AbstractJImmutableSet<T>
-    implements Serializable
+    implements JImmutableSet<T>,
+               Serializable
 {
     @SuppressWarnings("unchecked")
-    private static final JImmutableHashSet EMPTY = new JImmutableHashSet(JImmutableHashMap.of());
+    private static final JImmutableHashSet EMPTY = new JImmutableHashSet(ChampSetBranchNode.of(), HashStrategy.standard());
     private static final long serialVersionUID = -121805;
 
-    private JImmutableHashSet(JImmutableMap<T, Boolean> map)
+    private final ChampSetNode<T> root;
+    private final HashStrategy<T> strategy;
+
+    private JImmutableHashSet(@Nonnull ChampSetNode<T> root,
+                              @Nonnull HashStrategy<T> strategy)
     {
-        super(map);
+        this.root = root;
+        this.strategy = strategy;
     }
 
     @SuppressWarnings("unchecked")
@@ -67,33 +99,423 @@ public class JImmutableHashSet<T>
         return EMPTY;
     }
 
+    /**
+     * Returns an empty set that hashes and compares its values using strategy instead of
+     * their own hashCode() and equals() methods.
+     */
+    @Nonnull
+    public static <T> JImmutableHashSet<T> of(@Nonnull HashStrategy<T> strategy)
+    {
+        if (strategy == HashStrategy.standard()) {
+            return of();
+        } else {
+            return new JImmutableHashSet<>(ChampSetBranchNode.of(), strategy);
+        }
+    }
+
     @Nonnull
     public static <T> JImmutableSet.Builder<T> builder()
     {
-        return new GenericSetBuilder<>(JImmutableHashMap.builder(), map -> map.isEmpty() ? of() : new JImmutableHashSet<>(map));
+        return new Builder<>(of());
+    }
+
+    @Nonnull
+    public static <T> JImmutableSet.Builder<T> builder(@Nonnull HashStrategy<T> strategy)
+    {
+        return new Builder<>(of(strategy));
+    }
+
+    @Nonnull
+    public HashStrategy<T> getStrategy()
+    {
+        return strategy;
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> insert(@Nonnull T value)
+    {
+        return withRoot(root.insert(strategy, strategy.hash(value), 0, value));
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> getInsertableSelf()
+    {
+        return this;
     }
 
     @Nonnull
     @Override
-    public JImmutableSet<T> deleteAll()
+    public JImmutableHashSet<T> insertAll(@Nonnull Iterable<? extends T> values)
+    {
+        return union(values);
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> insertAll(@Nonnull Iterator<? extends T> values)
+    {
+        return union(values);
+    }
+
+    @Override
+    public boolean contains(@Nullable T value)
     {
-        return of();
+        return (value != null) && root.contains(strategy, strategy.hash(value), 0, value);
     }
 
     @Override
-    protected JImmutableSet<T> create(JImmutableMap<T, Boolean> map)
+    public boolean containsAll(@Nonnull Iterable<? extends T> values)
     {
-        return new JImmutableHashSet<>(map);
+        return containsAll(values.iterator());
     }
 
     @Override
-    protected Set<T> emptyMutableSet()
+    public boolean containsAll(@Nonnull Iterator<? extends T> values)
     {
-        return new HashSet<>();
+        while (values.hasNext()) {
+            if (!contains(values.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean containsAny(@Nonnull Iterable<? extends T> values)
+    {
+        return containsAny(values.iterator());
+    }
+
+    @Override
+    public boolean containsAny(@Nonnull Iterator<? extends T> values)
+    {
+        while (values.hasNext()) {
+            if (contains(values.next())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> delete(T value)
+    {
+        return withRoot(root.delete(strategy, strategy.hash(value), 0, value));
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> deleteAll(@Nonnull Iterable<? extends T> other)
+    {
+        final JImmutableHashSet<T> compatible = compatibleSet(other);
+        if (compatible != null) {
+            return withRoot(root.difference(strategy, compatible.root, 0));
+        }
+        return deleteAll(other.iterator());
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> deleteAll(@Nonnull Iterator<? extends T> values)
+    {
+        ChampSetNode<T> newRoot = root;
+        while (values.hasNext()) {
+            final T value = values.next();
+            if (value != null) {
+                newRoot = newRoot.delete(strategy, strategy.hash(value), 0, value);
+            }
+        }
+        return withRoot(newRoot);
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> deleteAll()
+    {
+        return of(strategy);
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> union(@Nonnull Iterable<? extends T> other)
+    {
+        final JImmutableHashSet<T> compatible = compatibleSet(other);
+        if (compatible != null) {
+            final ChampSetNode<T> newRoot = root.union(strategy, compatible.root, 0);
+            return (newRoot == compatible.root) ? compatible : withRoot(newRoot);
+        }
+        return union(other.iterator());
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> union(@Nonnull Iterator<? extends T> values)
+    {
+        ChampSetNode<T> newRoot = root;
+        while (values.hasNext()) {
+            final T value = values.next();
+            if (value != null) {
+                newRoot = newRoot.insert(strategy, strategy.hash(value), 0, value);
+            }
+        }
+        return withRoot(newRoot);
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> intersection(@Nonnull Iterable<? extends T> other)
+    {
+        final JImmutableHashSet<T> compatible = compatibleSet(other);
+        if (compatible != null) {
+            return withRoot(root.intersection(strategy, compatible.root, 0));
+        }
+        return intersection(other.iterator());
+    }
+
+    /**
+     * Membership of the values is decided by this set's strategy rather than by
+     * the equals() method of a temporary java.util.Set.
+     */
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> intersection(@Nonnull Iterator<? extends T> values)
+    {
+        if (isEmpty()) {
+            return this;
+        } else if (!values.hasNext()) {
+            return deleteAll();
+        } else {
+            final JImmutableHashSet<T> other = deleteAll().union(values);
+            return withRoot(root.intersection(strategy, other.root, 0));
+        }
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> intersection(@Nonnull JImmutableSet<? extends T> other)
+    {
+        final JImmutableHashSet<T> compatible = compatibleSet(other);
+        if (compatible != null) {
+            return withRoot(root.intersection(strategy, compatible.root, 0));
+        }
+        return intersection(other.getSet());
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableHashSet<T> intersection(@Nonnull Set<? extends T> other)
+    {
+        if (isEmpty()) {
+            return this;
+        } else if (other.isEmpty()) {
+            return deleteAll();
+        } else {
+            return retainOnly(other::contains);
+        }
+    }
+
+    @Override
+    public int size()
+    {
+        return root.size();
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return root.isEmpty();
+    }
+
+    @Nonnull
+    @Override
+    public Set<T> getSet()
+    {
+        return SetAdaptor.of(this);
+    }
+
+    @Nonnull
+    @Override
+    public SplitableIterator<T> iterator()
+    {
+        return new GenericIterator<>(root, 0, root.size());
+    }
+
+    @Override
+    public int getSpliteratorCharacteristics()
+    {
+        return StreamConstants.SPLITERATOR_UNORDERED;
+    }
+
+    @Override
+    public void forEach(@Nonnull Consumer<? super T> action)
+    {
+        root.forEach(action);
+    }
+
+    @Override
+    public <V> V reduce(V initialValue,
+                        Func2<V, T, V> accumulator)
+    {
+        return root.reduce(initialValue, accumulator);
+    }
+
+    @Override
+    public <R> R parallelReduce(R identity,
+                                @Nonnull Sum1<T, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        return ForkJoinHelper.invoke(() -> root.parallelReduce(identity, accumulator, combiner));
+    }
+
+    /**
+     * Sum of the hash codes of the values as defined by Set.hashCode().  The trie maintains
+     * the sum of the hashes computed by its strategy so with the standard strategy no values
+     * are visited.  Other strategies hash differently so their values are summed here.
+     */
+    @Override
+    public int hashCode()
+    {
+        if (strategy == HashStrategy.standard()) {
+            return root.entriesHashCode();
+        } else {
+            return root.reduce(0, (sum, value) -> sum + value.hashCode());
+        }
+    }
+
+    /**
+     * Two sets using the same strategy are compared by walking their tries in parallel
+     * which avoids looking up every value and stops at the first node whose shape differs.
+     */
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == this) {
+            return true;
+        } else if (o == null) {
+            return false;
+        } else if (o instanceof JImmutableHashSet && strategy.equals(((JImmutableHashSet)o).strategy)) {
+            return root.isEqualTo(strategy, ((JImmutableHashSet<T>)o).root);
+        } else if (o instanceof JImmutableMultiset) {
+            return o.equals(this);
+        } else if (o instanceof JImmutableSet) {
+            return getSet().equals(((JImmutableSet)o).getSet());
+        } else {
+            return (o instanceof Set) && getSet().equals(o);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return IteratorHelper.iteratorToString(iterator());
+    }
+
+    @Override
+    public void checkInvariants()
+    {
+        root.checkInvariants(strategy, 0);
+    }
+
+    /**
+     * Describes the shape of the trie holding the values of this set.  Each value stored
+     * inline in a branch is counted as a collision chain of length one.
+     */
+    @Nonnull
+    public StructureStatistics getStatistics()
+    {
+        final StructureStatistics.Builder stats = StructureStatistics.builder();
+        root.collectStatistics(stats, 0);
+        return stats.build();
+    }
+
+    @Nonnull
+    private JImmutableHashSet<T> retainOnly(@Nonnull Func1<T, Boolean> predicate)
+    {
+        final ChampSetNode<T> newRoot = root.reduce(root, (answer, value) -> predicate.apply(value) ? answer : answer.delete(strategy, strategy.hash(value), 0, value));
+        return withRoot(newRoot);
+    }
+
+    /**
+     * Returns other as a hash set if it is one using the same strategy as this set.  Set
+     * operations between such sets combine their tries node by node without hashing the
+     * values in the subtrees that only one of them contains.
+     */
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private JImmutableHashSet<T> compatibleSet(@Nonnull Iterable<? extends T> other)
+    {
+        if (other instanceof JImmutableHashSet && strategy.equals(((JImmutableHashSet)other).strategy)) {
+            return (JImmutableHashSet<T>)other;
+        } else {
+            return null;
+        }
+    }
+
+    @Nonnull
+    private JImmutableHashSet<T> withRoot(@Nonnull ChampSetNode<T> newRoot)
+    {
+        if (newRoot == root) {
+            return this;
+        } else if (newRoot.isEmpty()) {
+            return deleteAll();
+        } else {
+            return new JImmutableHashSet<>(newRoot, strategy);
+        }
     }
 
     private Object writeReplace()
     {
-        return new JImmutableHashSetProxy(this);
+        if (strategy == HashStrategy.standard()) {
+            return new JImmutableHashSetProxy(this);
+        } else {
+            return new JImmutableStrategyHashSetProxy(this);
+        }
+    }
+
+    @ThreadSafe
+    private static class Builder<T>
+        implements JImmutableSet.Builder<T>
+    {
+        private final JImmutableHashSet<T> empty;
+        private JImmutableHashSet<T> set;
+
+        private Builder(@Nonnull JImmutableHashSet<T> empty)
+        {
+            this.empty = empty;
+            set = empty;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized JImmutableHashSet<T> build()
+        {
+            return set;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized Builder<T> clear()
+        {
+            set = empty;
+            return this;
+        }
+
+        @Override
+        public synchronized int size()
+        {
+            return set.size();
+        }
+
+        @Nonnull
+        @Override
+        public synchronized Builder<T> add(T value)
+        {
+            set = set.insert(value);
+            return this;
+        }
     }
 }
@@ -0,0 +1,245 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash;
+
+import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.IntObjConsumer;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.SplitableIterator;
+import org.javimmutable.collections.hash.hamt.LongHamtNode;
+import org.javimmutable.collections.iterators.GenericIterator;
+import org.javimmutable.collections.iterators.TransformIterator;
+import org.javimmutable.collections.serialization.JImmutableIntHashMapProxy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Serializable;
+
+/**
+ * Hash map keyed by primitive int values.  Keys are stored unboxed in the same long keyed
+ * hash trie as JImmutableLongHashMap, which uses the key itself as its hash code so no
+ * collision handling is needed.  Keys are zero extended rather than sign extended so
+ * every key fits in the lowest seven levels of the trie.  The methods taking int keys never box the key and lookups
+ * never allocate.  The methods inherited from JImmutableMap accept boxed keys and work the
+ * same way after unboxing them.  When the values are themselves boxed numbers pass them
+ * already boxed, otherwise calls like assign(1, 2) are ambiguous.
+ */
+@Immutable
+public class JImmutableIntHashMap<V>
+    extends AbstractPrimitiveKeyHashMap<Integer, V>
+    implements Serializable
+{
+    @SuppressWarnings("unchecked")
+    private static final JImmutableIntHashMap EMPTY = new JImmutableIntHashMap(LongHamtNode.of());
+
+    private static final long serialVersionUID = -121805;
+
+    private JImmutableIntHashMap(@Nonnull LongHamtNode<V> root)
+    {
+        super(root);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <V> JImmutableIntHashMap<V> of()
+    {
+        return EMPTY;
+    }
+
+    @Nonnull
+    public static <V> Builder<V> builder()
+    {
+        return new Builder<>();
+    }
+
+    @Nonnull
+    @Override
+    public Builder<V> mapBuilder()
+    {
+        return builder();
+    }
+
+    public V getValueOr(int key,
+                        V defaultValue)
+    {
+        return root.getValueOr(widen(key), 0, defaultValue);
+    }
+
+    @Nullable
+    public V get(int key)
+    {
+        return root.getValueOr(widen(key), 0, null);
+    }
+
+    @Nonnull
+    public Holder<V> find(int key)
+    {
+        return root.find(widen(key), 0);
+    }
+
+    @Nonnull
+    public JImmutableIntHashMap<V> assign(int key,
+                                          V value)
+    {
+        return withRoot(root.assign(widen(key), 0, value));
+    }
+
+    @Nonnull
+    public JImmutableIntHashMap<V> delete(int key)
+    {
+        return withRoot(root.delete(widen(key), 0));
+    }
+
+    /**
+     * Passes every key/value pair in this map to proc without boxing the keys.
+     */
+    public void forEachInt(@Nonnull IntObjConsumer<V> proc)
+    {
+        root.forEach((key, value) -> proc.apply((int)key, value));
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableIntHashMap<V> assign(@Nonnull Integer key,
+                                          V value)
+    {
+        return assign(key.intValue(), value);
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableIntHashMap<V> delete(@Nonnull Integer key)
+    {
+        return delete(key.intValue());
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableIntHashMap<V> deleteAll()
+    {
+        return of();
+    }
+
+    @Nonnull
+    @Override
+    public SplitableIterator<Entry<Integer, V>> iterator()
+    {
+        return TransformIterator.of(new GenericIterator<>(root, 0, root.size()), e -> MapEntry.of((int)(long)e.getKey(), e.getValue()));
+    }
+
+    @Nonnull
+    @Override
+    Integer boxKey(long key)
+    {
+        return (int)key;
+    }
+
+    @Override
+    long widenKey(@Nonnull Integer key)
+    {
+        return widen(key);
+    }
+
+    private static long widen(int key)
+    {
+        return Integer.toUnsignedLong(key);
+    }
+
+    @Nonnull
+    private JImmutableIntHashMap<V> withRoot(@Nonnull LongHamtNode<V> newRoot)
+    {
+        if (newRoot == root) {
+            return this;
+        } else if (newRoot.isEmpty()) {
+            return of();
+        } else {
+            return new JImmutableIntHashMap<>(newRoot);
+        }
+    }
+
+    private Object writeReplace()
+    {
+        return new JImmutableIntHashMapProxy(this);
+    }
+
+    @ThreadSafe
+    public static class Builder<V>
+        implements JImmutableMap.Builder<Integer, V>
+    {
+        private JImmutableIntHashMap<V> map = of();
+
+        @Nonnull
+        @Override
+        public synchronized JImmutableIntHashMap<V> build()
+        {
+            return map;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized Builder<V> clear()
+        {
+            map = of();
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized Builder<V> add(@Nonnull Integer key,
+                                           V value)
+        {
+            map = map.assign(key.intValue(), value);
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder<V> add(int key,
+                                           V value)
+        {
+            map = map.assign(key, value);
+            return this;
+        }
+
+        @Override
+        public synchronized int size()
+        {
+            return map.size();
+        }
+    }
+}
@@ -0,0 +1,237 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash;
+
+import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.LongObjConsumer;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.SplitableIterator;
+import org.javimmutable.collections.hash.hamt.LongHamtNode;
+import org.javimmutable.collections.iterators.GenericIterator;
+import org.javimmutable.collections.serialization.JImmutableLongHashMapProxy;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.io.Serializable;
+
+/**
+ * Hash map keyed by primitive long values.  Keys are stored unboxed in a hash trie that uses
+ * all 64 bits of the key in place of a hash code so no collision handling is needed.  The
+ * methods taking long keys never box the key and lookups never allocate.  The methods inherited from
+ * JImmutableMap accept boxed keys and work the same way after unboxing them.  When the values
+ * are themselves boxed numbers pass them already boxed, otherwise calls like assign(1, 2) are
+ * ambiguous.
+ */
+@Immutable
+public class JImmutableLongHashMap<V>
+    extends AbstractPrimitiveKeyHashMap<Long, V>
+    implements Serializable
+{
+    @SuppressWarnings("unchecked")
+    private static final JImmutableLongHashMap EMPTY = new JImmutableLongHashMap(LongHamtNode.of());
+
+    private static final long serialVersionUID = -121805;
+
+    private JImmutableLongHashMap(@Nonnull LongHamtNode<V> root)
+    {
+        super(root);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <V> JImmutableLongHashMap<V> of()
+    {
+        return EMPTY;
+    }
+
+    @Nonnull
+    public static <V> Builder<V> builder()
+    {
+        return new Builder<>();
+    }
+
+    @Nonnull
+    @Override
+    public Builder<V> mapBuilder()
+    {
+        return builder();
+    }
+
+    public V getValueOr(long key,
+                        V defaultValue)
+    {
+        return root.getValueOr(key, 0, defaultValue);
+    }
+
+    @Nullable
+    public V get(long key)
+    {
+        return root.getValueOr(key, 0, null);
+    }
+
+    @Nonnull
+    public Holder<V> find(long key)
+    {
+        return root.find(key, 0);
+    }
+
+    @Nonnull
+    public JImmutableLongHashMap<V> assign(long key,
+                                          V value)
+    {
+        return withRoot(root.assign(key, 0, value));
+    }
+
+    @Nonnull
+    public JImmutableLongHashMap<V> delete(long key)
+    {
+        return withRoot(root.delete(key, 0));
+    }
+
+    /**
+     * Passes every key/value pair in this map to proc without boxing the keys.
+     */
+    public void forEachLong(@Nonnull LongObjConsumer<V> proc)
+    {
+        root.forEach(proc);
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableLongHashMap<V> assign(@Nonnull Long key,
+                                          V value)
+    {
+        return assign(key.longValue(), value);
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableLongHashMap<V> delete(@Nonnull Long key)
+    {
+        return delete(key.longValue());
+    }
+
+    @Nonnull
+    @Override
+    public JImmutableLongHashMap<V> deleteAll()
+    {
+        return of();
+    }
+
+    @Nonnull
+    @Override
+    public SplitableIterator<Entry<Long, V>> iterator()
+    {
+        return new GenericIterator<>(root, 0, root.size());
+    }
+
+    @Nonnull
+    @Override
+    Long boxKey(long key)
+    {
+        return key;
+    }
+
+    @Override
+    long widenKey(@Nonnull Long key)
+    {
+        return key;
+    }
+
+    @Nonnull
+    private JImmutableLongHashMap<V> withRoot(@Nonnull LongHamtNode<V> newRoot)
+    {
+        if (newRoot == root) {
+            return this;
+        } else if (newRoot.isEmpty()) {
+            return of();
+        } else {
+            return new JImmutableLongHashMap<>(newRoot);
+        }
+    }
+
+    private Object writeReplace()
+    {
+        return new JImmutableLongHashMapProxy(this);
+    }
+
+    @ThreadSafe
+    public static class Builder<V>
+        implements JImmutableMap.Builder<Long, V>
+    {
+        private JImmutableLongHashMap<V> map = of();
+
+        @Nonnull
+        @Override
+        public synchronized JImmutableLongHashMap<V> build()
+        {
+            return map;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized Builder<V> clear()
+        {
+            map = of();
+            return this;
+        }
+
+        @Nonnull
+        @Override
+        public synchronized Builder<V> add(@Nonnull Long key,
+                                           V value)
+        {
+            map = map.assign(key.longValue(), value);
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder<V> add(long key,
+                                           V value)
+        {
+            map = map.assign(key, value);
+            return this;
+        }
+
+        @Override
+        public synchronized int size()
+        {
+            return map.size();
+        }
+    }
+}
@@ -0,0 +1,468 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.hash.hamt;
+
+import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.Holders;
+import org.javimmutable.collections.Indexed;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.Proc2;
+import org.javimmutable.collections.Sum2;
+import org.javimmutable.collections.common.ArrayHelper;
+import org.javimmutable.collections.indexed.IndexedArray;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Objects;
+
+/**
+ * Interior node of a CHAMP trie.  The dataMap has a bit set for every five bit hash
+ * prefix owned by a single key.  Those keys and their values are stored inline as
+ * alternating elements of the entries array.  The nodeMap has a bit set for every
+ * prefix shared by two or more keys and the children array holds the nodes for
+ * those prefixes.  Both arrays are kept in bit order.
+ */
+@Immutable
+public class ChampBranchNode<K, V>
+    implements ArrayHelper.Allocator<ChampNode<K, V>>,
+               ChampNode<K, V>
+{
+    private static final Object[] NO_ENTRIES = new Object[0];
+    @SuppressWarnings("unchecked")
+    private static final ChampBranchNode EMPTY = new ChampBranchNode(0, 0, NO_ENTRIES, new ChampNode[0], 0, 0);
+
+    private final int dataMap;
+    private final int nodeMap;
+    private final Object[] entries;
+    private final ChampNode<K, V>[] children;
+    private final int size;
+    private final int entriesHashCode;
+
+    private ChampBranchNode(int dataMap,
+                            int nodeMap,
+                            @Nonnull Object[] entries,
+                            @Nonnull ChampNode<K, V>[] children,
+                            int size,
+                            int entriesHashCode)
+    {
+        this.dataMap = dataMap;
+        this.nodeMap = nodeMap;
+        this.entries = entries;
+        this.children = children;
+        this.size = size;
+        this.entriesHashCode = entriesHashCode;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <K, V> ChampBranchNode<K, V> of()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Creates the smallest node (or chain of nodes) that can hold both entries.
+     * The keys must be different and have hash codes that are equal in all bits below shift.
+     */
+    @Nonnull
+    static <K, V> ChampNode<K, V> forEntries(int shift,
+                                             int hashCode1,
+                                             @Nonnull K key1,
+                                             V value1,
+                                             int hashCode2,
+                                             @Nonnull K key2,
+                                             V value2)
+    {
+        if (shift >= Integer.SIZE) {
+            return new ChampCollisionNode<>(hashCode1, new Object[]{key1, value1, key2, value2});
+        }
+        final int entriesHashCode = entryHashCode(hashCode1, value1) + entryHashCode(hashCode2, value2);
+        final int index1 = (hashCode1 >>> shift) & HamtBranchNode.MASK;
+        final int index2 = (hashCode2 >>> shift) & HamtBranchNode.MASK;
+        if (index1 == index2) {
+            final ChampNode<K, V>[] children = allocateNodes(1);
+            children[0] = forEntries(shift + HamtBranchNode.SHIFT, hashCode1, key1, value1, hashCode2, key2, value2);
+            return new ChampBranchNode<>(0, 1 << index1, NO_ENTRIES, children, 2, entriesHashCode);
+        } else {
+            final Object[] entries = (index1 < index2) ? new Object[]{key1, value1, key2, value2} : new Object[]{key2, value2, key1, value1};
+            return new ChampBranchNode<>((1 << index1) | (1 << index2), 0, entries, allocateNodes(0), 2, entriesHashCode);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V getValueOr(int hashCode,
+                        int shift,
+                        @Nonnull K key,
+                        V defaultValue)
+    {
+        final int bit = 1 << ((hashCode >>> shift) & HamtBranchNode.MASK);
+        if ((dataMap & bit) != 0) {
+            final int index = 2 * Integer.bitCount(dataMap & (bit - 1));
+            return key.equals(entries[index]) ? (V)entries[index + 1] : defaultValue;
+        } else if ((nodeMap & bit) != 0) {
+            final int index = Integer.bitCount(nodeMap & (bit - 1));
+            return children[index].getValueOr(hashCode, shift + HamtBranchNode.SHIFT, key, defaultValue);
+        } else {
+            return defaultValue;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    public Holder<V> find(int hashCode,
+                          int shift,
+                          @Nonnull K key)
+    {
+        final int bit = 1 << ((hashCode >>> shift) & HamtBranchNode.MASK);
+        if ((dataMap & bit) != 0) {
+            final int index = 2 * Integer.bitCount(dataMap & (bit - 1));
+            return key.equals(entries[index]) ? Holders.of((V)entries[index + 1]) : Holders.of();
+        } else if ((nodeMap & bit) != 0) {
+            final int index = Integer.bitCount(nodeMap & (bit - 1));
+            return children[index].find(hashCode, shift + HamtBranchNode.SHIFT, key);
+        } else {
+            return Holders.of();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    public ChampNode<K, V> assign(int hashCode,
+                                  int shift,
+                                  @Nonnull K key,
+                                  @Nullable V value)
+    {
+        final int bit = 1 << ((hashCode >>> shift) & HamtBranchNode.MASK);
+        if ((dataMap & bit) != 0) {
+            final int index = 2 * Integer.bitCount(dataMap & (bit - 1));
+            final K oldKey = (K)entries[index];
+            final V oldValue = (V)entries[index + 1];
+            if (key.equals(oldKey)) {
+                if (oldValue == value) {
+                    return this;
+                } else {
+                    final Object[] newEntries = entries.clone();
+                    newEntries[index + 1] = value;
+                    return new ChampBranchNode<>(dataMap, nodeMap, newEntries, children, size, entriesHashCode - entryHashCode(hashCode, oldValue) + entryHashCode(hashCode, value));
+                }
+            } else {
+                final ChampNode<K, V> newChild = forEntries(shift + HamtBranchNode.SHIFT, oldKey.hashCode(), oldKey, oldValue, hashCode, key, value);
+                final ChampNode<K, V>[] newChildren = ArrayHelper.insert(this, children, Integer.bitCount(nodeMap & (bit - 1)), newChild);
+                return new ChampBranchNode<>(dataMap & ~bit, nodeMap | bit, deletePair(entries, index), newChildren, size + 1, entriesHashCode + entryHashCode(hashCode, value));
+            }
+        } else if ((nodeMap & bit) != 0) {
+            final int index = Integer.bitCount(nodeMap & (bit - 1));
+            final ChampNode<K, V> child = children[index];
+            final ChampNode<K, V> newChild = child.assign(hashCode, shift + HamtBranchNode.SHIFT, key, value);
+            if (newChild == child) {
+                return this;
+            } else {
+                final ChampNode<K, V>[] newChildren = ArrayHelper.assign(children, index, newChild);
+                return new ChampBranchNode<>(dataMap, nodeMap, entries, newChildren, size - child.size() + newChild.size(), entriesHashCode - child.entriesHashCode() + newChild.entriesHashCode());
+            }
+        } else {
+            final int index = 2 * Integer.bitCount(dataMap & (bit - 1));
+            return new ChampBranchNode<>(dataMap | bit, nodeMap, insertPair(entries, index, key, value), children, size + 1, entriesHashCode + entryHashCode(hashCode, value));
+        }
+    }
+
+    @Nonnull
+    @Override
+    public ChampNode<K, V> delete(int hashCode,
+                                  int shift,
+                                  @Nonnull K key)
+    {
+        final int bit = 1 << ((hashCode >>> shift) & HamtBranchNode.MASK);
+        if ((dataMap & bit) != 0) {
+            final int index = 2 * Integer.bitCount(dataMap & (bit - 1));
+            if (!key.equals(entries[index])) {
+                return this;
+            } else if (size == 1) {
+                return of();
+            } else {
+                return new ChampBranchNode<>(dataMap & ~bit, nodeMap, deletePair(entries, index), children, size - 1, entriesHashCode - entryHashCode(hashCode, entries[index + 1]));
+            }
+        } else if ((nodeMap & bit) != 0) {
+            final int index = Integer.bitCount(nodeMap & (bit - 1));
+            final ChampNode<K, V> child = children[index];
+            final ChampNode<K, V> newChild = child.delete(hashCode, shift + HamtBranchNode.SHIFT, key);
+            if (newChild == child) {
+                return this;
+            } else if (newChild.size() == 1) {
+                final int dataIndex = 2 * Integer.bitCount(dataMap & (bit - 1));
+                final Object[] newEntries = insertPair(entries, dataIndex, newChild.firstKey(), newChild.firstValue());
+                return new ChampBranchNode<>(dataMap | bit, nodeMap & ~bit, newEntries, ArrayHelper.delete(this, children, index), size - 1, entriesHashCode - child.entriesHashCode() + newChild.entriesHashCode());
+            } else {
+                return new ChampBranchNode<>(dataMap, nodeMap, entries, ArrayHelper.assign(children, index, newChild), size - 1, entriesHashCode - child.entriesHashCode() + newChild.entriesHashCode());
+            }
+        } else {
+            return this;
+        }
+    }
+
+    @Override
+    public boolean isEqualTo(@Nonnull ChampNode<K, V> other)
+    {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof ChampBranchNode)) {
+            return false;
+        }
+        final ChampBranchNode<K, V> branch = (ChampBranchNode<K, V>)other;
+        if (branch.dataMap != dataMap || branch.nodeMap != nodeMap || branch.size != size) {
+            return false;
+        }
+        final Object[] otherEntries = branch.entries;
+        for (int i = 0; i < entries.length; i += 2) {
+            if (!(entries[i].equals(otherEntries[i]) && Objects.equals(entries[i + 1], otherEntries[i + 1]))) {
+                return false;
+            }
+        }
+        final ChampNode<K, V>[] otherChildren = branch.children;
+        for (int i = 0; i < children.length; ++i) {
+            if (!children[i].isEqualTo(otherChildren[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public int entriesHashCode()
+    {
+        return entriesHashCode;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public K firstKey()
+    {
+        return (K)entries[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V firstValue()
+    {
+        return (V)entries[1];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(@Nonnull Proc2<K, V> proc)
+    {
+        for (int i = 0; i < entries.length; i += 2) {
+            proc.apply((K)entries[i], (V)entries[i + 1]);
+        }
+        for (ChampNode<K, V> child : children) {
+            child.forEach(proc);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R> R reduce(R sum,
+                        @Nonnull Sum2<K, V, R> proc)
+    {
+        for (int i = 0; i < entries.length; i += 2) {
+            sum = proc.apply(sum, (K)entries[i], (V)entries[i + 1]);
+        }
+        for (ChampNode<K, V> child : children) {
+            sum = child.reduce(sum, proc);
+        }
+        return sum;
+    }
+
+    @Override
+    public void checkInvariants(int shift)
+    {
+        if ((dataMap & nodeMap) != 0) {
+            throw new IllegalStateException(String.format("dataMap and nodeMap overlap: dataMap=%x nodeMap=%x", dataMap, nodeMap));
+        }
+        if (2 * Integer.bitCount(dataMap) != entries.length) {
+            throw new IllegalStateException(String.format("dataMap/entries mismatch: dataMap=%d entries=%d", Integer.bitCount(dataMap), entries.length / 2));
+        }
+        if (Integer.bitCount(nodeMap) != children.length) {
+            throw new IllegalStateException(String.format("nodeMap/children mismatch: nodeMap=%d children=%d", Integer.bitCount(nodeMap), children.length));
+        }
+        if (shift >= Integer.SIZE) {
+            throw new IllegalStateException("branch node below the last hash level");
+        }
+        if (shift > 0 && size < 2) {
+            throw new IllegalStateException(String.format("non-root node holds fewer than two entries: size=%d", size));
+        }
+        if (size == 0 && this != EMPTY) {
+            throw new IllegalStateException("empty node is not the empty root");
+        }
+        int remaining = dataMap;
+        int childHashCode = 0;
+        for (int i = 0; i < entries.length; i += 2) {
+            final int bit = remaining & -remaining;
+            remaining &= remaining - 1;
+            if ((1 << ((entries[i].hashCode() >>> shift) & HamtBranchNode.MASK)) != bit) {
+                throw new IllegalStateException("entry is stored in the wrong slot");
+            }
+            childHashCode += entryHashCode(entries[i].hashCode(), entries[i + 1]);
+        }
+        int childSize = entries.length / 2;
+        for (ChampNode<K, V> child : children) {
+            child.checkInvariants(shift + HamtBranchNode.SHIFT);
+            childSize += child.size();
+            childHashCode += child.entriesHashCode();
+        }
+        if (childSize != size) {
+            throw new IllegalStateException(String.format("size mismatch: expected=%d actual=%d", size, childSize));
+        }
+        if (childHashCode != entriesHashCode) {
+            throw new IllegalStateException(String.format("entries hash code mismatch: expected=%d actual=%d", entriesHashCode, childHashCode));
+        }
+    }
+
+    @Nullable
+    @Override
+    public GenericIterator.State<JImmutableMap.Entry<K, V>> iterateOverRange(@Nullable GenericIterator.State<JImmutableMap.Entry<K, V>> parent,
+                                                                             int offset,
+                                                                             int limit)
+    {
+        assert offset >= 0 && offset <= limit && limit <= size;
+        final int entryCount = entries.length / 2;
+        GenericIterator.State<JImmutableMap.Entry<K, V>> state = parent;
+        if (limit > entryCount) {
+            state = GenericIterator.indexedState(state, IndexedArray.retained(children), Math.max(0, offset - entryCount), limit - entryCount);
+        }
+        if (offset < entryCount) {
+            state = GenericIterator.multiValueState(state, entryIndexed(entries), offset, Math.min(limit, entryCount));
+        }
+        return state;
+    }
+
+    @Override
+    public int iterableSize()
+    {
+        return size;
+    }
+
+    @Override
+    public ChampNode<K, V>[] allocate(int size)
+    {
+        return allocateNodes(size);
+    }
+
+    /**
+     * Presents an array of alternating keys and values as a sequence of entries.
+     */
+    @Nonnull
+    static <K, V> Indexed<JImmutableMap.Entry<K, V>> entryIndexed(@Nonnull Object[] entries)
+    {
+        return new Indexed<JImmutableMap.Entry<K, V>>()
+        {
+            @SuppressWarnings("unchecked")
+            @Override
+            public JImmutableMap.Entry<K, V> get(int index)
+            {
+                return MapEntry.of((K)entries[2 * index], (V)entries[2 * index + 1]);
+            }
+
+            @Override
+            public int size()
+            {
+                return entries.length / 2;
+            }
+        };
+    }
+
+    /**
+     * Hash code of an entry as defined by Map.Entry.hashCode() given the hash code of its key.
+     */
+    static int entryHashCode(int keyHashCode,
+                             @Nullable Object value)
+    {
+        return keyHashCode ^ Objects.hashCode(value);
+    }
+
+    @Nonnull
+    static Object[] insertPair(@Nonnull Object[] entries,
+                               int index,
+                               Object key,
+                               Object value)
+    {
+        final Object[] answer = new Object[entries.length + 2];
+        System.arraycopy(entries, 0, answer, 0, index);
+        answer[index] = key;
+        answer[index + 1] = value;
+        System.arraycopy(entries, index, answer, index + 2, entries.length - index);
+        return answer;
+    }
+
+    @Nonnull
+    static Object[] deletePair(@Nonnull Object[] entries,
+                               int index)
+    {
+        if (entries.length == 2) {
+            return NO_ENTRIES;
+        }
+        final Object[] answer = new Object[entries.length - 2];
+        System.arraycopy(entries, 0, answer, 0, index);
+        System.arraycopy(entries, index + 2, answer, index, entries.length - index - 2);
+        return answer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> ChampNode<K, V>[] allocateNodes(int size)
+    {
+        return (ChampNode<K, V>[])new ChampNode[size];
+    }
+}
@@ -0,0 +1,257 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.hash.hamt;
+
+import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.Holders;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.Proc2;
+import org.javimmutable.collections.Sum2;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Objects;
+
+/**
+ * Node of a CHAMP trie below the last hash level.  Holds the keys whose hash codes
+ * are identical as alternating keys and values in an array that is searched linearly.
+ */
+@Immutable
+public class ChampCollisionNode<K, V>
+    implements ChampNode<K, V>
+{
+    private final int hashCode;
+    private final Object[] entries;
+
+    ChampCollisionNode(int hashCode,
+                       @Nonnull Object[] entries)
+    {
+        this.hashCode = hashCode;
+        this.entries = entries;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V getValueOr(int hashCode,
+                        int shift,
+                        @Nonnull K key,
+                        V defaultValue)
+    {
+        final int index = indexOf(key);
+        return (index < 0) ? defaultValue : (V)entries[index + 1];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    public Holder<V> find(int hashCode,
+                          int shift,
+                          @Nonnull K key)
+    {
+        final int index = indexOf(key);
+        return (index < 0) ? Holders.of() : Holders.of((V)entries[index + 1]);
+    }
+
+    @Nonnull
+    @Override
+    public ChampNode<K, V> assign(int hashCode,
+                                  int shift,
+                                  @Nonnull K key,
+                                  @Nullable V value)
+    {
+        assert hashCode == this.hashCode;
+        final int index = indexOf(key);
+        if (index < 0) {
+            return new ChampCollisionNode<>(hashCode, ChampBranchNode.insertPair(entries, entries.length, key, value));
+        } else if (entries[index + 1] == value) {
+            return this;
+        } else {
+            final Object[] newEntries = entries.clone();
+            newEntries[index + 1] = value;
+            return new ChampCollisionNode<>(hashCode, newEntries);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public ChampNode<K, V> delete(int hashCode,
+                                  int shift,
+                                  @Nonnull K key)
+    {
+        final int index = indexOf(key);
+        if (index < 0) {
+            return this;
+        } else {
+            return new ChampCollisionNode<>(hashCode, ChampBranchNode.deletePair(entries, index));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean isEqualTo(@Nonnull ChampNode<K, V> other)
+    {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof ChampCollisionNode)) {
+            return false;
+        }
+        final ChampCollisionNode<K, V> collision = (ChampCollisionNode<K, V>)other;
+        if (collision.entries.length != entries.length) {
+            return false;
+        }
+        for (int i = 0; i < entries.length; i += 2) {
+            final int index = collision.indexOf((K)entries[i]);
+            if (index < 0 || !Objects.equals(entries[i + 1], collision.entries[index + 1])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return entries.length == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return entries.length / 2;
+    }
+
+    /**
+     * Collision nodes are rare and small so the sum is computed rather than stored.
+     */
+    @Override
+    public int entriesHashCode()
+    {
+        int answer = 0;
+        for (int i = 1; i < entries.length; i += 2) {
+            answer += ChampBranchNode.entryHashCode(hashCode, entries[i]);
+        }
+        return answer;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public K firstKey()
+    {
+        return (K)entries[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V firstValue()
+    {
+        return (V)entries[1];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(@Nonnull Proc2<K, V> proc)
+    {
+        for (int i = 0; i < entries.length; i += 2) {
+            proc.apply((K)entries[i], (V)entries[i + 1]);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R> R reduce(R sum,
+                        @Nonnull Sum2<K, V, R> proc)
+    {
+        for (int i = 0; i < entries.length; i += 2) {
+            sum = proc.apply(sum, (K)entries[i], (V)entries[i + 1]);
+        }
+        return sum;
+    }
+
+    @Override
+    public void checkInvariants(int shift)
+    {
+        if (shift < Integer.SIZE) {
+            throw new IllegalStateException("collision node above the last hash level");
+        }
+        if (entries.length < 4) {
+            throw new IllegalStateException(String.format("collision node holds fewer than two entries: size=%d", size()));
+        }
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i].hashCode() != hashCode) {
+                throw new IllegalStateException("collision node contains a key with a different hash code");
+            }
+            for (int k = i + 2; k < entries.length; k += 2) {
+                if (entries[i].equals(entries[k])) {
+                    throw new IllegalStateException("collision node contains duplicate keys");
+                }
+            }
+        }
+    }
+
+    @Nullable
+    @Override
+    public GenericIterator.State<JImmutableMap.Entry<K, V>> iterateOverRange(@Nullable GenericIterator.State<JImmutableMap.Entry<K, V>> parent,
+                                                                             int offset,
+                                                                             int limit)
+    {
+        assert offset >= 0 && offset <= limit && limit <= size();
+        if (offset == limit) {
+            return parent;
+        } else {
+            return GenericIterator.multiValueState(parent, ChampBranchNode.entryIndexed(entries), offset, limit);
+        }
+    }
+
+    @Override
+    public int iterableSize()
+    {
+        return size();
+    }
+
+    private int indexOf(@Nonnull K key)
+    {
+        for (int i = 0; i < entries.length; i += 2) {
+            if (key.equals(entries[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,115 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.hash.hamt;
+
+import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.Proc2;
+import org.javimmutable.collections.Sum2;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Node of a compressed hash array mapped prefix trie (CHAMP).  Unlike HamtNode the
+ * key/value pairs are stored inline in the branch that owns their hash prefix so
+ * no separate leaf objects are needed.  Tries are kept in a canonical form: every
+ * node other than the root holds at least two entries.  Two tries holding the same
+ * keys therefore always have the same shape, which allows equality to be decided by
+ * comparing the tries node by node.
+ */
+public interface ChampNode<K, V>
+    extends GenericIterator.Iterable<JImmutableMap.Entry<K, V>>
+{
+    V getValueOr(int hashCode,
+                 int shift,
+                 @Nonnull K key,
+                 V defaultValue);
+
+    @Nonnull
+    Holder<V> find(int hashCode,
+                   int shift,
+                   @Nonnull K key);
+
+    @Nonnull
+    ChampNode<K, V> assign(int hashCode,
+                           int shift,
+                           @Nonnull K key,
+                           @Nullable V value);
+
+    /**
+     * Removes the key from this node.  The returned node may hold a single entry in
+     * which case the parent is responsible for moving that entry inline.
+     */
+    @Nonnull
+    ChampNode<K, V> delete(int hashCode,
+                           int shift,
+                           @Nonnull K key);
+
+    /**
+     * Returns true if this node contains exactly the same keys and values as other.
+     * Both nodes must be at the same depth of their tries.  Shared subtrees are not visited.
+     */
+    boolean isEqualTo(@Nonnull ChampNode<K, V> other);
+
+    boolean isEmpty();
+
+    int size();
+
+    /**
+     * Sum of the hash codes of every entry in this node as defined by Map.Entry.hashCode().
+     */
+    int entriesHashCode();
+
+    /**
+     * Key of the first entry in this node.  Used by a parent to inline a child holding a single entry.
+     */
+    K firstKey();
+
+    /**
+     * Value of the first entry in this node.  Used by a parent to inline a child holding a single entry.
+     */
+    V firstValue();
+
+    void forEach(@Nonnull Proc2<K, V> proc);
+
+    <R> R reduce(R sum,
+                 @Nonnull Sum2<K, V, R> proc);
+
+    void checkInvariants(int shift);
+}
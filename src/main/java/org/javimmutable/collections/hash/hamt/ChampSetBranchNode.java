@@ -0,0 +1,703 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash.hamt;
+
+import org.javimmutable.collections.Func0;
+import org.javimmutable.collections.Func2;
+import org.javimmutable.collections.Sum1;
+import org.javimmutable.collections.common.ArrayHelper;
+import org.javimmutable.collections.common.ForkJoinHelper;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.hash.HashStrategy;
+import org.javimmutable.collections.indexed.IndexedArray;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Interior node of a key only CHAMP trie.  The dataMap has a bit set for every five bit
+ * hash prefix owned by a single key and those keys are stored inline in the keys array.
+ * The nodeMap has a bit set for every prefix shared by two or more keys and the children
+ * array holds the nodes for those prefixes.  Both arrays are kept in bit order.
+ */
+@Immutable
+public class ChampSetBranchNode<T>
+    implements ArrayHelper.Allocator<ChampSetNode<T>>,
+               ChampSetNode<T>
+{
+    private static final Object[] NO_KEYS = new Object[0];
+    @SuppressWarnings("unchecked")
+    private static final ChampSetBranchNode EMPTY = new ChampSetBranchNode(0, 0, NO_KEYS, new ChampSetNode[0], 0, 0);
+
+    private final int dataMap;
+    private final int nodeMap;
+    private final Object[] keys;
+    private final ChampSetNode<T>[] children;
+    private final int size;
+    private final int entriesHashCode;
+
+    private ChampSetBranchNode(int dataMap,
+                               int nodeMap,
+                               @Nonnull Object[] keys,
+                               @Nonnull ChampSetNode<T>[] children,
+                               int size,
+                               int entriesHashCode)
+    {
+        this.dataMap = dataMap;
+        this.nodeMap = nodeMap;
+        this.keys = keys;
+        this.children = children;
+        this.size = size;
+        this.entriesHashCode = entriesHashCode;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    public static <T> ChampSetBranchNode<T> of()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Creates the smallest node (or chain of nodes) that can hold both keys.
+     * The keys must be different and have hash codes that are equal in all bits below shift.
+     */
+    @Nonnull
+    static <T> ChampSetNode<T> forKeys(@Nonnull HashStrategy<T> strategy,
+                                       int shift,
+                                       int hashCode1,
+                                       @Nonnull T key1,
+                                       int hashCode2,
+                                       @Nonnull T key2)
+    {
+        if (shift >= Integer.SIZE) {
+            return ChampSetCollisionNode.forKeys(strategy, hashCode1, key1, key2);
+        }
+        final int entriesHashCode = hashCode1 + hashCode2;
+        final int index1 = (hashCode1 >>> shift) & HamtBranchNode.MASK;
+        final int index2 = (hashCode2 >>> shift) & HamtBranchNode.MASK;
+        if (index1 == index2) {
+            final ChampSetNode<T>[] children = allocateNodes(1);
+            children[0] = forKeys(strategy, shift + HamtBranchNode.SHIFT, hashCode1, key1, hashCode2, key2);
+            return new ChampSetBranchNode<>(0, 1 << index1, NO_KEYS, children, 2, entriesHashCode);
+        } else {
+            final Object[] keys = (index1 < index2) ? new Object[]{key1, key2} : new Object[]{key2, key1};
+            return new ChampSetBranchNode<>((1 << index1) | (1 << index2), 0, keys, allocateNodes(0), 2, entriesHashCode);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean contains(@Nonnull HashStrategy<T> strategy,
+                            int hashCode,
+                            int shift,
+                            @Nonnull T key)
+    {
+        final int bit = 1 << ((hashCode >>> shift) & HamtBranchNode.MASK);
+        if ((dataMap & bit) != 0) {
+            return strategy.equivalent(key, (T)keys[Integer.bitCount(dataMap & (bit - 1))]);
+        } else if ((nodeMap & bit) != 0) {
+            return children[Integer.bitCount(nodeMap & (bit - 1))].contains(strategy, hashCode, shift + HamtBranchNode.SHIFT, key);
+        } else {
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    @Override
+    public T findKey(@Nonnull HashStrategy<T> strategy,
+                     int hashCode,
+                     int shift,
+                     @Nonnull T key)
+    {
+        final int bit = 1 << ((hashCode >>> shift) & HamtBranchNode.MASK);
+        if ((dataMap & bit) != 0) {
+            final T answer = (T)keys[Integer.bitCount(dataMap & (bit - 1))];
+            return strategy.equivalent(key, answer) ? answer : null;
+        } else if ((nodeMap & bit) != 0) {
+            return children[Integer.bitCount(nodeMap & (bit - 1))].findKey(strategy, hashCode, shift + HamtBranchNode.SHIFT, key);
+        } else {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    public ChampSetNode<T> insert(@Nonnull HashStrategy<T> strategy,
+                                  int hashCode,
+                                  int shift,
+                                  @Nonnull T key)
+    {
+        final int bit = 1 << ((hashCode >>> shift) & HamtBranchNode.MASK);
+        if ((dataMap & bit) != 0) {
+            final int index = Integer.bitCount(dataMap & (bit - 1));
+            final T oldKey = (T)keys[index];
+            if (strategy.equivalent(key, oldKey)) {
+                return this;
+            } else {
+                final ChampSetNode<T> newChild = forKeys(strategy, shift + HamtBranchNode.SHIFT, strategy.hash(oldKey), oldKey, hashCode, key);
+                final ChampSetNode<T>[] newChildren = ArrayHelper.insert(this, children, Integer.bitCount(nodeMap & (bit - 1)), newChild);
+                return new ChampSetBranchNode<>(dataMap & ~bit, nodeMap | bit, deleteKey(keys, index), newChildren, size + 1, entriesHashCode + hashCode);
+            }
+        } else if ((nodeMap & bit) != 0) {
+            final int index = Integer.bitCount(nodeMap & (bit - 1));
+            final ChampSetNode<T> child = children[index];
+            final ChampSetNode<T> newChild = child.insert(strategy, hashCode, shift + HamtBranchNode.SHIFT, key);
+            if (newChild == child) {
+                return this;
+            } else {
+                final ChampSetNode<T>[] newChildren = ArrayHelper.assign(children, index, newChild);
+                return new ChampSetBranchNode<>(dataMap, nodeMap, keys, newChildren, size + 1, entriesHashCode + hashCode);
+            }
+        } else {
+            final int index = Integer.bitCount(dataMap & (bit - 1));
+            return new ChampSetBranchNode<>(dataMap | bit, nodeMap, insertKey(keys, index, key), children, size + 1, entriesHashCode + hashCode);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    public ChampSetNode<T> delete(@Nonnull HashStrategy<T> strategy,
+                                  int hashCode,
+                                  int shift,
+                                  @Nonnull T key)
+    {
+        final int bit = 1 << ((hashCode >>> shift) & HamtBranchNode.MASK);
+        if ((dataMap & bit) != 0) {
+            final int index = Integer.bitCount(dataMap & (bit - 1));
+            if (!strategy.equivalent(key, (T)keys[index])) {
+                return this;
+            } else if (size == 1) {
+                return of();
+            } else {
+                return new ChampSetBranchNode<>(dataMap & ~bit, nodeMap, deleteKey(keys, index), children, size - 1, entriesHashCode - hashCode);
+            }
+        } else if ((nodeMap & bit) != 0) {
+            final int index = Integer.bitCount(nodeMap & (bit - 1));
+            final ChampSetNode<T> child = children[index];
+            final ChampSetNode<T> newChild = child.delete(strategy, hashCode, shift + HamtBranchNode.SHIFT, key);
+            if (newChild == child) {
+                return this;
+            } else if (newChild.size() == 1) {
+                final Object[] newKeys = insertKey(keys, Integer.bitCount(dataMap & (bit - 1)), newChild.firstKey());
+                return new ChampSetBranchNode<>(dataMap | bit, nodeMap & ~bit, newKeys, ArrayHelper.delete(this, children, index), size - 1, entriesHashCode - hashCode);
+            } else {
+                return new ChampSetBranchNode<>(dataMap, nodeMap, keys, ArrayHelper.assign(children, index, newChild), size - 1, entriesHashCode - hashCode);
+            }
+        } else {
+            return this;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public ChampSetNode<T> union(@Nonnull HashStrategy<T> strategy,
+                                 @Nonnull ChampSetNode<T> other,
+                                 int shift)
+    {
+        if (other == this || other.isEmpty()) {
+            return this;
+        } else if (isEmpty()) {
+            return other;
+        }
+        final ChampSetBranchNode<T> branch = (ChampSetBranchNode<T>)other;
+        final int childShift = shift + HamtBranchNode.SHIFT;
+        final NodeBuilder<T> answer = new NodeBuilder<>();
+        int remaining = dataMap | nodeMap | branch.dataMap | branch.nodeMap;
+        while (remaining != 0) {
+            final int bit = remaining & -remaining;
+            remaining &= remaining - 1;
+            if ((dataMap & bit) != 0) {
+                final T key = keyAt(bit);
+                if ((branch.dataMap & bit) != 0) {
+                    final T otherKey = branch.keyAt(bit);
+                    if (strategy.equivalent(key, otherKey)) {
+                        answer.addKey(bit, key);
+                    } else {
+                        answer.addNode(bit, forKeys(strategy, childShift, strategy.hash(key), key, strategy.hash(otherKey), otherKey));
+                    }
+                } else if ((branch.nodeMap & bit) != 0) {
+                    final ChampSetNode<T> otherChild = branch.childAt(bit);
+                    final int hashCode = strategy.hash(key);
+                    final ChampSetNode<T> newChild = otherChild.insert(strategy, hashCode, childShift, key);
+                    if (newChild != otherChild) {
+                        answer.addNode(bit, newChild);
+                    } else {
+                        // other already has an equivalent key but ours must be kept
+                        answer.addNode(bit, otherChild.delete(strategy, hashCode, childShift, key).insert(strategy, hashCode, childShift, key));
+                    }
+                } else {
+                    answer.addKey(bit, key);
+                }
+            } else if ((nodeMap & bit) != 0) {
+                final ChampSetNode<T> child = childAt(bit);
+                if ((branch.dataMap & bit) != 0) {
+                    final T otherKey = branch.keyAt(bit);
+                    answer.addNode(bit, child.insert(strategy, strategy.hash(otherKey), childShift, otherKey));
+                } else if ((branch.nodeMap & bit) != 0) {
+                    answer.addNode(bit, child.union(strategy, branch.childAt(bit), childShift));
+                } else {
+                    answer.addNode(bit, child);
+                }
+            } else if ((branch.dataMap & bit) != 0) {
+                answer.addKey(bit, branch.keyAt(bit));
+            } else {
+                answer.addNode(bit, branch.childAt(bit));
+            }
+        }
+        return answer.build(strategy, this, branch);
+    }
+
+    @Nonnull
+    @Override
+    public ChampSetNode<T> intersection(@Nonnull HashStrategy<T> strategy,
+                                        @Nonnull ChampSetNode<T> other,
+                                        int shift)
+    {
+        if (other == this || isEmpty()) {
+            return this;
+        } else if (other.isEmpty()) {
+            return of();
+        }
+        final ChampSetBranchNode<T> branch = (ChampSetBranchNode<T>)other;
+        final int childShift = shift + HamtBranchNode.SHIFT;
+        final NodeBuilder<T> answer = new NodeBuilder<>();
+        int remaining = (dataMap | nodeMap) & (branch.dataMap | branch.nodeMap);
+        while (remaining != 0) {
+            final int bit = remaining & -remaining;
+            remaining &= remaining - 1;
+            if ((dataMap & bit) != 0) {
+                final T key = keyAt(bit);
+                if ((branch.dataMap & bit) != 0) {
+                    if (strategy.equivalent(key, branch.keyAt(bit))) {
+                        answer.addKey(bit, key);
+                    }
+                } else if (branch.childAt(bit).contains(strategy, strategy.hash(key), childShift, key)) {
+                    answer.addKey(bit, key);
+                }
+            } else {
+                final ChampSetNode<T> child = childAt(bit);
+                if ((branch.dataMap & bit) != 0) {
+                    final T otherKey = branch.keyAt(bit);
+                    final T key = child.findKey(strategy, strategy.hash(otherKey), childShift, otherKey);
+                    if (key != null) {
+                        answer.addKey(bit, key);
+                    }
+                } else {
+                    answer.addNode(bit, child.intersection(strategy, branch.childAt(bit), childShift));
+                }
+            }
+        }
+        return answer.build(strategy, this, null);
+    }
+
+    @Nonnull
+    @Override
+    public ChampSetNode<T> difference(@Nonnull HashStrategy<T> strategy,
+                                      @Nonnull ChampSetNode<T> other,
+                                      int shift)
+    {
+        if (other == this) {
+            return of();
+        } else if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+        final ChampSetBranchNode<T> branch = (ChampSetBranchNode<T>)other;
+        final int childShift = shift + HamtBranchNode.SHIFT;
+        final NodeBuilder<T> answer = new NodeBuilder<>();
+        int remaining = dataMap | nodeMap;
+        while (remaining != 0) {
+            final int bit = remaining & -remaining;
+            remaining &= remaining - 1;
+            if ((dataMap & bit) != 0) {
+                final T key = keyAt(bit);
+                if ((branch.dataMap & bit) != 0) {
+                    if (!strategy.equivalent(key, branch.keyAt(bit))) {
+                        answer.addKey(bit, key);
+                    }
+                } else if ((branch.nodeMap & bit) != 0) {
+                    if (!branch.childAt(bit).contains(strategy, strategy.hash(key), childShift, key)) {
+                        answer.addKey(bit, key);
+                    }
+                } else {
+                    answer.addKey(bit, key);
+                }
+            } else {
+                final ChampSetNode<T> child = childAt(bit);
+                if ((branch.dataMap & bit) != 0) {
+                    final T otherKey = branch.keyAt(bit);
+                    answer.addNode(bit, child.delete(strategy, strategy.hash(otherKey), childShift, otherKey));
+                } else if ((branch.nodeMap & bit) != 0) {
+                    answer.addNode(bit, child.difference(strategy, branch.childAt(bit), childShift));
+                } else {
+                    answer.addNode(bit, child);
+                }
+            }
+        }
+        return answer.build(strategy, this, null);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean isEqualTo(@Nonnull HashStrategy<T> strategy,
+                             @Nonnull ChampSetNode<T> other)
+    {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof ChampSetBranchNode)) {
+            return false;
+        }
+        final ChampSetBranchNode<T> branch = (ChampSetBranchNode<T>)other;
+        if (branch.dataMap != dataMap || branch.nodeMap != nodeMap || branch.size != size || branch.entriesHashCode != entriesHashCode) {
+            return false;
+        }
+        final Object[] otherKeys = branch.keys;
+        for (int i = 0; i < keys.length; ++i) {
+            if (!strategy.equivalent((T)keys[i], (T)otherKeys[i])) {
+                return false;
+            }
+        }
+        final ChampSetNode<T>[] otherChildren = branch.children;
+        for (int i = 0; i < children.length; ++i) {
+            if (!children[i].isEqualTo(strategy, otherChildren[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public int entriesHashCode()
+    {
+        return entriesHashCode;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T firstKey()
+    {
+        return (T)keys[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(@Nonnull Consumer<? super T> action)
+    {
+        for (Object key : keys) {
+            action.accept((T)key);
+        }
+        for (ChampSetNode<T> child : children) {
+            child.forEach(action);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> V reduce(V initialValue,
+                        Func2<V, T, V> accumulator)
+    {
+        V answer = initialValue;
+        for (Object key : keys) {
+            answer = accumulator.apply(answer, (T)key);
+        }
+        for (ChampSetNode<T> child : children) {
+            answer = child.reduce(answer, accumulator);
+        }
+        return answer;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <R> R parallelReduce(R identity,
+                                @Nonnull Sum1<T, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        if (size <= ForkJoinHelper.SEQUENTIAL_THRESHOLD) {
+            return reduce(identity, accumulator::apply);
+        }
+        final List<Func0<R>> parts = new ArrayList<>(children.length + 1);
+        parts.add(() -> {
+            R sum = identity;
+            for (Object key : keys) {
+                sum = accumulator.apply(sum, (T)key);
+            }
+            return sum;
+        });
+        for (ChampSetNode<T> child : children) {
+            parts.add(() -> child.parallelReduce(identity, accumulator, combiner));
+        }
+        return ForkJoinHelper.reduceAll(parts, combiner);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void checkInvariants(@Nonnull HashStrategy<T> strategy,
+                                int shift)
+    {
+        if ((dataMap & nodeMap) != 0) {
+            throw new IllegalStateException(String.format("dataMap and nodeMap overlap: dataMap=%x nodeMap=%x", dataMap, nodeMap));
+        }
+        if (Integer.bitCount(dataMap) != keys.length) {
+            throw new IllegalStateException(String.format("dataMap/keys mismatch: dataMap=%d keys=%d", Integer.bitCount(dataMap), keys.length));
+        }
+        if (Integer.bitCount(nodeMap) != children.length) {
+            throw new IllegalStateException(String.format("nodeMap/children mismatch: nodeMap=%d children=%d", Integer.bitCount(nodeMap), children.length));
+        }
+        if (shift >= Integer.SIZE) {
+            throw new IllegalStateException("branch node below the last hash level");
+        }
+        if (shift > 0 && size < 2) {
+            throw new IllegalStateException(String.format("non-root node holds fewer than two keys: size=%d", size));
+        }
+        if (size == 0 && this != EMPTY) {
+            throw new IllegalStateException("empty node is not the empty root");
+        }
+        int remaining = dataMap;
+        int hashSum = 0;
+        for (Object key : keys) {
+            final int bit = remaining & -remaining;
+            remaining &= remaining - 1;
+            final int hashCode = strategy.hash((T)key);
+            if ((1 << ((hashCode >>> shift) & HamtBranchNode.MASK)) != bit) {
+                throw new IllegalStateException("key is stored in the wrong slot");
+            }
+            hashSum += hashCode;
+        }
+        int childSize = keys.length;
+        for (ChampSetNode<T> child : children) {
+            child.checkInvariants(strategy, shift + HamtBranchNode.SHIFT);
+            childSize += child.size();
+            hashSum += child.entriesHashCode();
+        }
+        if (childSize != size) {
+            throw new IllegalStateException(String.format("size mismatch: expected=%d actual=%d", size, childSize));
+        }
+        if (hashSum != entriesHashCode) {
+            throw new IllegalStateException(String.format("hash code mismatch: expected=%d actual=%d", entriesHashCode, hashSum));
+        }
+    }
+
+    @Override
+    public void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                                  int depth)
+    {
+        if (this == EMPTY) {
+            return;
+        }
+        stats.addNode(this, depth, children.length, StructureStatistics.objectBytes(2, 4) + StructureStatistics.arrayBytes(keys.length) + StructureStatistics.arrayBytes(children.length));
+        for (int i = 0; i < keys.length; ++i) {
+            stats.addCollisionChain(1);
+        }
+        for (ChampSetNode<T> child : children) {
+            child.collectStatistics(stats, depth + 1);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    @Override
+    public GenericIterator.State<T> iterateOverRange(@Nullable GenericIterator.State<T> parent,
+                                                     int offset,
+                                                     int limit)
+    {
+        assert offset >= 0 && offset <= limit && limit <= size;
+        GenericIterator.State<T> state = parent;
+        if (limit > keys.length) {
+            state = GenericIterator.indexedState(state, IndexedArray.retained(children), Math.max(0, offset - keys.length), limit - keys.length);
+        }
+        if (offset < keys.length) {
+            state = GenericIterator.multiValueState(state, IndexedArray.retained((T[])keys), offset, Math.min(limit, keys.length));
+        }
+        return state;
+    }
+
+    @Override
+    public int iterableSize()
+    {
+        return size;
+    }
+
+    @Override
+    public ChampSetNode<T>[] allocate(int size)
+    {
+        return allocateNodes(size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T keyAt(int bit)
+    {
+        return (T)keys[Integer.bitCount(dataMap & (bit - 1))];
+    }
+
+    private ChampSetNode<T> childAt(int bit)
+    {
+        return children[Integer.bitCount(nodeMap & (bit - 1))];
+    }
+
+    @Nonnull
+    static Object[] insertKey(@Nonnull Object[] keys,
+                              int index,
+                              Object key)
+    {
+        final Object[] answer = new Object[keys.length + 1];
+        System.arraycopy(keys, 0, answer, 0, index);
+        answer[index] = key;
+        System.arraycopy(keys, index, answer, index + 1, keys.length - index);
+        return answer;
+    }
+
+    @Nonnull
+    static Object[] deleteKey(@Nonnull Object[] keys,
+                              int index)
+    {
+        if (keys.length == 1) {
+            return NO_KEYS;
+        }
+        final Object[] answer = new Object[keys.length - 1];
+        System.arraycopy(keys, 0, answer, 0, index);
+        System.arraycopy(keys, index + 1, answer, index, keys.length - index - 1);
+        return answer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ChampSetNode<T>[] allocateNodes(int size)
+    {
+        return (ChampSetNode<T>[])new ChampSetNode[size];
+    }
+
+    /**
+     * Collects the keys and children of a node produced by a set operation in bit order.
+     * Children holding a single key are moved inline and empty ones are dropped so the
+     * result stays canonical.  The result is only allocated if it differs from the nodes
+     * it was built from.
+     */
+    private static class NodeBuilder<T>
+    {
+        private final Object[] keys = new Object[32];
+        @SuppressWarnings("unchecked")
+        private final ChampSetNode<T>[] children = (ChampSetNode<T>[])new ChampSetNode[32];
+        private int dataMap;
+        private int nodeMap;
+        private int keyCount;
+        private int childCount;
+        private int size;
+
+        private void addKey(int bit,
+                            @Nonnull T key)
+        {
+            keys[keyCount++] = key;
+            dataMap |= bit;
+            size += 1;
+        }
+
+        private void addNode(int bit,
+                             @Nonnull ChampSetNode<T> node)
+        {
+            final int nodeSize = node.size();
+            if (nodeSize == 1) {
+                addKey(bit, node.firstKey());
+            } else if (nodeSize > 1) {
+                children[childCount++] = node;
+                nodeMap |= bit;
+                size += nodeSize;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        @Nonnull
+        private ChampSetNode<T> build(@Nonnull HashStrategy<T> strategy,
+                                      @Nonnull ChampSetBranchNode<T> first,
+                                      @Nullable ChampSetBranchNode<T> second)
+        {
+            if (isSameAs(first)) {
+                return first;
+            } else if (second != null && isSameAs(second)) {
+                return second;
+            } else if (size == 0) {
+                return of();
+            }
+            int entriesHashCode = 0;
+            for (int i = 0; i < keyCount; ++i) {
+                entriesHashCode += strategy.hash((T)keys[i]);
+            }
+            for (int i = 0; i < childCount; ++i) {
+                entriesHashCode += children[i].entriesHashCode();
+            }
+            final Object[] newKeys = (keyCount == 0) ? NO_KEYS : Arrays.copyOf(keys, keyCount);
+            return new ChampSetBranchNode<>(dataMap, nodeMap, newKeys, Arrays.copyOf(children, childCount), size, entriesHashCode);
+        }
+
+        private boolean isSameAs(@Nonnull ChampSetBranchNode<T> node)
+        {
+            if (node.dataMap != dataMap || node.nodeMap != nodeMap || node.size != size) {
+                return false;
+            }
+            for (int i = 0; i < keyCount; ++i) {
+                if (node.keys[i] != keys[i]) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < childCount; ++i) {
+                if (node.children[i] != children[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
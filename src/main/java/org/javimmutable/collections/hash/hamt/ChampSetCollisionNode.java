@@ -0,0 +1,454 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash.hamt;
+
+import org.javimmutable.collections.Func2;
+import org.javimmutable.collections.Sum1;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.hash.HashStrategy;
+import org.javimmutable.collections.indexed.IndexedArray;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Node of a key only CHAMP trie below the last hash level.  Holds the keys whose
+ * hash codes are identical in an array.  Like TreeCollisionMap for the map when the
+ * set uses the standard strategy and the keys are Comparable instances of the same
+ * class the array is kept in sorted order and searched with a binary search so that
+ * many colliding keys cannot degrade lookups to linear time.  Keys of any other kind
+ * are searched linearly.
+ */
+@Immutable
+public class ChampSetCollisionNode<T>
+    implements ChampSetNode<T>
+{
+    private final int hashCode;
+    private final Object[] keys;
+    private final boolean sorted;
+
+    private ChampSetCollisionNode(int hashCode,
+                                  @Nonnull Object[] keys,
+                                  boolean sorted)
+    {
+        this.hashCode = hashCode;
+        this.keys = keys;
+        this.sorted = sorted;
+    }
+
+    /**
+     * Creates a node holding two different keys with the same hash code.
+     */
+    @Nonnull
+    static <T> ChampSetCollisionNode<T> forKeys(@Nonnull HashStrategy<T> strategy,
+                                                int hashCode,
+                                                @Nonnull T key1,
+                                                @Nonnull T key2)
+    {
+        if (strategy == HashStrategy.standard() && key1 instanceof Comparable && key1.getClass() == key2.getClass()) {
+            final int diff = compare(key1, key2);
+            if (diff < 0) {
+                return new ChampSetCollisionNode<>(hashCode, new Object[]{key1, key2}, true);
+            } else if (diff > 0) {
+                return new ChampSetCollisionNode<>(hashCode, new Object[]{key2, key1}, true);
+            }
+        }
+        return new ChampSetCollisionNode<>(hashCode, new Object[]{key1, key2}, false);
+    }
+
+    @Override
+    public boolean contains(@Nonnull HashStrategy<T> strategy,
+                            int hashCode,
+                            int shift,
+                            @Nonnull T key)
+    {
+        return indexOf(strategy, key) >= 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    @Override
+    public T findKey(@Nonnull HashStrategy<T> strategy,
+                     int hashCode,
+                     int shift,
+                     @Nonnull T key)
+    {
+        final int index = indexOf(strategy, key);
+        return (index < 0) ? null : (T)keys[index];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    public ChampSetNode<T> insert(@Nonnull HashStrategy<T> strategy,
+                                  int hashCode,
+                                  int shift,
+                                  @Nonnull T key)
+    {
+        assert hashCode == this.hashCode;
+        if (isSortable(key)) {
+            final int index = binarySearch(key);
+            if (index < 0) {
+                return new ChampSetCollisionNode<>(hashCode, ChampSetBranchNode.insertKey(keys, -(index + 1), key), true);
+            } else if (strategy.equivalent(key, (T)keys[index])) {
+                return this;
+            }
+        } else if (indexOf(strategy, key) >= 0) {
+            return this;
+        }
+        return new ChampSetCollisionNode<>(hashCode, ChampSetBranchNode.insertKey(keys, keys.length, key), false);
+    }
+
+    @Nonnull
+    @Override
+    public ChampSetNode<T> delete(@Nonnull HashStrategy<T> strategy,
+                                  int hashCode,
+                                  int shift,
+                                  @Nonnull T key)
+    {
+        final int index = indexOf(strategy, key);
+        if (index < 0) {
+            return this;
+        } else {
+            return new ChampSetCollisionNode<>(hashCode, ChampSetBranchNode.deleteKey(keys, index), sorted);
+        }
+    }
+
+    /**
+     * Sorted nodes whose keys share a class are merged in a single pass.  Otherwise
+     * the keys of other are inserted one at a time.
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    public ChampSetNode<T> union(@Nonnull HashStrategy<T> strategy,
+                                 @Nonnull ChampSetNode<T> other,
+                                 int shift)
+    {
+        final ChampSetCollisionNode<T> collision = (ChampSetCollisionNode<T>)other;
+        if (collision.sorted && isSortable(collision.keys[0])) {
+            return merge(strategy, collision);
+        }
+        ChampSetNode<T> answer = this;
+        for (Object key : collision.keys) {
+            answer = answer.insert(strategy, hashCode, shift, (T)key);
+        }
+        return answer;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    public ChampSetNode<T> intersection(@Nonnull HashStrategy<T> strategy,
+                                        @Nonnull ChampSetNode<T> other,
+                                        int shift)
+    {
+        return retainOnly(key -> ((ChampSetCollisionNode<T>)other).indexOf(strategy, key) >= 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    public ChampSetNode<T> difference(@Nonnull HashStrategy<T> strategy,
+                                      @Nonnull ChampSetNode<T> other,
+                                      int shift)
+    {
+        return retainOnly(key -> ((ChampSetCollisionNode<T>)other).indexOf(strategy, key) < 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean isEqualTo(@Nonnull HashStrategy<T> strategy,
+                             @Nonnull ChampSetNode<T> other)
+    {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof ChampSetCollisionNode)) {
+            return false;
+        }
+        final ChampSetCollisionNode<T> collision = (ChampSetCollisionNode<T>)other;
+        if (collision.hashCode != hashCode || collision.keys.length != keys.length) {
+            return false;
+        }
+        if (sorted && collision.sorted && isSortable(collision.keys[0])) {
+            for (int i = 0; i < keys.length; ++i) {
+                if (!strategy.equivalent((T)keys[i], (T)collision.keys[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (Object key : keys) {
+            if (collision.indexOf(strategy, (T)key) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return keys.length == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return keys.length;
+    }
+
+    @Override
+    public int entriesHashCode()
+    {
+        return keys.length * hashCode;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T firstKey()
+    {
+        return (T)keys[0];
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void forEach(@Nonnull Consumer<? super T> action)
+    {
+        for (Object key : keys) {
+            action.accept((T)key);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <V> V reduce(V initialValue,
+                        Func2<V, T, V> accumulator)
+    {
+        V answer = initialValue;
+        for (Object key : keys) {
+            answer = accumulator.apply(answer, (T)key);
+        }
+        return answer;
+    }
+
+    @Override
+    public <R> R parallelReduce(R identity,
+                                @Nonnull Sum1<T, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        return reduce(identity, accumulator::apply);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public void checkInvariants(@Nonnull HashStrategy<T> strategy,
+                                int shift)
+    {
+        if (shift < Integer.SIZE) {
+            throw new IllegalStateException("collision node above the last hash level");
+        }
+        if (keys.length < 2) {
+            throw new IllegalStateException(String.format("collision node holds fewer than two keys: size=%d", keys.length));
+        }
+        for (int i = 0; i < keys.length; ++i) {
+            if (strategy.hash((T)keys[i]) != hashCode) {
+                throw new IllegalStateException("collision node contains a key with a different hash code");
+            }
+            for (int k = i + 1; k < keys.length; ++k) {
+                if (strategy.equivalent((T)keys[i], (T)keys[k])) {
+                    throw new IllegalStateException("collision node contains duplicate keys");
+                }
+            }
+            if (sorted && i > 0 && (keys[i].getClass() != keys[0].getClass() || compare(keys[i - 1], keys[i]) >= 0)) {
+                throw new IllegalStateException("sorted collision node keys are not in ascending order");
+            }
+        }
+    }
+
+    @Override
+    public void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                                  int depth)
+    {
+        stats.addNode(this, depth, 0, StructureStatistics.objectBytes(1, 2) + StructureStatistics.arrayBytes(keys.length));
+        stats.addCollisionChain(keys.length);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    @Override
+    public GenericIterator.State<T> iterateOverRange(@Nullable GenericIterator.State<T> parent,
+                                                     int offset,
+                                                     int limit)
+    {
+        assert offset >= 0 && offset <= limit && limit <= keys.length;
+        if (offset == limit) {
+            return parent;
+        } else {
+            return GenericIterator.multiValueState(parent, IndexedArray.retained((T[])keys), offset, limit);
+        }
+    }
+
+    @Override
+    public int iterableSize()
+    {
+        return keys.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private ChampSetNode<T> retainOnly(@Nonnull Predicate<T> predicate)
+    {
+        final Object[] retained = new Object[keys.length];
+        int count = 0;
+        for (Object key : keys) {
+            if (predicate.test((T)key)) {
+                retained[count++] = key;
+            }
+        }
+        if (count == keys.length) {
+            return this;
+        } else {
+            return new ChampSetCollisionNode<>(hashCode, Arrays.copyOf(retained, count), sorted);
+        }
+    }
+
+    /**
+     * Merges the keys of two sorted nodes whose keys share a class.  Where both contain
+     * equivalent keys the one from this node is kept.
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private ChampSetNode<T> merge(@Nonnull HashStrategy<T> strategy,
+                                  @Nonnull ChampSetCollisionNode<T> other)
+    {
+        final Object[] merged = new Object[keys.length + other.keys.length];
+        int count = 0;
+        int i = 0;
+        int k = 0;
+        while (i < keys.length && k < other.keys.length) {
+            final int diff = compare(keys[i], other.keys[k]);
+            if (diff < 0) {
+                merged[count++] = keys[i++];
+            } else if (diff > 0) {
+                merged[count++] = other.keys[k++];
+            } else if (strategy.equivalent((T)keys[i], (T)other.keys[k])) {
+                merged[count++] = keys[i++];
+                k += 1;
+            } else {
+                return insertEach(strategy, other);
+            }
+        }
+        while (i < keys.length) {
+            merged[count++] = keys[i++];
+        }
+        while (k < other.keys.length) {
+            merged[count++] = other.keys[k++];
+        }
+        if (count == keys.length) {
+            return this;
+        } else {
+            return new ChampSetCollisionNode<>(hashCode, Arrays.copyOf(merged, count), true);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private ChampSetNode<T> insertEach(@Nonnull HashStrategy<T> strategy,
+                                       @Nonnull ChampSetCollisionNode<T> other)
+    {
+        ChampSetNode<T> answer = this;
+        for (Object key : other.keys) {
+            answer = answer.insert(strategy, hashCode, Integer.SIZE, (T)key);
+        }
+        return answer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private int indexOf(@Nonnull HashStrategy<T> strategy,
+                        @Nonnull T key)
+    {
+        if (isSortable(key)) {
+            final int index = binarySearch(key);
+            return (index >= 0 && strategy.equivalent(key, (T)keys[index])) ? index : -1;
+        }
+        for (int i = 0; i < keys.length; ++i) {
+            if (strategy.equivalent(key, (T)keys[i])) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * True if this node is sorted and key can be compared to its keys.
+     */
+    private boolean isSortable(@Nonnull Object key)
+    {
+        return sorted && key.getClass() == keys[0].getClass();
+    }
+
+    private int binarySearch(@Nonnull Object key)
+    {
+        int low = 0;
+        int high = keys.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int diff = compare(keys[mid], key);
+            if (diff < 0) {
+                low = mid + 1;
+            } else if (diff > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int compare(@Nonnull Object a,
+                               @Nonnull Object b)
+    {
+        return ((Comparable<Object>)a).compareTo(b);
+    }
+}
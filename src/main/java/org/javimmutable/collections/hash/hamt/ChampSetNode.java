@@ -0,0 +1,160 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash.hamt;
+
+import org.javimmutable.collections.Func2;
+import org.javimmutable.collections.Sum1;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.hash.HashStrategy;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.function.Consumer;
+
+/**
+ * Node of a CHAMP trie holding only keys.  Used by hash sets so that each value costs a
+ * single array slot in the node that owns its hash prefix rather than a leaf, an entry and
+ * a value.  Like ChampNode the tries are kept in a canonical form: every node other than
+ * the root holds at least two keys.  Nodes do not know the HashStrategy of their set so
+ * it is passed to every method that hashes or compares keys.  The hashCode passed to
+ * those methods is always the strategy's hash of the key.
+ */
+public interface ChampSetNode<T>
+    extends GenericIterator.Iterable<T>
+{
+    boolean contains(@Nonnull HashStrategy<T> strategy,
+                     int hashCode,
+                     int shift,
+                     @Nonnull T key);
+
+    @Nonnull
+    ChampSetNode<T> insert(@Nonnull HashStrategy<T> strategy,
+                           int hashCode,
+                           int shift,
+                           @Nonnull T key);
+
+    /**
+     * Removes the key from this node.  The returned node may hold a single key in
+     * which case the parent is responsible for moving that key inline.
+     */
+    @Nonnull
+    ChampSetNode<T> delete(@Nonnull HashStrategy<T> strategy,
+                           int hashCode,
+                           int shift,
+                           @Nonnull T key);
+
+    /**
+     * Returns the key in this node that is equivalent to key or null if there is none.
+     */
+    @Nullable
+    T findKey(@Nonnull HashStrategy<T> strategy,
+              int hashCode,
+              int shift,
+              @Nonnull T key);
+
+    /**
+     * Returns a node containing every key in this node or other.  Where both contain equivalent
+     * keys the one from this node is kept.  Both nodes must be at the same depth of tries using
+     * the same strategy.  Subtrees present on only one side are reused without being visited.
+     */
+    @Nonnull
+    ChampSetNode<T> union(@Nonnull HashStrategy<T> strategy,
+                          @Nonnull ChampSetNode<T> other,
+                          int shift);
+
+    /**
+     * Returns a node containing the keys of this node that are also in other.  The returned
+     * node may hold fewer than two keys in which case the parent is responsible for dropping
+     * it or moving its key inline.
+     */
+    @Nonnull
+    ChampSetNode<T> intersection(@Nonnull HashStrategy<T> strategy,
+                                 @Nonnull ChampSetNode<T> other,
+                                 int shift);
+
+    /**
+     * Returns a node containing the keys of this node that are not in other.  The returned
+     * node may hold fewer than two keys in which case the parent is responsible for dropping
+     * it or moving its key inline.
+     */
+    @Nonnull
+    ChampSetNode<T> difference(@Nonnull HashStrategy<T> strategy,
+                               @Nonnull ChampSetNode<T> other,
+                               int shift);
+
+    /**
+     * Returns true if this node contains exactly the same keys as other.  Both nodes
+     * must be at the same depth of tries using the same strategy.  Shared subtrees are not visited.
+     */
+    boolean isEqualTo(@Nonnull HashStrategy<T> strategy,
+                      @Nonnull ChampSetNode<T> other);
+
+    boolean isEmpty();
+
+    int size();
+
+    /**
+     * Sum of the hash codes of every key in this node as computed by the set's HashStrategy.
+     */
+    int entriesHashCode();
+
+    /**
+     * First key in this node.  Used by a parent to inline a child holding a single key.
+     */
+    T firstKey();
+
+    @Override
+    void forEach(@Nonnull Consumer<? super T> action);
+
+    @Override
+    <V> V reduce(V initialValue,
+                 Func2<V, T, V> accumulator);
+
+    /**
+     * Reduces large nodes as separate tasks for their inline keys and each of their children.
+     * Must only be called by a reduction passed to ForkJoinHelper.invoke().
+     */
+    <R> R parallelReduce(R identity,
+                         @Nonnull Sum1<T, R> accumulator,
+                         @Nonnull Func2<R, R, R> combiner);
+
+    void checkInvariants(@Nonnull HashStrategy<T> strategy,
+                         int shift);
+
+    void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                           int depth);
+}
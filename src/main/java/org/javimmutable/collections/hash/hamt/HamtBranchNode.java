@@ -35,7 +35,9 @@
 
 package org.javimmutable.collections.hash.hamt;
 
+import org.javimmutable.collections.Func0;
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.Holders;
 import org.javimmutable.collections.Indexed;
@@ -46,13 +48,27 @@ import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
 import org.javimmutable.collections.common.ArrayHelper;
 import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.common.ForkJoinHelper;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.List;
 
-@Immutable
+/**
+ * Interior node of the hash trie.  Holds the values whose remaining hash code bits are
+ * all zero plus up to 32 children selected by the next five bits of the hash code.
+ * <p>
+ * Not annotated as Immutable because a node created by a JImmutableHashMap.Editor records
+ * that Editor's HamtEdit token and the Editor modifies it in place.  Only the transient
+ * methods taking a HamtEdit do so, and only when the token is the one stored in the node.
+ * Every other node is copied on write.  Editor.freeze() replaces the Editor's token before
+ * publishing its root so from then on no token matches and every node reachable from the
+ * frozen map is immutable.  Nodes without a token (those created by the persistent methods
+ * and builders) are never modified.
+ */
 public class HamtBranchNode<K, V>
     implements ArrayHelper.Allocator<HamtNode<K, V>>,
                HamtNode<K, V>
@@ -62,38 +78,80 @@ public class HamtBranchNode<K, V>
     static final int SHIFT = 5;
     static final int MASK = 0x1f;
 
-    private final int bitmask;
+    // fields are only modified by transient operations from the edit session that created the node
+    @Nullable
+    private final HamtEdit edit;
+    private int bitmask;
     @Nonnull
-    private final CollisionMap.Node value;
+    private CollisionMap.Node value;
     @Nonnull
-    private final HamtNode<K, V>[] children;
-    private final int size;
+    private HamtNode<K, V>[] children;
+    private int size;
+    private int entriesHashCode;
+
+    private HamtBranchNode(int bitmask,
+                           @Nonnull CollisionMap.Node value,
+                           @Nonnull HamtNode<K, V>[] children,
+                           int size,
+                           int entriesHashCode)
+    {
+        this(null, bitmask, value, children, size, entriesHashCode);
+    }
 
-    HamtBranchNode(int bitmask,
-                   @Nonnull CollisionMap.Node value,
-                   @Nonnull HamtNode<K, V>[] children,
-                   int size)
+    private HamtBranchNode(@Nullable HamtEdit edit,
+                           int bitmask,
+                           @Nonnull CollisionMap.Node value,
+                           @Nonnull HamtNode<K, V>[] children,
+                           int size,
+                           int entriesHashCode)
     {
+        this.edit = edit;
         this.bitmask = bitmask;
         this.value = value;
         this.children = children;
         this.size = size;
+        this.entriesHashCode = entriesHashCode;
+    }
+
+    /**
+     * Creates a node from children that were assembled directly by a builder.
+     * Computes the hash code of its entries from the value and children.
+     */
+    static <K, V> HamtBranchNode<K, V> forChildren(@Nonnull CollisionMap<K, V> collisionMap,
+                                                   int bitmask,
+                                                   @Nonnull CollisionMap.Node value,
+                                                   @Nonnull HamtNode<K, V>[] children,
+                                                   int size)
+    {
+        int entriesHashCode = collisionMap.entriesHashCode(value);
+        for (HamtNode<K, V> child : children) {
+            entriesHashCode += child.entriesHashCode(collisionMap);
+        }
+        return new HamtBranchNode<>(bitmask, value, children, size, entriesHashCode);
+    }
+
+    static <K, V> HamtNode<K, V> forLeafExpansion(@Nonnull CollisionMap<K, V> collisionMap,
+                                                  int hashCode,
+                                                  @Nonnull CollisionMap.Node value)
+    {
+        return forLeafExpansion(collisionMap, null, hashCode, value);
     }
 
     @SuppressWarnings("unchecked")
     static <K, V> HamtNode<K, V> forLeafExpansion(@Nonnull CollisionMap<K, V> collisionMap,
+                                                  @Nullable HamtEdit edit,
                                                   int hashCode,
                                                   @Nonnull CollisionMap.Node value)
     {
         if (hashCode == 0) {
-            return new HamtBranchNode<>(0, value, EMPTY_NODES, collisionMap.size(value));
+            return new HamtBranchNode<>(edit, 0, value, EMPTY_NODES, collisionMap.size(value), collisionMap.entriesHashCode(value));
         } else {
             final int index = hashCode & MASK;
             final int remainder = hashCode >>> SHIFT;
             final int bit = 1 << index;
             final HamtNode<K, V>[] children = new HamtNode[1];
-            children[0] = new HamtLeafNode<>(remainder, value);
-            return new HamtBranchNode<>(bit, collisionMap.emptyNode(), children, collisionMap.size(value));
+            children[0] = new HamtLeafNode<>(edit, remainder, value);
+            return new HamtBranchNode<>(edit, bit, collisionMap.emptyNode(), children, collisionMap.size(value), collisionMap.entriesHashCode(value));
         }
     }
 
@@ -103,6 +161,12 @@ public class HamtBranchNode<K, V>
         return size;
     }
 
+    @Override
+    public int entriesHashCode(@Nonnull CollisionMap<K, V> collisionMap)
+    {
+        return entriesHashCode;
+    }
+
     @Override
     public Holder<V> find(@Nonnull CollisionMap<K, V> collisionMap,
                           int hashCode,
@@ -159,7 +223,9 @@ public class HamtBranchNode<K, V>
             if (thisValue == newValue) {
                 return this;
             } else {
-                return new HamtBranchNode<>(bitmask, newValue, children, size - collisionMap.size(thisValue) + collisionMap.size(newValue));
+                return new HamtBranchNode<>(bitmask, newValue, children,
+                                            size - collisionMap.size(thisValue) + collisionMap.size(newValue),
+                                            entriesHashCode - collisionMap.entriesHashCode(thisValue) + collisionMap.entriesHashCode(newValue));
             }
         }
         final int index = hashCode & MASK;
@@ -169,7 +235,7 @@ public class HamtBranchNode<K, V>
         if ((bitmask & bit) == 0) {
             final HamtNode<K, V> newChild = new HamtLeafNode<>(remainder, collisionMap.update(collisionMap.emptyNode(), hashKey, value));
             final HamtNode<K, V>[] newChildren = ArrayHelper.insert(this, children, childIndex, newChild);
-            return new HamtBranchNode<>(bitmask | bit, thisValue, newChildren, size + 1);
+            return new HamtBranchNode<>(bitmask | bit, thisValue, newChildren, size + 1, entriesHashCode + newChild.entriesHashCode(collisionMap));
         } else {
             final HamtNode<K, V> child = children[childIndex];
             final HamtNode<K, V> newChild = child.assign(collisionMap, remainder, hashKey, value);
@@ -177,7 +243,9 @@ public class HamtBranchNode<K, V>
                 return this;
             } else {
                 final HamtNode<K, V>[] newChildren = ArrayHelper.assign(children, childIndex, newChild);
-                return new HamtBranchNode<>(bitmask, thisValue, newChildren, size - child.size(collisionMap) + newChild.size(collisionMap));
+                return new HamtBranchNode<>(bitmask, thisValue, newChildren,
+                                            size - child.size(collisionMap) + newChild.size(collisionMap),
+                                            entriesHashCode - child.entriesHashCode(collisionMap) + newChild.entriesHashCode(collisionMap));
             }
         }
     }
@@ -197,7 +265,9 @@ public class HamtBranchNode<K, V>
             if (thisValue == newValue) {
                 return this;
             } else {
-                return new HamtBranchNode<>(bitmask, newValue, children, size - collisionMap.size(thisValue) + collisionMap.size(newValue));
+                return new HamtBranchNode<>(bitmask, newValue, children,
+                                            size - collisionMap.size(thisValue) + collisionMap.size(newValue),
+                                            entriesHashCode - collisionMap.entriesHashCode(thisValue) + collisionMap.entriesHashCode(newValue));
             }
         }
         final int index = hashCode & MASK;
@@ -207,7 +277,7 @@ public class HamtBranchNode<K, V>
         if ((bitmask & bit) == 0) {
             final HamtNode<K, V> newChild = new HamtLeafNode<>(remainder, collisionMap.update(collisionMap.emptyNode(), hashKey, generator));
             final HamtNode<K, V>[] newChildren = ArrayHelper.insert(this, children, childIndex, newChild);
-            return new HamtBranchNode<>(bitmask | bit, thisValue, newChildren, size + 1);
+            return new HamtBranchNode<>(bitmask | bit, thisValue, newChildren, size + 1, entriesHashCode + newChild.entriesHashCode(collisionMap));
         } else {
             final HamtNode<K, V> child = children[childIndex];
             final HamtNode<K, V> newChild = child.update(collisionMap, remainder, hashKey, generator);
@@ -215,7 +285,9 @@ public class HamtBranchNode<K, V>
                 return this;
             } else {
                 final HamtNode<K, V>[] newChildren = ArrayHelper.assign(children, childIndex, newChild);
-                return new HamtBranchNode<>(bitmask, thisValue, newChildren, size - child.size(collisionMap) + newChild.size(collisionMap));
+                return new HamtBranchNode<>(bitmask, thisValue, newChildren,
+                                            size - child.size(collisionMap) + newChild.size(collisionMap),
+                                            entriesHashCode - child.entriesHashCode(collisionMap) + newChild.entriesHashCode(collisionMap));
             }
         }
     }
@@ -231,17 +303,19 @@ public class HamtBranchNode<K, V>
         final CollisionMap.Node value = this.value;
         if (hashCode == 0) {
             final CollisionMap.Node newValue = collisionMap.delete(value, hashKey);
-            final int newSize = this.size - collisionMap.size(value) + collisionMap.size(newValue);
             if (newValue == value) {
                 return this;
-            } else if (collisionMap.size(newValue) == 0) {
+            }
+            final int newSize = this.size - collisionMap.size(value) + collisionMap.size(newValue);
+            final int newHashCode = entriesHashCode - collisionMap.entriesHashCode(value) + collisionMap.entriesHashCode(newValue);
+            if (collisionMap.size(newValue) == 0) {
                 if (bitmask == 0) {
                     return HamtEmptyNode.of();
                 } else {
-                    return createForDelete(collisionMap, bitmask, newValue, children, newSize);
+                    return createForDelete(collisionMap, bitmask, newValue, children, newSize, newHashCode);
                 }
             } else {
-                return new HamtBranchNode<>(bitmask, newValue, children, newSize);
+                return new HamtBranchNode<>(bitmask, newValue, children, newSize, newHashCode);
             }
         }
         final int index = hashCode & MASK;
@@ -253,10 +327,12 @@ public class HamtBranchNode<K, V>
         } else {
             final HamtNode<K, V> child = children[childIndex];
             final HamtNode<K, V> newChild = child.delete(collisionMap, remainder, hashKey);
-            final int newSize = size - child.size(collisionMap) + newChild.size(collisionMap);
             if (newChild == child) {
                 return this;
-            } else if (newChild.isEmpty(collisionMap)) {
+            }
+            final int newSize = size - child.size(collisionMap) + newChild.size(collisionMap);
+            final int newHashCode = entriesHashCode - child.entriesHashCode(collisionMap) + newChild.entriesHashCode(collisionMap);
+            if (newChild.isEmpty(collisionMap)) {
                 if (children.length == 1) {
                     if (collisionMap.size(value) == 0) {
                         return HamtEmptyNode.of();
@@ -265,20 +341,213 @@ public class HamtBranchNode<K, V>
                     }
                 } else {
                     final HamtNode<K, V>[] newChildren = ArrayHelper.delete(this, children, childIndex);
-                    return createForDelete(collisionMap, bitmask & ~bit, value, newChildren, newSize);
+                    return createForDelete(collisionMap, bitmask & ~bit, value, newChildren, newSize, newHashCode);
                 }
             } else {
                 final HamtNode<K, V>[] newChildren = ArrayHelper.assign(children, childIndex, newChild);
-                return createForDelete(collisionMap, bitmask, value, newChildren, newSize);
+                return createForDelete(collisionMap, bitmask, value, newChildren, newSize, newHashCode);
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    public HamtNode<K, V> assign(@Nonnull CollisionMap<K, V> collisionMap,
+                                 @Nonnull HamtEdit edit,
+                                 int hashCode,
+                                 @Nonnull K hashKey,
+                                 @Nullable V value)
+    {
+        final HamtNode<K, V>[] children = this.children;
+        final int bitmask = this.bitmask;
+        final CollisionMap.Node thisValue = this.value;
+        if (hashCode == 0) {
+            final CollisionMap.Node newValue = collisionMap.update(thisValue, hashKey, value);
+            if (thisValue == newValue) {
+                return this;
+            } else {
+                return replace(edit, bitmask, newValue, children,
+                               size - collisionMap.size(thisValue) + collisionMap.size(newValue),
+                               entriesHashCode - collisionMap.entriesHashCode(thisValue) + collisionMap.entriesHashCode(newValue));
+            }
+        }
+        final int index = hashCode & MASK;
+        final int remainder = hashCode >>> SHIFT;
+        final int bit = 1 << index;
+        final int childIndex = realIndex(bitmask, bit);
+        if ((bitmask & bit) == 0) {
+            final HamtNode<K, V> newChild = new HamtLeafNode<>(edit, remainder, collisionMap.update(collisionMap.emptyNode(), hashKey, value));
+            final HamtNode<K, V>[] newChildren = ArrayHelper.insert(this, children, childIndex, newChild);
+            return replace(edit, bitmask | bit, thisValue, newChildren, size + 1, entriesHashCode + newChild.entriesHashCode(collisionMap));
+        } else {
+            final HamtNode<K, V> child = children[childIndex];
+            final int oldChildSize = child.size(collisionMap);
+            final int oldChildHashCode = child.entriesHashCode(collisionMap);
+            final HamtNode<K, V> newChild = child.assign(collisionMap, edit, remainder, hashKey, value);
+            final int newSize = size - oldChildSize + newChild.size(collisionMap);
+            final int newHashCode = entriesHashCode - oldChildHashCode + newChild.entriesHashCode(collisionMap);
+            if (newChild == child) {
+                return resize(edit, newSize, newHashCode);
+            } else {
+                return replace(edit, bitmask, thisValue, assignChild(edit, childIndex, newChild), newSize, newHashCode);
             }
         }
     }
 
+    @Nonnull
+    @Override
+    public HamtNode<K, V> delete(@Nonnull CollisionMap<K, V> collisionMap,
+                                 @Nonnull HamtEdit edit,
+                                 int hashCode,
+                                 @Nonnull K hashKey)
+    {
+        final int bitmask = this.bitmask;
+        final HamtNode<K, V>[] children = this.children;
+        final CollisionMap.Node value = this.value;
+        if (hashCode == 0) {
+            final CollisionMap.Node newValue = collisionMap.delete(value, hashKey);
+            if (newValue == value) {
+                return this;
+            }
+            final int newSize = this.size - collisionMap.size(value) + collisionMap.size(newValue);
+            final int newHashCode = entriesHashCode - collisionMap.entriesHashCode(value) + collisionMap.entriesHashCode(newValue);
+            if (collisionMap.size(newValue) == 0) {
+                if (bitmask == 0) {
+                    return HamtEmptyNode.of();
+                } else {
+                    return createForDelete(collisionMap, edit, bitmask, newValue, children, newSize, newHashCode);
+                }
+            } else {
+                return replace(edit, bitmask, newValue, children, newSize, newHashCode);
+            }
+        }
+        final int index = hashCode & MASK;
+        final int remainder = hashCode >>> SHIFT;
+        final int bit = 1 << index;
+        final int childIndex = realIndex(bitmask, bit);
+        if ((bitmask & bit) == 0) {
+            return this;
+        } else {
+            final HamtNode<K, V> child = children[childIndex];
+            final int oldChildSize = child.size(collisionMap);
+            final int oldChildHashCode = child.entriesHashCode(collisionMap);
+            final HamtNode<K, V> newChild = child.delete(collisionMap, edit, remainder, hashKey);
+            final int newSize = size - oldChildSize + newChild.size(collisionMap);
+            final int newHashCode = entriesHashCode - oldChildHashCode + newChild.entriesHashCode(collisionMap);
+            if (newChild == child) {
+                return resize(edit, newSize, newHashCode);
+            } else if (newChild.isEmpty(collisionMap)) {
+                if (children.length == 1) {
+                    if (collisionMap.size(value) == 0) {
+                        return HamtEmptyNode.of();
+                    } else {
+                        return new HamtLeafNode<>(edit, 0, value);
+                    }
+                } else {
+                    final HamtNode<K, V>[] newChildren = ArrayHelper.delete(this, children, childIndex);
+                    return createForDelete(collisionMap, edit, bitmask & ~bit, value, newChildren, newSize, newHashCode);
+                }
+            } else {
+                return createForDelete(collisionMap, edit, bitmask, value, assignChild(edit, childIndex, newChild), newSize, newHashCode);
+            }
+        }
+    }
+
+    /**
+     * Handles a child that was modified in place by a transient operation.  Only the size
+     * and the hash code of the entries can have changed.  Any child modified in place is owned by the edit so this node is
+     * also owned by it since it must have been made editable when the child was first
+     * attached to it.
+     */
+    @Nonnull
+    private HamtNode<K, V> resize(@Nonnull HamtEdit edit,
+                                  int newSize,
+                                  int newHashCode)
+    {
+        if (newSize != size || newHashCode != entriesHashCode) {
+            assert this.edit == edit;
+            size = newSize;
+            entriesHashCode = newHashCode;
+        }
+        return this;
+    }
+
+    /**
+     * Returns a children array with the specified child replaced.  The existing array
+     * is modified in place if this node is owned by the edit.
+     */
+    @Nonnull
+    private HamtNode<K, V>[] assignChild(@Nonnull HamtEdit edit,
+                                         int childIndex,
+                                         @Nonnull HamtNode<K, V> newChild)
+    {
+        if (this.edit == edit) {
+            children[childIndex] = newChild;
+            return children;
+        } else {
+            return ArrayHelper.assign(children, childIndex, newChild);
+        }
+    }
+
+    /**
+     * Transient equivalent of the constructor.  Updates this node in place if it is owned
+     * by the edit or creates a new node owned by the edit otherwise.  A new node never
+     * shares this node's children array since the new node's array can be modified in place.
+     */
+    @Nonnull
+    private HamtNode<K, V> replace(@Nonnull HamtEdit edit,
+                                   int bitmask,
+                                   @Nonnull CollisionMap.Node value,
+                                   @Nonnull HamtNode<K, V>[] children,
+                                   int size,
+                                   int entriesHashCode)
+    {
+        if (this.edit == edit) {
+            this.bitmask = bitmask;
+            this.value = value;
+            this.children = children;
+            this.size = size;
+            this.entriesHashCode = entriesHashCode;
+            return this;
+        } else if (children == this.children) {
+            return new HamtBranchNode<>(edit, bitmask, value, children.clone(), size, entriesHashCode);
+        } else {
+            return new HamtBranchNode<>(edit, bitmask, value, children, size, entriesHashCode);
+        }
+    }
+
+    private HamtNode<K, V> createForDelete(@Nonnull CollisionMap<K, V> collisionMap,
+                                           @Nonnull HamtEdit edit,
+                                           int bitmask,
+                                           CollisionMap.Node value,
+                                           @Nonnull HamtNode<K, V>[] children,
+                                           int newSize,
+                                           int newHashCode)
+    {
+        if (collisionMap.size(value) == 0 && children.length == 1) {
+            final HamtNode<K, V> child = children[0];
+            if (child instanceof HamtLeafNode) {
+                final HamtLeafNode<K, V> leaf = (HamtLeafNode<K, V>)child;
+                assert newSize == leaf.size(collisionMap);
+                return leaf.liftNode(edit, Integer.numberOfTrailingZeros(bitmask));
+            }
+            if (child instanceof HamtBranchNode) {
+                final HamtBranchNode<K, V> branch = (HamtBranchNode<K, V>)child;
+                if (collisionMap.size(branch.value) > 0 && branch.children.length == 0) {
+                    assert newSize == collisionMap.size(branch.value);
+                    return new HamtLeafNode<>(edit, Integer.numberOfTrailingZeros(bitmask), branch.value);
+                }
+            }
+        }
+        return replace(edit, bitmask, value, children, newSize, newHashCode);
+    }
+
     private HamtNode<K, V> createForDelete(@Nonnull CollisionMap<K, V> collisionMap,
                                            int bitmask,
                                            CollisionMap.Node value,
                                            @Nonnull HamtNode<K, V>[] children,
-                                           int newSize)
+                                           int newSize,
+                                           int newHashCode)
     {
         if (collisionMap.size(value) == 0 && children.length == 1) {
             final HamtNode<K, V> child = children[0];
@@ -295,7 +564,121 @@ public class HamtBranchNode<K, V>
                 }
             }
         }
-        return new HamtBranchNode<>(bitmask, value, children, newSize);
+        return new HamtBranchNode<>(bitmask, value, children, newSize, newHashCode);
+    }
+
+    @Nonnull
+    @Override
+    public HamtNode<K, V> merge(@Nonnull CollisionMap<K, V> collisionMap,
+                                @Nonnull HamtNode<K, V> other)
+    {
+        if (other == this || other instanceof HamtEmptyNode) {
+            return this;
+        } else if (other instanceof HamtLeafNode) {
+            return ((HamtLeafNode<K, V>)other).assignAllTo(collisionMap, this);
+        }
+
+        final HamtBranchNode<K, V> branch = (HamtBranchNode<K, V>)other;
+        final int bitmask = this.bitmask;
+        final int otherBitmask = branch.bitmask;
+        final HamtNode<K, V>[] children = this.children;
+        final HamtNode<K, V>[] otherChildren = branch.children;
+        final CollisionMap.Node value = this.value;
+        final CollisionMap.Node newValue = collisionMap.reduce(branch.value, value, collisionMap::update);
+        final int newBitmask = bitmask | otherBitmask;
+        final HamtNode<K, V>[] newChildren = allocate(Integer.bitCount(newBitmask));
+        boolean unchanged = (newBitmask == bitmask) && (newValue == value);
+        int newSize = collisionMap.size(newValue);
+        int newHashCode = collisionMap.entriesHashCode(newValue);
+        int thisIndex = 0;
+        int otherIndex = 0;
+        int newIndex = 0;
+        for (int remaining = newBitmask; remaining != 0; remaining &= remaining - 1) {
+            final int bit = remaining & -remaining;
+            final HamtNode<K, V> newChild;
+            if ((bitmask & bit) == 0) {
+                newChild = otherChildren[otherIndex++];
+            } else if ((otherBitmask & bit) == 0) {
+                newChild = children[thisIndex++];
+            } else {
+                final HamtNode<K, V> child = children[thisIndex++];
+                newChild = child.merge(collisionMap, otherChildren[otherIndex++]);
+                unchanged = unchanged && (newChild == child);
+            }
+            newChildren[newIndex++] = newChild;
+            newSize += newChild.size(collisionMap);
+            newHashCode += newChild.entriesHashCode(collisionMap);
+        }
+        if (unchanged) {
+            return this;
+        } else {
+            return new HamtBranchNode<>(newBitmask, newValue, newChildren, newSize, newHashCode);
+        }
+    }
+
+    @Override
+    public void diff(@Nonnull CollisionMap<K, V> collisionMap,
+                     @Nonnull HamtNode<K, V> newer,
+                     @Nonnull JImmutableMap.DiffVisitor<K, V> visitor)
+    {
+        if (newer == this) {
+            return;
+        } else if (newer instanceof HamtEmptyNode) {
+            forEach(collisionMap, visitor::removed);
+            return;
+        } else if (newer instanceof HamtLeafNode) {
+            ((HamtLeafNode<K, V>)newer).diff(collisionMap, this, visitor, false);
+            return;
+        }
+
+        final HamtBranchNode<K, V> branch = (HamtBranchNode<K, V>)newer;
+        final int bitmask = this.bitmask;
+        final int newerBitmask = branch.bitmask;
+        final HamtNode<K, V>[] children = this.children;
+        final HamtNode<K, V>[] newerChildren = branch.children;
+        collisionMap.diff(value, branch.value, visitor);
+        int thisIndex = 0;
+        int newerIndex = 0;
+        for (int remaining = bitmask | newerBitmask; remaining != 0; remaining &= remaining - 1) {
+            final int bit = remaining & -remaining;
+            if ((bitmask & bit) == 0) {
+                newerChildren[newerIndex++].forEach(collisionMap, visitor::added);
+            } else if ((newerBitmask & bit) == 0) {
+                children[thisIndex++].forEach(collisionMap, visitor::removed);
+            } else {
+                children[thisIndex++].diff(collisionMap, newerChildren[newerIndex++], visitor);
+            }
+        }
+    }
+
+    /**
+     * Two branches at the same depth can only hold equal entries if their children occupy
+     * the same slots so their children are compared in lockstep.
+     */
+    @Override
+    public boolean isEqualTo(@Nonnull CollisionMap<K, V> collisionMap,
+                             @Nonnull HamtNode<K, V> other)
+    {
+        if (other == this) {
+            return true;
+        } else if (!(other instanceof HamtBranchNode)) {
+            return other.isEqualTo(collisionMap, this);
+        }
+
+        final HamtBranchNode<K, V> branch = (HamtBranchNode<K, V>)other;
+        if (size != branch.size || entriesHashCode != branch.entriesHashCode || bitmask != branch.bitmask) {
+            return false;
+        } else if (!collisionMap.isEqualTo(value, branch.value)) {
+            return false;
+        }
+        final HamtNode<K, V>[] children = this.children;
+        final HamtNode<K, V>[] otherChildren = branch.children;
+        for (int i = 0; i < children.length; ++i) {
+            if (!children[i].isEqualTo(collisionMap, otherChildren[i])) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -363,6 +746,23 @@ public class HamtBranchNode<K, V>
         return sum;
     }
 
+    @Override
+    public <R> R parallelReduce(@Nonnull CollisionMap<K, V> collisionMap,
+                                R identity,
+                                @Nonnull Sum2<K, V, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        if (size <= ForkJoinHelper.SEQUENTIAL_THRESHOLD) {
+            return reduce(collisionMap, identity, accumulator);
+        }
+        final List<Func0<R>> parts = new ArrayList<>(children.length + 1);
+        parts.add(() -> collisionMap.reduce(value, identity, accumulator));
+        for (HamtNode<K, V> child : children) {
+            parts.add(() -> child.parallelReduce(collisionMap, identity, accumulator, combiner));
+        }
+        return ForkJoinHelper.reduceAll(parts, combiner);
+    }
+
     @Override
     public <R, E extends Exception> R reduceThrows(@Nonnull CollisionMap<K, V> collisionMap,
                                                    R sum,
@@ -391,12 +791,24 @@ public class HamtBranchNode<K, V>
         return answer;
     }
 
+    private int computeEntriesHashCode(@Nonnull CollisionMap<K, V> collisionMap)
+    {
+        int answer = collisionMap.entriesHashCode(value);
+        for (HamtNode<K, V> child : children) {
+            answer += child.entriesHashCode(collisionMap);
+        }
+        return answer;
+    }
+
     @Override
     public void checkInvariants(@Nonnull CollisionMap<K, V> collisionMap)
     {
         if (size != computeSize(collisionMap)) {
             throw new IllegalStateException(String.format("incorrect size: expected=%d actual=%d", computeSize(collisionMap), size));
         }
+        if (entriesHashCode != computeEntriesHashCode(collisionMap)) {
+            throw new IllegalStateException(String.format("incorrect hash code: expected=%d actual=%d", computeEntriesHashCode(collisionMap), entriesHashCode));
+        }
         if (collisionMap.size(value) == 0 && children.length == 1) {
             if (children[0] instanceof HamtLeafNode) {
                 // we should have replaced ourselves with a leaf
@@ -408,6 +820,20 @@ public class HamtBranchNode<K, V>
         }
     }
 
+    @Override
+    public void collectStatistics(@Nonnull CollisionMap<K, V> collisionMap,
+                                  @Nonnull StructureStatistics.Builder stats,
+                                  int depth)
+    {
+        stats.addNode(this, depth, children.length, StructureStatistics.objectBytes(3, 2) + StructureStatistics.arrayBytes(children.length));
+        if (collisionMap.size(value) > 0) {
+            collisionMap.collectStatistics(value, stats, depth + 1);
+        }
+        for (HamtNode<K, V> child : children) {
+            child.collectStatistics(collisionMap, stats, depth + 1);
+        }
+    }
+
     @Nonnull
     private Indexed<GenericIterator.Iterable<JImmutableMap.Entry<K, V>>> indexedForIterator(@Nonnull CollisionMap<K, V> collisionMap)
     {
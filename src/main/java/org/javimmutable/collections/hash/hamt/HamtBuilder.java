@@ -35,22 +35,56 @@
 
 package org.javimmutable.collections.hash.hamt;
 
+import org.javimmutable.collections.Indexed;
+import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.hash.HashSpreader;
+import org.javimmutable.collections.hash.HashStrategy;
 import org.javimmutable.collections.list.ListCollisionMap;
 import org.javimmutable.collections.tree.TreeCollisionMap;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 
 import static org.javimmutable.collections.hash.hamt.HamtBranchNode.*;
 
 @NotThreadSafe
 public class HamtBuilder<K, V>
 {
-    private CollisionMap<K, V> collisionMap = ListCollisionMap.instance();
+    private final HashStrategy<K> strategy;
+    private final HashSpreader spreader;
+    private CollisionMap<K, V> collisionMap;
     private Node<K, V> root = new Empty<>();
 
+    public HamtBuilder()
+    {
+        this(HashSpreader.identity());
+    }
+
+    public HamtBuilder(@Nonnull HashSpreader spreader)
+    {
+        this(HashStrategy.standard(), spreader);
+    }
+
+    /**
+     * Creates a builder that hashes and compares keys using strategy.  With the standard
+     * strategy the collision map is selected based on the first key added.  Any other
+     * strategy always uses a list based collision map.
+     */
+    public HamtBuilder(@Nonnull HashStrategy<K> strategy,
+                       @Nonnull HashSpreader spreader)
+    {
+        this.strategy = strategy;
+        this.spreader = spreader;
+        collisionMap = ListCollisionMap.forStrategy(strategy);
+    }
+
     @Nonnull
     public HamtNode<K, V> build()
     {
@@ -59,7 +93,7 @@ public class HamtBuilder<K, V>
 
     public void clear()
     {
-        collisionMap = ListCollisionMap.instance();
+        collisionMap = ListCollisionMap.forStrategy(strategy);
         root = new Empty<>();
     }
 
@@ -67,13 +101,34 @@ public class HamtBuilder<K, V>
                     V value)
     {
         if (root.isEmpty()) {
-            collisionMap = selectCollisionMapForKey(key);
-            root = new Leaf<>(collisionMap, key.hashCode(), key, value);
+            if (strategy == HashStrategy.standard()) {
+                collisionMap = selectCollisionMapForKey(key);
+            }
+            root = new Leaf<>(collisionMap, spreader.spread(collisionMap.keyHashCode(key)), key, value);
         } else {
-            root = root.add(collisionMap, key.hashCode(), key, value);
+            root = root.add(collisionMap, spreader.spread(collisionMap.keyHashCode(key)), key, value);
         }
     }
 
+    /**
+     * Builds a trie containing every entry in source using tasks running on pool.  Entries
+     * are partitioned by the five hash bits that select their child of the root node and
+     * the sub-trie for each partition is built by a separate task.  The finished sub-tries
+     * become the children of the root.  When several entries have equal keys the last one
+     * in source wins, just as if they had been passed to add() in order.  The collisionMap
+     * must be the one that would have been selected by add() for the first key.
+     */
+    @Nonnull
+    public static <K, V> HamtNode<K, V> buildParallel(@Nonnull ForkJoinPool pool,
+                                                      @Nonnull CollisionMap<K, V> collisionMap,
+                                                      @Nonnull HashSpreader spreader,
+                                                      @Nonnull Indexed<? extends JImmutableMap.Entry<? extends K, ? extends V>> source)
+    {
+        final ParallelBuild<K, V> build = new ParallelBuild<>(collisionMap, spreader, source);
+        pool.invoke(build);
+        return build.root;
+    }
+
     @Nonnull
     public CollisionMap<K, V> getCollisionMap()
     {
@@ -94,6 +149,149 @@ public class HamtBuilder<K, V>
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static <K, V> Node<K, V>[] allocateNodes(int size)
+    {
+        return (Node<K, V>[])new Node[size];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> HamtNode<K, V>[] allocateHamtNodes(int size)
+    {
+        return (HamtNode<K, V>[])new HamtNode[size];
+    }
+
+    /**
+     * Computes every hash code in parallel, sorts the entries by their root level child
+     * index using a counting sort (so entries with equal keys remain in their original
+     * order) and then builds one sub-trie per child index in parallel.
+     */
+    private static class ParallelBuild<K, V>
+        extends RecursiveAction
+    {
+        private static final long serialVersionUID = -121805;
+        private static final int HASH_BATCH_SIZE = 4096;
+        private static final int ROOT_VALUES = 32;
+
+        private final CollisionMap<K, V> collisionMap;
+        private final HashSpreader spreader;
+        private final Indexed<? extends JImmutableMap.Entry<? extends K, ? extends V>> source;
+        private final int[] hashCodes;
+        private HamtNode<K, V> root;
+
+        private ParallelBuild(@Nonnull CollisionMap<K, V> collisionMap,
+                              @Nonnull HashSpreader spreader,
+                              @Nonnull Indexed<? extends JImmutableMap.Entry<? extends K, ? extends V>> source)
+        {
+            this.collisionMap = collisionMap;
+            this.spreader = spreader;
+            this.source = source;
+            hashCodes = new int[source.size()];
+        }
+
+        @Override
+        protected void compute()
+        {
+            final int size = hashCodes.length;
+            final List<ForkJoinTask<?>> hashTasks = new ArrayList<>();
+            for (int offset = 0; offset < size; offset += HASH_BATCH_SIZE) {
+                final int start = offset;
+                final int limit = Math.min(size, offset + HASH_BATCH_SIZE);
+                hashTasks.add(ForkJoinTask.adapt(() -> {
+                    for (int i = start; i < limit; ++i) {
+                        hashCodes[i] = spreader.spread(collisionMap.keyHashCode(source.get(i).getKey()));
+                    }
+                }));
+            }
+            invokeAll(hashTasks);
+
+            final int[] starts = new int[ROOT_VALUES + 3];
+            for (int hashCode : hashCodes) {
+                starts[childIndex(hashCode) + 2] += 1;
+            }
+            for (int i = 2; i < starts.length; ++i) {
+                starts[i] += starts[i - 1];
+            }
+            final int[] order = new int[size];
+            for (int i = 0; i < size; ++i) {
+                order[starts[childIndex(hashCodes[i]) + 1]++] = i;
+            }
+
+            final List<ForkJoinTask<?>> childTasks = new ArrayList<>();
+            final Node<K, V>[] children = allocateNodes(ROOT_VALUES);
+            final HamtNode<K, V>[] hamts = allocateHamtNodes(ROOT_VALUES);
+            for (int index = 0; index < ROOT_VALUES; ++index) {
+                final int child = index;
+                final int start = starts[index];
+                final int limit = starts[index + 1];
+                if (start < limit) {
+                    childTasks.add(ForkJoinTask.adapt(() -> {
+                        Node<K, V> node = new Empty<>();
+                        for (int i = start; i < limit; ++i) {
+                            final int entryIndex = order[i];
+                            final JImmutableMap.Entry<? extends K, ? extends V> entry = source.get(entryIndex);
+                            node = node.add(collisionMap, hashCodes[entryIndex] >>> SHIFT, entry.getKey(), entry.getValue());
+                        }
+                        children[child] = node;
+                        hamts[child] = node.toHamt(collisionMap);
+                    }));
+                }
+            }
+            invokeAll(childTasks);
+
+            CollisionMap.Node values = collisionMap.emptyNode();
+            for (int i = starts[ROOT_VALUES]; i < size; ++i) {
+                final JImmutableMap.Entry<? extends K, ? extends V> entry = source.get(order[i]);
+                values = collisionMap.update(values, entry.getKey(), entry.getValue());
+            }
+            root = assemble(values, children, hamts);
+        }
+
+        @Nonnull
+        private HamtNode<K, V> assemble(@Nonnull CollisionMap.Node values,
+                                        @Nonnull Node<K, V>[] children,
+                                        @Nonnull HamtNode<K, V>[] hamts)
+        {
+            int bitmask = 0;
+            int count = 0;
+            int size = collisionMap.size(values);
+            for (int index = 0; index < ROOT_VALUES; ++index) {
+                if (children[index] != null) {
+                    bitmask |= 1 << index;
+                    count += 1;
+                    size += children[index].size();
+                }
+            }
+            if (count == 0) {
+                return (size == 0) ? HamtEmptyNode.of() : new HamtLeafNode<>(0, values);
+            }
+            if (count == 1 && collisionMap.size(values) == 0) {
+                final int index = Integer.numberOfTrailingZeros(bitmask);
+                if (children[index] instanceof Leaf) {
+                    // a lone leaf takes the place of the root just as it would with add()
+                    final Leaf<K, V> leaf = (Leaf<K, V>)children[index];
+                    return new HamtLeafNode<>((leaf.hashCode << SHIFT) | index, leaf.values);
+                }
+            }
+            final HamtNode<K, V>[] nodes = allocateHamtNodes(count);
+            int next = 0;
+            for (HamtNode<K, V> hamt : hamts) {
+                if (hamt != null) {
+                    nodes[next++] = hamt;
+                }
+            }
+            return HamtBranchNode.forChildren(collisionMap, bitmask, values, nodes, size);
+        }
+
+        /**
+         * Child of the root holding the hashCode or ROOT_VALUES if it belongs in the root's values.
+         */
+        private static int childIndex(int hashCode)
+        {
+            return (hashCode == 0) ? ROOT_VALUES : (hashCode & MASK);
+        }
+    }
+
     private static abstract class Node<K, V>
     {
         @Nonnull
@@ -217,7 +415,7 @@ public class HamtBuilder<K, V>
                        V value)
         {
             assert hashCode != leaf.hashCode;
-            children = new Node[32];
+            children = allocateNodes(32);
             if (leaf.hashCode == 0) {
                 values = leaf.values;
             } else {
@@ -267,7 +465,7 @@ public class HamtBuilder<K, V>
             }
             int bitmask = 0;
             int bit = 1;
-            final HamtNode<K, V>[] nodes = new HamtNode[count];
+            final HamtNode<K, V>[] nodes = allocateHamtNodes(count);
             int index = 0;
             for (Node<K, V> child : children) {
                 if (child != null) {
@@ -277,7 +475,7 @@ public class HamtBuilder<K, V>
                 }
                 bit <<= 1;
             }
-            return new HamtBranchNode<>(bitmask, values, nodes, size);
+            return HamtBranchNode.forChildren(collisionMap, bitmask, values, nodes, size);
         }
 
         @Override
@@ -107,12 +107,62 @@ public class HamtEmptyNode<K, V>
         return this;
     }
 
+    @Nonnull
+    @Override
+    public HamtNode<K, V> assign(@Nonnull CollisionMap<K, V> collisionMap,
+                                 @Nonnull HamtEdit edit,
+                                 int hashCode,
+                                 @Nonnull K hashKey,
+                                 @Nullable V value)
+    {
+        return new HamtLeafNode<>(edit, hashCode, collisionMap.update(collisionMap.emptyNode(), hashKey, value));
+    }
+
+    @Nonnull
+    @Override
+    public HamtNode<K, V> delete(@Nonnull CollisionMap<K, V> collisionMap,
+                                 @Nonnull HamtEdit edit,
+                                 int hashCode,
+                                 @Nonnull K hashKey)
+    {
+        return this;
+    }
+
+    @Nonnull
+    @Override
+    public HamtNode<K, V> merge(@Nonnull CollisionMap<K, V> collisionMap,
+                                @Nonnull HamtNode<K, V> other)
+    {
+        return other;
+    }
+
+    @Override
+    public void diff(@Nonnull CollisionMap<K, V> collisionMap,
+                     @Nonnull HamtNode<K, V> newer,
+                     @Nonnull JImmutableMap.DiffVisitor<K, V> visitor)
+    {
+        newer.forEach(collisionMap, visitor::added);
+    }
+
+    @Override
+    public boolean isEqualTo(@Nonnull CollisionMap<K, V> collisionMap,
+                             @Nonnull HamtNode<K, V> other)
+    {
+        return other.isEmpty(collisionMap);
+    }
+
     @Override
     public int size(@Nonnull CollisionMap<K, V> collisionMap)
     {
         return 0;
     }
 
+    @Override
+    public int entriesHashCode(@Nonnull CollisionMap<K, V> collisionMap)
+    {
+        return 0;
+    }
+
     @Override
     public boolean isEmpty(@Nonnull CollisionMap<K, V> collisionMap)
     {
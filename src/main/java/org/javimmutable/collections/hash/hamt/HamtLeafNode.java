@@ -44,26 +44,40 @@ import org.javimmutable.collections.Proc2Throws;
 import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
 import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Objects;
 
 /**
  * HamtNode that stores only one value.  Any assign that would progress down the tree
  * below this node replaces it with a normal node instead.  These exist to shorten the
  * height of the overall tree structure when hashCodes are dispersed.
+ * The value is only ever replaced by transient operations from the edit
+ * session that created the node.
  */
 public class HamtLeafNode<K, V>
     implements HamtNode<K, V>
 {
+    @Nullable
+    private final HamtEdit edit;
     private final int hashCode;
     @Nonnull
-    private final CollisionMap.Node value;
+    private CollisionMap.Node value;
 
     HamtLeafNode(int hashCode,
                  @Nonnull CollisionMap.Node value)
     {
+        this(null, hashCode, value);
+    }
+
+    HamtLeafNode(@Nullable HamtEdit edit,
+                 int hashCode,
+                 @Nonnull CollisionMap.Node value)
+    {
+        this.edit = edit;
         this.hashCode = hashCode;
         this.value = value;
     }
@@ -74,6 +88,21 @@ public class HamtLeafNode<K, V>
         return collisionMap.size(value);
     }
 
+    @Override
+    public int entriesHashCode(@Nonnull CollisionMap<K, V> collisionMap)
+    {
+        return collisionMap.entriesHashCode(value);
+    }
+
+    @Override
+    public void collectStatistics(@Nonnull CollisionMap<K, V> collisionMap,
+                                  @Nonnull StructureStatistics.Builder stats,
+                                  int depth)
+    {
+        stats.addNode(this, depth, 0, StructureStatistics.objectBytes(2, 1));
+        collisionMap.collectStatistics(value, stats, depth + 1);
+    }
+
     @Override
     public Holder<V> find(@Nonnull CollisionMap<K, V> collisionMap,
                           int hashCode,
@@ -165,11 +194,179 @@ public class HamtLeafNode<K, V>
         }
     }
 
+    @Nonnull
+    @Override
+    public HamtNode<K, V> assign(@Nonnull CollisionMap<K, V> collisionMap,
+                                 @Nonnull HamtEdit edit,
+                                 int hashCode,
+                                 @Nonnull K hashKey,
+                                 @Nullable V value)
+    {
+        final int thisHashCode = this.hashCode;
+        final CollisionMap.Node thisValue = this.value;
+        if (hashCode == thisHashCode) {
+            final CollisionMap.Node newValue = collisionMap.update(thisValue, hashKey, value);
+            if (newValue == thisValue) {
+                return this;
+            } else if (this.edit == edit) {
+                this.value = newValue;
+                return this;
+            } else {
+                return new HamtLeafNode<>(edit, hashCode, newValue);
+            }
+        } else {
+            final HamtNode<K, V> expanded = HamtBranchNode.forLeafExpansion(collisionMap, edit, thisHashCode, thisValue);
+            return expanded.assign(collisionMap, edit, hashCode, hashKey, value);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public HamtNode<K, V> delete(@Nonnull CollisionMap<K, V> collisionMap,
+                                 @Nonnull HamtEdit edit,
+                                 int hashCode,
+                                 @Nonnull K hashKey)
+    {
+        final int thisHashCode = this.hashCode;
+        final CollisionMap.Node thisValue = this.value;
+        if (hashCode == thisHashCode) {
+            final CollisionMap.Node newValue = collisionMap.delete(thisValue, hashKey);
+            if (newValue == thisValue) {
+                return this;
+            } else if (collisionMap.size(newValue) == 0) {
+                return HamtEmptyNode.of();
+            } else if (this.edit == edit) {
+                this.value = newValue;
+                return this;
+            } else {
+                return new HamtLeafNode<>(edit, hashCode, newValue);
+            }
+        } else {
+            return this;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public HamtNode<K, V> merge(@Nonnull CollisionMap<K, V> collisionMap,
+                                @Nonnull HamtNode<K, V> other)
+    {
+        if (other == this || other instanceof HamtEmptyNode) {
+            return this;
+        } else if (other instanceof HamtLeafNode) {
+            return ((HamtLeafNode<K, V>)other).assignAllTo(collisionMap, this);
+        } else {
+            return collisionMap.reduce(value, other, (node, k, v) -> node.update(collisionMap, hashCode, k, h -> h.isFilled() ? h.getValue() : v));
+        }
+    }
+
+    /**
+     * Assigns every entry of this leaf into node, replacing any existing values.
+     * node must be at the same depth as this leaf.
+     */
+    @Nonnull
+    HamtNode<K, V> assignAllTo(@Nonnull CollisionMap<K, V> collisionMap,
+                               @Nonnull HamtNode<K, V> node)
+    {
+        return collisionMap.reduce(value, node, (answer, k, v) -> answer.assign(collisionMap, hashCode, k, v));
+    }
+
+    @Override
+    public void diff(@Nonnull CollisionMap<K, V> collisionMap,
+                     @Nonnull HamtNode<K, V> newer,
+                     @Nonnull JImmutableMap.DiffVisitor<K, V> visitor)
+    {
+        if (newer == this) {
+            return;
+        } else if (newer instanceof HamtEmptyNode) {
+            collisionMap.forEach(value, visitor::removed);
+        } else if (newer instanceof HamtLeafNode && ((HamtLeafNode<K, V>)newer).hashCode == hashCode) {
+            collisionMap.diff(value, ((HamtLeafNode<K, V>)newer).value, visitor);
+        } else {
+            diff(collisionMap, newer, visitor, true);
+        }
+    }
+
+    /**
+     * Reports every difference between this leaf and node to the visitor.  node must be
+     * at the same depth as this leaf.  The leaf is treated as the older of the two when
+     * leafIsOlder is true and as the newer of the two otherwise.
+     */
+    void diff(@Nonnull CollisionMap<K, V> collisionMap,
+              @Nonnull HamtNode<K, V> node,
+              @Nonnull JImmutableMap.DiffVisitor<K, V> visitor,
+              boolean leafIsOlder)
+    {
+        collisionMap.forEach(value, (k, v) -> {
+            final Holder<V> other = node.find(collisionMap, hashCode, k);
+            if (other.isEmpty()) {
+                if (leafIsOlder) {
+                    visitor.removed(k, v);
+                } else {
+                    visitor.added(k, v);
+                }
+            } else if (!Objects.equals(v, other.getValue())) {
+                if (leafIsOlder) {
+                    visitor.changed(k, v, other.getValue());
+                } else {
+                    visitor.changed(k, other.getValue(), v);
+                }
+            }
+        });
+        node.forEach(collisionMap, (k, v) -> {
+            if (collisionMap.findValue(value, k).isEmpty()) {
+                if (leafIsOlder) {
+                    visitor.added(k, v);
+                } else {
+                    visitor.removed(k, v);
+                }
+            }
+        });
+    }
+
+    @Override
+    public boolean isEqualTo(@Nonnull CollisionMap<K, V> collisionMap,
+                             @Nonnull HamtNode<K, V> other)
+    {
+        if (other == this) {
+            return true;
+        } else if (other instanceof HamtLeafNode) {
+            final HamtLeafNode<K, V> leaf = (HamtLeafNode<K, V>)other;
+            return leaf.hashCode == hashCode && collisionMap.isEqualTo(value, leaf.value);
+        } else if (other instanceof HamtBranchNode) {
+            return collisionMap.size(value) == other.size(collisionMap) && isContainedIn(collisionMap, other);
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Returns true if every entry of this leaf is also in node with an equal value.  node must
+     * be at the same depth as this leaf.
+     */
+    boolean isContainedIn(@Nonnull CollisionMap<K, V> collisionMap,
+                          @Nonnull HamtNode<K, V> node)
+    {
+        for (JImmutableMap.Entry<K, V> e : collisionMap.genericIterable(value)) {
+            final Holder<V> other = node.find(collisionMap, hashCode, e.getKey());
+            if (other.isEmpty() || !Objects.equals(e.getValue(), other.getValue())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public HamtNode<K, V> liftNode(int index)
     {
         return new HamtLeafNode<>(hashCode << HamtBranchNode.SHIFT | index, value);
     }
 
+    HamtNode<K, V> liftNode(@Nonnull HamtEdit edit,
+                            int index)
+    {
+        return new HamtLeafNode<>(edit, hashCode << HamtBranchNode.SHIFT | index, value);
+    }
+
     @Override
     public boolean isEmpty(@Nonnull CollisionMap<K, V> collisionMap)
     {
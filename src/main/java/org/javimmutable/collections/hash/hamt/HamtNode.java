@@ -36,6 +36,7 @@
 package org.javimmutable.collections.hash.hamt;
 
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.Proc2;
@@ -45,6 +46,7 @@ import org.javimmutable.collections.SplitableIterator;
 import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
 import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
@@ -78,14 +80,77 @@ public interface HamtNode<K, V>
                           int hashCode,
                           @Nonnull K hashKey);
 
+    /**
+     * Transient version of assign.  Nodes owned by edit may be modified in place and any
+     * new nodes created are owned by edit.  Nodes not owned by edit are never modified.
+     * Returns this if no change was required or the change was made in place.
+     */
+    @Nonnull
+    HamtNode<K, V> assign(@Nonnull CollisionMap<K, V> collisionMap,
+                          @Nonnull HamtEdit edit,
+                          int hashCode,
+                          @Nonnull K hashKey,
+                          @Nullable V value);
+
+    /**
+     * Transient version of delete.  Same ownership rules as the transient assign.
+     */
+    @Nonnull
+    HamtNode<K, V> delete(@Nonnull CollisionMap<K, V> collisionMap,
+                          @Nonnull HamtEdit edit,
+                          int hashCode,
+                          @Nonnull K hashKey);
+
+    /**
+     * Returns a node containing every entry of this node and of other, using the value
+     * from other for any key present in both.  Both nodes must be at the same depth of
+     * their tries and use the same collisionMap.  Subtrees present on only one side or
+     * identical on both sides are reused without being visited.
+     */
+    @Nonnull
+    HamtNode<K, V> merge(@Nonnull CollisionMap<K, V> collisionMap,
+                         @Nonnull HamtNode<K, V> other);
+
+    /**
+     * Reports every difference between this node and newer to the visitor.  Both nodes
+     * must be at the same depth of their tries and use the same collisionMap.  Subtrees
+     * that are shared by both nodes are skipped without being visited.
+     */
+    void diff(@Nonnull CollisionMap<K, V> collisionMap,
+              @Nonnull HamtNode<K, V> newer,
+              @Nonnull JImmutableMap.DiffVisitor<K, V> visitor);
+
+    /**
+     * Returns true if this node and other contain equal entries.  Both nodes must be at
+     * the same depth of their tries and use the same collisionMap.  Subtrees shared by
+     * both nodes are not visited and the comparison stops at the first difference.
+     */
+    boolean isEqualTo(@Nonnull CollisionMap<K, V> collisionMap,
+                      @Nonnull HamtNode<K, V> other);
+
     boolean isEmpty(@Nonnull CollisionMap<K, V> collisionMap);
 
     int size(@Nonnull CollisionMap<K, V> collisionMap);
 
+    /**
+     * Sum of the hash codes of every entry in this node as defined by Map.Entry.hashCode().
+     */
+    int entriesHashCode(@Nonnull CollisionMap<K, V> collisionMap);
+
     default void checkInvariants(@Nonnull CollisionMap<K, V> collisionMap)
     {
     }
 
+    /**
+     * Records this node, its descendants and the collision map nodes holding its values
+     * in stats.  The node is at depth.
+     */
+    default void collectStatistics(@Nonnull CollisionMap<K, V> collisionMap,
+                                   @Nonnull StructureStatistics.Builder stats,
+                                   int depth)
+    {
+    }
+
     @Nullable
     GenericIterator.State<JImmutableMap.Entry<K, V>> iterateOverRange(@Nonnull CollisionMap<K, V> collisionMap,
                                                                       @Nullable GenericIterator.State<JImmutableMap.Entry<K, V>> parent,
@@ -137,6 +202,19 @@ public interface HamtNode<K, V>
                  R sum,
                  @Nonnull Sum2<K, V, R> proc);
 
+    /**
+     * Same as reduce() but large branches reduce their children as separate tasks whose
+     * results are merged using combiner.  Must be called by a reduction passed to
+     * ForkJoinHelper.invoke().
+     */
+    default <R> R parallelReduce(@Nonnull CollisionMap<K, V> collisionMap,
+                                 R identity,
+                                 @Nonnull Sum2<K, V, R> accumulator,
+                                 @Nonnull Func2<R, R, R> combiner)
+    {
+        return reduce(collisionMap, identity, accumulator);
+    }
+
     <R, E extends Exception> R reduceThrows(@Nonnull CollisionMap<K, V> collisionMap,
                                             R sum,
                                             @Nonnull Sum2Throws<K, V, R, E> proc)
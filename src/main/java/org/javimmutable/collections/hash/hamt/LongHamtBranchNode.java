@@ -0,0 +1,291 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash.hamt;
+
+import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.Holders;
+import org.javimmutable.collections.LongObjConsumer;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.common.ArrayHelper;
+import org.javimmutable.collections.indexed.IndexedArray;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Interior node of a long keyed hash trie.  Holds up to 32 children selected by the
+ * five bits of the key starting at the shift for this node's depth.  The only branch
+ * without children is the empty root node.  A branch never has a single leaf as its
+ * only child since that leaf could take the branch's place.
+ */
+@Immutable
+public class LongHamtBranchNode<V>
+    implements ArrayHelper.Allocator<LongHamtNode<V>>,
+               LongHamtNode<V>
+{
+    @SuppressWarnings("unchecked")
+    private static final LongHamtBranchNode EMPTY = new LongHamtBranchNode(0, new LongHamtNode[0], 0, 0);
+
+    private final int bitmask;
+    private final LongHamtNode<V>[] children;
+    private final int size;
+    private final int entriesHashCode;
+
+    private LongHamtBranchNode(int bitmask,
+                              @Nonnull LongHamtNode<V>[] children,
+                              int size,
+                              int entriesHashCode)
+    {
+        this.bitmask = bitmask;
+        this.children = children;
+        this.size = size;
+        this.entriesHashCode = entriesHashCode;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> LongHamtBranchNode<V> of()
+    {
+        return EMPTY;
+    }
+
+    /**
+     * Creates the smallest branch (or chain of branches) that can hold both leaves.
+     * The leaves must have different keys that are equal in all bits below shift.
+     */
+    @Nonnull
+    static <V> LongHamtNode<V> forLeaves(int shift,
+                                        @Nonnull LongHamtLeafNode<V> a,
+                                        @Nonnull LongHamtLeafNode<V> b)
+    {
+        final int aIndex = (int)(a.getKey() >>> shift) & HamtBranchNode.MASK;
+        final int bIndex = (int)(b.getKey() >>> shift) & HamtBranchNode.MASK;
+        final LongHamtNode<V>[] children = allocateNodes(aIndex == bIndex ? 1 : 2);
+        if (aIndex == bIndex) {
+            children[0] = forLeaves(shift + HamtBranchNode.SHIFT, a, b);
+        } else if (aIndex < bIndex) {
+            children[0] = a;
+            children[1] = b;
+        } else {
+            children[0] = b;
+            children[1] = a;
+        }
+        return new LongHamtBranchNode<>((1 << aIndex) | (1 << bIndex), children, 2, a.entriesHashCode() + b.entriesHashCode());
+    }
+
+    @Override
+    public V getValueOr(long key,
+                        int shift,
+                        V defaultValue)
+    {
+        final int bit = 1 << ((int)(key >>> shift) & HamtBranchNode.MASK);
+        final int bitmask = this.bitmask;
+        if ((bitmask & bit) == 0) {
+            return defaultValue;
+        } else {
+            final int index = Integer.bitCount(bitmask & (bit - 1));
+            return children[index].getValueOr(key, shift + HamtBranchNode.SHIFT, defaultValue);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public Holder<V> find(long key,
+                          int shift)
+    {
+        final int bit = 1 << ((int)(key >>> shift) & HamtBranchNode.MASK);
+        final int bitmask = this.bitmask;
+        if ((bitmask & bit) == 0) {
+            return Holders.of();
+        } else {
+            final int index = Integer.bitCount(bitmask & (bit - 1));
+            return children[index].find(key, shift + HamtBranchNode.SHIFT);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public LongHamtNode<V> assign(long key,
+                                 int shift,
+                                 @Nullable V value)
+    {
+        final int bitmask = this.bitmask;
+        if (bitmask == 0) {
+            return new LongHamtLeafNode<>(key, value);
+        }
+        final LongHamtNode<V>[] children = this.children;
+        final int bit = 1 << ((int)(key >>> shift) & HamtBranchNode.MASK);
+        final int index = Integer.bitCount(bitmask & (bit - 1));
+        if ((bitmask & bit) == 0) {
+            final LongHamtLeafNode<V> leaf = new LongHamtLeafNode<>(key, value);
+            final LongHamtNode<V>[] newChildren = ArrayHelper.insert(this, children, index, leaf);
+            return new LongHamtBranchNode<>(bitmask | bit, newChildren, size + 1, entriesHashCode + leaf.entriesHashCode());
+        } else {
+            final LongHamtNode<V> child = children[index];
+            final LongHamtNode<V> newChild = child.assign(key, shift + HamtBranchNode.SHIFT, value);
+            if (newChild == child) {
+                return this;
+            } else {
+                final LongHamtNode<V>[] newChildren = ArrayHelper.assign(children, index, newChild);
+                return new LongHamtBranchNode<>(bitmask, newChildren, size - child.size() + newChild.size(), entriesHashCode - child.entriesHashCode() + newChild.entriesHashCode());
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    public LongHamtNode<V> delete(long key,
+                                 int shift)
+    {
+        final int bitmask = this.bitmask;
+        final int bit = 1 << ((int)(key >>> shift) & HamtBranchNode.MASK);
+        if ((bitmask & bit) == 0) {
+            return this;
+        }
+        final LongHamtNode<V>[] children = this.children;
+        final int index = Integer.bitCount(bitmask & (bit - 1));
+        final LongHamtNode<V> child = children[index];
+        final LongHamtNode<V> newChild = child.delete(key, shift + HamtBranchNode.SHIFT);
+        if (newChild == child) {
+            return this;
+        } else if (!newChild.isEmpty()) {
+            if (children.length == 1 && newChild instanceof LongHamtLeafNode) {
+                return newChild;
+            } else {
+                final LongHamtNode<V>[] newChildren = ArrayHelper.assign(children, index, newChild);
+                return new LongHamtBranchNode<>(bitmask, newChildren, size - 1, entriesHashCode - child.entriesHashCode() + newChild.entriesHashCode());
+            }
+        } else if (children.length == 1) {
+            return of();
+        } else if (children.length == 2 && children[1 - index] instanceof LongHamtLeafNode) {
+            return children[1 - index];
+        } else {
+            final LongHamtNode<V>[] newChildren = ArrayHelper.delete(this, children, index);
+            return new LongHamtBranchNode<>(bitmask & ~bit, newChildren, size - 1, entriesHashCode - child.entriesHashCode());
+        }
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return bitmask == 0;
+    }
+
+    @Override
+    public int size()
+    {
+        return size;
+    }
+
+    @Override
+    public int entriesHashCode()
+    {
+        return entriesHashCode;
+    }
+
+    @Override
+    public void forEach(@Nonnull LongObjConsumer<V> proc)
+    {
+        for (LongHamtNode<V> child : children) {
+            child.forEach(proc);
+        }
+    }
+
+    @Override
+    public void checkInvariants(int shift)
+    {
+        if (Integer.bitCount(bitmask) != children.length) {
+            throw new IllegalStateException(String.format("bitmask/children mismatch: bitmask=%d children=%d", Integer.bitCount(bitmask), children.length));
+        }
+        if (bitmask == 0 && this != EMPTY) {
+            throw new IllegalStateException("empty branch is not the empty root");
+        }
+        if (children.length == 1 && children[0] instanceof LongHamtLeafNode) {
+            throw new IllegalStateException("branch has only a single leaf child");
+        }
+        int childSize = 0;
+        int childHashCode = 0;
+        int remaining = bitmask;
+        for (LongHamtNode<V> child : children) {
+            final int bit = remaining & -remaining;
+            remaining &= remaining - 1;
+            if (child.isEmpty()) {
+                throw new IllegalStateException("branch has an empty child");
+            }
+            if (child instanceof LongHamtLeafNode && (1 << ((int)(((LongHamtLeafNode<V>)child).getKey() >>> shift) & HamtBranchNode.MASK)) != bit) {
+                throw new IllegalStateException("leaf is stored in the wrong child slot");
+            }
+            child.checkInvariants(shift + HamtBranchNode.SHIFT);
+            childSize += child.size();
+            childHashCode += child.entriesHashCode();
+        }
+        if (childSize != size) {
+            throw new IllegalStateException(String.format("size mismatch: expected=%d actual=%d", size, childSize));
+        }
+        if (childHashCode != entriesHashCode) {
+            throw new IllegalStateException(String.format("entries hash code mismatch: expected=%d actual=%d", entriesHashCode, childHashCode));
+        }
+    }
+
+    @Nullable
+    @Override
+    public GenericIterator.State<JImmutableMap.Entry<Long, V>> iterateOverRange(@Nullable GenericIterator.State<JImmutableMap.Entry<Long, V>> parent,
+                                                                                   int offset,
+                                                                                   int limit)
+    {
+        assert offset >= 0 && offset <= limit && limit <= size;
+        return GenericIterator.indexedState(parent, IndexedArray.retained(children), offset, limit);
+    }
+
+    @Override
+    public int iterableSize()
+    {
+        return size;
+    }
+
+    @Override
+    public LongHamtNode<V>[] allocate(int size)
+    {
+        return allocateNodes(size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> LongHamtNode<V>[] allocateNodes(int size)
+    {
+        return (LongHamtNode<V>[])new LongHamtNode[size];
+    }
+}
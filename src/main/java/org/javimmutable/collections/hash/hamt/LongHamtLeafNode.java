@@ -0,0 +1,156 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash.hamt;
+
+import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.Holders;
+import org.javimmutable.collections.LongObjConsumer;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.Objects;
+
+/**
+ * LongHamtNode that stores one key and its value.  Leaves are placed as close to the
+ * root as possible and are replaced by a branch when a second key needs the same slot.
+ */
+@Immutable
+public class LongHamtLeafNode<V>
+    implements LongHamtNode<V>
+{
+    private final long key;
+    private final V value;
+
+    LongHamtLeafNode(long key,
+                    V value)
+    {
+        this.key = key;
+        this.value = value;
+    }
+
+    long getKey()
+    {
+        return key;
+    }
+
+    @Override
+    public V getValueOr(long key,
+                        int shift,
+                        V defaultValue)
+    {
+        return (key == this.key) ? value : defaultValue;
+    }
+
+    @Nonnull
+    @Override
+    public Holder<V> find(long key,
+                          int shift)
+    {
+        return (key == this.key) ? Holders.of(value) : Holders.of();
+    }
+
+    @Nonnull
+    @Override
+    public LongHamtNode<V> assign(long key,
+                                 int shift,
+                                 @Nullable V value)
+    {
+        if (key != this.key) {
+            return LongHamtBranchNode.forLeaves(shift, this, new LongHamtLeafNode<>(key, value));
+        } else if (value != this.value) {
+            return new LongHamtLeafNode<>(key, value);
+        } else {
+            return this;
+        }
+    }
+
+    @Nonnull
+    @Override
+    public LongHamtNode<V> delete(long key,
+                                 int shift)
+    {
+        return (key == this.key) ? LongHamtNode.of() : this;
+    }
+
+    @Override
+    public boolean isEmpty()
+    {
+        return false;
+    }
+
+    @Override
+    public int size()
+    {
+        return 1;
+    }
+
+    @Override
+    public int entriesHashCode()
+    {
+        return Long.hashCode(key) ^ Objects.hashCode(value);
+    }
+
+    @Override
+    public void forEach(@Nonnull LongObjConsumer<V> proc)
+    {
+        proc.apply(key, value);
+    }
+
+    @Override
+    public void checkInvariants(int shift)
+    {
+    }
+
+    @Nullable
+    @Override
+    public GenericIterator.State<JImmutableMap.Entry<Long, V>> iterateOverRange(@Nullable GenericIterator.State<JImmutableMap.Entry<Long, V>> parent,
+                                                                                   int offset,
+                                                                                   int limit)
+    {
+        assert offset >= 0 && offset <= limit && limit <= 1;
+        return (offset == limit) ? parent : GenericIterator.valueState(parent, MapEntry.of(key, value));
+    }
+
+    @Override
+    public int iterableSize()
+    {
+        return 1;
+    }
+}
@@ -0,0 +1,96 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash.hamt;
+
+import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.LongObjConsumer;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Node of a hash trie keyed directly by primitive long values.  All 64 bits of the key
+ * are used in place of a hash code so collisions are impossible and no CollisionMap is needed.
+ * Leaves hold a single key and value.  Branches consume five bits of the key at a time starting
+ * from the lowest bits so keys widened from int never need more than seven levels.
+ * Lookups never box the key or allocate.  Used by both JImmutableLongHashMap and
+ * JImmutableIntHashMap.
+ */
+public interface LongHamtNode<V>
+    extends GenericIterator.Iterable<JImmutableMap.Entry<Long, V>>
+{
+    /**
+     * Returns the empty root node.
+     */
+    @Nonnull
+    static <V> LongHamtNode<V> of()
+    {
+        return LongHamtBranchNode.of();
+    }
+
+    V getValueOr(long key,
+                 int shift,
+                 V defaultValue);
+
+    @Nonnull
+    Holder<V> find(long key,
+                   int shift);
+
+    @Nonnull
+    LongHamtNode<V> assign(long key,
+                          int shift,
+                          @Nullable V value);
+
+    @Nonnull
+    LongHamtNode<V> delete(long key,
+                          int shift);
+
+    boolean isEmpty();
+
+    int size();
+
+    /**
+     * Sum of the hash codes of every entry in this node as defined by Map.Entry.hashCode()
+     * with the key boxed as a Long.
+     */
+    int entriesHashCode();
+
+    void forEach(@Nonnull LongObjConsumer<V> proc);
+
+    void checkInvariants(int shift);
+}
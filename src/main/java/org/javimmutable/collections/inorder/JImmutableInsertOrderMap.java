@@ -70,21 +70,27 @@ public class JImmutableInsertOrderMap<K, V>
     implements Serializable
 {
     @SuppressWarnings("unchecked")
-    public static final JImmutableInsertOrderMap EMPTY = new JImmutableInsertOrderMap(JImmutableTreeMap.of(), JImmutableHashMap.of(), InfiniteKey.first());
+    public static final JImmutableInsertOrderMap EMPTY = new JImmutableInsertOrderMap(JImmutableTreeMap.of(), JImmutableHashMap.of(), InfiniteKey.first(), 0, 0);
     private static final long serialVersionUID = -121805;
 
     private final JImmutableMap<InfiniteKey, Node<K, V>> sortedNodes;
     private final JImmutableMap<K, Node<K, V>> hashedNodes;
     private final InfiniteKey nextIndex;
+    private final int entriesHashCode;
+    private final int keysHashCode;
 
     private JImmutableInsertOrderMap(JImmutableMap<InfiniteKey, Node<K, V>> sortedNodes,
                                      JImmutableMap<K, Node<K, V>> hashedNodes,
-                                     InfiniteKey nextIndex)
+                                     InfiniteKey nextIndex,
+                                     int entriesHashCode,
+                                     int keysHashCode)
     {
         assert sortedNodes.size() == hashedNodes.size();
         this.sortedNodes = sortedNodes;
         this.hashedNodes = hashedNodes;
         this.nextIndex = nextIndex;
+        this.entriesHashCode = entriesHashCode;
+        this.keysHashCode = keysHashCode;
     }
 
     @SuppressWarnings("unchecked")
@@ -187,14 +193,18 @@ public class JImmutableInsertOrderMap<K, V>
             final Node<K, V> newNode = new Node<>(key, value, nextIndex);
             return new JImmutableInsertOrderMap<>(sortedNodes.assign(newNode.index, newNode),
                                                   hashedNodes.assign(key, newNode),
-                                                  nextIndex.next());
+                                                  nextIndex.next(),
+                                                  entriesHashCode + newNode.hashCode(),
+                                                  keysHashCode + key.hashCode());
         } else if (current.getValue() == value) {
             return this;
         } else {
             final Node<K, V> newNode = current.withValue(value);
             return new JImmutableInsertOrderMap<>(sortedNodes.assign(newNode.index, newNode),
                                                   hashedNodes.assign(key, newNode),
-                                                  nextIndex);
+                                                  nextIndex,
+                                                  entriesHashCode - current.hashCode() + newNode.hashCode(),
+                                                  keysHashCode);
         }
     }
 
@@ -206,7 +216,9 @@ public class JImmutableInsertOrderMap<K, V>
         if (current != null) {
             return new JImmutableInsertOrderMap<>(sortedNodes.delete(current.index),
                                                   hashedNodes.delete(key),
-                                                  nextIndex);
+                                                  nextIndex,
+                                                  entriesHashCode - current.hashCode(),
+                                                  keysHashCode - key.hashCode());
         } else {
             return this;
         }
@@ -238,6 +250,40 @@ public class JImmutableInsertOrderMap<K, V>
         return SPLITERATOR_ORDERED;
     }
 
+    /**
+     * The sum of the hash codes of the entries is maintained by every update
+     * so this does not have to visit the entries.
+     */
+    @Override
+    public int hashCode()
+    {
+        return entriesHashCode;
+    }
+
+    /**
+     * Sum of the hash codes of the keys.  Maintained by every update for use by
+     * JImmutableInsertOrderSet.
+     */
+    int keysHashCode()
+    {
+        return keysHashCode;
+    }
+
+    /**
+     * Every entry is stored in hashedNodes as a node equal to the entry itself so two
+     * of these maps are equal exactly when their hashedNodes maps are.  That lets
+     * the hash maps compare their tries node by node.
+     */
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o instanceof JImmutableInsertOrderMap) {
+            return hashedNodes.equals(((JImmutableInsertOrderMap)o).hashedNodes);
+        } else {
+            return super.equals(o);
+        }
+    }
+
     @Override
     public void checkInvariants()
     {
@@ -256,6 +302,14 @@ public class JImmutableInsertOrderMap<K, V>
                 throw new IllegalStateException(String.format("node mismatch: hashed=%s sorted=%s", sortedNode, e.getValue()));
             }
         }
+        final int expectedHashCode = hashedNodes.reduce(0, (sum, key, node) -> sum + node.hashCode());
+        if (entriesHashCode != expectedHashCode) {
+            throw new IllegalStateException(String.format("incorrect hash code: expected=%d actual=%d", expectedHashCode, entriesHashCode));
+        }
+        final int expectedKeysHashCode = hashedNodes.reduce(0, (sum, key, node) -> sum + key.hashCode());
+        if (keysHashCode != expectedKeysHashCode) {
+            throw new IllegalStateException(String.format("incorrect keys hash code: expected=%d actual=%d", expectedKeysHashCode, keysHashCode));
+        }
     }
 
     private Object writeReplace()
@@ -107,6 +107,16 @@ public class JImmutableInsertOrderSet<T>
         return new LinkedHashSet<>();
     }
 
+    /**
+     * The map maintains the sum of the hash codes of its keys so this does not have to
+     * visit the values.
+     */
+    @Override
+    public int hashCode()
+    {
+        return ((JImmutableInsertOrderMap<T, Boolean>)map).keysHashCode();
+    }
+
     private Object writeReplace()
     {
         return new JImmutableInsertOrderSetProxy(this);
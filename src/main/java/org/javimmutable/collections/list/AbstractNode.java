@@ -35,12 +35,14 @@
 
 package org.javimmutable.collections.list;
 
+import org.javimmutable.collections.ArrayChunkConsumer;
 import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.InvariantCheckable;
 import org.javimmutable.collections.Proc1Throws;
 import org.javimmutable.collections.SplitableIterable;
 import org.javimmutable.collections.Sum1Throws;
 import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
@@ -98,9 +100,46 @@ abstract class AbstractNode<T>
     @Override
     public abstract void checkInvariants();
 
+    /**
+     * Records this node and all of its descendants in stats.  The node is at depth.
+     */
+    abstract void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                                    int depth);
+
     abstract void copyTo(T[] array,
                          int offset);
 
+    /**
+     * Copies the values at positions from (inclusive) through to (exclusive) of this node
+     * into dest starting at destOffset.  Caller must ensure both ranges are valid.
+     */
+    abstract void copyRange(int from,
+                            int to,
+                            @Nonnull Object[] dest,
+                            int destOffset);
+
+    /**
+     * Passes the values of this node to consumer in order, one leaf at a time.  Leaves that
+     * hold their values in an Object array pass that array so consumer must not modify it.
+     * Other leaves store their values in buffer, which must be large enough to hold any leaf,
+     * and pass it instead.  JImmutableTreeList.forEachChunk() copies shared arrays into its
+     * buffer before passing them outside of this package.
+     */
+    abstract void forEachChunk(@Nonnull Object[] buffer,
+                               @Nonnull ArrayChunkConsumer consumer);
+
+    /**
+     * Builds a single leaf containing the values of this node followed by those of right.
+     * Both nodes must be leaves of the same kind and their combined size must not exceed
+     * MultiValueNode.MAX_SIZE.
+     */
+    @Nonnull
+    AbstractNode<T> joinLeaves(@Nonnull AbstractNode<T> right,
+                               int size)
+    {
+        return new MultiValueNode<>(this, right, size);
+    }
+
     @Nonnull
     AbstractNode<T> left()
     {
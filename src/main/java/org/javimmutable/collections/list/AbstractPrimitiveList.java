@@ -0,0 +1,336 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import org.javimmutable.collections.InvariantCheckable;
+import org.javimmutable.collections.common.StructureStatistics;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.NoSuchElementException;
+import java.util.StringJoiner;
+
+/**
+ * Base class for the lists of primitive values.  Holds the tree of PrimitiveValueNode leaves
+ * and implements every operation that never reads or writes an individual value.  Derived
+ * classes supply the methods whose signatures involve their primitive type.
+ *
+ * @param <T> boxed type of the values as seen by the shared tree code
+ * @param <A> primitive array type stored in the leaves
+ * @param <L> the derived list class
+ */
+@Immutable
+abstract class AbstractPrimitiveList<T, A, L extends AbstractPrimitiveList<T, A, L>>
+    implements InvariantCheckable
+{
+    final AbstractNode<T> root;
+
+    AbstractPrimitiveList(@Nonnull AbstractNode<T> root)
+    {
+        this.root = root;
+    }
+
+    /**
+     * Returns a list of the derived class containing root or the empty list if root is empty.
+     */
+    @Nonnull
+    abstract L create(@Nonnull AbstractNode<T> root);
+
+    /**
+     * Creates a leaf of the derived class's node type that retains values.
+     */
+    @Nonnull
+    abstract PrimitiveValueNode<T, A> leaf(@Nonnull A values);
+
+    @Nonnull
+    abstract A allocate(int size);
+
+    public int size()
+    {
+        return root.size();
+    }
+
+    public boolean isEmpty()
+    {
+        return root.isEmpty();
+    }
+
+    /**
+     * Returns a list containing the values of this list followed by those of other.
+     * The two trees are joined so this takes time proportional to log(n).
+     */
+    @Nonnull
+    public L insertAllLast(@Nonnull L other)
+    {
+        return create(root.append(other.root));
+    }
+
+    @Nonnull
+    public L deleteFirst()
+    {
+        return create(root.deleteFirst());
+    }
+
+    @Nonnull
+    public L deleteLast()
+    {
+        return create(root.deleteLast());
+    }
+
+    @Nonnull
+    public L delete(int index)
+    {
+        return create(root.delete(index));
+    }
+
+    @Nonnull
+    public L prefix(int limit)
+    {
+        return create(root.prefix(limit));
+    }
+
+    @Nonnull
+    public L suffix(int offset)
+    {
+        return create(root.suffix(offset));
+    }
+
+    @Nonnull
+    public A toArray()
+    {
+        final A answer = allocate(root.size());
+        int offset = 0;
+        final PrimitiveValueNode.LeafIterator<T, A> leaves = leaves();
+        while (leaves.hasNext()) {
+            final PrimitiveValueNode<T, A> leaf = leaves.nextLeaf();
+            System.arraycopy(leaf.values, 0, answer, offset, leaf.size());
+            offset += leaf.size();
+        }
+        return answer;
+    }
+
+    @Override
+    public void checkInvariants()
+    {
+        root.checkInvariants();
+    }
+
+    /**
+     * Describes the shape of the tree.  Visits every node so it takes time proportional
+     * to the size of the list divided by the number of values per leaf node.
+     */
+    @Nonnull
+    public StructureStatistics getStatistics()
+    {
+        final StructureStatistics.Builder stats = StructureStatistics.builder();
+        root.collectStatistics(stats, 0);
+        return stats.build();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public boolean equals(Object o)
+    {
+        if (o == this) {
+            return true;
+        } else if (o == null || o.getClass() != getClass() || ((L)o).size() != size()) {
+            return false;
+        }
+        final Cursor<T, A> a = new Cursor<>(root);
+        final Cursor<T, A> b = new Cursor<>(((L)o).root);
+        while (a.hasNext()) {
+            final int aIndex = a.advance();
+            final int bIndex = b.advance();
+            if (!a.leaf.equalValues(a.values, aIndex, b.values, bIndex)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode()
+    {
+        int answer = 1;
+        final Cursor<T, A> values = new Cursor<>(root);
+        while (values.hasNext()) {
+            final int index = values.advance();
+            answer = 31 * answer + values.leaf.hashValue(values.values, index);
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString()
+    {
+        final StringJoiner answer = new StringJoiner(", ", "[", "]");
+        final Cursor<T, A> values = new Cursor<>(root);
+        while (values.hasNext()) {
+            final int index = values.advance();
+            answer.add(String.valueOf(values.leaf.getValue(values.values, index)));
+        }
+        return answer.toString();
+    }
+
+    /**
+     * Inserts a value at an arbitrary position.  The value passes through the shared tree
+     * code boxed.  An empty list starts with a leaf of the derived class's node type since
+     * the generic empty node would create a boxed leaf.
+     */
+    @Nonnull
+    L insertBoxed(int index,
+                  @Nonnull T value)
+    {
+        if (root.isEmpty()) {
+            if (index != 0) {
+                throw new IndexOutOfBoundsException();
+            }
+            final A values = allocate(1);
+            final PrimitiveValueNode<T, A> leaf = leaf(values);
+            leaf.setValue(values, 0, value);
+            return create(leaf);
+        }
+        return create(root.insert(index, value));
+    }
+
+    @Nonnull
+    PrimitiveValueNode.LeafIterator<T, A> leaves()
+    {
+        return new PrimitiveValueNode.LeafIterator<>(root);
+    }
+
+    /**
+     * Visits the values of a tree one at a time.  advance() moves past the next value and
+     * returns its index in values.  Derived classes read the value from their own array type
+     * so no value is boxed.  Takes no locks since equals(), hashCode() and toString() use it
+     * on a single thread.  The public iterators built on it add their own synchronization.
+     */
+    @NotThreadSafe
+    static class Cursor<T, A>
+    {
+        private final PrimitiveValueNode.LeafIterator<T, A> leaves;
+        PrimitiveValueNode<T, A> leaf;
+        A values;
+        private int index;
+        private int limit;
+
+        Cursor(@Nonnull AbstractNode<T> root)
+        {
+            leaves = new PrimitiveValueNode.LeafIterator<>(root);
+        }
+
+        boolean hasNext()
+        {
+            return fill();
+        }
+
+        int advance()
+        {
+            if (!fill()) {
+                throw new NoSuchElementException();
+            }
+            return index++;
+        }
+
+        private boolean fill()
+        {
+            while (index == limit && leaves.hasNext()) {
+                leaf = leaves.nextLeaf();
+                values = leaf.values;
+                index = 0;
+                limit = leaf.size();
+            }
+            return index < limit;
+        }
+    }
+
+    /**
+     * Collects values in a primitive array and pushes each full array into the tree as a leaf.
+     * Derived classes store each value at the index returned by reserve().
+     */
+    @ThreadSafe
+    abstract static class AbstractBuilder<T, A, L extends AbstractPrimitiveList<T, A, L>>
+    {
+        private final L empty;
+        private AbstractNode<T> root = EmptyNode.instance();
+        A buffer;
+        private int count;
+
+        AbstractBuilder(@Nonnull L empty)
+        {
+            this.empty = empty;
+            buffer = empty.allocate(PrimitiveValueNode.MAX_SIZE);
+        }
+
+        /**
+         * Makes room for one more value and returns the index in buffer at which to store it.
+         */
+        synchronized int reserve()
+        {
+            if (count == PrimitiveValueNode.MAX_SIZE) {
+                root = root.append(empty.leaf(buffer));
+                buffer = empty.allocate(PrimitiveValueNode.MAX_SIZE);
+                count = 0;
+            }
+            return count++;
+        }
+
+        synchronized void reset()
+        {
+            root = EmptyNode.instance();
+            count = 0;
+        }
+
+        public synchronized int size()
+        {
+            return root.size() + count;
+        }
+
+        @Nonnull
+        public synchronized L build()
+        {
+            if (count == 0) {
+                return empty.create(root);
+            } else {
+                final A values = empty.allocate(count);
+                System.arraycopy(buffer, 0, values, 0, count);
+                return empty.create(root.append(empty.leaf(values)));
+            }
+        }
+    }
+}
@@ -35,9 +35,11 @@
 
 package org.javimmutable.collections.list;
 
+import org.javimmutable.collections.ArrayChunkConsumer;
 import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Proc1Throws;
 import org.javimmutable.collections.Sum1Throws;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.indexed.IndexedHelper;
 import org.javimmutable.collections.iterators.GenericIterator;
 
@@ -88,7 +90,7 @@ class BranchNode<T>
     {
         final int size = left.size() + right.size();
         if (size <= MultiValueNode.MAX_SIZE) {
-            return new MultiValueNode<>(left, right, size);
+            return left.joinLeaves(right, size);
         } else {
             return new BranchNode<>(left, right, size);
         }
@@ -158,6 +160,9 @@ class BranchNode<T>
         final int diff = depth - node.depth();
         if (diff < 0) {
             return node.prepend(this);
+        } else if (diff == 1 && node.depth() == 0 && right.size() + node.size() <= MultiValueNode.MAX_SIZE) {
+            // small leaf such as a list's tail buffer can be absorbed by our rightmost leaf
+            return new BranchNode<>(left, right.append(node));
         } else if (diff <= 1) {
             return new BranchNode<>(this, node);
         } else {
@@ -182,6 +187,9 @@ class BranchNode<T>
         final int diff = depth - node.depth();
         if (diff < 0) {
             return node.append(this);
+        } else if (diff == 1 && node.depth() == 0 && left.size() + node.size() <= MultiValueNode.MAX_SIZE) {
+            // small leaf such as a list's head buffer can be absorbed by our leftmost leaf
+            return new BranchNode<>(left.prepend(node), right);
         } else if (diff <= 1) {
             return new BranchNode<>(node, this);
         } else {
@@ -271,6 +279,33 @@ class BranchNode<T>
         right.copyTo(array, offset + left.size());
     }
 
+    @Override
+    void copyRange(int from,
+                   int to,
+                   @Nonnull Object[] dest,
+                   int destOffset)
+    {
+        final int leftSize = left.size();
+        if (from < leftSize) {
+            left.copyRange(from, Math.min(to, leftSize), dest, destOffset);
+        }
+        if (to > leftSize) {
+            if (from < leftSize) {
+                right.copyRange(0, to - leftSize, dest, destOffset + leftSize - from);
+            } else {
+                right.copyRange(from - leftSize, to - leftSize, dest, destOffset);
+            }
+        }
+    }
+
+    @Override
+    void forEachChunk(@Nonnull Object[] buffer,
+                      @Nonnull ArrayChunkConsumer consumer)
+    {
+        left.forEachChunk(buffer, consumer);
+        right.forEachChunk(buffer, consumer);
+    }
+
     @Nonnull
     @Override
     AbstractNode<T> prefix(int limit)
@@ -369,6 +404,15 @@ class BranchNode<T>
         right.checkInvariants();
     }
 
+    @Override
+    void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                           int depth)
+    {
+        stats.addNode(this, depth, 2, StructureStatistics.objectBytes(2, 2));
+        left.collectStatistics(stats, depth + 1);
+        right.collectStatistics(stats, depth + 1);
+    }
+
     @Override
     public boolean equals(Object o)
     {
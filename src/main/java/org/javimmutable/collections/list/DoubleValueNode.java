@@ -0,0 +1,109 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.list;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+
+/**
+ * Leaf node for JImmutableDoubleList trees that stores its values in a double[].
+ */
+@Immutable
+class DoubleValueNode
+    extends PrimitiveValueNode<Double, double[]>
+{
+    DoubleValueNode(@Nonnull double[] values)
+    {
+        super(values, values.length);
+    }
+
+    DoubleValueNode(double value)
+    {
+        this(new double[]{value});
+    }
+
+    @Nonnull
+    @Override
+    DoubleValueNode create(@Nonnull double[] values)
+    {
+        return new DoubleValueNode(values);
+    }
+
+    @Nonnull
+    @Override
+    double[] allocate(int size)
+    {
+        return new double[size];
+    }
+
+    @Override
+    Double getValue(@Nonnull double[] values,
+                    int index)
+    {
+        return values[index];
+    }
+
+    @Override
+    void setValue(@Nonnull double[] values,
+                  int index,
+                  Double value)
+    {
+        values[index] = value;
+    }
+
+    @Override
+    int elementBytes()
+    {
+        return 8;
+    }
+
+    @Override
+    int hashValue(@Nonnull double[] values,
+                  int index)
+    {
+        return Double.hashCode(values[index]);
+    }
+
+    @Override
+    boolean equalValues(@Nonnull double[] a,
+                        int aIndex,
+                        @Nonnull double[] b,
+                        int bIndex)
+    {
+        return Double.compare(a[aIndex], b[bIndex]) == 0;
+    }
+}
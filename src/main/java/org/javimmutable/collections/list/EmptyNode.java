@@ -35,9 +35,11 @@
 
 package org.javimmutable.collections.list;
 
+import org.javimmutable.collections.ArrayChunkConsumer;
 import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Proc1Throws;
 import org.javimmutable.collections.Sum1Throws;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
@@ -171,6 +173,20 @@ class EmptyNode<T>
     {
     }
 
+    @Override
+    void copyRange(int from,
+                   int to,
+                   @Nonnull Object[] dest,
+                   int destOffset)
+    {
+    }
+
+    @Override
+    void forEachChunk(@Nonnull Object[] buffer,
+                      @Nonnull ArrayChunkConsumer consumer)
+    {
+    }
+
     @Nonnull
     @Override
     AbstractNode<T> suffix(int offset)
@@ -222,5 +238,11 @@ class EmptyNode<T>
     public void checkInvariants()
     {
     }
+
+    @Override
+    void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                           int depth)
+    {
+    }
 }
 
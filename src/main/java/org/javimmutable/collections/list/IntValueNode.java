@@ -33,50 +33,77 @@
 // (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
 // OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
 
-package org.javimmutable.collections.list;
 
-import org.javimmutable.collections.JImmutableList;
+package org.javimmutable.collections.list;
 
-import java.util.ArrayList;
-import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
 
-public class ListAppendTimingComparison
+/**
+ * Leaf node for JImmutableIntList trees that stores its values in a int[].
+ */
+@Immutable
+class IntValueNode
+    extends PrimitiveValueNode<Integer, int[]>
 {
-    public static void main(String[] argv)
+    IntValueNode(@Nonnull int[] values)
+    {
+        super(values, values.length);
+    }
+
+    IntValueNode(int value)
+    {
+        this(new int[]{value});
+    }
+
+    @Nonnull
+    @Override
+    IntValueNode create(@Nonnull int[] values)
+    {
+        return new IntValueNode(values);
+    }
+
+    @Nonnull
+    @Override
+    int[] allocate(int size)
+    {
+        return new int[size];
+    }
+
+    @Override
+    Integer getValue(@Nonnull int[] values,
+                     int index)
+    {
+        return values[index];
+    }
+
+    @Override
+    void setValue(@Nonnull int[] values,
+                  int index,
+                  Integer value)
+    {
+        values[index] = value;
+    }
+
+    @Override
+    int elementBytes()
     {
-        final Mode mode = (argv.length == 0) ? Mode.LAST : Mode.valueOf(argv[0].replace("-", "_").toUpperCase());
-        final long startMillis = System.currentTimeMillis();
-        runTest(mode);
-        final long elapsedMillis = System.currentTimeMillis() - startMillis;
-        System.out.printf("%s  %d%n", mode, elapsedMillis);
+        return 4;
     }
 
-    private enum Mode
+    @Override
+    int hashValue(@Nonnull int[] values,
+                  int index)
     {
-        FIRST,
-        MIDDLE,
-        LAST
+        return Integer.hashCode(values[index]);
     }
 
-    private static void runTest(Mode mode)
+    @Override
+    boolean equalValues(@Nonnull int[] a,
+                        int aIndex,
+                        @Nonnull int[] b,
+                        int bIndex)
     {
-        for (int loop = 1; loop <= 10_000; ++loop) {
-            JImmutableList<Integer> list = JImmutableTreeList.of();
-            List<Integer> extras = new ArrayList<>();
-            for (int length = 1; length <= 250; ++length) {
-                extras.add(length);
-                switch (mode) {
-                    case FIRST:
-                        list = list.insertAllFirst(extras);
-                        break;
-                    case MIDDLE:
-                        list = list.insertAll(list.size() / 2, extras);
-                        break;
-                    case LAST:
-                        list = list.insertAllLast(extras);
-                        break;
-                }
-            }
-        }
+        return a[aIndex] == b[bIndex];
     }
 }
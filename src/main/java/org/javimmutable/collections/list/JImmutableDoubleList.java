@@ -0,0 +1,262 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.stream.DoubleStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Persistent list of double values.  Uses the same balanced tree as JImmutableTreeList but its
+ * leaves store values in double arrays so no value is boxed when stored, read, appended or
+ * prepended.  Operations at arbitrary positions (assign, insert(index, value)) pass the
+ * value through the shared tree code and box it temporarily.
+ */
+@Immutable
+public class JImmutableDoubleList
+    extends AbstractPrimitiveList<Double, double[], JImmutableDoubleList>
+{
+    private static final JImmutableDoubleList EMPTY = new JImmutableDoubleList(EmptyNode.instance());
+
+    private JImmutableDoubleList(@Nonnull AbstractNode<Double> root)
+    {
+        super(root);
+    }
+
+    @Nonnull
+    public static JImmutableDoubleList of()
+    {
+        return EMPTY;
+    }
+
+    @Nonnull
+    public static JImmutableDoubleList of(@Nonnull double... values)
+    {
+        return builder().add(values).build();
+    }
+
+    @Nonnull
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * Returns the value at the specified index without boxing it.
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public double get(int index)
+    {
+        if (index < 0 || index >= root.size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        AbstractNode<Double> node = root;
+        while (node.depth() > 0) {
+            final AbstractNode<Double> left = node.left();
+            final int leftSize = left.size();
+            if (index < leftSize) {
+                node = left;
+            } else {
+                index -= leftSize;
+                node = node.right();
+            }
+        }
+        return ((DoubleValueNode)node).values[index];
+    }
+
+    @Nonnull
+    public JImmutableDoubleList assign(int index,
+                                       double value)
+    {
+        return create(root.assign(index, value));
+    }
+
+    @Nonnull
+    public JImmutableDoubleList insert(double value)
+    {
+        return insertLast(value);
+    }
+
+    @Nonnull
+    public JImmutableDoubleList insert(int index,
+                                       double value)
+    {
+        return insertBoxed(index, value);
+    }
+
+    @Nonnull
+    public JImmutableDoubleList insertFirst(double value)
+    {
+        return create(root.prepend(new DoubleValueNode(value)));
+    }
+
+    @Nonnull
+    public JImmutableDoubleList insertLast(double value)
+    {
+        return create(root.append(new DoubleValueNode(value)));
+    }
+
+    public void forEach(@Nonnull DoubleConsumer action)
+    {
+        final PrimitiveValueNode.LeafIterator<Double, double[]> leaves = leaves();
+        while (leaves.hasNext()) {
+            for (double value : leaves.next()) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public double reduce(double identity,
+                         @Nonnull DoubleBinaryOperator accumulator)
+    {
+        double answer = identity;
+        final PrimitiveValueNode.LeafIterator<Double, double[]> leaves = leaves();
+        while (leaves.hasNext()) {
+            for (double value : leaves.next()) {
+                answer = accumulator.applyAsDouble(answer, value);
+            }
+        }
+        return answer;
+    }
+
+    @Nonnull
+    public PrimitiveIterator.OfDouble iterator()
+    {
+        return new ValueIterator(root);
+    }
+
+    @Nonnull
+    public Spliterator.OfDouble spliterator()
+    {
+        return Spliterators.spliterator(iterator(), root.size(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @Nonnull
+    public DoubleStream stream()
+    {
+        return StreamSupport.doubleStream(spliterator(), false);
+    }
+
+    @Nonnull
+    @Override
+    JImmutableDoubleList create(@Nonnull AbstractNode<Double> root)
+    {
+        if (root.isEmpty()) {
+            return EMPTY;
+        } else {
+            return new JImmutableDoubleList(root);
+        }
+    }
+
+    @Nonnull
+    @Override
+    DoubleValueNode leaf(@Nonnull double[] values)
+    {
+        return new DoubleValueNode(values);
+    }
+
+    @Nonnull
+    @Override
+    double[] allocate(int size)
+    {
+        return new double[size];
+    }
+
+    private static class ValueIterator
+        extends Cursor<Double, double[]>
+        implements PrimitiveIterator.OfDouble
+    {
+        private ValueIterator(@Nonnull AbstractNode<Double> root)
+        {
+            super(root);
+        }
+
+        @Override
+        public synchronized boolean hasNext()
+        {
+            return super.hasNext();
+        }
+
+        @Override
+        public synchronized double nextDouble()
+        {
+            final int index = advance();
+            return values[index];
+        }
+    }
+
+    @ThreadSafe
+    public static class Builder
+        extends AbstractBuilder<Double, double[], JImmutableDoubleList>
+    {
+        private Builder()
+        {
+            super(EMPTY);
+        }
+
+        @Nonnull
+        public synchronized Builder add(double value)
+        {
+            final int index = reserve();
+            buffer[index] = value;
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder add(@Nonnull double... values)
+        {
+            for (double value : values) {
+                add(value);
+            }
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder clear()
+        {
+            reset();
+            return this;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Persistent list of int values.  Uses the same balanced tree as JImmutableTreeList but its
+ * leaves store values in int arrays so no value is boxed when stored, read, appended or
+ * prepended.  Operations at arbitrary positions (assign, insert(index, value)) pass the
+ * value through the shared tree code and box it temporarily.
+ */
+@Immutable
+public class JImmutableIntList
+    extends AbstractPrimitiveList<Integer, int[], JImmutableIntList>
+{
+    private static final JImmutableIntList EMPTY = new JImmutableIntList(EmptyNode.instance());
+
+    private JImmutableIntList(@Nonnull AbstractNode<Integer> root)
+    {
+        super(root);
+    }
+
+    @Nonnull
+    public static JImmutableIntList of()
+    {
+        return EMPTY;
+    }
+
+    @Nonnull
+    public static JImmutableIntList of(@Nonnull int... values)
+    {
+        return builder().add(values).build();
+    }
+
+    @Nonnull
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * Returns the value at the specified index without boxing it.
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public int get(int index)
+    {
+        if (index < 0 || index >= root.size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        AbstractNode<Integer> node = root;
+        while (node.depth() > 0) {
+            final AbstractNode<Integer> left = node.left();
+            final int leftSize = left.size();
+            if (index < leftSize) {
+                node = left;
+            } else {
+                index -= leftSize;
+                node = node.right();
+            }
+        }
+        return ((IntValueNode)node).values[index];
+    }
+
+    @Nonnull
+    public JImmutableIntList assign(int index,
+                                    int value)
+    {
+        return create(root.assign(index, value));
+    }
+
+    @Nonnull
+    public JImmutableIntList insert(int value)
+    {
+        return insertLast(value);
+    }
+
+    @Nonnull
+    public JImmutableIntList insert(int index,
+                                    int value)
+    {
+        return insertBoxed(index, value);
+    }
+
+    @Nonnull
+    public JImmutableIntList insertFirst(int value)
+    {
+        return create(root.prepend(new IntValueNode(value)));
+    }
+
+    @Nonnull
+    public JImmutableIntList insertLast(int value)
+    {
+        return create(root.append(new IntValueNode(value)));
+    }
+
+    public void forEach(@Nonnull IntConsumer action)
+    {
+        final PrimitiveValueNode.LeafIterator<Integer, int[]> leaves = leaves();
+        while (leaves.hasNext()) {
+            for (int value : leaves.next()) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public int reduce(int identity,
+                      @Nonnull IntBinaryOperator accumulator)
+    {
+        int answer = identity;
+        final PrimitiveValueNode.LeafIterator<Integer, int[]> leaves = leaves();
+        while (leaves.hasNext()) {
+            for (int value : leaves.next()) {
+                answer = accumulator.applyAsInt(answer, value);
+            }
+        }
+        return answer;
+    }
+
+    @Nonnull
+    public PrimitiveIterator.OfInt iterator()
+    {
+        return new ValueIterator(root);
+    }
+
+    @Nonnull
+    public Spliterator.OfInt spliterator()
+    {
+        return Spliterators.spliterator(iterator(), root.size(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @Nonnull
+    public IntStream stream()
+    {
+        return StreamSupport.intStream(spliterator(), false);
+    }
+
+    @Nonnull
+    @Override
+    JImmutableIntList create(@Nonnull AbstractNode<Integer> root)
+    {
+        if (root.isEmpty()) {
+            return EMPTY;
+        } else {
+            return new JImmutableIntList(root);
+        }
+    }
+
+    @Nonnull
+    @Override
+    IntValueNode leaf(@Nonnull int[] values)
+    {
+        return new IntValueNode(values);
+    }
+
+    @Nonnull
+    @Override
+    int[] allocate(int size)
+    {
+        return new int[size];
+    }
+
+    private static class ValueIterator
+        extends Cursor<Integer, int[]>
+        implements PrimitiveIterator.OfInt
+    {
+        private ValueIterator(@Nonnull AbstractNode<Integer> root)
+        {
+            super(root);
+        }
+
+        @Override
+        public synchronized boolean hasNext()
+        {
+            return super.hasNext();
+        }
+
+        @Override
+        public synchronized int nextInt()
+        {
+            final int index = advance();
+            return values[index];
+        }
+    }
+
+    @ThreadSafe
+    public static class Builder
+        extends AbstractBuilder<Integer, int[], JImmutableIntList>
+    {
+        private Builder()
+        {
+            super(EMPTY);
+        }
+
+        @Nonnull
+        public synchronized Builder add(int value)
+        {
+            final int index = reserve();
+            buffer[index] = value;
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder add(@Nonnull int... values)
+        {
+            for (int value : values) {
+                add(value);
+            }
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder clear()
+        {
+            reset();
+            return this;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.list;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.Immutable;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Persistent list of long values.  Uses the same balanced tree as JImmutableTreeList but its
+ * leaves store values in long arrays so no value is boxed when stored, read, appended or
+ * prepended.  Operations at arbitrary positions (assign, insert(index, value)) pass the
+ * value through the shared tree code and box it temporarily.
+ */
+@Immutable
+public class JImmutableLongList
+    extends AbstractPrimitiveList<Long, long[], JImmutableLongList>
+{
+    private static final JImmutableLongList EMPTY = new JImmutableLongList(EmptyNode.instance());
+
+    private JImmutableLongList(@Nonnull AbstractNode<Long> root)
+    {
+        super(root);
+    }
+
+    @Nonnull
+    public static JImmutableLongList of()
+    {
+        return EMPTY;
+    }
+
+    @Nonnull
+    public static JImmutableLongList of(@Nonnull long... values)
+    {
+        return builder().add(values).build();
+    }
+
+    @Nonnull
+    public static Builder builder()
+    {
+        return new Builder();
+    }
+
+    /**
+     * Returns the value at the specified index without boxing it.
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    public long get(int index)
+    {
+        if (index < 0 || index >= root.size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        AbstractNode<Long> node = root;
+        while (node.depth() > 0) {
+            final AbstractNode<Long> left = node.left();
+            final int leftSize = left.size();
+            if (index < leftSize) {
+                node = left;
+            } else {
+                index -= leftSize;
+                node = node.right();
+            }
+        }
+        return ((LongValueNode)node).values[index];
+    }
+
+    @Nonnull
+    public JImmutableLongList assign(int index,
+                                     long value)
+    {
+        return create(root.assign(index, value));
+    }
+
+    @Nonnull
+    public JImmutableLongList insert(long value)
+    {
+        return insertLast(value);
+    }
+
+    @Nonnull
+    public JImmutableLongList insert(int index,
+                                     long value)
+    {
+        return insertBoxed(index, value);
+    }
+
+    @Nonnull
+    public JImmutableLongList insertFirst(long value)
+    {
+        return create(root.prepend(new LongValueNode(value)));
+    }
+
+    @Nonnull
+    public JImmutableLongList insertLast(long value)
+    {
+        return create(root.append(new LongValueNode(value)));
+    }
+
+    public void forEach(@Nonnull LongConsumer action)
+    {
+        final PrimitiveValueNode.LeafIterator<Long, long[]> leaves = leaves();
+        while (leaves.hasNext()) {
+            for (long value : leaves.next()) {
+                action.accept(value);
+            }
+        }
+    }
+
+    public long reduce(long identity,
+                       @Nonnull LongBinaryOperator accumulator)
+    {
+        long answer = identity;
+        final PrimitiveValueNode.LeafIterator<Long, long[]> leaves = leaves();
+        while (leaves.hasNext()) {
+            for (long value : leaves.next()) {
+                answer = accumulator.applyAsLong(answer, value);
+            }
+        }
+        return answer;
+    }
+
+    @Nonnull
+    public PrimitiveIterator.OfLong iterator()
+    {
+        return new ValueIterator(root);
+    }
+
+    @Nonnull
+    public Spliterator.OfLong spliterator()
+    {
+        return Spliterators.spliterator(iterator(), root.size(), Spliterator.ORDERED | Spliterator.IMMUTABLE);
+    }
+
+    @Nonnull
+    public LongStream stream()
+    {
+        return StreamSupport.longStream(spliterator(), false);
+    }
+
+    @Nonnull
+    @Override
+    JImmutableLongList create(@Nonnull AbstractNode<Long> root)
+    {
+        if (root.isEmpty()) {
+            return EMPTY;
+        } else {
+            return new JImmutableLongList(root);
+        }
+    }
+
+    @Nonnull
+    @Override
+    LongValueNode leaf(@Nonnull long[] values)
+    {
+        return new LongValueNode(values);
+    }
+
+    @Nonnull
+    @Override
+    long[] allocate(int size)
+    {
+        return new long[size];
+    }
+
+    private static class ValueIterator
+        extends Cursor<Long, long[]>
+        implements PrimitiveIterator.OfLong
+    {
+        private ValueIterator(@Nonnull AbstractNode<Long> root)
+        {
+            super(root);
+        }
+
+        @Override
+        public synchronized boolean hasNext()
+        {
+            return super.hasNext();
+        }
+
+        @Override
+        public synchronized long nextLong()
+        {
+            final int index = advance();
+            return values[index];
+        }
+    }
+
+    @ThreadSafe
+    public static class Builder
+        extends AbstractBuilder<Long, long[], JImmutableLongList>
+    {
+        private Builder()
+        {
+            super(EMPTY);
+        }
+
+        @Nonnull
+        public synchronized Builder add(long value)
+        {
+            final int index = reserve();
+            buffer[index] = value;
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder add(@Nonnull long... values)
+        {
+            for (long value : values) {
+                add(value);
+            }
+            return this;
+        }
+
+        @Nonnull
+        public synchronized Builder clear()
+        {
+            reset();
+            return this;
+        }
+    }
+}
@@ -35,6 +35,7 @@
 
 package org.javimmutable.collections.list;
 
+import org.javimmutable.collections.ArrayChunkConsumer;
 import org.javimmutable.collections.Func1;
 import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
@@ -46,7 +47,11 @@ import org.javimmutable.collections.Sum1Throws;
 import org.javimmutable.collections.common.ListAdaptor;
 import org.javimmutable.collections.common.MutableDelta;
 import org.javimmutable.collections.common.StreamConstants;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.indexed.IndexedArray;
+import org.javimmutable.collections.indexed.IndexedHelper;
 import org.javimmutable.collections.indexed.IndexedList;
+import org.javimmutable.collections.iterators.GenericIterator;
 import org.javimmutable.collections.iterators.IteratorHelper;
 import org.javimmutable.collections.serialization.JImmutableListProxy;
 
@@ -55,12 +60,16 @@ import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import javax.annotation.concurrent.ThreadSafe;
 import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collector;
 
+import static java.util.Arrays.asList;
 import static org.javimmutable.collections.list.TreeBuilder.*;
 
 @Immutable
@@ -72,11 +81,34 @@ public class JImmutableTreeList<T>
     private static final JImmutableTreeList EMPTY = new JImmutableTreeList(EmptyNode.instance());
     private static final long serialVersionUID = -121805;
 
+    /**
+     * Maximum number of values held in the head or tail buffer before they are pushed into the tree.
+     */
+    static final int MAX_BUFFER_SIZE = 32;
+
+    /**
+     * Values added by insertFirst() are collected in head and values added by insertLast()
+     * are collected in tail.  Both are leaf nodes of at most MAX_BUFFER_SIZE values so
+     * adding a value copies only a small array rather than rebuilding the path to the first
+     * or last leaf of the tree.  A full buffer is pushed into the tree as a single leaf.
+     * The list's values are those of head followed by root followed by tail.
+     */
+    private final AbstractNode<T> head;
     private final AbstractNode<T> root;
+    private final AbstractNode<T> tail;
 
     private JImmutableTreeList(@Nonnull AbstractNode<T> root)
     {
+        this(EmptyNode.instance(), root, EmptyNode.instance());
+    }
+
+    private JImmutableTreeList(@Nonnull AbstractNode<T> head,
+                               @Nonnull AbstractNode<T> root,
+                               @Nonnull AbstractNode<T> tail)
+    {
+        this.head = head;
         this.root = root;
+        this.tail = tail;
     }
 
     @SuppressWarnings("unchecked")
@@ -131,26 +163,48 @@ public class JImmutableTreeList<T>
         }
     }
 
+    @Nonnull
+    private static <T> JImmutableTreeList<T> create(@Nonnull AbstractNode<T> head,
+                                                    @Nonnull AbstractNode<T> root,
+                                                    @Nonnull AbstractNode<T> tail)
+    {
+        if (head.isEmpty() && root.isEmpty() && tail.isEmpty()) {
+            return of();
+        } else {
+            return new JImmutableTreeList<>(head, root, tail);
+        }
+    }
+
     @Nonnull
     @Override
     public JImmutableTreeList<T> assign(int index,
                                         @Nullable T value)
     {
-        return new JImmutableTreeList<>(root.assign(index, value));
+        final int headSize = head.size();
+        if (index < headSize) {
+            return new JImmutableTreeList<>(head.assign(index, value), root, tail);
+        }
+        index -= headSize;
+        final int rootSize = root.size();
+        if (index < rootSize) {
+            return new JImmutableTreeList<>(head, root.assign(index, value), tail);
+        } else {
+            return new JImmutableTreeList<>(head, root, tail.assign(index - rootSize, value));
+        }
     }
 
     @Nonnull
     @Override
     public JImmutableTreeList<T> insert(@Nullable T value)
     {
-        return new JImmutableTreeList<>(root.append(value));
+        return insertLast(value);
     }
 
     @Nonnull
     @Override
     public JImmutableTreeList<T> insert(@Nonnull Iterable<? extends T> values)
     {
-        return create(root.append(nodeFromIterable(values)));
+        return create(tree().append(nodeFromIterable(values)));
     }
 
     @Nonnull
@@ -158,21 +212,29 @@ public class JImmutableTreeList<T>
     public JImmutableTreeList<T> insert(int index,
                                         @Nullable T value)
     {
-        return new JImmutableTreeList<>(root.insert(index, value));
+        return new JImmutableTreeList<>(tree().insert(index, value));
     }
 
     @Nonnull
     @Override
     public JImmutableTreeList<T> insertFirst(@Nullable T value)
     {
-        return new JImmutableTreeList<>(root.prepend(value));
+        if (head.size() < MAX_BUFFER_SIZE) {
+            return new JImmutableTreeList<>(head.prepend(value), root, tail);
+        } else {
+            return new JImmutableTreeList<>(EmptyNode.<T>instance().prepend(value), root.prepend(head), tail);
+        }
     }
 
     @Nonnull
     @Override
     public JImmutableTreeList<T> insertLast(@Nullable T value)
     {
-        return new JImmutableTreeList<>(root.append(value));
+        if (tail.size() < MAX_BUFFER_SIZE) {
+            return new JImmutableTreeList<>(head, root, tail.append(value));
+        } else {
+            return new JImmutableTreeList<>(head, root.append(tail), EmptyNode.<T>instance().append(value));
+        }
     }
 
     @Nonnull
@@ -209,7 +271,8 @@ public class JImmutableTreeList<T>
     private JImmutableTreeList<T> insertAll(int index,
                                             @Nonnull AbstractNode<T> other)
     {
-        return create(root.prefix(index).append(other).append(root.suffix(index)));
+        final AbstractNode<T> tree = tree();
+        return create(tree.prefix(index).append(other).append(tree.suffix(index)));
     }
 
     @Nonnull
@@ -229,7 +292,7 @@ public class JImmutableTreeList<T>
     @Nonnull
     private JImmutableTreeList<T> insertAllFirst(@Nonnull AbstractNode<T> other)
     {
-        return create(root.prepend(other));
+        return create(tree().prepend(other));
     }
 
     @Nonnull
@@ -249,28 +312,40 @@ public class JImmutableTreeList<T>
     @Nonnull
     private JImmutableTreeList<T> insertAllLast(@Nonnull AbstractNode<T> other)
     {
-        return create(root.append(other));
+        return create(tree().append(other));
     }
 
     @Nonnull
     @Override
     public JImmutableTreeList<T> deleteFirst()
     {
-        return create(root.deleteFirst());
+        if (!head.isEmpty()) {
+            return create(head.deleteFirst(), root, tail);
+        } else if (!root.isEmpty()) {
+            return create(head, root.deleteFirst(), tail);
+        } else {
+            return create(head, root, tail.deleteFirst());
+        }
     }
 
     @Nonnull
     @Override
     public JImmutableTreeList<T> deleteLast()
     {
-        return create(root.deleteLast());
+        if (!tail.isEmpty()) {
+            return create(head, root, tail.deleteLast());
+        } else if (!root.isEmpty()) {
+            return create(head, root.deleteLast(), tail);
+        } else {
+            return create(head.deleteLast(), root, tail);
+        }
     }
 
     @Nonnull
     @Override
     public JImmutableTreeList<T> delete(int index)
     {
-        return create(root.delete(index));
+        return create(tree().delete(index));
     }
 
     @Nonnull
@@ -284,7 +359,7 @@ public class JImmutableTreeList<T>
     public <A> JImmutableTreeList<A> transform(@Nonnull Func1<T, A> transform)
     {
         final ListBuilder<A> builder = new ListBuilder<>();
-        root.forEach(t -> builder.add(transform.apply(t)));
+        forEach(t -> builder.add(transform.apply(t)));
         return builder.build();
     }
 
@@ -292,26 +367,36 @@ public class JImmutableTreeList<T>
     public <A> JImmutableTreeList<A> transformSome(@Nonnull Func1<T, Holder<A>> transform)
     {
         final ListBuilder<A> builder = new ListBuilder<>();
-        root.forEach(t -> transform.apply(t).ifPresent(builder::add));
+        forEach(t -> transform.apply(t).ifPresent(builder::add));
         return builder.build();
     }
 
     @Override
     public int size()
     {
-        return root.size();
+        return head.size() + root.size() + tail.size();
     }
 
     @Override
     public T get(int index)
     {
-        return root.get(index);
+        final int headSize = head.size();
+        if (index < headSize) {
+            return head.get(index);
+        }
+        index -= headSize;
+        final int rootSize = root.size();
+        if (index < rootSize) {
+            return root.get(index);
+        } else {
+            return tail.get(index - rootSize);
+        }
     }
 
     @Override
     public boolean isEmpty()
     {
-        return root.isEmpty();
+        return head.isEmpty() && root.isEmpty() && tail.isEmpty();
     }
 
     @Nonnull
@@ -319,7 +404,7 @@ public class JImmutableTreeList<T>
     public JImmutableTreeList<T> select(@Nonnull Predicate<T> predicate)
     {
         final ListBuilder<T> answer = listBuilder();
-        root.forEach(value -> {
+        forEach(value -> {
             if (predicate.test(value)) {
                 answer.add(value);
             }
@@ -332,7 +417,8 @@ public class JImmutableTreeList<T>
     public JImmutableTreeList<T> reject(@Nonnull Predicate<T> predicate)
     {
         final MutableDelta index = new MutableDelta();
-        final AbstractNode<T> newRoot = root.reduce(root, (answer, value) -> {
+        final AbstractNode<T> tree = tree();
+        final AbstractNode<T> newRoot = tree.reduce(tree, (answer, value) -> {
             assert value == answer.get(index.getValue());
             if (predicate.test(value)) {
                 answer = answer.delete(index.getValue());
@@ -343,25 +429,57 @@ public class JImmutableTreeList<T>
         });
         if (newRoot.isEmpty()) {
             return of();
-        } else if (newRoot == root) {
+        } else if (newRoot == tree) {
             return this;
         } else {
             return new JImmutableTreeList<>(newRoot);
         }
     }
 
+    /**
+     * Copies the values into an array in bulk, sorts it and builds the new tree bottom up
+     * directly from the sorted array.
+     */
+    @Nonnull
+    @Override
+    public JImmutableTreeList<T> sorted(@Nonnull Comparator<? super T> comparator)
+    {
+        if (size() <= 1) {
+            return this;
+        }
+        final T[] values = toArray();
+        Arrays.sort(values, comparator);
+        return create(nodeFromIndexed(IndexedArray.retained(values)));
+    }
+
+    /**
+     * Same as sorted() but uses Arrays.parallelSort() to sort chunks of the array on
+     * the common ForkJoinPool and merge them.
+     */
+    @Nonnull
+    @Override
+    public JImmutableTreeList<T> parallelSorted(@Nonnull Comparator<? super T> comparator)
+    {
+        if (size() <= 1) {
+            return this;
+        }
+        final T[] values = toArray();
+        Arrays.parallelSort(values, comparator);
+        return create(nodeFromIndexed(IndexedArray.retained(values)));
+    }
+
     @Nonnull
     @Override
     public JImmutableTreeList<T> prefix(int limit)
     {
-        return create(root.prefix(limit));
+        return create(tree().prefix(limit));
     }
 
     @Nonnull
     @Override
     public JImmutableTreeList<T> suffix(int offset)
     {
-        return create(root.suffix(offset));
+        return create(tree().suffix(offset));
     }
 
     @Nonnull
@@ -369,7 +487,7 @@ public class JImmutableTreeList<T>
     public JImmutableTreeList<T> middle(int offset,
                                         int limit)
     {
-        return create(root.prefix(limit).suffix(offset));
+        return create(tree().prefix(limit).suffix(offset));
     }
 
     @Nonnull
@@ -377,7 +495,7 @@ public class JImmutableTreeList<T>
     public JImmutableList<T> slice(int offset,
                                    int limit)
     {
-        final int size = root.size();
+        final int size = size();
         if (offset < 0) {
             offset = size + offset;
         }
@@ -414,14 +532,67 @@ public class JImmutableTreeList<T>
     @Override
     public void checkInvariants()
     {
+        for (AbstractNode<T> buffer : asList(head, tail)) {
+            if (buffer.depth() != 0 || buffer.size() > MAX_BUFFER_SIZE) {
+                throw new IllegalStateException(String.format("invalid buffer: depth=%d size=%d", buffer.depth(), buffer.size()));
+            }
+            buffer.checkInvariants();
+        }
         root.checkInvariants();
     }
 
+    /**
+     * Describes the shape of the tree.  Visits every node so it takes time proportional
+     * to the size of the list divided by the number of values per leaf node.  The head
+     * and tail buffers are reported as the separate leaves they are stored as.
+     */
+    @Nonnull
+    public StructureStatistics getStatistics()
+    {
+        final StructureStatistics.Builder stats = StructureStatistics.builder();
+        head.collectStatistics(stats, 0);
+        root.collectStatistics(stats, 0);
+        tail.collectStatistics(stats, 0);
+        return stats.build();
+    }
+
     @Override
     @Nonnull
     public SplitableIterator<T> iterator()
     {
-        return root.iterator();
+        if (head.isEmpty() && tail.isEmpty()) {
+            return root.iterator();
+        }
+        final Indexed<AbstractNode<T>> parts = IndexedHelper.indexed(head, root, tail);
+        final int size = size();
+        return new GenericIterator<>(new GenericIterator.Iterable<T>()
+        {
+            @Nullable
+            @Override
+            public GenericIterator.State<T> iterateOverRange(@Nullable GenericIterator.State<T> parent,
+                                                             int offset,
+                                                             int limit)
+            {
+                return GenericIterator.indexedState(parent, parts, offset, limit);
+            }
+
+            @Override
+            public int iterableSize()
+            {
+                return size;
+            }
+        }, 0, size);
+    }
+
+    /**
+     * Returns a Spliterator that splits along the boundaries of the tree's nodes
+     * and reports exact sizes.
+     */
+    @Nonnull
+    @Override
+    public Spliterator<T> spliterator()
+    {
+        return new NodeSpliterator<>(head, root, tail);
     }
 
     @Override
@@ -459,7 +630,7 @@ public class JImmutableTreeList<T>
     {
         AbstractNode<T> otherRoot;
         if (values instanceof JImmutableTreeList) {
-            otherRoot = ((JImmutableTreeList<T>)values).root;
+            otherRoot = ((JImmutableTreeList<T>)values).tree();
         } else if (values instanceof List) {
             otherRoot = TreeBuilder.nodeFromIndexed(IndexedList.retained((List)values));
         } else {
@@ -471,21 +642,25 @@ public class JImmutableTreeList<T>
     @Override
     public void forEach(Consumer<? super T> action)
     {
+        head.forEach(action);
         root.forEach(action);
+        tail.forEach(action);
     }
 
     @Override
     public <E extends Exception> void forEachThrows(@Nonnull Proc1Throws<T, E> proc)
         throws E
     {
+        head.forEachThrows(proc);
         root.forEachThrows(proc);
+        tail.forEachThrows(proc);
     }
 
     @Override
     public <V> V reduce(V initialValue,
                         Func2<V, T, V> accumulator)
     {
-        return root.reduce(initialValue, accumulator);
+        return tail.reduce(root.reduce(head.reduce(initialValue, accumulator), accumulator), accumulator);
     }
 
     @Override
@@ -493,7 +668,109 @@ public class JImmutableTreeList<T>
                                                    Sum1Throws<T, V, E> accumulator)
         throws E
     {
-        return root.reduceThrows(initialValue, accumulator);
+        return tail.reduceThrows(root.reduceThrows(head.reduceThrows(initialValue, accumulator), accumulator), accumulator);
+    }
+
+    /**
+     * Copies the values of this list into array and returns it.  If array is too small
+     * a new array of the same runtime type is allocated instead.  As with Collection.toArray()
+     * if array is larger than this list the element following the last value is set to null.
+     * Values are copied a whole leaf at a time rather than one by one.
+     */
+    @Nonnull
+    public T[] toArray(@Nonnull T[] array)
+    {
+        final int size = size();
+        if (array.length < size) {
+            array = Arrays.copyOf(array, size);
+        } else if (array.length > size) {
+            array[size] = null;
+        }
+        head.copyTo(array, 0);
+        root.copyTo(array, head.size());
+        tail.copyTo(array, head.size() + root.size());
+        return array;
+    }
+
+    /**
+     * Copies the values at indexes from (inclusive) through to (exclusive) into dest
+     * starting at destOffset.  Values are copied a whole leaf at a time rather than one by one.
+     *
+     * @throws IndexOutOfBoundsException if either range is invalid
+     * @throws ArrayStoreException       if a value cannot be stored in dest
+     */
+    public void copyRange(int from,
+                          int to,
+                          @Nonnull Object[] dest,
+                          int destOffset)
+    {
+        if (from < 0 || from > to || to > size()) {
+            throw new IndexOutOfBoundsException();
+        }
+        if (destOffset < 0 || destOffset > dest.length - (to - from)) {
+            throw new IndexOutOfBoundsException();
+        }
+        final int rootStart = head.size();
+        final int tailStart = rootStart + root.size();
+        copyRange(head, 0, from, to, dest, destOffset);
+        copyRange(root, rootStart, from, to, dest, destOffset);
+        copyRange(tail, tailStart, from, to, dest, destOffset);
+    }
+
+    /**
+     * Passes the values of this list to consumer in order.  Each call receives the
+     * contents of one leaf node in a buffer that is reused for every call so large
+     * lists can be exported without visiting each value individually.  Leaves are
+     * shared between lists so their own arrays are never exposed.
+     */
+    public void forEachChunk(@Nonnull ArrayChunkConsumer consumer)
+    {
+        final Object[] buffer = new Object[Math.min(size(), MultiValueNode.MAX_SIZE)];
+        final ArrayChunkConsumer copier = (values, offset, length) -> {
+            if (values != buffer) {
+                System.arraycopy(values, offset, buffer, 0, length);
+            }
+            consumer.accept(buffer, 0, length);
+        };
+        head.forEachChunk(buffer, copier);
+        root.forEachChunk(buffer, copier);
+        tail.forEachChunk(buffer, copier);
+    }
+
+    /**
+     * Copies the part of from..to that falls within node (whose first value is at nodeStart
+     * within this list) to its position in dest.
+     */
+    private static void copyRange(@Nonnull AbstractNode<?> node,
+                                  int nodeStart,
+                                  int from,
+                                  int to,
+                                  @Nonnull Object[] dest,
+                                  int destOffset)
+    {
+        final int start = Math.max(from, nodeStart);
+        final int end = Math.min(to, nodeStart + node.size());
+        if (start < end) {
+            node.copyRange(start - nodeStart, end - nodeStart, dest, destOffset + start - from);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    private T[] toArray()
+    {
+        return toArray((T[])new Object[size()]);
+    }
+
+    /**
+     * Returns a single tree containing all of the values in this list by pushing the
+     * head and tail buffers into the root.  Operations that work on arbitrary positions
+     * use this so they only need to deal with a single tree.
+     */
+    @Nonnull
+    private AbstractNode<T> tree()
+    {
+        return root.prepend(head).append(tail);
     }
 
     @ThreadSafe
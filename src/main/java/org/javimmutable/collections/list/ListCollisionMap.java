@@ -44,27 +44,80 @@ import org.javimmutable.collections.Proc2Throws;
 import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
 import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.hash.HashStrategy;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Objects;
 
 import static org.javimmutable.collections.MapEntry.entry;
 
 public class ListCollisionMap<K, V>
     implements CollisionMap<K, V>
 {
-    private static final ListCollisionMap INSTANCE = new ListCollisionMap();
+    private static final ListCollisionMap<?, ?> INSTANCE = new ListCollisionMap<>(HashStrategy.standard());
 
-    private ListCollisionMap()
+    private final HashStrategy<K> strategy;
+
+    private ListCollisionMap(@Nonnull HashStrategy<K> strategy)
     {
+        this.strategy = strategy;
     }
 
     @SuppressWarnings("unchecked")
     @Nonnull
     public static <K, V> ListCollisionMap<K, V> instance()
     {
-        return INSTANCE;
+        return (ListCollisionMap<K, V>)INSTANCE;
+    }
+
+    /**
+     * Returns a collision map that hashes and compares keys using strategy.  Collision maps
+     * using equal strategies are equal to one another.
+     */
+    @Nonnull
+    public static <K, V> ListCollisionMap<K, V> forStrategy(@Nonnull HashStrategy<K> strategy)
+    {
+        if (strategy == HashStrategy.standard()) {
+            return instance();
+        } else {
+            return new ListCollisionMap<>(strategy);
+        }
+    }
+
+    @Nonnull
+    public HashStrategy<K> getStrategy()
+    {
+        return strategy;
+    }
+
+    @Override
+    public int keyHashCode(@Nonnull K key)
+    {
+        return strategy.hash(key);
+    }
+
+    /**
+     * Keys are hashed using the strategy so maps holding equivalent keys have equal hash codes.
+     */
+    @Override
+    public int entriesHashCode(@Nonnull Node node)
+    {
+        return root(node).reduce(0, (sum, e) -> sum + (strategy.hash(e.getKey()) ^ Objects.hashCode(e.getValue())));
+    }
+
+    @Override
+    public boolean equals(Object o)
+    {
+        return (o == this) || ((o instanceof ListCollisionMap) && strategy.equals(((ListCollisionMap)o).strategy));
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return strategy.hashCode();
     }
 
     @SuppressWarnings("unchecked")
@@ -96,7 +149,7 @@ public class ListCollisionMap<K, V>
         final AbstractNode<Entry<K, V>> root = root(node);
         int i = 0;
         for (Entry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 if (e.getValue() == value) {
                     return root;
                 } else {
@@ -117,7 +170,7 @@ public class ListCollisionMap<K, V>
         final AbstractNode<Entry<K, V>> root = root(node);
         int i = 0;
         for (Entry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 V value = generator.apply(Holders.of(e.getValue()));
                 if (e.getValue() == value) {
                     return root;
@@ -139,7 +192,7 @@ public class ListCollisionMap<K, V>
         final AbstractNode<Entry<K, V>> root = root(node);
         int i = 0;
         for (Entry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 return root.delete(i);
             }
             i += 1;
@@ -154,7 +207,7 @@ public class ListCollisionMap<K, V>
     {
         final AbstractNode<Entry<K, V>> root = root(node);
         for (Entry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 return e.getValue();
             }
         }
@@ -168,7 +221,7 @@ public class ListCollisionMap<K, V>
     {
         final AbstractNode<Entry<K, V>> root = root(node);
         for (Entry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 return Holders.of(e.getValue());
             }
         }
@@ -182,7 +235,7 @@ public class ListCollisionMap<K, V>
     {
         final AbstractNode<Entry<K, V>> root = root(node);
         for (Entry<K, V> e : root) {
-            if (e.getKey().equals(key)) {
+            if (strategy.equivalent(e.getKey(), key)) {
                 return Holders.of(e);
             }
         }
@@ -199,6 +252,16 @@ public class ListCollisionMap<K, V>
         return root(node).iterateOverRange(parent, offset, limit);
     }
 
+    @Override
+    public void collectStatistics(@Nonnull Node node,
+                                  @Nonnull StructureStatistics.Builder stats,
+                                  int depth)
+    {
+        final AbstractNode<Entry<K, V>> root = root(node);
+        stats.addCollisionChain(root.size());
+        root.collectStatistics(stats, depth);
+    }
+
     @Override
     public void forEach(@Nonnull Node node,
                         @Nonnull Proc2<K, V> proc)
@@ -35,10 +35,12 @@
 
 package org.javimmutable.collections.list;
 
+import org.javimmutable.collections.ArrayChunkConsumer;
 import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Proc1Throws;
 import org.javimmutable.collections.Sum1Throws;
 import org.javimmutable.collections.common.ArrayHelper;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.indexed.IndexedArray;
 import org.javimmutable.collections.iterators.GenericIterator;
 
@@ -249,6 +251,22 @@ class MultiValueNode<T>
         System.arraycopy(values, 0, array, offset, values.length);
     }
 
+    @Override
+    void copyRange(int from,
+                   int to,
+                   @Nonnull Object[] dest,
+                   int destOffset)
+    {
+        System.arraycopy(values, from, dest, destOffset, to - from);
+    }
+
+    @Override
+    void forEachChunk(@Nonnull Object[] buffer,
+                      @Nonnull ArrayChunkConsumer consumer)
+    {
+        consumer.accept(values, 0, values.length);
+    }
+
     @Nonnull
     @Override
     AbstractNode<T> prefix(int limit)
@@ -303,6 +321,13 @@ class MultiValueNode<T>
         }
     }
 
+    @Override
+    void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                           int depth)
+    {
+        stats.addNode(this, depth, 0, StructureStatistics.objectBytes(1, 0) + StructureStatistics.arrayBytes(values.length));
+    }
+
     @Override
     public boolean equals(Object o)
     {
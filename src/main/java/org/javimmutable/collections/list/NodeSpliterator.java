@@ -0,0 +1,177 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.list;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.NotThreadSafe;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Spliterator for list trees that splits along the tree's own structure rather than
+ * by index.  Pending subtrees are kept on a stack (next subtree on top) so splitting never
+ * re-descends from the root: a lone BranchNode is split into its two children and otherwise
+ * every pending subtree but the last is handed to the new Spliterator.  Sizes are exact
+ * so it reports SIZED and SUBSIZED.  forEachRemaining() hands whole subtrees to their own
+ * forEach() so leaf arrays are traversed in bulk.  Like other Spliterators it is meant to
+ * be used by a single thread at a time and takes no locks.
+ */
+@NotThreadSafe
+class NodeSpliterator<T>
+    implements Spliterator<T>
+{
+    private static final int CHARACTERISTICS = Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE;
+
+    private final List<AbstractNode<T>> stack;
+    private AbstractNode<T> leaf;
+    private int leafIndex;
+    private long size;
+
+    /**
+     * Creates a Spliterator that visits the nodes in order.
+     */
+    @SafeVarargs
+    NodeSpliterator(@Nonnull AbstractNode<T>... nodes)
+    {
+        stack = new ArrayList<>();
+        for (int i = nodes.length - 1; i >= 0; --i) {
+            push(nodes[i]);
+        }
+    }
+
+    private NodeSpliterator(@Nonnull List<AbstractNode<T>> stack,
+                            long size)
+    {
+        this.stack = stack;
+        this.size = size;
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super T> action)
+    {
+        while (leaf == null || leafIndex == leaf.size()) {
+            if (stack.isEmpty()) {
+                return false;
+            }
+            AbstractNode<T> node = pop();
+            while (node.depth() > 0) {
+                push(node.right());
+                node = node.left();
+            }
+            leaf = node;
+            leafIndex = 0;
+            size += node.size();
+        }
+        size -= 1;
+        action.accept(leaf.get(leafIndex++));
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(Consumer<? super T> action)
+    {
+        if (leaf != null) {
+            final int limit = leaf.size();
+            while (leafIndex < limit) {
+                size -= 1;
+                action.accept(leaf.get(leafIndex++));
+            }
+        }
+        while (!stack.isEmpty()) {
+            pop().forEach(action);
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit()
+    {
+        if (leaf != null && leafIndex < leaf.size()) {
+            return null;
+        }
+        final int count = stack.size();
+        if (count == 0) {
+            return null;
+        } else if (count == 1) {
+            final AbstractNode<T> node = stack.get(0);
+            if (node.depth() == 0) {
+                return null;
+            }
+            stack.set(0, node.right());
+            size -= node.left().size();
+            return new NodeSpliterator<>(node.left());
+        } else {
+            final List<AbstractNode<T>> prefix = new ArrayList<>(stack.subList(1, count));
+            long prefixSize = 0;
+            for (AbstractNode<T> node : prefix) {
+                prefixSize += node.size();
+            }
+            stack.subList(1, count).clear();
+            size -= prefixSize;
+            return new NodeSpliterator<>(prefix, prefixSize);
+        }
+    }
+
+    @Override
+    public long estimateSize()
+    {
+        return size;
+    }
+
+    @Override
+    public int characteristics()
+    {
+        return CHARACTERISTICS;
+    }
+
+    private void push(@Nonnull AbstractNode<T> node)
+    {
+        if (!node.isEmpty()) {
+            stack.add(node);
+            size += node.size();
+        }
+    }
+
+    @Nonnull
+    private AbstractNode<T> pop()
+    {
+        final AbstractNode<T> node = stack.remove(stack.size() - 1);
+        size -= node.size();
+        return node;
+    }
+}
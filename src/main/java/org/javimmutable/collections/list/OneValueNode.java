@@ -35,9 +35,11 @@
 
 package org.javimmutable.collections.list;
 
+import org.javimmutable.collections.ArrayChunkConsumer;
 import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Proc1Throws;
 import org.javimmutable.collections.Sum1Throws;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
@@ -225,6 +227,13 @@ class OneValueNode<T>
     {
     }
 
+    @Override
+    void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                           int depth)
+    {
+        stats.addNode(this, depth, 0, StructureStatistics.objectBytes(1, 0));
+    }
+
     @Override
     void copyTo(T[] array,
                 int offset)
@@ -232,6 +241,25 @@ class OneValueNode<T>
         array[offset] = value;
     }
 
+    @Override
+    void copyRange(int from,
+                   int to,
+                   @Nonnull Object[] dest,
+                   int destOffset)
+    {
+        if (from < to) {
+            dest[destOffset] = value;
+        }
+    }
+
+    @Override
+    void forEachChunk(@Nonnull Object[] buffer,
+                      @Nonnull ArrayChunkConsumer consumer)
+    {
+        buffer[0] = value;
+        consumer.accept(buffer, 0, 1);
+    }
+
     @Nullable
     @Override
     public GenericIterator.State<T> iterateOverRange(@Nullable GenericIterator.State<T> parent,
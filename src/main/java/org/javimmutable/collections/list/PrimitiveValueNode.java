@@ -0,0 +1,454 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.list;
+
+import org.javimmutable.collections.ArrayChunkConsumer;
+import org.javimmutable.collections.Func2;
+import org.javimmutable.collections.Indexed;
+import org.javimmutable.collections.Proc1Throws;
+import org.javimmutable.collections.Sum1Throws;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.iterators.GenericIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.Immutable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Consumer;
+
+/**
+ * Leaf node storing its values in a primitive array of type A rather than an array of
+ * references.  Fits into the same BranchNode trees as MultiValueNode so the primitive lists
+ * share the list's balancing logic.  Values passed through the generic AbstractNode methods
+ * are boxed and unboxed at the leaf but the primitive lists read and append values through
+ * the array directly.  A tree must contain only leaves of a single derived class.
+ */
+@Immutable
+abstract class PrimitiveValueNode<T, A>
+    extends AbstractNode<T>
+{
+    static final int MAX_SIZE = MultiValueNode.MAX_SIZE;
+    static final int SPLIT_SIZE = MultiValueNode.SPLIT_SIZE;
+
+    final A values;
+    private final int size;
+
+    PrimitiveValueNode(@Nonnull A values,
+                       int size)
+    {
+        assert size > 0 && size <= MAX_SIZE;
+        this.values = values;
+        this.size = size;
+    }
+
+    /**
+     * Creates a new leaf of the derived class that retains the specified array.
+     */
+    @Nonnull
+    abstract PrimitiveValueNode<T, A> create(@Nonnull A values);
+
+    @Nonnull
+    abstract A allocate(int size);
+
+    abstract T getValue(@Nonnull A values,
+                        int index);
+
+    abstract void setValue(@Nonnull A values,
+                           int index,
+                           T value);
+
+    /**
+     * Number of bytes used by each value in the array.
+     */
+    abstract int elementBytes();
+
+    /**
+     * Hash code of values[index] as defined by hashCode() of its boxed type.
+     */
+    abstract int hashValue(@Nonnull A values,
+                           int index);
+
+    /**
+     * Determines if a[aIndex] and b[bIndex] are equal as defined by equals() of their boxed type.
+     */
+    abstract boolean equalValues(@Nonnull A a,
+                                 int aIndex,
+                                 @Nonnull A b,
+                                 int bIndex);
+
+    @Override
+    boolean isEmpty()
+    {
+        return false;
+    }
+
+    @Override
+    int size()
+    {
+        return size;
+    }
+
+    @Override
+    int depth()
+    {
+        return 0;
+    }
+
+    @Override
+    T get(int index)
+    {
+        checkIndex(index, size);
+        return getValue(values, index);
+    }
+
+    @Nonnull
+    @Override
+    AbstractNode<T> append(T value)
+    {
+        return insert(size, value);
+    }
+
+    @Nonnull
+    @Override
+    AbstractNode<T> append(@Nonnull AbstractNode<T> node)
+    {
+        if (node.isEmpty()) {
+            return this;
+        } else if (node.depth() > 0) {
+            return node.prepend(this);
+        } else {
+            final int combinedSize = size + node.size();
+            if (combinedSize <= MAX_SIZE) {
+                return joinLeaves(node, combinedSize);
+            } else {
+                return new BranchNode<>(this, node, combinedSize);
+            }
+        }
+    }
+
+    @Nonnull
+    @Override
+    AbstractNode<T> prepend(T value)
+    {
+        return insert(0, value);
+    }
+
+    @Nonnull
+    @Override
+    AbstractNode<T> prepend(@Nonnull AbstractNode<T> node)
+    {
+        if (node.isEmpty()) {
+            return this;
+        } else if (node.depth() > 0) {
+            return node.append(this);
+        } else {
+            final int combinedSize = size + node.size();
+            if (combinedSize <= MAX_SIZE) {
+                return node.joinLeaves(this, combinedSize);
+            } else {
+                return new BranchNode<>(node, this, combinedSize);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    AbstractNode<T> joinLeaves(@Nonnull AbstractNode<T> right,
+                               int size)
+    {
+        final PrimitiveValueNode<T, A> other = (PrimitiveValueNode<T, A>)right;
+        assert size == this.size + other.size;
+        final A answer = allocate(size);
+        System.arraycopy(values, 0, answer, 0, this.size);
+        System.arraycopy(other.values, 0, answer, this.size, other.size);
+        return create(answer);
+    }
+
+    @Nonnull
+    @Override
+    AbstractNode<T> assign(int index,
+                           T value)
+    {
+        checkIndex(index, size);
+        final A answer = copy(values, 0, size);
+        setValue(answer, index, value);
+        return create(answer);
+    }
+
+    @Nonnull
+    @Override
+    AbstractNode<T> insert(int index,
+                           T value)
+    {
+        checkIndex(index, size + 1);
+        final A answer = allocate(size + 1);
+        System.arraycopy(values, 0, answer, 0, index);
+        setValue(answer, index, value);
+        System.arraycopy(values, index, answer, index + 1, size - index);
+        if (size < MAX_SIZE) {
+            return create(answer);
+        } else {
+            return new BranchNode<>(create(copy(answer, 0, SPLIT_SIZE)), create(copy(answer, SPLIT_SIZE, size + 1)));
+        }
+    }
+
+    @Nonnull
+    @Override
+    AbstractNode<T> delete(int index)
+    {
+        checkIndex(index, size);
+        if (size == 1) {
+            return EmptyNode.instance();
+        }
+        final A answer = allocate(size - 1);
+        System.arraycopy(values, 0, answer, 0, index);
+        System.arraycopy(values, index + 1, answer, index, size - index - 1);
+        return create(answer);
+    }
+
+    @Nonnull
+    @Override
+    AbstractNode<T> deleteFirst()
+    {
+        return delete(0);
+    }
+
+    @Nonnull
+    @Override
+    AbstractNode<T> deleteLast()
+    {
+        return delete(size - 1);
+    }
+
+    @Nonnull
+    @Override
+    AbstractNode<T> prefix(int limit)
+    {
+        checkIndex(limit, size + 1);
+        if (limit == 0) {
+            return EmptyNode.instance();
+        } else if (limit == size) {
+            return this;
+        } else {
+            return create(copy(values, 0, limit));
+        }
+    }
+
+    @Nonnull
+    @Override
+    AbstractNode<T> suffix(int offset)
+    {
+        checkIndex(offset, size + 1);
+        if (offset == 0) {
+            return this;
+        } else if (offset == size) {
+            return EmptyNode.instance();
+        } else {
+            return create(copy(values, offset, size));
+        }
+    }
+
+    @Override
+    void copyTo(T[] array,
+                int offset)
+    {
+        for (int i = 0; i < size; ++i) {
+            array[offset + i] = getValue(values, i);
+        }
+    }
+
+    @Override
+    void copyRange(int from,
+                   int to,
+                   @Nonnull Object[] dest,
+                   int destOffset)
+    {
+        for (int i = from; i < to; ++i) {
+            dest[destOffset++] = getValue(values, i);
+        }
+    }
+
+    /**
+     * Values are stored unboxed so each leaf is boxed into buffer.
+     */
+    @Override
+    void forEachChunk(@Nonnull Object[] buffer,
+                      @Nonnull ArrayChunkConsumer consumer)
+    {
+        copyRange(0, size, buffer, 0);
+        consumer.accept(buffer, 0, size);
+    }
+
+    @Nullable
+    @Override
+    public GenericIterator.State<T> iterateOverRange(@Nullable GenericIterator.State<T> parent,
+                                                     int offset,
+                                                     int limit)
+    {
+        return GenericIterator.multiValueState(parent, new Indexed<T>()
+        {
+            @Override
+            public T get(int index)
+            {
+                return getValue(values, index);
+            }
+
+            @Override
+            public int size()
+            {
+                return size;
+            }
+        }, offset, limit);
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action)
+    {
+        for (int i = 0; i < size; ++i) {
+            action.accept(getValue(values, i));
+        }
+    }
+
+    @Override
+    public <E extends Exception> void forEachThrows(@Nonnull Proc1Throws<T, E> proc)
+        throws E
+    {
+        for (int i = 0; i < size; ++i) {
+            proc.apply(getValue(values, i));
+        }
+    }
+
+    @Override
+    public <V> V reduce(V initialValue,
+                        Func2<V, T, V> accumulator)
+    {
+        for (int i = 0; i < size; ++i) {
+            initialValue = accumulator.apply(initialValue, getValue(values, i));
+        }
+        return initialValue;
+    }
+
+    @Override
+    public <V, E extends Exception> V reduceThrows(V initialValue,
+                                                   Sum1Throws<T, V, E> accumulator)
+        throws E
+    {
+        for (int i = 0; i < size; ++i) {
+            initialValue = accumulator.apply(initialValue, getValue(values, i));
+        }
+        return initialValue;
+    }
+
+    @Override
+    public void checkInvariants()
+    {
+        if (size < 1 || size > MAX_SIZE) {
+            throw new RuntimeException(String.format("incorrect size: currentSize=%d", size));
+        }
+    }
+
+    @Override
+    void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                           int depth)
+    {
+        stats.addNode(this, depth, 0, StructureStatistics.objectBytes(1, 1) + StructureStatistics.primitiveArrayBytes(size, elementBytes()));
+    }
+
+    @Nonnull
+    private A copy(@Nonnull A source,
+                   int offset,
+                   int limit)
+    {
+        final A answer = allocate(limit - offset);
+        System.arraycopy(source, offset, answer, 0, limit - offset);
+        return answer;
+    }
+
+    private static void checkIndex(int index,
+                                   int limit)
+    {
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException();
+        }
+    }
+
+    /**
+     * Visits the leaves of a tree built from leaves of a single derived class in order
+     * and returns each leaf's array.  Keeps a stack of the branches still to be visited
+     * so it never holds more nodes than the depth of the tree.
+     */
+    static class LeafIterator<T, A>
+    {
+        private final List<AbstractNode<T>> stack = new ArrayList<>();
+
+        LeafIterator(@Nonnull AbstractNode<T> root)
+        {
+            if (!root.isEmpty()) {
+                stack.add(root);
+            }
+        }
+
+        boolean hasNext()
+        {
+            return !stack.isEmpty();
+        }
+
+        @Nonnull
+        A next()
+        {
+            return nextLeaf().values;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Nonnull
+        PrimitiveValueNode<T, A> nextLeaf()
+        {
+            if (stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            AbstractNode<T> node = stack.remove(stack.size() - 1);
+            while (node.depth() > 0) {
+                stack.add(node.right());
+                node = node.left();
+            }
+            return (PrimitiveValueNode<T, A>)node;
+        }
+    }
+}
@@ -35,8 +35,11 @@
 
 package org.javimmutable.collections.tree;
 
+import org.javimmutable.collections.Func0;
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.JImmutableMap.Entry;
 import org.javimmutable.collections.Proc2;
 import org.javimmutable.collections.Proc2Throws;
@@ -44,12 +47,17 @@ import org.javimmutable.collections.SplitableIterable;
 import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
 import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.common.ForkJoinHelper;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 import org.javimmutable.collections.iterators.IteratorHelper;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
 
 abstract class AbstractNode<K, V>
     implements SplitableIterable<Entry<K, V>>,
@@ -72,6 +80,16 @@ abstract class AbstractNode<K, V>
 
     abstract int size();
 
+    /**
+     * Sum of the hash codes of every entry in this tree as defined by Map.Entry.hashCode().
+     */
+    abstract int entriesHashCode();
+
+    /**
+     * Sum of the hash codes of every key in this tree as defined by Set.hashCode().
+     */
+    abstract int keysHashCode();
+
     @Nonnull
     abstract AbstractNode<K, V> assign(@Nonnull Comparator<K> comp,
                                        @Nonnull K key,
@@ -92,6 +110,15 @@ abstract class AbstractNode<K, V>
     @Nonnull
     abstract DeleteResult<K, V> deleteRightmost();
 
+    /**
+     * Divides this tree into a tree containing all keys less than key and a tree containing
+     * all keys greater than key.  The node holding key itself, if any, is returned as the
+     * match.  Takes time proportional to the depth of the tree.
+     */
+    @Nonnull
+    abstract SplitResult<K, V> split(@Nonnull Comparator<K> comp,
+                                     @Nonnull K key);
+
     abstract int depth();
 
     @Nonnull
@@ -108,6 +135,12 @@ abstract class AbstractNode<K, V>
 
     abstract void checkInvariants(@Nonnull Comparator<K> comp);
 
+    /**
+     * Records this node and all of its descendants in stats.  The node is at depth.
+     */
+    abstract void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                                    int depth);
+
     @Override
     public int hashCode()
     {
@@ -128,10 +161,466 @@ abstract class AbstractNode<K, V>
     abstract <R> R reduce(R sum,
                           @Nonnull Sum2<K, V, R> proc);
 
+    /**
+     * Same as reduce() but large subtrees reduce their children as separate tasks whose
+     * results are merged in key order using combiner.  Must be called by a reduction passed
+     * to ForkJoinHelper.invoke().
+     */
+    <R> R parallelReduce(R identity,
+                         @Nonnull Sum2<K, V, R> accumulator,
+                         @Nonnull Func2<R, R, R> combiner)
+    {
+        return reduce(identity, accumulator);
+    }
+
     abstract <R, E extends Exception> R reduceThrows(R sum,
                                                      @Nonnull Sum2Throws<K, V, R, E> proc)
         throws E;
 
+    /**
+     * Returns the node holding the greatest key that is less than key, or equal to it
+     * if inclusive is true, or null if there is no such key.
+     */
+    @Nullable
+    AbstractNode<K, V> floorNode(@Nonnull Comparator<K> comp,
+                                 @Nonnull K key,
+                                 boolean inclusive)
+    {
+        AbstractNode<K, V> answer = null;
+        AbstractNode<K, V> node = this;
+        while (!node.isEmpty()) {
+            final int diff = comp.compare(key, node.key());
+            if (diff == 0 && inclusive) {
+                return node;
+            } else if (diff <= 0) {
+                node = node.left();
+            } else {
+                answer = node;
+                node = node.right();
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Returns the node holding the least key that is greater than key, or equal to it
+     * if inclusive is true, or null if there is no such key.
+     */
+    @Nullable
+    AbstractNode<K, V> ceilingNode(@Nonnull Comparator<K> comp,
+                                   @Nonnull K key,
+                                   boolean inclusive)
+    {
+        AbstractNode<K, V> answer = null;
+        AbstractNode<K, V> node = this;
+        while (!node.isEmpty()) {
+            final int diff = comp.compare(key, node.key());
+            if (diff == 0 && inclusive) {
+                return node;
+            } else if (diff >= 0) {
+                node = node.right();
+            } else {
+                answer = node;
+                node = node.left();
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Returns the number of keys in this tree that are less than key.  This is also the
+     * position key has or would have in the iteration order of the tree.
+     */
+    int rank(@Nonnull Comparator<K> comp,
+             @Nonnull K key)
+    {
+        int answer = 0;
+        AbstractNode<K, V> node = this;
+        while (!node.isEmpty()) {
+            if (comp.compare(key, node.key()) <= 0) {
+                node = node.left();
+            } else {
+                answer += node.left().size() + 1;
+                node = node.right();
+            }
+        }
+        return answer;
+    }
+
+    /**
+     * Returns the node holding the key at position index in the iteration order of this tree.
+     * Caller must ensure that index is within bounds.
+     */
+    @Nonnull
+    AbstractNode<K, V> nodeAt(int index)
+    {
+        AbstractNode<K, V> node = this;
+        while (true) {
+            final int leftSize = node.left().size();
+            if (index < leftSize) {
+                node = node.left();
+            } else if (index > leftSize) {
+                index -= leftSize + 1;
+                node = node.right();
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Returns the position of key in the iteration order of this tree or -1 if key is not in the tree.
+     */
+    int indexOf(@Nonnull Comparator<K> comp,
+                @Nonnull K key)
+    {
+        int answer = 0;
+        AbstractNode<K, V> node = this;
+        while (!node.isEmpty()) {
+            final int diff = comp.compare(key, node.key());
+            if (diff < 0) {
+                node = node.left();
+            } else if (diff > 0) {
+                answer += node.left().size() + 1;
+                node = node.right();
+            } else {
+                return answer + node.left().size();
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a tree containing the entries of this tree at positions fromIndex (inclusive)
+     * through toIndex (exclusive).  Caller must ensure that the indexes are within bounds.
+     */
+    @Nonnull
+    AbstractNode<K, V> slice(@Nonnull Comparator<K> comp,
+                             int fromIndex,
+                             int toIndex)
+    {
+        if (fromIndex >= toIndex) {
+            return FringeNode.instance();
+        }
+        AbstractNode<K, V> answer = this;
+        if (toIndex < size()) {
+            answer = answer.head(comp, nodeAt(toIndex).key());
+        }
+        if (fromIndex > 0) {
+            answer = answer.tail(comp, nodeAt(fromIndex).key());
+        }
+        return answer;
+    }
+
+    /**
+     * Returns a tree containing the entries of this tree with keys less than toKey.
+     */
+    @Nonnull
+    AbstractNode<K, V> head(@Nonnull Comparator<K> comp,
+                            @Nonnull K toKey)
+    {
+        return split(comp, toKey).left;
+    }
+
+    /**
+     * Returns a tree containing the entries of this tree with keys greater than or equal to fromKey.
+     */
+    @Nonnull
+    AbstractNode<K, V> tail(@Nonnull Comparator<K> comp,
+                            @Nonnull K fromKey)
+    {
+        final SplitResult<K, V> split = split(comp, fromKey);
+        if (split.match == null) {
+            return split.right;
+        } else {
+            return ValueNode.join(FringeNode.instance(), split.match.key(), split.match.value(), split.right);
+        }
+    }
+
+    /**
+     * Returns a tree containing the entries of this tree and other.  Where both contain a key
+     * the key from this tree is kept with the value from other.  Other is split around the root
+     * of this tree, its halves are merged into the children of the root and the results are
+     * joined.  This takes time proportional to m log(n/m + 1) for trees of sizes m and n,
+     * reuses every subtree of this tree that is left unchanged and merges the halves of large
+     * trees as separate tasks.  Must be called by a reduction passed to ForkJoinHelper.invoke().
+     */
+    @Nonnull
+    AbstractNode<K, V> union(@Nonnull Comparator<K> comp,
+                             @Nonnull AbstractNode<K, V> other)
+    {
+        if (other.isEmpty()) {
+            return this;
+        } else if (isEmpty()) {
+            return other;
+        }
+        final SplitResult<K, V> split = other.split(comp, key());
+        final List<AbstractNode<K, V>> children = mergeChildren(other.size(),
+                                                                () -> left().union(comp, split.left),
+                                                                () -> right().union(comp, split.right));
+        final V value = (split.match == null) ? value() : split.match.value();
+        return joinChildren(children, key(), value);
+    }
+
+    /**
+     * Returns a tree containing the entries of this tree whose keys are also in other.
+     * Works like union() and has the same requirements.
+     */
+    @Nonnull
+    <U> AbstractNode<K, V> intersection(@Nonnull Comparator<K> comp,
+                                        @Nonnull AbstractNode<K, U> other)
+    {
+        if (isEmpty()) {
+            return this;
+        } else if (other.isEmpty()) {
+            return FringeNode.instance();
+        }
+        final SplitResult<K, U> split = other.split(comp, key());
+        final List<AbstractNode<K, V>> children = mergeChildren(other.size(),
+                                                                () -> left().intersection(comp, split.left),
+                                                                () -> right().intersection(comp, split.right));
+        if (split.match == null) {
+            return ValueNode.concat(children.get(0), children.get(1));
+        } else {
+            return joinChildren(children, key(), value());
+        }
+    }
+
+    /**
+     * Returns a tree containing the entries of this tree whose keys are not in other.
+     * Works like union() and has the same requirements.
+     */
+    @Nonnull
+    <U> AbstractNode<K, V> difference(@Nonnull Comparator<K> comp,
+                                      @Nonnull AbstractNode<K, U> other)
+    {
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+        final SplitResult<K, U> split = other.split(comp, key());
+        final List<AbstractNode<K, V>> children = mergeChildren(other.size(),
+                                                                () -> left().difference(comp, split.left),
+                                                                () -> right().difference(comp, split.right));
+        if (split.match == null) {
+            return joinChildren(children, key(), value());
+        } else {
+            return ValueNode.concat(children.get(0), children.get(1));
+        }
+    }
+
+    /**
+     * Computes the new left and right children of a set operation.  They are computed as
+     * separate tasks when enough entries are involved to make that worthwhile.
+     */
+    @Nonnull
+    private List<AbstractNode<K, V>> mergeChildren(int otherSize,
+                                                   @Nonnull Func0<AbstractNode<K, V>> left,
+                                                   @Nonnull Func0<AbstractNode<K, V>> right)
+    {
+        if (size() + otherSize <= ForkJoinHelper.SEQUENTIAL_THRESHOLD) {
+            return Arrays.asList(left.apply(), right.apply());
+        } else {
+            return ForkJoinHelper.invokeAll(Arrays.asList(left, right));
+        }
+    }
+
+    /**
+     * Joins the children produced by a set operation with an entry, reusing this
+     * node if nothing has changed.
+     */
+    @Nonnull
+    private AbstractNode<K, V> joinChildren(@Nonnull List<AbstractNode<K, V>> children,
+                                            @Nonnull K key,
+                                            @Nullable V value)
+    {
+        final AbstractNode<K, V> newLeft = children.get(0);
+        final AbstractNode<K, V> newRight = children.get(1);
+        if (newLeft == left() && newRight == right() && key == key() && value == value()) {
+            return this;
+        } else {
+            return ValueNode.join(newLeft, key, value, newRight);
+        }
+    }
+
+    /**
+     * Reports every difference between this tree and newer to the visitor.  Both trees are
+     * walked in key order at the same time and any subtree that appears at the front of both
+     * walks is skipped without being visited.  For trees derived from one another by a series
+     * of updates the number of nodes visited is roughly proportional to the number of changes.
+     */
+    void diff(@Nonnull Comparator<K> comp,
+              @Nonnull AbstractNode<K, V> newer,
+              @Nonnull JImmutableMap.DiffVisitor<K, V> visitor)
+    {
+        final DiffCursor<K, V> a = new DiffCursor<>(this);
+        final DiffCursor<K, V> b = new DiffCursor<>(newer);
+        while (a.isNonEmpty() && b.isNonEmpty()) {
+            final AbstractNode<K, V> aNode = a.node();
+            final AbstractNode<K, V> bNode = b.node();
+            if (a.isEntry() && b.isEntry()) {
+                final int diff = comp.compare(aNode.key(), bNode.key());
+                if (diff < 0) {
+                    visitor.removed(aNode.key(), aNode.value());
+                    a.pop();
+                } else if (diff > 0) {
+                    visitor.added(bNode.key(), bNode.value());
+                    b.pop();
+                } else {
+                    if (!Objects.equals(aNode.value(), bNode.value())) {
+                        visitor.changed(aNode.key(), aNode.value(), bNode.value());
+                    }
+                    a.pop();
+                    b.pop();
+                }
+            } else if (aNode == bNode && !a.isEntry() && !b.isEntry()) {
+                a.pop();
+                b.pop();
+            } else if (b.isEntry() || (!a.isEntry() && aNode.depth() >= bNode.depth())) {
+                a.expand();
+            } else {
+                b.expand();
+            }
+        }
+        a.forEachRemaining(visitor::removed);
+        b.forEachRemaining(visitor::added);
+    }
+
+    /**
+     * Returns true if this tree and other contain equal entries.  Both trees are walked in
+     * key order at the same time as in diff() so subtrees shared by both are skipped.  The
+     * walk stops at the first difference and any pair of subtrees holding the same number
+     * of entries at the front of both walks must also have the same entry hash sum.
+     */
+    boolean isEqualTo(@Nonnull Comparator<K> comp,
+                      @Nonnull AbstractNode<K, V> other)
+    {
+        if (other == this) {
+            return true;
+        } else if (size() != other.size() || entriesHashCode() != other.entriesHashCode()) {
+            return false;
+        }
+        final DiffCursor<K, V> a = new DiffCursor<>(this);
+        final DiffCursor<K, V> b = new DiffCursor<>(other);
+        while (a.isNonEmpty() && b.isNonEmpty()) {
+            final AbstractNode<K, V> aNode = a.node();
+            final AbstractNode<K, V> bNode = b.node();
+            if (a.isEntry() && b.isEntry()) {
+                if (comp.compare(aNode.key(), bNode.key()) != 0 || !Objects.equals(aNode.value(), bNode.value())) {
+                    return false;
+                }
+                a.pop();
+                b.pop();
+            } else if (!a.isEntry() && !b.isEntry() && aNode.size() == bNode.size()) {
+                if (aNode == bNode) {
+                    a.pop();
+                    b.pop();
+                } else if (aNode.entriesHashCode() != bNode.entriesHashCode()) {
+                    return false;
+                } else if (aNode.depth() >= bNode.depth()) {
+                    a.expand();
+                } else {
+                    b.expand();
+                }
+            } else if (b.isEntry() || (!a.isEntry() && aNode.depth() >= bNode.depth())) {
+                a.expand();
+            } else {
+                b.expand();
+            }
+        }
+        return a.isNonEmpty() == b.isNonEmpty();
+    }
+
+    /**
+     * Stack of subtrees and single entries still to be visited in key order by diff() and isEqualTo().
+     * Each ancestor of the top contributes at most a right subtree and an entry so the
+     * stack never holds more than two items per level of the tree.
+     */
+    private static class DiffCursor<K, V>
+    {
+        private final AbstractNode<K, V>[] nodes;
+        private final boolean[] entries;
+        private int size;
+
+        @SuppressWarnings("unchecked")
+        private DiffCursor(@Nonnull AbstractNode<K, V> root)
+        {
+            final int capacity = 2 * root.depth() + 1;
+            nodes = (AbstractNode<K, V>[])new AbstractNode[capacity];
+            entries = new boolean[capacity];
+            push(root, false);
+        }
+
+        private boolean isNonEmpty()
+        {
+            return size > 0;
+        }
+
+        private AbstractNode<K, V> node()
+        {
+            return nodes[size - 1];
+        }
+
+        private boolean isEntry()
+        {
+            return entries[size - 1];
+        }
+
+        private void pop()
+        {
+            size -= 1;
+            nodes[size] = null;
+        }
+
+        private void expand()
+        {
+            final AbstractNode<K, V> node = node();
+            pop();
+            push(node.right(), false);
+            push(node, true);
+            push(node.left(), false);
+        }
+
+        private void push(@Nonnull AbstractNode<K, V> node,
+                          boolean entry)
+        {
+            if (entry || !node.isEmpty()) {
+                nodes[size] = node;
+                entries[size] = entry;
+                size += 1;
+            }
+        }
+
+        private void forEachRemaining(@Nonnull Proc2<K, V> proc)
+        {
+            while (size > 0) {
+                final AbstractNode<K, V> node = node();
+                if (isEntry()) {
+                    proc.apply(node.key(), node.value());
+                } else {
+                    node.forEach(proc);
+                }
+                pop();
+            }
+        }
+    }
+
+    static class SplitResult<K, V>
+    {
+        final AbstractNode<K, V> left;
+        @Nullable
+        final AbstractNode<K, V> match;
+        final AbstractNode<K, V> right;
+
+        SplitResult(@Nonnull AbstractNode<K, V> left,
+                    @Nullable AbstractNode<K, V> match,
+                    @Nonnull AbstractNode<K, V> right)
+        {
+            this.left = left;
+            this.match = match;
+            this.right = right;
+        }
+    }
+
     static class DeleteResult<K, V>
     {
         final K key;
@@ -0,0 +1,147 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.tree;
+
+import org.javimmutable.collections.JImmutableMap.Entry;
+import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.SplitIterator;
+import org.javimmutable.collections.iterators.AbstractSplitableIterator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.concurrent.ThreadSafe;
+import java.util.NoSuchElementException;
+
+/**
+ * Visits the entries of a tree at positions offset (inclusive) through limit (exclusive)
+ * in descending key order.  The path to the starting entry is located in time proportional
+ * to log(n) and kept on a stack no deeper than the tree so no entries are copied.
+ */
+@ThreadSafe
+class DescendingIterator<K, V>
+    extends AbstractSplitableIterator<Entry<K, V>>
+{
+    private static final int MIN_SIZE_FOR_SPLIT = 32;
+
+    private final AbstractNode<K, V> root;
+    private final int offset;
+    private int limit;
+    private AbstractNode<K, V>[] stack;
+    private int stackSize;
+
+    DescendingIterator(@Nonnull AbstractNode<K, V> root,
+                       int offset,
+                       int limit)
+    {
+        assert 0 <= offset && offset <= limit && limit <= root.size();
+        this.root = root;
+        this.offset = offset;
+        this.limit = limit;
+    }
+
+    @Override
+    public synchronized boolean hasNext()
+    {
+        return limit > offset;
+    }
+
+    @Override
+    public synchronized Entry<K, V> next()
+    {
+        if (limit <= offset) {
+            throw new NoSuchElementException();
+        }
+        if (stack == null) {
+            seek();
+        }
+        final AbstractNode<K, V> node = stack[--stackSize];
+        pushRightSpine(node.left());
+        limit -= 1;
+        return MapEntry.of(node.key(), node.value());
+    }
+
+    @Override
+    public synchronized boolean isSplitAllowed()
+    {
+        return (limit - offset) >= MIN_SIZE_FOR_SPLIT;
+    }
+
+    @Nonnull
+    @Override
+    public synchronized SplitIterator<Entry<K, V>> splitIterator()
+    {
+        if (!isSplitAllowed()) {
+            throw new UnsupportedOperationException();
+        }
+        final int splitIndex = offset + (limit - offset) / 2;
+        return new SplitIterator<>(new DescendingIterator<>(root, splitIndex, limit),
+                                   new DescendingIterator<>(root, offset, splitIndex));
+    }
+
+    /**
+     * Fills the stack with the nodes that precede position limit in the tree so that the
+     * top of the stack holds the entry at position limit - 1.
+     */
+    @SuppressWarnings("unchecked")
+    private void seek()
+    {
+        stack = new AbstractNode[root.depth()];
+        stackSize = 0;
+        AbstractNode<K, V> node = root;
+        int index = limit - 1;
+        while (true) {
+            final int leftSize = node.left().size();
+            if (index < leftSize) {
+                node = node.left();
+            } else {
+                stack[stackSize++] = node;
+                if (index == leftSize) {
+                    return;
+                }
+                index -= leftSize + 1;
+                node = node.right();
+            }
+        }
+    }
+
+    private void pushRightSpine(@Nonnull AbstractNode<K, V> node)
+    {
+        while (!node.isEmpty()) {
+            stack[stackSize++] = node;
+            node = node.right();
+        }
+    }
+}
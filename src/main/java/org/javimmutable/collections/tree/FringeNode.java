@@ -43,6 +43,7 @@ import org.javimmutable.collections.Proc2;
 import org.javimmutable.collections.Proc2Throws;
 import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
@@ -111,6 +112,14 @@ class FringeNode<K, V>
         throw new UnsupportedOperationException();
     }
 
+    @Nonnull
+    @Override
+    SplitResult<K, V> split(@Nonnull Comparator<K> comp,
+                            @Nonnull K key)
+    {
+        return new SplitResult<>(this, null, this);
+    }
+
     @Nullable
     @Override
     public V get(@Nonnull Comparator<K> comp,
@@ -154,6 +163,18 @@ class FringeNode<K, V>
         return 0;
     }
 
+    @Override
+    int entriesHashCode()
+    {
+        return 0;
+    }
+
+    @Override
+    int keysHashCode()
+    {
+        return 0;
+    }
+
     @Nonnull
     @Override
     K key()
@@ -228,4 +249,10 @@ class FringeNode<K, V>
     public void checkInvariants(@Nonnull Comparator<K> comp)
     {
     }
+
+    @Override
+    void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                           int depth)
+    {
+    }
 }
@@ -36,8 +36,12 @@
 package org.javimmutable.collections.tree;
 
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.Holders;
+import org.javimmutable.collections.IterableStreamable;
 import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.MapEntry;
 import org.javimmutable.collections.Proc2;
 import org.javimmutable.collections.Proc2Throws;
 import org.javimmutable.collections.SplitableIterator;
@@ -45,10 +49,14 @@ import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
 import org.javimmutable.collections.common.AbstractJImmutableMap;
 import org.javimmutable.collections.common.Conditions;
+import org.javimmutable.collections.common.ForkJoinHelper;
 import org.javimmutable.collections.common.StreamConstants;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.iterators.GenericIterator;
 import org.javimmutable.collections.serialization.JImmutableTreeMapProxy;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.Serializable;
 import java.util.Comparator;
@@ -124,6 +132,21 @@ public class JImmutableTreeMap<K, V>
                                                                              Collector.Characteristics.CONCURRENT);
     }
 
+    /**
+     * When newer is also a JImmutableTreeMap using the same Comparator the two trees are
+     * compared node by node and subtrees shared by both maps are skipped.
+     */
+    @Override
+    public void diff(@Nonnull JImmutableMap<K, V> newer,
+                     @Nonnull DiffVisitor<K, V> visitor)
+    {
+        if (newer instanceof JImmutableTreeMap && comparator.equals(((JImmutableTreeMap<K, V>)newer).comparator)) {
+            root.diff(comparator, ((JImmutableTreeMap<K, V>)newer).root, visitor);
+        } else {
+            super.diff(newer, visitor);
+        }
+    }
+
     @Override
     public V getValueOr(K key,
                         V defaultValue)
@@ -179,12 +202,304 @@ public class JImmutableTreeMap<K, V>
         }
     }
 
+    /**
+     * Returns the entry with the greatest key less than or equal to key or an empty Holder
+     * if there is none.
+     */
+    @Nonnull
+    public Holder<Entry<K, V>> floorEntry(@Nonnull K key)
+    {
+        Conditions.stopNull(key);
+        return entryHolder(root.floorNode(comparator, key, true));
+    }
+
+    /**
+     * Returns the entry with the least key greater than or equal to key or an empty Holder
+     * if there is none.
+     */
+    @Nonnull
+    public Holder<Entry<K, V>> ceilingEntry(@Nonnull K key)
+    {
+        Conditions.stopNull(key);
+        return entryHolder(root.ceilingNode(comparator, key, true));
+    }
+
+    /**
+     * Returns the entry with the greatest key strictly less than key or an empty Holder
+     * if there is none.
+     */
+    @Nonnull
+    public Holder<Entry<K, V>> lowerEntry(@Nonnull K key)
+    {
+        Conditions.stopNull(key);
+        return entryHolder(root.floorNode(comparator, key, false));
+    }
+
+    /**
+     * Returns the entry with the least key strictly greater than key or an empty Holder
+     * if there is none.
+     */
+    @Nonnull
+    public Holder<Entry<K, V>> higherEntry(@Nonnull K key)
+    {
+        Conditions.stopNull(key);
+        return entryHolder(root.ceilingNode(comparator, key, false));
+    }
+
+    /**
+     * Returns a map containing the entries of this map whose keys are less than toKey.
+     * The map is built by splitting the tree so it takes time proportional to log(n)
+     * and shares most of its nodes with this map.
+     */
+    @Nonnull
+    public JImmutableTreeMap<K, V> headMap(@Nonnull K toKey)
+    {
+        Conditions.stopNull(toKey);
+        return create(root.head(comparator, toKey));
+    }
+
+    /**
+     * Returns a map containing the entries of this map whose keys are greater than or equal
+     * to fromKey.  Built in the same way as headMap().
+     */
+    @Nonnull
+    public JImmutableTreeMap<K, V> tailMap(@Nonnull K fromKey)
+    {
+        Conditions.stopNull(fromKey);
+        return create(root.tail(comparator, fromKey));
+    }
+
+    /**
+     * Returns a map containing the entries of this map whose keys are greater than or equal
+     * to fromKey and less than toKey.  Built in the same way as headMap().
+     *
+     * @throws IllegalArgumentException if fromKey is greater than toKey
+     */
+    @Nonnull
+    public JImmutableTreeMap<K, V> subMap(@Nonnull K fromKey,
+                                          @Nonnull K toKey)
+    {
+        return retainRange(fromKey, toKey);
+    }
+
+    /**
+     * Returns a map containing only the entries of this map whose keys are greater than or
+     * equal to fromKey and less than toKey.  The tree is split at both keys rather than deleting
+     * the other keys one at a time so the cost is proportional to log(n) no matter how many
+     * entries are removed.
+     *
+     * @throws IllegalArgumentException if fromKey is greater than toKey
+     */
+    @Nonnull
+    public JImmutableTreeMap<K, V> retainRange(@Nonnull K fromKey,
+                                               @Nonnull K toKey)
+    {
+        checkRange(fromKey, toKey);
+        if (root.rank(comparator, fromKey) == 0 && root.rank(comparator, toKey) == root.size()) {
+            return this;
+        }
+        return create(root.tail(comparator, fromKey).head(comparator, toKey));
+    }
+
+    /**
+     * Returns a map containing the entries of this map except those whose keys are greater
+     * than or equal to fromKey and less than toKey.  The entries on either side of the range
+     * are split off and joined back together so the cost is proportional to log(n) no matter
+     * how many entries are removed.
+     *
+     * @throws IllegalArgumentException if fromKey is greater than toKey
+     */
+    @Nonnull
+    public JImmutableTreeMap<K, V> deleteRange(@Nonnull K fromKey,
+                                               @Nonnull K toKey)
+    {
+        checkRange(fromKey, toKey);
+        if (root.rank(comparator, fromKey) == root.rank(comparator, toKey)) {
+            return this;
+        }
+        return create(ValueNode.concat(root.head(comparator, fromKey), root.tail(comparator, toKey)));
+    }
+
+    /**
+     * Returns a view of the entries of this map whose keys are greater than or equal to
+     * fromKey and less than toKey in key order.  Nothing is copied.  Both ends of the range
+     * are located in time proportional to log(n) and the entries are visited lazily
+     * as the view is iterated.
+     *
+     * @throws IllegalArgumentException if fromKey is greater than toKey
+     */
+    @Nonnull
+    public IterableStreamable<Entry<K, V>> entries(@Nonnull K fromKey,
+                                                   @Nonnull K toKey)
+    {
+        checkRange(fromKey, toKey);
+        return entriesView(root, root.rank(comparator, fromKey), root.rank(comparator, toKey), false);
+    }
+
+    /**
+     * Returns a view of the entries of this map whose keys are greater than or equal to
+     * fromKey in key order.  Iteration starts at fromKey without visiting any of the entries
+     * before it.
+     */
+    @Nonnull
+    public IterableStreamable<Entry<K, V>> tailEntries(@Nonnull K fromKey)
+    {
+        Conditions.stopNull(fromKey);
+        return entriesView(root, root.rank(comparator, fromKey), root.size(), false);
+    }
+
+    /**
+     * Returns a view of all entries of this map in descending key order.
+     */
+    @Nonnull
+    public IterableStreamable<Entry<K, V>> descendingEntries()
+    {
+        return entriesView(root, 0, root.size(), true);
+    }
+
+    /**
+     * Returns a view of the entries of this map whose keys are less than toKey in
+     * descending key order.  Iteration starts at the greatest key before toKey in time
+     * proportional to log(n) so taking the first few entries does not scan the map.
+     */
+    @Nonnull
+    public IterableStreamable<Entry<K, V>> descendingEntries(@Nonnull K toKey)
+    {
+        Conditions.stopNull(toKey);
+        return entriesView(root, 0, root.rank(comparator, toKey), true);
+    }
+
+    /**
+     * Returns the entry at position index in key order.  Uses the size stored in each
+     * tree node so it takes time proportional to log(n).
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    @Nonnull
+    public Entry<K, V> getEntryAt(int index)
+    {
+        if ((index < 0) || (index >= root.size())) {
+            throw new IndexOutOfBoundsException();
+        }
+        final AbstractNode<K, V> node = root.nodeAt(index);
+        return MapEntry.of(node.key(), node.value());
+    }
+
+    /**
+     * Returns the position of key in key order (i.e. the number of keys in the map that are
+     * less than key) or -1 if key is not in the map.
+     */
+    public int indexOf(@Nonnull K key)
+    {
+        Conditions.stopNull(key);
+        return root.indexOf(comparator, key);
+    }
+
+    /**
+     * Returns a map containing the entries at positions fromIndex (inclusive) through
+     * toIndex (exclusive) in key order.  Built by splitting the tree in the same way as subMap().
+     *
+     * @throws IndexOutOfBoundsException if either index is out of bounds or fromIndex is greater than toIndex
+     */
+    @Nonnull
+    public JImmutableTreeMap<K, V> slice(int fromIndex,
+                                         int toIndex)
+    {
+        if ((fromIndex < 0) || (toIndex > root.size()) || (fromIndex > toIndex)) {
+            throw new IndexOutOfBoundsException();
+        }
+        return create(root.slice(comparator, fromIndex, toIndex));
+    }
+
+    /**
+     * When map is also a JImmutableTreeMap using the same Comparator the trees are merged
+     * by splitting and joining subtrees rather than assigning each entry.  This takes time
+     * proportional to m log(n/m + 1) for maps of sizes m and n and large maps are merged
+     * in parallel.  Keys present in both maps keep the key object from this map.
+     */
+    @SuppressWarnings("unchecked")
+    @Nonnull
+    @Override
+    public JImmutableMap<K, V> assignAll(@Nonnull JImmutableMap<? extends K, ? extends V> map)
+    {
+        if (isCompatible(map)) {
+            final AbstractNode<K, V> other = ((JImmutableTreeMap<K, V>)map).root;
+            return create(ForkJoinHelper.invoke(() -> root.union(comparator, other)));
+        } else {
+            return super.assignAll(map);
+        }
+    }
+
+    /**
+     * Returns a map containing only the entries of this map whose keys are also in other.
+     * When other uses the same Comparator this is done by splitting and joining subtrees
+     * as in assignAll().  Otherwise every key of this map is looked up in other.
+     */
+    @Nonnull
+    public JImmutableTreeMap<K, V> retainKeys(@Nonnull JImmutableTreeMap<K, ?> other)
+    {
+        if (isCompatible(other)) {
+            return create(ForkJoinHelper.invoke(() -> root.intersection(comparator, other.root)));
+        } else {
+            return reduce(this, (answer, key, value) -> other.find(key).isFilled() ? answer : answer.delete(key));
+        }
+    }
+
+    /**
+     * Returns a map containing only the entries of this map whose keys are not in other.
+     * When other uses the same Comparator this is done by splitting and joining subtrees
+     * as in assignAll().  Otherwise every key of this map is looked up in other.
+     */
+    @Nonnull
+    public JImmutableTreeMap<K, V> deleteKeys(@Nonnull JImmutableTreeMap<K, ?> other)
+    {
+        if (isCompatible(other)) {
+            return create(ForkJoinHelper.invoke(() -> root.difference(comparator, other.root)));
+        } else {
+            return reduce(this, (answer, key, value) -> other.find(key).isFilled() ? answer.delete(key) : answer);
+        }
+    }
+
     @Override
     public int size()
     {
         return root.size();
     }
 
+    /**
+     * Every node maintains the sum of the hash codes of the entries in its subtree
+     * so this does not have to visit the entries.
+     */
+    @Override
+    public int hashCode()
+    {
+        return root.entriesHashCode();
+    }
+
+    /**
+     * Sum of the hash codes of the keys.  Maintained by every node for use by JImmutableTreeSet.
+     */
+    int keysHashCode()
+    {
+        return root.keysHashCode();
+    }
+
+    /**
+     * When o is also a JImmutableTreeMap using the same Comparator the two trees are
+     * compared node by node.  Subtrees shared by both maps are skipped and the comparison
+     * stops as soon as the sizes, entry hash sums or any pair of entries differ.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean equals(Object o)
+    {
+        if (o instanceof JImmutableTreeMap && comparator.equals(((JImmutableTreeMap<K, V>)o).comparator)) {
+            return root.isEqualTo(comparator, ((JImmutableTreeMap<K, V>)o).root);
+        } else {
+            return super.equals(o);
+        }
+    }
+
     @SuppressWarnings("unchecked")
     @Nonnull
     @Override
@@ -226,6 +541,14 @@ public class JImmutableTreeMap<K, V>
         return root.reduce(sum, proc);
     }
 
+    @Override
+    public <R> R parallelReduce(R identity,
+                                @Nonnull Sum2<K, V, R> accumulator,
+                                @Nonnull Func2<R, R, R> combiner)
+    {
+        return ForkJoinHelper.invoke(() -> root.parallelReduce(identity, accumulator, combiner));
+    }
+
     @Override
     public <R, E extends Exception> R reduceThrows(R sum,
                                                    @Nonnull Sum2Throws<K, V, R, E> proc)
@@ -240,6 +563,18 @@ public class JImmutableTreeMap<K, V>
         root.checkInvariants(comparator);
     }
 
+    /**
+     * Describes the shape of the tree.  Visits every node so it takes time proportional
+     * to the size of the map.
+     */
+    @Nonnull
+    public StructureStatistics getStatistics()
+    {
+        final StructureStatistics.Builder stats = StructureStatistics.builder();
+        root.collectStatistics(stats, 0);
+        return stats.build();
+    }
+
     @Nonnull
     public Comparator<K> getComparator()
     {
@@ -252,11 +587,60 @@ public class JImmutableTreeMap<K, V>
         return keys().stream().collect(Collectors.toList());
     }
 
+    private void checkRange(@Nonnull K fromKey,
+                            @Nonnull K toKey)
+    {
+        Conditions.stopNull(fromKey, toKey);
+        if (comparator.compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey is greater than toKey");
+        }
+    }
+
+    @Nonnull
+    private static <K, V> IterableStreamable<Entry<K, V>> entriesView(@Nonnull AbstractNode<K, V> root,
+                                                                      int offset,
+                                                                      int limit,
+                                                                      boolean descending)
+    {
+        return new IterableStreamable<Entry<K, V>>()
+        {
+            @Nonnull
+            @Override
+            public SplitableIterator<Entry<K, V>> iterator()
+            {
+                if (descending) {
+                    return new DescendingIterator<>(root, offset, limit);
+                } else {
+                    return new GenericIterator<>(root, offset, limit);
+                }
+            }
+
+            @Override
+            public int getSpliteratorCharacteristics()
+            {
+                return StreamConstants.SPLITERATOR_ORDERED;
+            }
+        };
+    }
+
+    @Nonnull
+    private static <K, V> Holder<Entry<K, V>> entryHolder(@Nullable AbstractNode<K, V> node)
+    {
+        return (node == null) ? Holders.of() : Holders.of(MapEntry.of(node.key(), node.value()));
+    }
+
+    private boolean isCompatible(@Nonnull JImmutableMap<?, ?> map)
+    {
+        return (map instanceof JImmutableTreeMap) && comparator.equals(((JImmutableTreeMap<?, ?>)map).comparator);
+    }
+
     @Nonnull
     private JImmutableTreeMap<K, V> create(AbstractNode<K, V> newRoot)
     {
         if (newRoot == root) {
             return this;
+        } else if (newRoot.isEmpty()) {
+            return deleteAll();
         } else {
             return new JImmutableTreeMap<>(comparator, newRoot);
         }
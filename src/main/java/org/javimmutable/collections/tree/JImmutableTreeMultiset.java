@@ -92,6 +92,47 @@ public class JImmutableTreeMultiset<T>
         return new JImmutableTreeMultiset<>(comparator);
     }
 
+    /**
+     * Returns the distinct value at position index in sorted order in time proportional
+     * to log(n).  Positions count each distinct value once regardless of its occurrences.
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    @Nonnull
+    public T getValueAt(int index)
+    {
+        return treeMap().getEntryAt(index).getKey();
+    }
+
+    /**
+     * Returns the position of value among the distinct values in sorted order or -1 if
+     * value is not in the multiset.
+     */
+    public int indexOf(@Nonnull T value)
+    {
+        return treeMap().indexOf(value);
+    }
+
+    /**
+     * Returns a multiset containing the distinct values at positions fromIndex (inclusive)
+     * through toIndex (exclusive) in sorted order along with their occurrences.  The tree
+     * is split in time proportional to log(n) but computing the total occurrences of the
+     * result visits each of its values.
+     *
+     * @throws IndexOutOfBoundsException if either index is out of bounds or fromIndex is greater than toIndex
+     */
+    @Nonnull
+    public JImmutableTreeMultiset<T> slice(int fromIndex,
+                                           int toIndex)
+    {
+        final JImmutableTreeMap<T, Integer> newMap = treeMap().slice(fromIndex, toIndex);
+        if (newMap.size() == map.size()) {
+            return this;
+        } else {
+            return create(newMap, newMap.reduce(0, (sum, value, count) -> sum + count));
+        }
+    }
+
     @Override
     protected JImmutableTreeMultiset<T> create(JImmutableMap<T, Integer> map,
                                                int occurrences)
@@ -110,6 +151,12 @@ public class JImmutableTreeMultiset<T>
         return map;
     }
     
+    @Nonnull
+    private JImmutableTreeMap<T, Integer> treeMap()
+    {
+        return (JImmutableTreeMap<T, Integer>)map;
+    }
+
     private Object writeReplace()
     {
         return new JImmutableTreeMultisetProxy(this);
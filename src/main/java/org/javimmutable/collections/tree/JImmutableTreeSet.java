@@ -39,9 +39,11 @@ import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.JImmutableSet;
 import org.javimmutable.collections.common.AbstractJImmutableSet;
 import org.javimmutable.collections.common.GenericSetBuilder;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.serialization.JImmutableTreeSetProxy;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
 import java.io.Serializable;
 import java.util.Comparator;
@@ -104,6 +106,136 @@ public class JImmutableTreeSet<T>
         return new GenericSetBuilder<>(JImmutableTreeMap.builder(comparator), map -> map.isEmpty() ? of(comparator) : new JImmutableTreeSet<>(map, comparator));
     }
 
+    @Nonnull
+    @Override
+    public JImmutableSet<T> insertAll(@Nonnull Iterable<? extends T> values)
+    {
+        return union(values);
+    }
+
+    /**
+     * When other is also a JImmutableTreeSet using the same Comparator the two trees are
+     * merged by splitting and joining subtrees in time proportional to m log(n/m + 1) for
+     * sets of sizes m and n.  Large sets are merged in parallel.
+     */
+    @Nonnull
+    @Override
+    public JImmutableSet<T> union(@Nonnull Iterable<? extends T> other)
+    {
+        final JImmutableTreeMap<T, Boolean> otherMap = compatibleMap(other);
+        if (otherMap != null) {
+            return withMap(treeMap().assignAll(otherMap));
+        } else {
+            return super.union(other);
+        }
+    }
+
+    /**
+     * Uses the same merge as union() when other is a compatible JImmutableTreeSet.
+     */
+    @Nonnull
+    @Override
+    public JImmutableSet<T> intersection(@Nonnull Iterable<? extends T> other)
+    {
+        final JImmutableTreeMap<T, Boolean> otherMap = compatibleMap(other);
+        if (otherMap != null) {
+            return withMap(treeMap().retainKeys(otherMap));
+        } else {
+            return super.intersection(other);
+        }
+    }
+
+    /**
+     * Uses the same merge as union() when other is a compatible JImmutableTreeSet.
+     */
+    @Nonnull
+    @Override
+    public JImmutableSet<T> intersection(@Nonnull JImmutableSet<? extends T> other)
+    {
+        final JImmutableTreeMap<T, Boolean> otherMap = compatibleMap(other);
+        if (otherMap != null) {
+            return withMap(treeMap().retainKeys(otherMap));
+        } else {
+            return super.intersection(other);
+        }
+    }
+
+    /**
+     * Uses the same merge as union() when other is a compatible JImmutableTreeSet.
+     */
+    @Nonnull
+    @Override
+    public JImmutableSet<T> deleteAll(@Nonnull Iterable<? extends T> other)
+    {
+        final JImmutableTreeMap<T, Boolean> otherMap = compatibleMap(other);
+        if (otherMap != null) {
+            return withMap(treeMap().deleteKeys(otherMap));
+        } else {
+            return super.deleteAll(other);
+        }
+    }
+
+    /**
+     * Returns the value at position index in sorted order in time proportional to log(n).
+     *
+     * @throws IndexOutOfBoundsException if index is out of bounds
+     */
+    @Nonnull
+    public T getValueAt(int index)
+    {
+        return treeMap().getEntryAt(index).getKey();
+    }
+
+    /**
+     * Returns the position of value in sorted order or -1 if value is not in the set.
+     */
+    public int indexOf(@Nonnull T value)
+    {
+        return treeMap().indexOf(value);
+    }
+
+    /**
+     * Returns a set containing the values at positions fromIndex (inclusive) through
+     * toIndex (exclusive) in sorted order.  Built by splitting the tree so it takes
+     * time proportional to log(n).
+     *
+     * @throws IndexOutOfBoundsException if either index is out of bounds or fromIndex is greater than toIndex
+     */
+    @Nonnull
+    public JImmutableSet<T> slice(int fromIndex,
+                                  int toIndex)
+    {
+        return withMap(treeMap().slice(fromIndex, toIndex));
+    }
+
+    /**
+     * Returns a set containing only the values of this set that are greater than or equal
+     * to fromValue and less than toValue.  Takes time proportional to log(n) no matter how
+     * many values are removed.
+     *
+     * @throws IllegalArgumentException if fromValue is greater than toValue
+     */
+    @Nonnull
+    public JImmutableSet<T> retainRange(@Nonnull T fromValue,
+                                        @Nonnull T toValue)
+    {
+        return withMap(treeMap().retainRange(fromValue, toValue));
+    }
+
+    /**
+     * Returns a set containing the values of this set except those that are greater than
+     * or equal to fromValue and less than toValue.  Takes time proportional to log(n) no matter
+     * how many values are removed.
+     *
+     * @throws IllegalArgumentException if fromValue is greater than toValue
+     */
+    @Nonnull
+    public JImmutableSet<T> deleteRange(@Nonnull T fromValue,
+                                        @Nonnull T toValue)
+    {
+        return withMap(treeMap().deleteRange(fromValue, toValue));
+    }
+
     @Override
     protected JImmutableSet<T> create(JImmutableMap<T, Boolean> map)
     {
@@ -116,11 +248,59 @@ public class JImmutableTreeSet<T>
         return new TreeSet<>(comparator);
     }
 
+    /**
+     * Every node of the tree maintains the sum of the hash codes of its keys so this
+     * does not have to visit the values.
+     */
+    @Override
+    public int hashCode()
+    {
+        return treeMap().keysHashCode();
+    }
+
     JImmutableMap getMap()
     {
         return map;
     }
 
+    @Nonnull
+    private JImmutableTreeMap<T, Boolean> treeMap()
+    {
+        return (JImmutableTreeMap<T, Boolean>)map;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Nullable
+    private JImmutableTreeMap<T, Boolean> compatibleMap(@Nonnull Iterable<? extends T> other)
+    {
+        if (other instanceof JImmutableTreeSet && comparator.equals(((JImmutableTreeSet)other).comparator)) {
+            return (JImmutableTreeMap<T, Boolean>)((JImmutableTreeSet)other).map;
+        } else {
+            return null;
+        }
+    }
+
+    @Nonnull
+    private JImmutableSet<T> withMap(@Nonnull JImmutableMap<T, Boolean> newMap)
+    {
+        if (newMap == map) {
+            return this;
+        } else if (newMap.isEmpty()) {
+            return deleteAll();
+        } else {
+            return create(newMap);
+        }
+    }
+
+    /**
+     * Describes the shape of the tree map holding the values of this set.
+     */
+    @Nonnull
+    public StructureStatistics getStatistics()
+    {
+        return ((JImmutableTreeMap<?, ?>)map).getStatistics();
+    }
+
     private Object writeReplace()
     {
         return new JImmutableTreeSetProxy(this);
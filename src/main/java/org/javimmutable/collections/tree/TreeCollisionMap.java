@@ -37,12 +37,14 @@ package org.javimmutable.collections.tree;
 
 import org.javimmutable.collections.Func1;
 import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.JImmutableMap.Entry;
 import org.javimmutable.collections.Proc2;
 import org.javimmutable.collections.Proc2Throws;
 import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
 import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
@@ -94,6 +96,12 @@ public class TreeCollisionMap<K, V>
         return root(node).size();
     }
 
+    @Override
+    public int entriesHashCode(@Nonnull Node node)
+    {
+        return root(node).entriesHashCode();
+    }
+
     @Nonnull
     @Override
     public Node update(@Nonnull Node node,
@@ -154,6 +162,31 @@ public class TreeCollisionMap<K, V>
         return root(node).iterateOverRange(parent, offset, limit);
     }
 
+    @Override
+    public void collectStatistics(@Nonnull Node node,
+                                  @Nonnull StructureStatistics.Builder stats,
+                                  int depth)
+    {
+        final AbstractNode<K, V> root = root(node);
+        stats.addCollisionChain(root.size());
+        root.collectStatistics(stats, depth);
+    }
+
+    @Override
+    public void diff(@Nonnull Node older,
+                     @Nonnull Node newer,
+                     @Nonnull JImmutableMap.DiffVisitor<K, V> visitor)
+    {
+        root(older).diff(comparator, root(newer), visitor);
+    }
+
+    @Override
+    public boolean isEqualTo(@Nonnull Node node,
+                             @Nonnull Node other)
+    {
+        return root(node).isEqualTo(comparator, root(other));
+    }
+
     @Override
     public void forEach(@Nonnull Node node,
                         @Nonnull Proc2<K, V> proc)
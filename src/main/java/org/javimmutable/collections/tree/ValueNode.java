@@ -36,6 +36,7 @@
 package org.javimmutable.collections.tree;
 
 import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holder;
 import org.javimmutable.collections.Holders;
 import org.javimmutable.collections.JImmutableMap;
@@ -45,13 +46,17 @@ import org.javimmutable.collections.Proc2;
 import org.javimmutable.collections.Proc2Throws;
 import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
+import org.javimmutable.collections.common.ForkJoinHelper;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.indexed.IndexedHelper;
 import org.javimmutable.collections.iterators.GenericIterator;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.Immutable;
+import java.util.Arrays;
 import java.util.Comparator;
+import java.util.List;
 
 /**
  * A Node containing one value and two (possibly empty) children.  Class invariant
@@ -70,6 +75,8 @@ class ValueNode<K, V>
     private final AbstractNode<K, V> right;
     private final int depth;
     private final int size;
+    private final int entriesHashCode;
+    private final int keysHashCode;
 
     ValueNode(K key,
               V value,
@@ -82,6 +89,8 @@ class ValueNode<K, V>
         this.right = right;
         depth = 1 + Math.max(left.depth(), right.depth());
         size = 1 + left.size() + right.size();
+        entriesHashCode = MapEntry.entryHashCode(key, value) + left.entriesHashCode() + right.entriesHashCode();
+        keysHashCode = key.hashCode() + left.keysHashCode() + right.keysHashCode();
     }
 
     /**
@@ -114,6 +123,47 @@ class ValueNode<K, V>
         }
     }
 
+    /**
+     * Creates a tree containing every entry of left, the specified entry and every entry
+     * of right.  All keys in left must be less than key and all keys in right greater.
+     * The trees may differ in depth by any amount.  The shorter one is attached at the
+     * matching depth along the inner spine of the taller one and the nodes above it are
+     * rebalanced so this takes time proportional to the difference in depth.
+     */
+    @Nonnull
+    static <K, V> AbstractNode<K, V> join(@Nonnull AbstractNode<K, V> left,
+                                          @Nonnull K key,
+                                          @Nullable V value,
+                                          @Nonnull AbstractNode<K, V> right)
+    {
+        final int diff = left.depth() - right.depth();
+        if (diff > 1) {
+            return balance(left.key(), left.value(), left.left(), join(left.right(), key, value, right));
+        } else if (diff < -1) {
+            return balance(right.key(), right.value(), join(left, key, value, right.left()), right.right());
+        } else {
+            return new ValueNode<>(key, value, left, right);
+        }
+    }
+
+    /**
+     * Creates a tree containing every entry of left followed by every entry of right.
+     * All keys in left must be less than all keys in right.
+     */
+    @Nonnull
+    static <K, V> AbstractNode<K, V> concat(@Nonnull AbstractNode<K, V> left,
+                                            @Nonnull AbstractNode<K, V> right)
+    {
+        if (left.isEmpty()) {
+            return right;
+        } else if (right.isEmpty()) {
+            return left;
+        } else {
+            final DeleteResult<K, V> result = right.deleteLeftmost();
+            return join(left, result.key, result.value, result.remainder);
+        }
+    }
+
     @Nonnull
     private static <K, V> AbstractNode<K, V> rotateRight(@Nonnull K key,
                                                          @Nullable V value,
@@ -279,6 +329,23 @@ class ValueNode<K, V>
         }
     }
 
+    @Nonnull
+    @Override
+    SplitResult<K, V> split(@Nonnull Comparator<K> comp,
+                            @Nonnull K key)
+    {
+        final int diff = comp.compare(key, this.key);
+        if (diff == 0) {
+            return new SplitResult<>(left, this, right);
+        } else if (diff < 0) {
+            final SplitResult<K, V> result = left.split(comp, key);
+            return new SplitResult<>(result.left, result.match, join(result.right, this.key, value, right));
+        } else {
+            final SplitResult<K, V> result = right.split(comp, key);
+            return new SplitResult<>(join(left, this.key, value, result.left), result.match, result.right);
+        }
+    }
+
     @Nullable
     @Override
     public V get(@Nonnull Comparator<K> comp,
@@ -348,6 +415,18 @@ class ValueNode<K, V>
         return size;
     }
 
+    @Override
+    int entriesHashCode()
+    {
+        return entriesHashCode;
+    }
+
+    @Override
+    int keysHashCode()
+    {
+        return keysHashCode;
+    }
+
     @Nonnull
     @Override
     K key()
@@ -397,10 +476,26 @@ class ValueNode<K, V>
         if (size != 1 + left.size() + right.size()) {
             throw new IllegalStateException();
         }
+        if (entriesHashCode != MapEntry.entryHashCode(key, value) + left.entriesHashCode() + right.entriesHashCode()) {
+            throw new IllegalStateException();
+        }
+        if (keysHashCode != key.hashCode() + left.keysHashCode() + right.keysHashCode()) {
+            throw new IllegalStateException();
+        }
         left.checkInvariants(comp);
         right.checkInvariants(comp);
     }
 
+    @Override
+    void collectStatistics(@Nonnull StructureStatistics.Builder stats,
+                           int depth)
+    {
+        final int childCount = (left.isEmpty() ? 0 : 1) + (right.isEmpty() ? 0 : 1);
+        stats.addNode(this, depth, childCount, StructureStatistics.objectBytes(4, 2));
+        left.collectStatistics(stats, depth + 1);
+        right.collectStatistics(stats, depth + 1);
+    }
+
     @Nullable
     @Override
     public GenericIterator.State<JImmutableMap.Entry<K, V>> iterateOverRange(@Nullable GenericIterator.State<JImmutableMap.Entry<K, V>> parent,
@@ -444,6 +539,19 @@ class ValueNode<K, V>
         return sum;
     }
 
+    @Override
+    <R> R parallelReduce(R identity,
+                         @Nonnull Sum2<K, V, R> accumulator,
+                         @Nonnull Func2<R, R, R> combiner)
+    {
+        if (size <= ForkJoinHelper.SEQUENTIAL_THRESHOLD) {
+            return reduce(identity, accumulator);
+        }
+        final List<R> results = ForkJoinHelper.invokeAll(Arrays.asList(() -> left.parallelReduce(identity, accumulator, combiner),
+                                                                       () -> right.parallelReduce(identity, accumulator, combiner)));
+        return combiner.apply(accumulator.apply(results.get(0), key, value), results.get(1));
+    }
+
     @Override
     <R, E extends Exception> R reduceThrows(R sum,
                                             @Nonnull Sum2Throws<K, V, R, E> proc)
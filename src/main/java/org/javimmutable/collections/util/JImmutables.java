@@ -47,9 +47,14 @@ import org.javimmutable.collections.JImmutableSetMap;
 import org.javimmutable.collections.JImmutableStack;
 import org.javimmutable.collections.MapEntry;
 import org.javimmutable.collections.array.JImmutableTrieArray;
+import org.javimmutable.collections.hash.HashSpreader;
+import org.javimmutable.collections.hash.HashStrategy;
+import org.javimmutable.collections.hash.JImmutableChampMap;
 import org.javimmutable.collections.hash.JImmutableHashMap;
 import org.javimmutable.collections.hash.JImmutableHashMultiset;
 import org.javimmutable.collections.hash.JImmutableHashSet;
+import org.javimmutable.collections.hash.JImmutableIntHashMap;
+import org.javimmutable.collections.hash.JImmutableLongHashMap;
 import org.javimmutable.collections.indexed.IndexedArray;
 import org.javimmutable.collections.indexed.IndexedList;
 import org.javimmutable.collections.inorder.JImmutableInsertOrderMap;
@@ -259,6 +264,34 @@ public final class JImmutables
         return JImmutableHashMap.of();
     }
 
+    /**
+     * Constructs an empty unsorted map that passes every key's hash code through spreader
+     * before using it.  Use HashSpreader.mixing() for keys whose hash codes vary mostly in
+     * their high bits.
+     * <p>
+     * Implementation note: The map will adopt a hash code collision strategy based on
+     * the first key assigned to the map.  See map() for details.
+     */
+    @Nonnull
+    public static <K, V> JImmutableMap<K, V> map(@Nonnull HashSpreader spreader)
+    {
+        return JImmutableHashMap.of(spreader);
+    }
+
+    /**
+     * Constructs an empty unsorted map that hashes and compares keys using strategy instead
+     * of their own hashCode() and equals() methods.  For example HashStrategy.identity()
+     * produces a map that treats keys as equal only if they are the same object.
+     * <p>
+     * Implementation note: Unless strategy is the standard one the map always uses lists
+     * to handle hash code collisions so keys do not need to implement Comparable.
+     */
+    @Nonnull
+    public static <K, V> JImmutableMap<K, V> map(@Nonnull HashStrategy<K> strategy)
+    {
+        return JImmutableHashMap.of(strategy);
+    }
+
     /**
      * Constructs an unsorted map.
      * All key/value pairs from source are copied into the newly created map.
@@ -311,6 +344,29 @@ public final class JImmutables
         return JImmutableHashMap.builder();
     }
 
+    /**
+     * Constructs a Builder to produce unsorted maps that pass every key's hash code
+     * through spreader before using it.
+     * <p>
+     * Implementation note: The map will adopt a hash code collision strategy based on
+     * the first key added.  See mapBuilder() for details.
+     */
+    @Nonnull
+    public static <K, V> JImmutableMap.Builder<K, V> mapBuilder(@Nonnull HashSpreader spreader)
+    {
+        return JImmutableHashMap.builder(spreader);
+    }
+
+    /**
+     * Constructs a Builder to produce unsorted maps that hash and compare keys using strategy.
+     * See map(HashStrategy) for details.
+     */
+    @Nonnull
+    public static <K, V> JImmutableMap.Builder<K, V> mapBuilder(@Nonnull HashStrategy<K> strategy)
+    {
+        return JImmutableHashMap.builder(strategy, HashSpreader.identity());
+    }
+
     /**
      * Creates a Collector suitable for use in the stream to produce a map.
      */
@@ -320,6 +376,64 @@ public final class JImmutables
         return JImmutableHashMap.createMapCollector();
     }
 
+    /**
+     * Constructs an empty unsorted map that stores its entries in a compressed hash trie (CHAMP).
+     * Uses less memory than the map returned by map() and can be compared for equality with
+     * another such map without looking up each key.
+     */
+    @Nonnull
+    public static <K, V> JImmutableChampMap<K, V> champMap()
+    {
+        return JImmutableChampMap.of();
+    }
+
+    /**
+     * Constructs a Builder to produce unsorted maps stored in a compressed hash trie (CHAMP).
+     */
+    @Nonnull
+    public static <K, V> JImmutableChampMap.Builder<K, V> champMapBuilder()
+    {
+        return JImmutableChampMap.builder();
+    }
+
+    /**
+     * Constructs an empty unsorted map keyed by primitive int values.  Its int based
+     * methods never box keys.
+     */
+    @Nonnull
+    public static <V> JImmutableIntHashMap<V> intMap()
+    {
+        return JImmutableIntHashMap.of();
+    }
+
+    /**
+     * Constructs a Builder to produce unsorted maps keyed by primitive int values.
+     */
+    @Nonnull
+    public static <V> JImmutableIntHashMap.Builder<V> intMapBuilder()
+    {
+        return JImmutableIntHashMap.builder();
+    }
+
+    /**
+     * Constructs an empty unsorted map keyed by primitive long values.  Its long based
+     * methods never box keys.
+     */
+    @Nonnull
+    public static <V> JImmutableLongHashMap<V> longMap()
+    {
+        return JImmutableLongHashMap.of();
+    }
+
+    /**
+     * Constructs a Builder to produce unsorted maps keyed by primitive long values.
+     */
+    @Nonnull
+    public static <V> JImmutableLongHashMap.Builder<V> longMapBuilder()
+    {
+        return JImmutableLongHashMap.builder();
+    }
+
     /**
      * Constructs an empty map that sorts keys in their natural sort order (using ComparableComparator).
      */
@@ -541,6 +655,16 @@ public final class JImmutables
         return JImmutableHashSet.of();
     }
 
+    /**
+     * Constructs an empty unsorted set that hashes and compares values using strategy instead
+     * of their own hashCode() and equals() methods.  See map(HashStrategy) for details.
+     */
+    @Nonnull
+    public static <T> JImmutableSet<T> set(@Nonnull HashStrategy<T> strategy)
+    {
+        return JImmutableHashSet.of(strategy);
+    }
+
     /**
      * Constructs an unsorted set containing the values from source.
      * <p>
@@ -602,6 +726,16 @@ public final class JImmutables
         return JImmutableHashSet.builder();
     }
 
+    /**
+     * Constructs a Builder to produce unsorted sets that hash and compare values using strategy.
+     * See map(HashStrategy) for details.
+     */
+    @Nonnull
+    public static <T> JImmutableSet.Builder<T> setBuilder(@Nonnull HashStrategy<T> strategy)
+    {
+        return JImmutableHashSet.builder(strategy);
+    }
+
     /**
      * Collects into an unsorted set to the set.
      */
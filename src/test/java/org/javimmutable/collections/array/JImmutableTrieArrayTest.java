@@ -42,12 +42,15 @@ import org.javimmutable.collections.Func2;
 import org.javimmutable.collections.Holders;
 import org.javimmutable.collections.Indexed;
 import org.javimmutable.collections.JImmutableArray;
+import org.javimmutable.collections.JImmutableList;
 import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.MapEntry;
 import org.javimmutable.collections.common.StandardBuilderTests;
 import org.javimmutable.collections.common.StandardSerializableTests;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.indexed.IndexedList;
 import org.javimmutable.collections.iterators.StandardIteratorTests;
+import org.javimmutable.collections.list.JImmutableTreeList;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -57,6 +60,8 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
 
@@ -242,6 +247,116 @@ public class JImmutableTrieArrayTest
         StandardIteratorTests.listIteratorTest(expected, array.iterator());
     }
 
+    public void testParallelReduce()
+    {
+        final JImmutableList<Integer> emptyKeys = JImmutableTrieArray.<Integer>of().parallelReduce(JImmutableTreeList.of(), (list, i, v) -> list.insertLast(i), (a, b) -> a.insertAllLast(b));
+        assertEquals(0, emptyKeys.size());
+
+        final Random random = new Random(900L);
+        for (int size : asList(1, 100, 5000, 50000)) {
+            JImmutableArray<Integer> array = JImmutableTrieArray.of();
+            for (int i = 0; i < size; ++i) {
+                final int index = (i % 2 == 0) ? random.nextInt() : random.nextInt(2 * size) - size;
+                array = array.assign(index, i);
+            }
+            final List<Integer> expectedKeys = array.keys().stream().collect(Collectors.toList());
+            final JImmutableList<Integer> keys = array.parallelReduce(JImmutableTreeList.of(), (list, i, v) -> list.insertLast(i), (a, b) -> a.insertAllLast(b));
+            assertEquals(expectedKeys, keys.getList());
+
+            final Long expectedSum = array.stream().mapToLong(e -> (long)e.getKey() + e.getValue()).sum();
+            assertEquals(expectedSum, array.parallelReduce(0L, (s, i, v) -> s + i + v, (a, b) -> a + b));
+
+            final Map<Integer, Integer> visited = new ConcurrentHashMap<>();
+            array.parallelForEach((i, v) -> assertNull(visited.put(i, v)));
+            assertEquals(array.getMap(), visited);
+        }
+    }
+
+    public void testBulkCopy()
+    {
+        final Random random = new Random(2502L);
+        for (int size : asList(0, 1, 100, 5000, 50000)) {
+            JImmutableTrieArray<Integer> array = JImmutableTrieArray.of();
+            for (int i = 0; i < size; ++i) {
+                final int index = (i % 2 == 0) ? random.nextInt() : random.nextInt(2 * size) - size;
+                array = array.assign(index, i);
+            }
+            final List<Integer> expected = array.values().stream().collect(Collectors.toList());
+
+            assertEquals(expected, asList(array.toArray(new Integer[0])));
+            final Integer[] larger = new Integer[array.size() + 2];
+            Arrays.fill(larger, 99);
+            assertSame(larger, array.toArray(larger));
+            assertEquals(expected, asList(larger).subList(0, array.size()));
+            assertNull(larger[array.size()]);
+            assertEquals(Integer.valueOf(99), larger[array.size() + 1]);
+
+            for (int loop = 0; loop < 50; ++loop) {
+                final int from = (loop % 5 == 0) ? random.nextInt() : random.nextInt(4 * size + 2) - 2 * size - 1;
+                final int to = (int)Math.min(Integer.MAX_VALUE, (long)from + random.nextInt(2 * size + 2));
+                final Object[] dest = new Object[to - from + 2];
+                Arrays.fill(dest, "x");
+                array.copyRange(from, to, dest, 1);
+                assertEquals("x", dest[0]);
+                assertEquals("x", dest[dest.length - 1]);
+                for (int i = from; i < to; ++i) {
+                    assertEquals(array.get(i), dest[1 + i - from]);
+                }
+            }
+
+            final List<Object> chunked = new ArrayList<>();
+            array.forEachChunk((values, offset, count) -> {
+                assertTrue(count > 0 && count <= 32);
+                chunked.addAll(asList(values).subList(offset, offset + count));
+                Arrays.fill(values, offset, offset + count, -1);
+            });
+            assertEquals(expected, chunked);
+            assertEquals(expected, array.values().stream().collect(Collectors.toList()));
+        }
+
+        final JImmutableTrieArray<Integer> array = JImmutableTrieArray.<Integer>of().assign(Integer.MIN_VALUE, 1).assign(-1, 2).assign(0, 3).assign(Integer.MAX_VALUE, 4);
+        final Object[] dest = new Object[3];
+        array.copyRange(-2, 1, dest, 0);
+        assertEquals(asList(null, 2, 3), asList(dest));
+        array.copyRange(Integer.MAX_VALUE - 2, Integer.MAX_VALUE, dest, 1);
+        assertEquals(asList(null, null, null), asList(dest));
+        array.copyRange(Integer.MIN_VALUE, Integer.MIN_VALUE + 3, dest, 0);
+        assertEquals(asList(1, null, null), asList(dest));
+        try {
+            array.copyRange(1, 0, dest, 0);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+        try {
+            array.copyRange(Integer.MIN_VALUE, Integer.MAX_VALUE, dest, 0);
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+            // expected
+        }
+    }
+
+    public void testStatistics()
+    {
+        assertEquals(0, JImmutableTrieArray.of().getStatistics().getNodeCount());
+
+        JImmutableTrieArray<Integer> array = JImmutableTrieArray.of();
+        for (int i = 0; i < 1024; ++i) {
+            array = array.assign(i, i);
+        }
+        StructureStatistics stats = array.getStatistics();
+        assertEquals(Integer.valueOf(1024), stats.getNodeCounts().get("LeafTrieNode"));
+        assertEquals(Integer.valueOf(33), stats.getNodeCounts().get("FullBranchTrieNode"));
+        assertEquals(stats.getNodeCount(), stats.getDepthCounts().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(Integer.valueOf(1024), stats.getDepthCounts().get(stats.getMaxDepth()));
+
+        // widely spaced indexes produce chains of single branch nodes
+        array = JImmutableTrieArray.<Integer>of().assign(0, 0).assign(Integer.MAX_VALUE, 1);
+        stats = array.getStatistics();
+        assertEquals(Integer.valueOf(2), stats.getNodeCounts().get("LeafTrieNode"));
+        assertEquals(stats.getNodeCount() - 2, stats.getBranchCount());
+    }
+
     public void testVarious()
     {
         List<Integer> indexes = createBranchIndexes();
@@ -37,15 +37,22 @@ package org.javimmutable.collections.common;
 
 import org.javimmutable.collections.Func1;
 import org.javimmutable.collections.Holder;
+import org.javimmutable.collections.JImmutableList;
 import org.javimmutable.collections.JImmutableMap;
 import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.list.JImmutableTreeList;
 
 import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
@@ -126,6 +133,191 @@ public class StandardJImmutableMapTests
         testCollector(map.assignAll(expectedMap), map);
     }
 
+    /**
+     * Verifies that diff() reports exactly the differences between the two maps in both
+     * directions and nothing at all when comparing a map to itself.
+     */
+    public static <K, V> void verifyDiff(@Nonnull JImmutableMap<K, V> older,
+                                         @Nonnull JImmutableMap<K, V> newer)
+    {
+        verifyOneWayDiff(older, newer);
+        verifyOneWayDiff(newer, older);
+        verifyOneWayDiff(older, older);
+        verifyOneWayDiff(newer, newer);
+    }
+
+    /**
+     * Verifies that parallelReduce() visits every entry exactly once and that combining
+     * the partial results in order reproduces the map's own iteration order.  Also verifies
+     * that parallelForEach() visits every entry.
+     */
+    public static void verifyParallelReduce(@Nonnull JImmutableMap<Integer, Integer> map)
+    {
+        final List<Integer> expectedKeys = new ArrayList<>();
+        map.forEach((k, v) -> expectedKeys.add(k));
+        final JImmutableList<Integer> keys = map.parallelReduce(JImmutableTreeList.<Integer>of(),
+                                                                (list, k, v) -> list.insertLast(k),
+                                                                (a, b) -> a.insertAllLast(b));
+        assertEquals(expectedKeys, keys.getList());
+
+        final Long expectedSum = map.reduce(0L, (s, k, v) -> s + k + v);
+        assertEquals(expectedSum, map.parallelReduce(0L, (s, k, v) -> s + k + v, (a, b) -> a + b));
+
+        final Map<Integer, Integer> visited = new ConcurrentHashMap<>();
+        map.parallelForEach((k, v) -> assertNull(visited.put(k, v)));
+        assertEquals(map.getMap(), visited);
+    }
+
+    /**
+     * Verifies that hashCode() matches the hash code of an equivalent java.util.Map after
+     * every kind of update, including null values, replaced values, deletes and builds.
+     */
+    public static void verifyHashCode(@Nonnull JImmutableMap<Integer, Integer> empty)
+    {
+        assertEquals(0, empty.hashCode());
+        final Random random = new Random(1100L);
+        final Map<Integer, Integer> expected = new HashMap<>();
+        JImmutableMap<Integer, Integer> map = empty;
+        for (int i = 0; i < 5000; ++i) {
+            final Integer key = random.nextInt(2000) - 1000;
+            final Integer value = (random.nextInt(10) == 0) ? null : random.nextInt();
+            switch (random.nextInt(4)) {
+                case 0:
+                case 1:
+                    map = map.assign(key, value);
+                    expected.put(key, value);
+                    break;
+                case 2:
+                    map = map.update(key, h -> h.isEmpty() ? value : null);
+                    expected.put(key, expected.containsKey(key) ? null : value);
+                    break;
+                case 3:
+                    map = map.delete(key);
+                    expected.remove(key);
+                    break;
+            }
+            assertEquals(expected.hashCode(), map.hashCode());
+        }
+        map.checkInvariants();
+        final JImmutableMap<Integer, Integer> built = empty.mapBuilder().add(expected).build();
+        built.checkInvariants();
+        assertEquals(expected.hashCode(), built.hashCode());
+        assertEquals(map.hashCode(), built.hashCode());
+        for (Integer key : expected.keySet()) {
+            map = map.delete(key);
+        }
+        assertEquals(0, map.hashCode());
+    }
+
+    public static void verifyEquals(@Nonnull JImmutableMap<Integer, Integer> empty)
+    {
+        final Random random = new Random(1200L);
+        final Map<Integer, Integer> expected = new HashMap<>();
+        JImmutableMap<Integer, Integer> map = empty;
+        for (int i = 0; i < 3000; ++i) {
+            final Integer key = random.nextInt(1500) - 750;
+            final Integer value = (random.nextInt(10) == 0) ? null : random.nextInt(5);
+            final Map<Integer, Integer> before = new HashMap<>(expected);
+            final JImmutableMap<Integer, Integer> previous = map;
+            if (random.nextInt(3) == 0) {
+                map = map.delete(key);
+                expected.remove(key);
+            } else {
+                map = map.assign(key, value);
+                expected.put(key, value);
+            }
+            final boolean same = before.equals(expected);
+            assertEquals(same, previous.equals(map));
+            assertEquals(same, map.equals(previous));
+            if (i % 250 == 0) {
+                verifyEqualsIndependent(empty, map, expected);
+            }
+        }
+        verifyEqualsIndependent(empty, map, expected);
+
+        // same size and entry hash sum but different entries
+        final JImmutableMap<Integer, Integer> a = map.assign(5001, 0).assign(5002, 0);
+        final JImmutableMap<Integer, Integer> b = map.assign(5001, 1).assign(5002, 1);
+        assertEquals(a.size(), b.size());
+        assertEquals(a.hashCode(), b.hashCode());
+        assertEquals(false, a.equals(b));
+        assertEquals(false, b.equals(a));
+        assertEquals(a, map.assign(5002, 0).assign(5001, 0));
+    }
+
+    private static void verifyEqualsIndependent(@Nonnull JImmutableMap<Integer, Integer> empty,
+                                                @Nonnull JImmutableMap<Integer, Integer> map,
+                                                @Nonnull Map<Integer, Integer> expected)
+    {
+        final JImmutableMap<Integer, Integer> built = empty.mapBuilder().add(expected).build();
+        assertEquals(map, built);
+        assertEquals(built, map);
+        assertEquals(expected, map.getMap());
+        assertEquals(map, empty.assignAll(expected));
+        if (!expected.isEmpty()) {
+            final Integer key = expected.keySet().iterator().next();
+            final Integer value = expected.get(key);
+            final JImmutableMap<Integer, Integer> changed = built.assign(key, (value == null) ? 0 : null);
+            assertEquals(false, map.equals(changed));
+            assertEquals(false, changed.equals(map));
+            final JImmutableMap<Integer, Integer> replaced = built.delete(key).assign(10000, value);
+            assertEquals(false, map.equals(replaced));
+            assertEquals(false, replaced.equals(map));
+        }
+    }
+
+    private static <K, V> void verifyOneWayDiff(@Nonnull JImmutableMap<K, V> older,
+                                                @Nonnull JImmutableMap<K, V> newer)
+    {
+        final Map<K, V> expectedAdded = new HashMap<>();
+        final Map<K, V> expectedRemoved = new HashMap<>();
+        final Map<K, List<V>> expectedChanged = new HashMap<>();
+        for (JImmutableMap.Entry<K, V> e : older) {
+            final Holder<V> newValue = newer.find(e.getKey());
+            if (newValue.isEmpty()) {
+                expectedRemoved.put(e.getKey(), e.getValue());
+            } else if (!Objects.equals(e.getValue(), newValue.getValue())) {
+                expectedChanged.put(e.getKey(), Arrays.asList(e.getValue(), newValue.getValue()));
+            }
+        }
+        for (JImmutableMap.Entry<K, V> e : newer) {
+            if (older.find(e.getKey()).isEmpty()) {
+                expectedAdded.put(e.getKey(), e.getValue());
+            }
+        }
+
+        final Map<K, V> added = new HashMap<>();
+        final Map<K, V> removed = new HashMap<>();
+        final Map<K, List<V>> changed = new HashMap<>();
+        older.diff(newer, new JImmutableMap.DiffVisitor<K, V>()
+        {
+            @Override
+            public void added(@Nonnull K key,
+                              V value)
+            {
+                assertNull(added.put(key, value));
+            }
+
+            @Override
+            public void removed(@Nonnull K key,
+                                V value)
+            {
+                assertNull(removed.put(key, value));
+            }
+
+            @Override
+            public void changed(@Nonnull K key,
+                                V oldValue,
+                                V newValue)
+            {
+                assertNull(changed.put(key, Arrays.asList(oldValue, newValue)));
+            }
+        });
+        assertEquals(expectedAdded, added);
+        assertEquals(expectedRemoved, removed);
+        assertEquals(expectedChanged, changed);
+    }
+
     private static void verifyReduce(@Nonnull JImmutableMap<Integer, Integer> empty)
     {
         assertEquals(Integer.valueOf(0), empty.reduce(0, (s, k, v) -> s + k - v));
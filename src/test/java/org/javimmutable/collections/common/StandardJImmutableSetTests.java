@@ -408,6 +408,8 @@ public final class StandardJImmutableSetTests
             }
             assertEquals(expected, set.getSet());
             if (!(set instanceof JImmutableMultiset)) {
+                assertEquals(new HashSet<>(expected).hashCode(), set.hashCode());
+                assertEquals(set.getSet().hashCode(), set.hashCode());
                 for (Integer value : set) {
                     assertSame(set, set.insert(value));
                 }
@@ -0,0 +1,109 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.common;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class StructureStatisticsTest
+    extends TestCase
+{
+    public void testEmpty()
+    {
+        final StructureStatistics stats = StructureStatistics.builder().build();
+        assertEquals(0, stats.getNodeCount());
+        assertEquals(0, stats.getBranchCount());
+        assertEquals(-1, stats.getMaxDepth());
+        assertEquals(0.0, stats.getAverageFanOut());
+        assertEquals(0, stats.getMaxCollisionChainLength());
+        assertEquals(0L, stats.getEstimatedBytes());
+        assertEquals(true, stats.getNodeCounts().isEmpty());
+        assertEquals(true, stats.getDepthCounts().isEmpty());
+        assertEquals(true, stats.getCollisionChainCounts().isEmpty());
+    }
+
+    public void testBuilder()
+    {
+        final StructureStatistics.Builder builder = StructureStatistics.builder();
+        builder.addNode("root", 0, 3, 40)
+               .addNode(1, 1, 1, 16)
+               .addNode(2, 1, 0, 16)
+               .addNode(3, 1, 0, 16)
+               .addNode("leaf", 2, 0, 24)
+               .addCollisionChain(0)
+               .addCollisionChain(1)
+               .addCollisionChain(1)
+               .addCollisionChain(4);
+        final StructureStatistics stats = builder.build();
+        assertEquals(5, stats.getNodeCount());
+        assertEquals(2, stats.getBranchCount());
+        assertEquals(2.0, stats.getAverageFanOut());
+        assertEquals(2, stats.getMaxDepth());
+        assertEquals(Arrays.asList(1, 3, 1), stats.getDepthCounts());
+        assertEquals(112L, stats.getEstimatedBytes());
+        assertEquals(4, stats.getMaxCollisionChainLength());
+
+        final Map<String, Integer> expectedNodes = new HashMap<>();
+        expectedNodes.put("String", 2);
+        expectedNodes.put("Integer", 3);
+        assertEquals(expectedNodes, stats.getNodeCounts());
+
+        final Map<Integer, Integer> expectedChains = new HashMap<>();
+        expectedChains.put(1, 2);
+        expectedChains.put(4, 1);
+        assertEquals(expectedChains, stats.getCollisionChainCounts());
+
+        // results are not affected by later changes to the builder
+        builder.addNode("extra", 5, 0, 8);
+        assertEquals(5, stats.getNodeCount());
+        assertEquals(6, builder.build().getNodeCount());
+    }
+
+    public void testByteEstimates()
+    {
+        assertEquals(16L, StructureStatistics.objectBytes(0, 0));
+        assertEquals(16L, StructureStatistics.objectBytes(1, 0));
+        assertEquals(24L, StructureStatistics.objectBytes(2, 1));
+        assertEquals(32L, StructureStatistics.objectBytes(3, 2));
+        assertEquals(16L, StructureStatistics.arrayBytes(0));
+        assertEquals(24L, StructureStatistics.arrayBytes(1));
+        assertEquals(144L, StructureStatistics.arrayBytes(32));
+    }
+}
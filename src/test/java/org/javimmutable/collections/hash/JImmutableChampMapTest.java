@@ -0,0 +1,196 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.hash;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.MapEntry;
+import org.javimmutable.collections.common.StandardJImmutableMapTests;
+import org.javimmutable.collections.common.StandardSerializableTests;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.javimmutable.collections.common.StandardJImmutableMapTests.verifyEnumeration;
+
+public class JImmutableChampMapTest
+    extends TestCase
+{
+    public void test()
+    {
+        StandardJImmutableMapTests.verifyMiscellaneous(JImmutableChampMap.of());
+    }
+
+    public void testRandom()
+    {
+        final Random random = new Random(700L);
+        for (int loop = 0; loop < 100; ++loop) {
+            final int range = (loop % 2 == 0) ? 500 : Integer.MAX_VALUE;
+            final Map<Integer, Integer> expected = new HashMap<>();
+            JImmutableChampMap<Integer, Integer> map = JImmutableChampMap.of();
+            final int size = random.nextInt(2000);
+            for (int i = 0; i < size; ++i) {
+                final Integer key = random.nextInt(range) - range / 2;
+                final Integer value = random.nextInt();
+                if (random.nextInt(4) == 0) {
+                    assertEquals(expected.remove(key), map.get(key));
+                    map = map.delete(key);
+                } else {
+                    expected.put(key, value);
+                    map = map.assign(key, value);
+                }
+                assertEquals(expected.size(), map.size());
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.containsKey(key), map.find(key).isFilled());
+            }
+            map.checkInvariants();
+            assertEquals(expected.hashCode(), map.hashCode());
+
+            // iteration order follows the trie layout rather than java.util.HashMap's
+            final Map<Integer, Integer> visited = new HashMap<>();
+            final List<JImmutableMap.Entry<Integer, Integer>> entries = new ArrayList<>();
+            map.forEach((k, v) -> {
+                assertNull(visited.put(k, v));
+                entries.add(MapEntry.of(k, v));
+            });
+            assertEquals(expected, visited);
+            verifyEnumeration(entries, map);
+            assertEquals(expected.values().stream().mapToLong(Integer::longValue).sum(), (long)map.reduce(0L, (s, k, v) -> s + v));
+
+            for (Integer key : expected.keySet()) {
+                map = map.delete(key);
+                map.checkInvariants();
+            }
+            assertSame(JImmutableChampMap.of(), map);
+        }
+    }
+
+    public void testHashCollisions()
+    {
+        final ManualHashKey key1 = new ManualHashKey(1000, "a");
+        final ManualHashKey key2 = new ManualHashKey(1000, "b");
+        final ManualHashKey key3 = new ManualHashKey(1000, "c");
+        final ManualHashKey key4 = new ManualHashKey(1000 + (1 << 30), "d");
+        JImmutableChampMap<ManualHashKey, String> map = JImmutableChampMap.of();
+        map = map.assign(key1, "1").assign(key2, "2").assign(key3, "3").assign(key4, "4");
+        map.checkInvariants();
+        assertEquals(4, map.size());
+        assertEquals("1", map.get(key1));
+        assertEquals("2", map.get(key2));
+        assertEquals("3", map.get(key3));
+        assertEquals("4", map.get(key4));
+        assertEquals("X", map.getValueOr(new ManualHashKey(1000, "z"), "X"));
+        assertSame(map, map.assign(key2, "2"));
+        assertSame(map, map.delete(new ManualHashKey(1000, "z")));
+
+        map = map.delete(key2);
+        map.checkInvariants();
+        assertEquals(3, map.size());
+        assertEquals(null, map.get(key2));
+        assertEquals("3", map.find(key3).getValueOr("X"));
+
+        map = map.delete(key1);
+        map.checkInvariants();
+        assertEquals(2, map.size());
+        assertEquals("3", map.get(key3));
+        assertEquals("4", map.get(key4));
+        assertEquals(JImmutableChampMap.<ManualHashKey, String>of().assign(key4, "4").assign(key3, "3"), map);
+
+        map = map.delete(key3).delete(key4);
+        assertSame(JImmutableChampMap.of(), map);
+    }
+
+    public void testEquals()
+    {
+        final Random random = new Random(701L);
+        final List<Integer> keys = new ArrayList<>();
+        for (int i = 0; i < 5000; ++i) {
+            keys.add(random.nextInt());
+        }
+        JImmutableChampMap<Integer, Integer> forward = JImmutableChampMap.of();
+        for (Integer key : keys) {
+            forward = forward.assign(key, key);
+        }
+        Collections.shuffle(keys, random);
+        JImmutableChampMap<Integer, Integer> shuffled = JImmutableChampMap.of();
+        for (Integer key : keys) {
+            shuffled = shuffled.assign(key, key).assign(key + 1, key).delete(key + 1);
+        }
+        shuffled.checkInvariants();
+        assertEquals(forward, shuffled);
+        assertEquals(shuffled, forward);
+        assertEquals(forward.hashCode(), shuffled.hashCode());
+        assertEquals(forward, JImmutableHashMap.<Integer, Integer>of().assignAll(forward));
+        assertEquals(forward.getMap(), shuffled.getMap());
+
+        final Integer key = keys.get(100);
+        assertFalse(forward.equals(shuffled.assign(key, key + 1)));
+        assertFalse(forward.equals(shuffled.delete(key)));
+        assertFalse(forward.equals(shuffled.delete(key).assign(key + 1, key)));
+        assertFalse(forward.equals(JImmutableChampMap.of()));
+    }
+
+    public void testBuilder()
+    {
+        final JImmutableChampMap.Builder<Integer, String> builder = JImmutableChampMap.builder();
+        for (int i = 0; i < 1000; ++i) {
+            builder.add(i * 37, String.valueOf(i));
+        }
+        final JImmutableChampMap<Integer, String> map = builder.build();
+        map.checkInvariants();
+        assertEquals(1000, map.size());
+        assertEquals("999", map.get(999 * 37));
+        assertSame(JImmutableChampMap.of(), builder.clear().build());
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        final Func1<Object, Iterator> iteratorFactory = a -> ((JImmutableMap)a).iterator();
+        final JImmutableChampMap<Integer, String> empty = JImmutableChampMap.of();
+        StandardSerializableTests.verifySerializable(iteratorFactory, null, empty,
+                                                     "H4sIAAAAAAAA/1vzloG1uIjBKb8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXz8oQpcs5IzC3wTSwIKMqvqPwPAv9UjHkYGCqKGFxJMNAxqbikKDG5BGEwNjMLyjkYGJhfMgBBBQDqJCh0tgAAAA==");
+        StandardSerializableTests.verifySerializable(iteratorFactory, null, empty.assign(Integer.MIN_VALUE, "a").assign(1, "b").assign(Integer.MAX_VALUE, "c"),
+                                                     "H4sIAAAAAAAA/1vzloG1uIjBKb8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXz8oQpcs5IzC3wTSwIKMqvqPwPAv9UjHkYGCqKGFxJMNAxqbikKDG5BGEwNjMLyjkYGJhfMgAJoIMFgWYn6uUk5qXreeaVpKanFgk9WrDke2O7BRMDoycDa1liTmkq0B0CCHV+pblJqUVta6bKck950M0EMrIBaFoJA2NicSFDHQMzkMMI5CVBePVAq4G85AoAKy5cKCMBAAA=");
+    }
+}
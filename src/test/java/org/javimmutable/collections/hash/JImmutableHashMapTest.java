@@ -48,9 +48,15 @@ import org.javimmutable.collections.common.MapBuilderTestAdapter;
 import org.javimmutable.collections.common.StandardBuilderTests;
 import org.javimmutable.collections.common.StandardJImmutableMapTests;
 import org.javimmutable.collections.common.StandardSerializableTests;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.indexed.IndexedList;
 
 import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -58,6 +64,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
 import static java.util.Arrays.asList;
@@ -214,6 +221,86 @@ public class JImmutableHashMapTest
         }
     }
 
+    public void testEditor()
+    {
+        Random random = new Random(200L);
+        for (int loop = 0; loop < 200; ++loop) {
+            final int maxKey = (loop % 2 == 0) ? 10000 : 99999999;
+            final Map<ManualHashKey, Integer> expected = new HashMap<>();
+            JImmutableMap<ManualHashKey, Integer> original = (loop % 4 < 2) ? JImmutableHashMap.of() : JImmutableHashMap.usingList();
+            final int initialSize = random.nextInt(200);
+            for (int i = 0; i < initialSize; ++i) {
+                final ManualHashKey key = createManualHashKey(maxKey, random);
+                original = original.assign(key, i);
+                expected.put(key, i);
+            }
+            final Map<ManualHashKey, Integer> originalContents = new HashMap<>(expected);
+            final List<JImmutableMap<ManualHashKey, Integer>> snapshots = new ArrayList<>();
+            final List<Map<ManualHashKey, Integer>> snapshotContents = new ArrayList<>();
+
+            final JImmutableHashMap.Editor<ManualHashKey, Integer> editor = editor(original);
+            assertEquals(expected.size(), editor.size());
+            final int size = 250 + random.nextInt(250);
+            for (int i = 1; i <= size; ++i) {
+                final ManualHashKey key = createManualHashKey(maxKey, random);
+                final Integer value = random.nextInt(1000000);
+                switch (random.nextInt(5)) {
+                    case 0:
+                    case 1:
+                        expected.put(key, value);
+                        assertSame(editor, editor.assign(key, value));
+                        break;
+                    case 2:
+                        expected.remove(key);
+                        assertSame(editor, editor.delete(key));
+                        break;
+                    case 3:
+                        expected.merge(key, value, (a, b) -> a ^ b);
+                        editor.update(key, h -> h.isEmpty() ? value : h.getValue() ^ value);
+                        break;
+                    case 4:
+                        final JImmutableMap<ManualHashKey, Integer> frozen = editor.freeze();
+                        frozen.checkInvariants();
+                        snapshots.add(frozen);
+                        snapshotContents.add(new HashMap<>(expected));
+                        break;
+                }
+                assertEquals(expected.get(key), editor.find(key).getValueOrNull());
+                assertEquals(expected.get(key), editor.getValueOr(key, null));
+                assertEquals(expected.size(), editor.size());
+            }
+
+            final JImmutableMap<ManualHashKey, Integer> map = editor.freeze();
+            map.checkInvariants();
+            assertEquals(expected, map.getMap());
+            assertEquals(expected.hashCode(), map.hashCode());
+            assertEquals(originalContents, original.getMap());
+            assertEquals(originalContents.hashCode(), original.hashCode());
+            for (int i = 0; i < snapshots.size(); ++i) {
+                assertEquals(snapshotContents.get(i), snapshots.get(i).getMap());
+                assertEquals(snapshotContents.get(i).hashCode(), snapshots.get(i).hashCode());
+            }
+
+            // editing after freeze must not affect the frozen map
+            for (ManualHashKey key : expected.keySet()) {
+                editor.delete(key);
+            }
+            assertEquals(true, editor.isEmpty());
+            assertSame(JImmutableHashMap.of(), editor.freeze());
+            assertEquals(expected, map.getMap());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> JImmutableHashMap.Editor<K, V> editor(JImmutableMap<K, V> map)
+    {
+        if (map instanceof EmptyHashMap) {
+            return ((EmptyHashMap<K, V>)map).edit();
+        } else {
+            return ((JImmutableHashMap<?, K, V>)map).edit();
+        }
+    }
+
     @Nonnull
     private ManualHashKey createManualHashKey(int maxKey,
                                               Random random)
@@ -222,8 +309,62 @@ public class JImmutableHashMapTest
         return new ManualHashKey(keyValue % 100, String.valueOf(keyValue));
     }
 
+    public void testHashCode()
+    {
+        StandardJImmutableMapTests.verifyHashCode(JImmutableHashMap.of());
+        StandardJImmutableMapTests.verifyHashCode(JImmutableHashMap.of(HashSpreader.mixing()));
+
+        // colliding keys are stored in the root's values, in leaves and in collision maps
+        final Random random = new Random(1100L);
+        for (JImmutableMap<ManualHashKey, Integer> map : asList(JImmutableHashMap.<ManualHashKey, Integer>usingList(), JImmutableHashMap.<ManualHashKey, Integer>usingTree())) {
+            final Map<ManualHashKey, Integer> expected = new HashMap<>();
+            for (int i = 0; i < 2000; ++i) {
+                final ManualHashKey key = createManualHashKey(i % 2 == 0 ? 100 : 5000, random);
+                if (random.nextInt(4) == 0) {
+                    map = map.delete(key);
+                    expected.remove(key);
+                } else {
+                    map = map.assign(key, i);
+                    expected.put(key, i);
+                }
+                assertEquals(expected.hashCode(), map.hashCode());
+            }
+            map.checkInvariants();
+            final JImmutableMap<ManualHashKey, Integer> merged = map.assignAll(JImmutableHashMap.<ManualHashKey, Integer>of().assign(new ManualHashKey(0, "merged"), 1));
+            expected.put(new ManualHashKey(0, "merged"), 1);
+            merged.checkInvariants();
+            assertEquals(expected.hashCode(), merged.hashCode());
+        }
+    }
+
     public void testEquals()
     {
+        StandardJImmutableMapTests.verifyEquals(JImmutableHashMap.of());
+        StandardJImmutableMapTests.verifyEquals(JImmutableHashMap.of(HashSpreader.mixing()));
+
+        // colliding keys compared in the root's values, in leaves and in collision maps
+        final Random random = new Random(1200L);
+        for (JImmutableMap<ManualHashKey, Integer> empty : asList(JImmutableHashMap.<ManualHashKey, Integer>usingList(), JImmutableHashMap.<ManualHashKey, Integer>usingTree())) {
+            final List<ManualHashKey> keys = new ArrayList<>();
+            JImmutableMap<ManualHashKey, Integer> map = empty;
+            for (int i = 0; i < 1000; ++i) {
+                final ManualHashKey key = createManualHashKey(i % 2 == 0 ? 100 : 5000, random);
+                map = map.assign(key, key.hashCode());
+                keys.add(key);
+            }
+            Collections.shuffle(keys, random);
+            JImmutableMap<ManualHashKey, Integer> other = empty;
+            for (ManualHashKey key : keys) {
+                other = other.assign(key, key.hashCode());
+            }
+            assertEquals(map, other);
+            assertEquals(other, map);
+            for (ManualHashKey key : keys.subList(0, 50)) {
+                assertEquals(false, map.equals(other.assign(key, -1)));
+                assertEquals(false, other.delete(key).equals(map));
+            }
+        }
+
         JImmutableMap<Integer, Integer> map1 = JImmutableHashMap.<Integer, Integer>usingList().assign(1, 3).assign(2, 4).assign(3, 5);
         JImmutableMap<Integer, Integer> map2 = JImmutableHashMap.<Integer, Integer>usingList().assign(1, 3).assign(2, 4).assign(3, 5);
         assertEquals(map1.hashCode(), map2.hashCode());
@@ -290,6 +431,352 @@ public class JImmutableHashMapTest
 
     }
 
+    public void testStructuralAssignAll()
+    {
+        Random random = new Random(300L);
+        for (int loop = 0; loop < 200; ++loop) {
+            final int maxKey = (loop % 2 == 0) ? 1000 : 99999999;
+            final Map<ManualHashKey, Integer> expected = new HashMap<>();
+            JImmutableMap<ManualHashKey, Integer> base = JImmutableHashMap.usingList();
+            final int baseSize = random.nextInt(300);
+            for (int i = 0; i < baseSize; ++i) {
+                final ManualHashKey key = createManualHashKey(maxKey, random);
+                base = base.assign(key, i);
+            }
+            JImmutableMap<ManualHashKey, Integer> left = base;
+            JImmutableMap<ManualHashKey, Integer> right = base;
+            final int changes = random.nextInt(300);
+            for (int i = 0; i < changes; ++i) {
+                final ManualHashKey key = createManualHashKey(maxKey, random);
+                switch (random.nextInt(4)) {
+                    case 0:
+                        left = left.assign(key, -i);
+                        break;
+                    case 1:
+                        right = right.assign(key, i);
+                        break;
+                    case 2:
+                        left = left.delete(key);
+                        break;
+                    case 3:
+                        right = right.delete(key);
+                        break;
+                }
+            }
+            expected.putAll(left.getMap());
+            expected.putAll(right.getMap());
+
+            final JImmutableMap<ManualHashKey, Integer> merged = left.assignAll(right);
+            merged.checkInvariants();
+            assertEquals(expected, merged.getMap());
+            assertEquals(expected.size(), merged.size());
+            assertSame(left, left.assignAll(left));
+            assertSame(merged, merged.assignAll(right));
+            assertSame(merged, merged.assignAll(JImmutableHashMap.usingList()));
+        }
+    }
+
+    public void testBuildParallel()
+    {
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final Random random = new Random(800L);
+            for (int loop = 0; loop < 20; ++loop) {
+                final int size = 10000 + random.nextInt(40000);
+                final int maxKey = (loop % 2 == 0) ? size : Integer.MAX_VALUE;
+                final List<JImmutableMap.Entry<Integer, Integer>> entries = new ArrayList<>();
+                final Map<Integer, Integer> expected = new HashMap<>();
+                for (int i = 0; i < size; ++i) {
+                    final Integer key = random.nextInt(maxKey);
+                    entries.add(MapEntry.of(key, i));
+                    expected.put(key, i);
+                }
+                final HashSpreader spreader = (loop % 4 < 2) ? HashSpreader.identity() : HashSpreader.mixing();
+                final JImmutableMap<Integer, Integer> map = JImmutableHashMap.buildParallel(IndexedList.retained(entries), spreader, pool);
+                map.checkInvariants();
+                assertEquals(expected, map.getMap());
+                assertEquals(JImmutableHashMap.<Integer, Integer>builder(spreader).add(entries).build(), map);
+                assertEquals(spreader, ((JImmutableHashMap)map).getSpreader());
+            }
+
+            // hash codes crowded into the root's values, a single child of the root or a single leaf
+            verifyBuildParallel(pool, i -> new ManualHashKey(0, String.valueOf(i)));
+            verifyBuildParallel(pool, i -> new ManualHashKey(64, String.valueOf(i)));
+            verifyBuildParallel(pool, i -> new ManualHashKey(i * 32, String.valueOf(i)));
+            verifyBuildParallel(pool, i -> new ManualHashKey(i % 2 == 0 ? 0 : 1, String.valueOf(i)));
+        } finally {
+            pool.shutdown();
+        }
+        final List<JImmutableMap.Entry<Integer, Integer>> small = asList(MapEntry.of(1, 1), MapEntry.of(2, 2), MapEntry.of(1, 3));
+        assertEquals(JImmutableHashMap.<Integer, Integer>of().assign(1, 3).assign(2, 2), JImmutableHashMap.buildParallel(IndexedList.retained(small)));
+        assertSame(JImmutableHashMap.of(), JImmutableHashMap.buildParallel(IndexedList.retained(Collections.emptyList())));
+    }
+
+    private void verifyBuildParallel(@Nonnull ForkJoinPool pool,
+                                     @Nonnull Func1<Integer, ManualHashKey> keyFactory)
+    {
+        final List<JImmutableMap.Entry<ManualHashKey, Integer>> entries = new ArrayList<>();
+        JImmutableMap<ManualHashKey, Integer> expected = JImmutableHashMap.of();
+        for (int i = 0; i < 10000; ++i) {
+            final ManualHashKey key = keyFactory.apply(i);
+            entries.add(MapEntry.of(key, i));
+            expected = expected.assign(key, i);
+        }
+        final JImmutableMap<ManualHashKey, Integer> map = JImmutableHashMap.buildParallel(IndexedList.retained(entries), HashSpreader.identity(), pool);
+        map.checkInvariants();
+        assertEquals(expected, map);
+        assertEquals(expected.size(), map.size());
+    }
+
+    public void testParallelReduce()
+    {
+        final Random random = new Random(900L);
+        StandardJImmutableMapTests.verifyParallelReduce(JImmutableHashMap.of());
+        for (int size : asList(1, 100, 5000, 50000)) {
+            JImmutableMap<Integer, Integer> map = JImmutableHashMap.of();
+            for (int i = 0; i < size; ++i) {
+                map = map.assign(random.nextInt(), i);
+            }
+            StandardJImmutableMapTests.verifyParallelReduce(map);
+        }
+
+        // collision values at the root and deep in the trie have to be included exactly once
+        JImmutableMap<ManualHashKey, Integer> collisions = JImmutableHashMap.of();
+        for (int i = 0; i < 10000; ++i) {
+            collisions = collisions.assign(new ManualHashKey(i % 3 == 0 ? 0 : i % 37, String.valueOf(i)), i);
+        }
+        final Integer expected = collisions.reduce(0, (s, k, v) -> s + v);
+        assertEquals(expected, collisions.parallelReduce(0, (s, k, v) -> s + v, (a, b) -> a + b));
+    }
+
+    public void testStatistics()
+    {
+        StructureStatistics stats = JImmutableHashMap.<Integer, Integer>of().getStatistics();
+        assertEquals(0, stats.getNodeCount());
+        assertEquals(0L, stats.getEstimatedBytes());
+
+        JImmutableMap<Integer, Integer> map = JImmutableHashMap.of();
+        for (int i = 0; i < 5000; ++i) {
+            map = map.assign(i, i);
+        }
+        stats = ((JImmutableHashMap<?, ?, ?>)map).getStatistics();
+        assertEquals(stats.getNodeCount(), stats.getNodeCounts().values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(stats.getNodeCount(), stats.getDepthCounts().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(Collections.singletonMap(1, 5000), stats.getCollisionChainCounts());
+        assertEquals(true, stats.getNodeCounts().containsKey("HamtBranchNode"));
+        assertEquals(true, stats.getAverageFanOut() > 1.0);
+        assertEquals(true, stats.getEstimatedBytes() > 5000 * 16);
+
+        // every key in one bucket makes a single long chain
+        for (JImmutableMap<ManualHashKey, Integer> collisions : asList(JImmutableHashMap.<ManualHashKey, Integer>usingList(), JImmutableHashMap.<ManualHashKey, Integer>usingTree())) {
+            for (int i = 0; i < 500; ++i) {
+                collisions = collisions.assign(new ManualHashKey(i < 400 ? 77 : i, String.valueOf(i)), i);
+            }
+            stats = ((JImmutableHashMap<?, ?, ?>)collisions).getStatistics();
+            assertEquals(400, stats.getMaxCollisionChainLength());
+            assertEquals(Integer.valueOf(1), stats.getCollisionChainCounts().get(400));
+            assertEquals(Integer.valueOf(100), stats.getCollisionChainCounts().get(1));
+        }
+        assertEquals(stats.getNodeCounts().get("ValueNode"), Integer.valueOf(500));
+    }
+
+    public void testDiff()
+    {
+        Random random = new Random(400L);
+        for (int loop = 0; loop < 100; ++loop) {
+            final int maxKey = (loop % 2 == 0) ? 1000 : 99999999;
+            JImmutableMap<ManualHashKey, Integer> older = JImmutableHashMap.usingList();
+            final int olderSize = random.nextInt(500);
+            for (int i = 0; i < olderSize; ++i) {
+                older = older.assign(createManualHashKey(maxKey, random), i);
+            }
+            JImmutableMap<ManualHashKey, Integer> newer = older;
+            final int changes = random.nextInt(50);
+            for (int i = 0; i < changes; ++i) {
+                final ManualHashKey key = createManualHashKey(maxKey, random);
+                switch (random.nextInt(3)) {
+                    case 0:
+                        newer = newer.assign(key, -i);
+                        break;
+                    case 1:
+                        newer = newer.delete(key);
+                        break;
+                    case 2:
+                        newer = newer.update(key, h -> h.isEmpty() ? 0 : h.getValue());
+                        break;
+                }
+            }
+            StandardJImmutableMapTests.verifyDiff(older, newer);
+            StandardJImmutableMapTests.verifyDiff(older, JImmutableHashMap.usingList());
+        }
+    }
+
+    public void testHashSpreader()
+        throws Exception
+    {
+        final HashSpreader spreader = HashSpreader.mixing();
+        final Random random = new Random(500L);
+        final Map<Integer, Integer> expected = new HashMap<>();
+        JImmutableMap<Integer, Integer> map = JImmutableHashMap.of(spreader);
+        for (int i = 0; i < 5000; ++i) {
+            final Integer key = random.nextInt(2000) << 20;
+            if (random.nextInt(4) == 0) {
+                expected.remove(key);
+                map = map.delete(key);
+            } else {
+                expected.put(key, i);
+                map = map.assign(key, i);
+            }
+            assertEquals(expected.get(key), map.get(key));
+        }
+        map.checkInvariants();
+        assertEquals(expected, map.getMap());
+        assertSame(spreader, ((JImmutableHashMap)map).getSpreader());
+        assertSame(JImmutableHashMap.of(spreader), map.deleteAll());
+
+        final JImmutableMap.Builder<Integer, Integer> builder = map.mapBuilder();
+        builder.add(expected);
+        final JImmutableMap<Integer, Integer> built = builder.build();
+        built.checkInvariants();
+        assertEquals(expected, built.getMap());
+        assertSame(spreader, ((JImmutableHashMap)built).getSpreader());
+
+        final JImmutableHashMap.Editor<Integer, Integer> editor = editor(JImmutableHashMap.of(spreader));
+        editor.assignAll(map);
+        assertEquals(expected, editor.freeze().getMap());
+
+        // maps with different spreaders cannot share structure but still combine correctly
+        final JImmutableMap<Integer, Integer> plain = JImmutableHashMap.<Integer, Integer>of().assign(-1, -1).assign(1 << 20, -2);
+        final Map<Integer, Integer> combined = new HashMap<>(expected);
+        combined.putAll(plain.getMap());
+        assertEquals(combined, map.assignAll(plain).getMap());
+        assertEquals(combined, JImmutableHashMap.<Integer, Integer>of().assignAll(map).assignAll(plain).getMap());
+        StandardJImmutableMapTests.verifyDiff(map, plain);
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(map);
+            out.writeObject(map.deleteAll());
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final JImmutableMap<?, ?> copy = (JImmutableMap<?, ?>)in.readObject();
+            assertEquals(expected, copy.getMap());
+            assertSame(spreader, ((JImmutableHashMap)copy).getSpreader());
+            assertSame(JImmutableHashMap.of(spreader), in.readObject());
+        }
+    }
+
+    @SuppressWarnings("RedundantStringConstructorCall")
+    public void testHashStrategy()
+        throws Exception
+    {
+        // identity strategy keeps keys that are equal but not the same object apart
+        final String a1 = new String("a");
+        final String a2 = new String("a");
+        JImmutableMap<String, Integer> identity = JImmutableHashMap.<String, Integer>of(HashStrategy.identity()).assign(a1, 1).assign(a2, 2);
+        identity.checkInvariants();
+        assertEquals(2, identity.size());
+        assertEquals(Integer.valueOf(1), identity.get(a1));
+        assertEquals(Integer.valueOf(2), identity.get(a2));
+        assertEquals(null, identity.get(new String("a")));
+        identity = identity.delete(a1);
+        assertEquals(1, identity.size());
+        assertEquals(Integer.valueOf(2), identity.get(a2));
+        identity = identity.delete(a2);
+        assertEquals(0, identity.size());
+        assertSame(HashStrategy.identity(), ((JImmutableHashMap)identity).getStrategy());
+        assertEquals(1, identity.assign(a1, 1).assign(a1, 3).size());
+        assertSame(JImmutableHashMap.of(), JImmutableHashMap.of(HashStrategy.standard()));
+
+        // custom strategy ignoring case whose hash codes collide frequently
+        final HashStrategy<String> strategy = CaseInsensitiveStrategy.INSTANCE;
+        final Random random = new Random(700L);
+        final Map<String, Integer> expected = new HashMap<>();
+        JImmutableMap<String, Integer> map = JImmutableHashMap.of(strategy);
+        for (int i = 0; i < 5000; ++i) {
+            final String key = "k" + random.nextInt(1000);
+            final String caseKey = random.nextBoolean() ? key.toUpperCase() : key;
+            if (random.nextInt(4) == 0) {
+                expected.remove(key);
+                map = map.delete(caseKey);
+            } else {
+                expected.put(key, i);
+                map = map.assign(caseKey, i);
+            }
+            assertEquals(expected.get(key), map.get(key.toUpperCase()));
+        }
+        map.checkInvariants();
+        assertEquals(expected, lowerCaseKeys(map));
+        assertSame(strategy, ((JImmutableHashMap)map).getStrategy());
+        assertSame(strategy, ((JImmutableHashMap)map.deleteAll()).getStrategy());
+        assertEquals(true, ((JImmutableHashMap)map).getStatistics().getMaxCollisionChainLength() > 1);
+
+        JImmutableMap<String, Integer> upper = JImmutableHashMap.of(strategy);
+        for (Map.Entry<String, Integer> e : expected.entrySet()) {
+            upper = upper.assign(e.getKey().toUpperCase(), e.getValue());
+        }
+        assertEquals(map, upper);
+        assertEquals(upper, map);
+        assertEquals(map.hashCode(), upper.hashCode());
+        assertEquals(false, map.equals(upper.assign("K1000", 1)));
+
+        final JImmutableMap<String, Integer> built = map.mapBuilder().add(upper).build();
+        built.checkInvariants();
+        assertSame(strategy, ((JImmutableHashMap)built).getStrategy());
+        assertEquals(map, built);
+        final JImmutableMap<String, Integer> mixed = JImmutableHashMap.<String, Integer>builder(strategy, HashSpreader.mixing()).add(map).build();
+        mixed.checkInvariants();
+        assertEquals(expected, lowerCaseKeys(mixed));
+        assertSame(strategy, ((JImmutableHashMap)mixed).getStrategy());
+        assertSame(HashSpreader.mixing(), ((JImmutableHashMap)mixed).getSpreader());
+
+        final JImmutableHashMap.Editor<String, Integer> editor = editor(JImmutableHashMap.of(strategy));
+        editor.assignAll(upper);
+        assertEquals(map, editor.freeze());
+        for (String key : expected.keySet()) {
+            editor.delete(key);
+        }
+        assertSame(strategy, ((JImmutableHashMap)editor.freeze()).getStrategy());
+
+        final List<JImmutableMap.Entry<String, Integer>> entries = new ArrayList<>();
+        for (int i = 0; i < 20000; ++i) {
+            entries.add(MapEntry.of((i % 2 == 0) ? "p" + i % 15000 : "P" + i % 15000, i));
+        }
+        final ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            final JImmutableMap<String, Integer> parallel = JImmutableHashMap.buildParallel(IndexedList.retained(entries), strategy, HashSpreader.identity(), pool);
+            parallel.checkInvariants();
+            assertEquals(15000, parallel.size());
+            assertSame(strategy, ((JImmutableHashMap)parallel).getStrategy());
+            assertEquals(JImmutableHashMap.<String, Integer>builder(strategy, HashSpreader.identity()).add(entries).build(), parallel);
+        } finally {
+            pool.shutdown();
+        }
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(map);
+            out.writeObject(map.deleteAll());
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final JImmutableMap<String, Integer> copy = (JImmutableMap<String, Integer>)in.readObject();
+            assertEquals(map, copy);
+            assertSame(strategy, ((JImmutableHashMap)copy).getStrategy());
+            final JImmutableMap<String, Integer> empty = (JImmutableMap<String, Integer>)in.readObject();
+            assertEquals(0, empty.size());
+            assertSame(strategy, ((JImmutableHashMap)empty).getStrategy());
+        }
+    }
+
+    private static Map<String, Integer> lowerCaseKeys(JImmutableMap<String, Integer> map)
+    {
+        final Map<String, Integer> answer = new HashMap<>();
+        for (JImmutableMap.Entry<String, Integer> e : map) {
+            assertEquals(null, answer.put(e.getKey().toLowerCase(), e.getValue()));
+        }
+        return answer;
+    }
+
     public void testEnumeration()
     {
         JImmutableMap<Integer, Integer> map = JImmutableHashMap.usingList();
@@ -503,39 +990,22 @@ public class JImmutableHashMapTest
         return true;
     }
 
-    private static class ManualHashKey
-        implements Comparable<ManualHashKey>
+    private enum CaseInsensitiveStrategy
+        implements HashStrategy<String>
     {
-        private final int hash;
-        private final String value;
-
-        private ManualHashKey(int hash,
-                              String value)
-        {
-            this.hash = hash;
-            this.value = value;
-        }
-
-        @Override
-        public int hashCode()
-        {
-            return hash;
-        }
+        INSTANCE;
 
         @Override
-        public boolean equals(Object o)
+        public int hash(@Nonnull String key)
         {
-            if (!(o instanceof ManualHashKey)) {
-                return false;
-            }
-            ManualHashKey other = (ManualHashKey)o;
-            return (other.hash == hash) && other.value.equals(value);
+            return key.toLowerCase().hashCode() & 0xff;
         }
 
         @Override
-        public int compareTo(@Nonnull ManualHashKey o)
+        public boolean equivalent(@Nonnull String a,
+                                  @Nonnull String b)
         {
-            return value.compareTo(o.value);
+            return a.equalsIgnoreCase(b);
         }
     }
 }
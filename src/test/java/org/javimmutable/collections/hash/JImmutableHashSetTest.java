@@ -46,17 +46,28 @@ import org.javimmutable.collections.common.StandardIterableStreamableTests;
 import org.javimmutable.collections.common.StandardJImmutableSetTests;
 import org.javimmutable.collections.common.StandardSerializableTests;
 import org.javimmutable.collections.common.TestUtil;
+import org.javimmutable.collections.inorder.JImmutableInsertOrderSet;
 import org.javimmutable.collections.iterators.StandardIteratorTests;
+import org.javimmutable.collections.list.JImmutableTreeList;
 import org.javimmutable.collections.list.JImmutableLinkedStack;
 import org.javimmutable.collections.tree.ComparableComparator;
+import org.javimmutable.collections.tree.JImmutableTreeSet;
 
 import javax.annotation.Nonnull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -209,6 +220,267 @@ public class JImmutableHashSetTest
         assertEquals(asList(), TestUtil.makeList(jet.intersection((Collection)tset)));
     }
 
+    public void testHashCode()
+    {
+        assertEquals(0, JImmutableHashSet.of().hashCode());
+        JImmutableSet<Integer> set = JImmutableHashSet.of();
+        for (int i = 0; i < 1000; ++i) {
+            set = set.insert(i * 7);
+        }
+        final JImmutableSet<Integer> other = JImmutableTreeSet.<Integer>of().insertAll(set);
+        assertEquals(set, other);
+        assertEquals(set.hashCode(), other.hashCode());
+        assertEquals(new HashSet<>(set.getSet()).hashCode(), set.hashCode());
+        assertEquals(set.hashCode(), JImmutableInsertOrderSet.<Integer>of().insertAll(set.getSet().stream().sorted(Comparator.reverseOrder()).iterator()).hashCode());
+        assertEquals(set.hashCode(), set.insert(-1).delete(-1).hashCode());
+    }
+
+    public void testStructuralEquals()
+    {
+        final JImmutableSet<Integer> set = JImmutableHashSet.<Integer>of().insertAll(IntStream.range(0, 5000).boxed().iterator());
+        final JImmutableSet<Integer> rebuilt = JImmutableHashSet.<Integer>of().insertAll(IntStream.range(0, 5000).map(i -> 4999 - i).boxed().iterator());
+        assertEquals(set, rebuilt);
+        assertEquals(set, set.insert(-1).delete(-1));
+        assertEquals(false, set.equals(set.delete(2500)));
+        assertEquals(false, set.delete(2500).insert(5000).equals(set));
+        assertEquals(set, JImmutableTreeSet.<Integer>of().insertAll(set));
+        assertEquals(JImmutableTreeSet.<Integer>of().insertAll(set), set);
+        assertEquals(set, JImmutableInsertOrderSet.<Integer>of().insertAll(set));
+        assertEquals(set, set.getSet());
+    }
+
+    {
+        final JImmutableSet<Integer> set = JImmutableHashSet.<Integer>of().insertAll(IntStream.range(-10000, 10000).boxed().iterator());
+        final List<Integer> expected = set.stream().collect(Collectors.toList());
+        final List<Integer> values = set.parallelReduce(JImmutableTreeList.<Integer>of(), (list, v) -> list.insertLast(v), (a, b) -> a.insertAllLast(b)).getList();
+        assertEquals(expected, values);
+        assertEquals(Long.valueOf(-10000L), set.parallelReduce(0L, (s, v) -> s + v, (a, b) -> a + b));
+
+        final Set<Integer> visited = ConcurrentHashMap.newKeySet();
+        set.parallelForEach(v -> assertTrue(visited.add(v)));
+        assertEquals(set.getSet(), visited);
+        assertEquals(Long.valueOf(0L), JImmutableHashSet.<Integer>of().parallelReduce(0L, (s, v) -> s + v, (a, b) -> a + b));
+    }
+
+    @SuppressWarnings("RedundantStringConstructorCall")
+    public void testHashStrategy()
+        throws Exception
+    {
+        final String a1 = new String("a");
+        final String a2 = new String("a");
+        final JImmutableSet<String> set = JImmutableHashSet.<String>of(HashStrategy.identity()).insert(a1).insert(a2).insert(a1);
+        set.checkInvariants();
+        assertEquals(2, set.size());
+        assertEquals(true, set.contains(a1));
+        assertEquals(true, set.contains(a2));
+        assertEquals(false, set.contains(new String("a")));
+        assertEquals(1, set.delete(a1).size());
+        assertSame(HashStrategy.identity(), ((JImmutableHashSet)set.deleteAll()).getStrategy());
+        assertSame(HashStrategy.identity(), ((JImmutableHashSet)set.delete(a1).delete(a2)).getStrategy());
+        assertSame(JImmutableHashSet.of(), JImmutableHashSet.of(HashStrategy.standard()));
+
+        final JImmutableSet<String> built = JImmutableHashSet.builder(HashStrategy.<String>identity()).add(a1).add(a2).add(a2).build();
+        assertEquals(set, built);
+        assertSame(HashStrategy.identity(), ((JImmutableHashSet)built).getStrategy());
+        assertSame(HashStrategy.identity(), ((JImmutableHashSet)JImmutableHashSet.builder(HashStrategy.<String>identity()).build()).getStrategy());
+
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(set);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            final JImmutableHashSet<?> copy = (JImmutableHashSet<?>)in.readObject();
+            assertEquals(2, copy.size());
+            assertSame(HashStrategy.identity(), copy.getStrategy());
+        }
+    }
+
+    public void testRandom()
+    {
+        final Random random = new Random(1400L);
+        for (int loop = 0; loop < 100; ++loop) {
+            final int range = (loop % 2 == 0) ? 500 : Integer.MAX_VALUE;
+            final Set<Integer> expected = new HashSet<>();
+            JImmutableHashSet<Integer> set = JImmutableHashSet.of();
+            final int size = random.nextInt(2000);
+            for (int i = 0; i < size; ++i) {
+                final Integer value = random.nextInt(range) - range / 2;
+                if (random.nextInt(4) == 0) {
+                    expected.remove(value);
+                    set = set.delete(value);
+                } else {
+                    expected.add(value);
+                    set = set.insert(value);
+                }
+                assertEquals(expected.size(), set.size());
+                assertEquals(true, expected.contains(value) == set.contains(value));
+            }
+            set.checkInvariants();
+            assertEquals(expected, set.getSet());
+            assertEquals(JImmutableTreeSet.<Integer>of().insertAll(expected).hashCode(), set.hashCode());
+            assertEquals(expected.stream().mapToLong(Integer::longValue).sum(), (long)set.reduce(0L, (s, v) -> s + v));
+
+            for (Integer value : expected) {
+                set = set.delete(value);
+                set.checkInvariants();
+            }
+            assertSame(JImmutableHashSet.of(), set);
+        }
+    }
+
+    public void testHashCollisions()
+    {
+        final ManualHashKey key1 = new ManualHashKey(1000, "a");
+        final ManualHashKey key2 = new ManualHashKey(1000, "b");
+        final ManualHashKey key3 = new ManualHashKey(1000, "c");
+        final ManualHashKey key4 = new ManualHashKey(1000 + (1 << 30), "d");
+        JImmutableHashSet<ManualHashKey> set = JImmutableHashSet.<ManualHashKey>of().insert(key1).insert(key2).insert(key3).insert(key4);
+        set.checkInvariants();
+        assertEquals(4, set.size());
+        assertEquals(true, set.containsAll(asList(key1, key2, key3, key4)));
+        assertEquals(false, set.contains(new ManualHashKey(1000, "z")));
+        assertSame(set, set.insert(new ManualHashKey(1000, "b")));
+        assertSame(set, set.delete(new ManualHashKey(1000, "z")));
+        assertEquals(Integer.valueOf(1), set.getStatistics().getCollisionChainCounts().get(3));
+
+        set = set.delete(key2);
+        set.checkInvariants();
+        assertEquals(3, set.size());
+        assertEquals(false, set.contains(key2));
+
+        set = set.delete(key1);
+        set.checkInvariants();
+        assertEquals(JImmutableHashSet.<ManualHashKey>of().insert(key4).insert(key3), set);
+        assertEquals(0, set.getStatistics().getCollisionChainCounts().getOrDefault(2, 0).intValue());
+        assertSame(JImmutableHashSet.of(), set.delete(key3).delete(key4));
+    }
+
+    public void testComparableHashCollisions()
+    {
+        // every string made of "Aa" and "BB" blocks has the same hash code
+        final List<String> keys = new ArrayList<>();
+        for (int bits = 0; bits < 64; ++bits) {
+            final StringBuilder key = new StringBuilder();
+            for (int i = 0; i < 6; ++i) {
+                key.append(((bits >>> i) & 1) == 0 ? "Aa" : "BB");
+            }
+            keys.add(key.toString());
+        }
+        final Random random = new Random(1500L);
+        for (int loop = 0; loop < 100; ++loop) {
+            final Set<Object> expected1 = new HashSet<>();
+            final Set<Object> expected2 = new HashSet<>();
+            JImmutableHashSet<Object> set1 = JImmutableHashSet.of();
+            JImmutableHashSet<Object> set2 = JImmutableHashSet.of();
+            for (int i = random.nextInt(64); i > 0; --i) {
+                final String key = keys.get(random.nextInt(keys.size()));
+                expected1.add(key);
+                set1 = set1.insert(key);
+                final String other = keys.get(random.nextInt(keys.size()));
+                expected2.add(other);
+                set2 = set2.insert(other);
+            }
+            if (loop % 4 == 0) {
+                // a key of another class forces a linear search of its bucket
+                final ManualHashKey key = new ManualHashKey(keys.get(0).hashCode(), "x");
+                expected2.add(key);
+                set2 = set2.insert(key);
+            }
+            verifyAlgebra(expected1, set1);
+            verifyAlgebra(expected2, set2);
+            for (String key : keys) {
+                assertEquals(expected1.contains(key), set1.contains(key));
+            }
+
+            final Set<Object> union = new HashSet<>(expected1);
+            union.addAll(expected2);
+            verifyAlgebra(union, set1.union(set2));
+            verifyAlgebra(union, set2.union(set1));
+
+            final Set<Object> intersection = new HashSet<>(expected1);
+            intersection.retainAll(expected2);
+            verifyAlgebra(intersection, set1.intersection(set2));
+
+            final Set<Object> difference = new HashSet<>(expected1);
+            difference.removeAll(expected2);
+            verifyAlgebra(difference, set1.deleteAll(set2));
+
+            for (Object key : expected1) {
+                set1 = set1.delete(key);
+                set1.checkInvariants();
+            }
+            assertSame(JImmutableHashSet.of(), set1);
+        }
+    }
+
+    public void testSetAlgebra()
+    {
+        final Random random = new Random(1500L);
+        for (int loop = 0; loop < 200; ++loop) {
+            final int range = (loop % 3 == 0) ? 64 : 5000;
+            final Set<ManualHashKey> expected1 = new HashSet<>();
+            final Set<ManualHashKey> expected2 = new HashSet<>();
+            JImmutableHashSet<ManualHashKey> set1 = JImmutableHashSet.of();
+            JImmutableHashSet<ManualHashKey> set2 = JImmutableHashSet.of();
+            for (int i = random.nextInt(1000); i > 0; --i) {
+                final ManualHashKey key = randomKey(random, range);
+                expected1.add(key);
+                set1 = set1.insert(key);
+            }
+            for (int i = random.nextInt(1000); i > 0; --i) {
+                final ManualHashKey key = randomKey(random, range);
+                expected2.add(key);
+                set2 = set2.insert(key);
+            }
+
+            final Set<ManualHashKey> union = new HashSet<>(expected1);
+            union.addAll(expected2);
+            verifyAlgebra(union, set1.union(set2));
+            verifyAlgebra(union, set2.insertAll(set1));
+
+            final Set<ManualHashKey> intersection = new HashSet<>(expected1);
+            intersection.retainAll(expected2);
+            verifyAlgebra(intersection, set1.intersection(set2));
+            verifyAlgebra(intersection, set2.intersection((Iterable<ManualHashKey>)set1));
+            verifyAlgebra(intersection, set1.intersection(set2.iterator()));
+
+            final Set<ManualHashKey> difference = new HashSet<>(expected1);
+            difference.removeAll(expected2);
+            verifyAlgebra(difference, set1.deleteAll(set2));
+        }
+    }
+
+    public void testSetAlgebraSharing()
+    {
+        final JImmutableHashSet<Integer> all = JImmutableHashSet.<Integer>of().insertAll(IntStream.range(0, 10000).boxed().iterator());
+        final JImmutableHashSet<Integer> evens = JImmutableHashSet.<Integer>of().insertAll(IntStream.range(0, 5000).map(i -> 2 * i).boxed().iterator());
+        final JImmutableHashSet<Integer> negatives = JImmutableHashSet.<Integer>of().insertAll(IntStream.range(1, 100).map(i -> -i).boxed().iterator());
+        assertSame(all, all.union(evens));
+        assertSame(all, all.union(JImmutableHashSet.of()));
+        assertSame(all, JImmutableHashSet.<Integer>of().union(all));
+        assertSame(evens, evens.intersection(all));
+        assertSame(all, all.deleteAll(negatives));
+        assertSame(JImmutableHashSet.of(), all.deleteAll(all));
+        assertSame(JImmutableHashSet.of(), evens.intersection(negatives));
+        assertEquals(all, all.deleteAll(evens).union(evens));
+        assertEquals(10099, all.union(negatives).size());
+
+        final JImmutableSet<String> identity = JImmutableHashSet.<String>of(HashStrategy.identity()).insert("a");
+        assertEquals(1, identity.union(JImmutableHashSet.of(HashStrategy.<String>identity()).insert("a")).size());
+        assertEquals(0, identity.intersection(JImmutableHashSet.<String>of().insert("b")).size());
+    }
+
+    public void testStatistics()
+    {
+        assertEquals(0, JImmutableHashSet.of().getStatistics().getNodeCount());
+        final JImmutableHashSet<Integer> set = (JImmutableHashSet<Integer>)JImmutableHashSet.<Integer>of().insertAll(IntStream.range(0, 1000).boxed().iterator());
+        assertEquals(Integer.valueOf(1000), set.getStatistics().getCollisionChainCounts().get(1));
+
+        // values are stored inline so the set needs far less memory than a map with the same keys
+        final JImmutableHashMap<?, Integer, Boolean> map = (JImmutableHashMap<?, Integer, Boolean>)JImmutableHashMap.<Integer, Boolean>of().assignAll(set.stream().collect(Collectors.toMap(v -> v, v -> Boolean.TRUE)));
+        assertTrue(2 * set.getStatistics().getEstimatedBytes() < map.getStatistics().getEstimatedBytes());
+    }
+
     public void testStreams()
     {
         JImmutableSet<Integer> mset = JImmutableHashSet.<Integer>of().insert(4).insert(3).insert(4).insert(2).insert(1).insert(3);
@@ -249,4 +521,24 @@ public class JImmutableHashSetTest
     {
         return new SetBuilderTestAdapter<>(JImmutableHashSet.builder());
     }
+
+    private static ManualHashKey randomKey(@Nonnull Random random,
+                                           int range)
+    {
+        // a small hash range forces collision nodes and long shared prefixes
+        final int value = random.nextInt(range);
+        return new ManualHashKey((range < 100) ? value % 8 : value * 0x9e3779b9, String.valueOf(value));
+    }
+
+    private static <T> void verifyAlgebra(@Nonnull Set<T> expected,
+                                          @Nonnull JImmutableSet<T> actual)
+    {
+        actual.checkInvariants();
+        assertEquals(expected, actual.getSet());
+        assertEquals(JImmutableHashSet.<T>of().insertAll(expected), actual);
+        assertEquals(JImmutableHashSet.<T>of().insertAll(expected).hashCode(), actual.hashCode());
+        if (expected.isEmpty()) {
+            assertSame(JImmutableHashSet.of(), actual);
+        }
+    }
 }
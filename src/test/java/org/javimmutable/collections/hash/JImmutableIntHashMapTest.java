@@ -0,0 +1,144 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.common.StandardJImmutableMapTests;
+import org.javimmutable.collections.common.StandardSerializableTests;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.javimmutable.collections.common.StandardJImmutableMapTests.verifyEnumeration;
+
+public class JImmutableIntHashMapTest
+    extends TestCase
+{
+    public void test()
+    {
+        StandardJImmutableMapTests.verifyMiscellaneous(JImmutableIntHashMap.of());
+    }
+
+    public void testRandom()
+    {
+        final Random random = new Random(600L);
+        for (int loop = 0; loop < 100; ++loop) {
+            final int range = (loop % 2 == 0) ? 500 : Integer.MAX_VALUE;
+            final HashMap<Integer, Integer> expected = new HashMap<>();
+            JImmutableIntHashMap<Integer> map = JImmutableIntHashMap.of();
+            final int size = random.nextInt(2000);
+            for (int i = 0; i < size; ++i) {
+                final int key = random.nextInt(range) - range / 2;
+                final Integer value = random.nextInt();
+                switch (random.nextInt(4)) {
+                    case 0:
+                        assertEquals(expected.remove(key), map.get(key));
+                        map = map.delete(key);
+                        break;
+                    case 1:
+                        expected.put(key, value);
+                        map = (JImmutableIntHashMap<Integer>)map.assign(Integer.valueOf(key), value);
+                        break;
+                    default:
+                        expected.put(key, value);
+                        map = map.assign(key, value);
+                        break;
+                }
+                assertEquals(expected.size(), map.size());
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.get(key), map.getValueOr(Integer.valueOf(key), null));
+                assertEquals(expected.containsKey(key), map.find(key).isFilled());
+            }
+            map.checkInvariants();
+            assertEquals(expected.hashCode(), map.hashCode());
+            verifyEnumeration(expected, map);
+
+            final Map<Integer, Integer> visited = new HashMap<>();
+            map.forEachInt((k, v) -> assertNull(visited.put(k, v)));
+            assertEquals(expected, visited);
+
+            for (Integer key : expected.keySet()) {
+                map = map.delete(key);
+                map.checkInvariants();
+            }
+            assertSame(JImmutableIntHashMap.of(), map);
+        }
+    }
+
+    public void testExtremeKeys()
+    {
+        final int[] keys = {Integer.MIN_VALUE, -1, 0, 1, Integer.MAX_VALUE, 1 << 30, 1 << 31, 31, 32, 1 << 25};
+        JImmutableIntHashMap<Integer> map = JImmutableIntHashMap.of();
+        for (int key : keys) {
+            map = map.assign(key, Integer.valueOf(key));
+            map.checkInvariants();
+        }
+        assertEquals(keys.length - 1, map.size());
+        for (int key : keys) {
+            assertEquals(Integer.valueOf(key), map.get(key));
+        }
+        assertSame(map, map.assign(0, map.get(0)));
+        assertSame(map, map.delete(1234));
+    }
+
+    public void testBuilder()
+    {
+        final JImmutableIntHashMap.Builder<String> builder = JImmutableIntHashMap.builder();
+        for (int i = 0; i < 1000; ++i) {
+            builder.add(i * 37, String.valueOf(i));
+        }
+        final JImmutableIntHashMap<String> map = builder.build();
+        map.checkInvariants();
+        assertEquals(1000, map.size());
+        assertEquals("999", map.get(999 * 37));
+        assertSame(JImmutableIntHashMap.of(), builder.clear().build());
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        final Func1<Object, Iterator> iteratorFactory = a -> ((JImmutableMap)a).iterator();
+        final JImmutableIntHashMap<String> empty = JImmutableIntHashMap.of();
+        StandardSerializableTests.verifySerializable(iteratorFactory, null, empty,
+                                                     "H4sIAAAAAAAA/1vzloG1uIjBJb8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXz8oQp8swr8UgszvBNLAgoyq+o/A8C/1SMeRgYKooYXEkw0jGpuKQoMbkEYTQ2MwvKORgYmF8yAEEFAFzFXVC4AAAA");
+        StandardSerializableTests.verifySerializable(iteratorFactory, null, empty.assign(Integer.MIN_VALUE, "a").assign(1, "b").assign(Integer.MAX_VALUE, "c"),
+                                                     "H4sIAAAAAAAA/1vzloG1uIjBJb8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXz8oQp8swr8UgszvBNLAgoyq+o/A8C/1SMeRgYKooYXEkw0jGpuKQoMbkEYTQ2MwvKORgYmF8yAAmgkwWBZifq5STmpesB3ZGanlok9GjBku+N7RZMDIyeDKxliTmlqUB3CCDU+ZXmJqUWta2ZKss95UE3E8jIBqBpJQyMicWFDHUMzEAOI5CXBOHVA60G8pIrAKaV3uUlAQAA");
+    }
+}
@@ -0,0 +1,147 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+package org.javimmutable.collections.hash;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.Func1;
+import org.javimmutable.collections.JImmutableMap;
+import org.javimmutable.collections.common.StandardJImmutableMapTests;
+import org.javimmutable.collections.common.StandardSerializableTests;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static org.javimmutable.collections.common.StandardJImmutableMapTests.verifyEnumeration;
+
+public class JImmutableLongHashMapTest
+    extends TestCase
+{
+    public void test()
+    {
+        final JImmutableLongHashMap<String> map = JImmutableLongHashMap.<String>of().assign(1L << 40, "a").assign(1L, "b");
+        assertEquals("a", map.get(1L << 40));
+        assertEquals("b", map.get(1L));
+        assertEquals(null, map.get(0L));
+    }
+
+    public void testRandom()
+    {
+        final Random random = new Random(600L);
+        for (int loop = 0; loop < 100; ++loop) {
+            final HashMap<Long, Integer> expected = new HashMap<>();
+            JImmutableLongHashMap<Integer> map = JImmutableLongHashMap.of();
+            final int size = random.nextInt(2000);
+            for (int i = 0; i < size; ++i) {
+                // odd loops spread a bounded pool of keys across the high bits so keys recur
+                final long key = (loop % 2 == 0) ? random.nextInt(500) - 250 : (random.nextInt(500) - 250) * (1L << 40) + random.nextInt(8);
+                final Integer value = random.nextInt();
+                switch (random.nextInt(4)) {
+                    case 0:
+                        assertEquals(expected.remove(key), map.get(key));
+                        map = map.delete(key);
+                        break;
+                    case 1:
+                        expected.put(key, value);
+                        map = (JImmutableLongHashMap<Integer>)map.assign(Long.valueOf(key), value);
+                        break;
+                    default:
+                        expected.put(key, value);
+                        map = map.assign(key, value);
+                        break;
+                }
+                assertEquals(expected.size(), map.size());
+                assertEquals(expected.get(key), map.get(key));
+                assertEquals(expected.get(key), map.getValueOr(Long.valueOf(key), null));
+                assertEquals(expected.containsKey(key), map.find(key).isFilled());
+            }
+            map.checkInvariants();
+            assertEquals(expected.hashCode(), map.hashCode());
+            verifyEnumeration(expected, map);
+
+            final Map<Long, Integer> visited = new HashMap<>();
+            map.forEachLong((k, v) -> assertNull(visited.put(k, v)));
+            assertEquals(expected, visited);
+
+            for (Long key : expected.keySet()) {
+                map = map.delete(key);
+                map.checkInvariants();
+            }
+            assertSame(JImmutableLongHashMap.of(), map);
+        }
+    }
+
+    public void testExtremeKeys()
+    {
+        final long[] keys = {Long.MIN_VALUE, -1, 0, 1, Long.MAX_VALUE, 1L << 62, 1L << 63, 31, 32, 1L << 60, 1L << 32, Integer.MIN_VALUE};
+        JImmutableLongHashMap<Long> map = JImmutableLongHashMap.of();
+        for (long key : keys) {
+            map = map.assign(key, Long.valueOf(key));
+            map.checkInvariants();
+        }
+        assertEquals(keys.length - 1, map.size());
+        for (long key : keys) {
+            assertEquals(Long.valueOf(key), map.get(key));
+        }
+        assertSame(map, map.assign(0, map.get(0)));
+        assertSame(map, map.delete(1234));
+    }
+
+    public void testBuilder()
+    {
+        final JImmutableLongHashMap.Builder<String> builder = JImmutableLongHashMap.builder();
+        for (int i = 0; i < 1000; ++i) {
+            builder.add(i * 37L, String.valueOf(i));
+        }
+        final JImmutableLongHashMap<String> map = builder.build();
+        map.checkInvariants();
+        assertEquals(1000, map.size());
+        assertEquals("999", map.get(999 * 37L));
+        assertSame(JImmutableLongHashMap.of(), builder.clear().build());
+    }
+
+    public void testSerialization()
+        throws Exception
+    {
+        final Func1<Object, Iterator> iteratorFactory = a -> ((JImmutableMap)a).iterator();
+        final JImmutableLongHashMap<String> empty = JImmutableLongHashMap.of();
+        StandardSerializableTests.verifySerializable(iteratorFactory, null, empty,
+                                                     "H4sIAAAAAAAA/1vzloG1uIjBNb8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXz8oQp8snPS/dILM7wTSwIKMqvqPwPAv9UjHkYGCpIM9MxqbikKDG5BGE2NjMLyjkYGJhfMgBBBQDByPhJuQAAAA==");
+        StandardSerializableTests.verifySerializable(iteratorFactory, null, empty.assign(Long.MIN_VALUE, "a").assign(1L, "b").assign(Long.MAX_VALUE, "c"),
+                                                     "H4sIAAAAAAAA/1vzloG1uIjBNb8oXS8rsSwzN7e0JDEpJ1UvOT8nJzW5JDM/r1ivOLUoMzEnsyoRxNXz8oQp8snPS/dILM7wTSwIKMqvqPwPAv9UjHkYGCpIM9MxqbikKDG5BGE2NjMLyjkYGJhfMgAJoJv5gGYn6uUk5qXrgRxi3f1kwpl+5ftMDIxeDKxliTmlqUBHCCAU+ZXmJqUWta2ZKss95UE3E8i8BgYIKGFgTCwuZKhjYIYKMAJFkiAi9f8hACiSXAEArupj+i8BAAA=");
+    }
+}
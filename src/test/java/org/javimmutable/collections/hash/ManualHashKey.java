@@ -35,45 +35,44 @@
 
 package org.javimmutable.collections.hash;
 
-import org.javimmutable.collections.JImmutableMap;
+import javax.annotation.Nonnull;
 
-import java.util.Random;
-
-public final class TimingLoop
+/**
+ * Test key whose hash code is chosen by the caller so tests can force collisions.
+ * Keys are ordered by their value string.
+ */
+class ManualHashKey
+    implements Comparable<ManualHashKey>
 {
-    private TimingLoop()
+    private final int hash;
+    private final String value;
+
+    ManualHashKey(int hash,
+                  String value)
+    {
+        this.hash = hash;
+        this.value = value;
+    }
+
+    @Override
+    public int hashCode()
     {
+        return hash;
     }
 
-    public static void main(String[] args)
+    @Override
+    public boolean equals(Object o)
     {
-        final int maxLoops = 250000;
-        final int maxKey = 999999999;
-        final int maxValue = 999999999;
-        Random random = new Random(1000);
-        int adds = 0;
-        int removes = 0;
-        int gets = 0;
-        long startPer = System.currentTimeMillis();
-        JImmutableMap<Integer, Integer> map = JImmutableHashMap.of();
-        for (int i = 1; i <= maxLoops; ++i) {
-            int command = random.nextInt(8);
-            if (command <= 1) {
-                Integer key = random.nextInt(maxKey);
-                Integer value = random.nextInt(maxValue);
-                map = map.assign(key, value);
-                adds += 1;
-            } else if (command == 2) {
-                Integer key = random.nextInt(maxKey);
-                map = map.delete(key);
-                removes += 1;
-            } else {
-                Integer key = random.nextInt(maxKey);
-                map.find(key);
-                gets += 1;
-            }
+        if (!(o instanceof ManualHashKey)) {
+            return false;
         }
-        long endPer = System.currentTimeMillis();
-        System.out.printf("phm adds %d removes %d gets %d elapsed %d%n", adds, removes, gets, (endPer - startPer));
+        ManualHashKey other = (ManualHashKey)o;
+        return (other.hash == hash) && other.value.equals(value);
+    }
+
+    @Override
+    public int compareTo(@Nonnull ManualHashKey o)
+    {
+        return value.compareTo(o.value);
     }
 }
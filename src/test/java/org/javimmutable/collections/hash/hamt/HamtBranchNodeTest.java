@@ -337,6 +337,57 @@ public class HamtBranchNodeTest
         }
     }
 
+    public void testTransientEdits()
+    {
+        final CollisionMap<Integer, Integer> collisionMap = ListCollisionMap.instance();
+        final Random r = new Random(1234L);
+
+        for (int loop = 1; loop <= 50; ++loop) {
+            final int maxKey = (loop % 2 == 0) ? Integer.MAX_VALUE : 5000;
+            final List<Integer> domain = IntStream.range(1, 1200)
+                .boxed()
+                .map(i -> r.nextInt(maxKey))
+                .distinct()
+                .collect(Collectors.toList());
+
+            final HamtEdit edit = new HamtEdit();
+            HamtNode<Integer, Integer> node = HamtEmptyNode.of();
+            for (Integer key : domain) {
+                node = node.assign(collisionMap, edit, key, key, key);
+                assertEquals(key, node.getValueOr(collisionMap, key, key, -1));
+            }
+            node.checkInvariants(collisionMap);
+            verifyIntContents(collisionMap, node, domain);
+
+            // nodes owned by the edit are changed in place
+            final Integer first = domain.get(0);
+            assertSame(node, node.assign(collisionMap, edit, first, first, -1));
+            assertEquals(Integer.valueOf(-1), node.getValueOr(collisionMap, first, first, null));
+            node = node.assign(collisionMap, edit, first, first, first);
+
+            // other edits and persistent operations never modify them
+            final HamtNode<Integer, Integer> frozen = node;
+            final HamtNode<Integer, Integer> other = frozen.assign(collisionMap, new HamtEdit(), first, first, -2);
+            assertNotSame(frozen, other);
+            assertNotSame(frozen, frozen.assign(collisionMap, first, first, -3));
+            assertNotSame(frozen, frozen.delete(collisionMap, first, first));
+            assertEquals(first, frozen.getValueOr(collisionMap, first, first, null));
+            assertEquals(Integer.valueOf(-2), other.getValueOr(collisionMap, first, first, null));
+            other.checkInvariants(collisionMap);
+
+            final HamtEdit deleteEdit = new HamtEdit();
+            Collections.shuffle(domain, r);
+            for (Integer key : domain) {
+                node = node.delete(collisionMap, deleteEdit, key, key);
+                assertSame(node, node.delete(collisionMap, deleteEdit, key, key));
+                assertEquals(null, node.getValueOr(collisionMap, key, key, null));
+            }
+            assertSame(HamtEmptyNode.of(), node);
+            frozen.checkInvariants(collisionMap);
+            verifyIntContents(collisionMap, frozen, domain);
+        }
+    }
+
     private void verifyContents(CollisionMap<Integer, String> collisionMap,
                                 HamtNode<Integer, String> node,
                                 String... values)
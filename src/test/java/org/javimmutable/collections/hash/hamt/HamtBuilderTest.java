@@ -36,6 +36,10 @@
 package org.javimmutable.collections.hash.hamt;
 
 import junit.framework.TestCase;
+import org.javimmutable.collections.common.CollisionMap;
+import org.javimmutable.collections.hash.HashSpreader;
+import org.javimmutable.collections.hash.HashStrategy;
+import org.javimmutable.collections.list.ListCollisionMap;
 
 import java.util.Random;
 
@@ -56,4 +60,27 @@ public class HamtBuilderTest
             builder.build().checkInvariants(builder.getCollisionMap());
         }
     }
+
+    @SuppressWarnings("RedundantStringConstructorCall")
+    public void testStrategy()
+    {
+        final HamtBuilder<String, Integer> builder = new HamtBuilder<>(HashStrategy.identity(), HashSpreader.identity());
+        final String a1 = new String("a");
+        final String a2 = new String("a");
+        builder.add(a1, 1);
+        builder.add(a2, 2);
+        builder.add(a1, 3);
+        assertEquals(2, builder.size());
+        final HamtNode<String, Integer> root = builder.build();
+        final CollisionMap<String, Integer> collisionMap = builder.getCollisionMap();
+        root.checkInvariants(collisionMap);
+        assertEquals(ListCollisionMap.forStrategy(HashStrategy.<String>identity()), collisionMap);
+        assertEquals(Integer.valueOf(3), root.getValueOr(collisionMap, collisionMap.keyHashCode(a1), a1, null));
+        assertEquals(Integer.valueOf(2), root.getValueOr(collisionMap, collisionMap.keyHashCode(a2), a2, null));
+
+        builder.clear();
+        builder.add(a1, 1);
+        assertEquals(1, builder.size());
+        assertEquals(collisionMap, builder.getCollisionMap());
+    }
 }
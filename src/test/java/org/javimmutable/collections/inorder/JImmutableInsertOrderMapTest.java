@@ -44,6 +44,7 @@ import org.javimmutable.collections.common.MapBuilderTestAdapter;
 import org.javimmutable.collections.common.StandardBuilderTests;
 import org.javimmutable.collections.common.StandardJImmutableMapTests;
 import org.javimmutable.collections.common.StandardSerializableTests;
+import org.javimmutable.collections.hash.JImmutableHashMap;
 import org.javimmutable.collections.iterators.StandardIteratorTests;
 
 import java.util.ArrayList;
@@ -214,6 +215,20 @@ public class JImmutableInsertOrderMapTest
         }
     }
 
+    public void testHashCode()
+    {
+        StandardJImmutableMapTests.verifyHashCode(JImmutableInsertOrderMap.of());
+    }
+
+    public void testStructuralEquals()
+    {
+        StandardJImmutableMapTests.verifyEquals(JImmutableInsertOrderMap.of());
+        final JImmutableMap<Integer, Integer> forward = JImmutableInsertOrderMap.<Integer, Integer>of().assign(1, 2).assign(3, 4);
+        final JImmutableMap<Integer, Integer> reverse = JImmutableInsertOrderMap.<Integer, Integer>of().assign(3, 4).assign(1, 2);
+        assertEquals(forward, reverse);
+        assertEquals(forward, JImmutableHashMap.<Integer, Integer>of().assign(1, 2).assign(3, 4));
+    }
+
     public void testAssignAll()
     {
         //assignAll(JImmutableMap)
@@ -0,0 +1,218 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.list;
+
+import junit.framework.TestCase;
+import org.javimmutable.collections.common.StructureStatistics;
+import org.javimmutable.collections.common.TestUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Common tests for the primitive lists.  Subclasses adapt their list and builder
+ * to the boxed hooks so every primitive type runs the same test logic.
+ */
+public abstract class AbstractPrimitiveListTestCase<T, L extends AbstractPrimitiveList<T, ?, L>, B extends AbstractPrimitiveList.AbstractBuilder<T, ?, L>>
+    extends TestCase
+{
+    abstract L empty();
+
+    abstract L of(int... values);
+
+    abstract T value(int value);
+
+    abstract L insertFirst(L list,
+                           T value);
+
+    abstract L insertLast(L list,
+                          T value);
+
+    abstract L insert(L list,
+                      int index,
+                      T value);
+
+    abstract L assign(L list,
+                      int index,
+                      T value);
+
+    abstract T get(L list,
+                   int index);
+
+    abstract List<T> forEachValues(L list);
+
+    abstract List<T> iteratorValues(L list);
+
+    abstract List<T> streamValues(L list);
+
+    abstract List<T> arrayValues(L list);
+
+    abstract L sorted(L list);
+
+    abstract T sum(L list,
+                   boolean parallel);
+
+    abstract T reduceSum(L list);
+
+    abstract B builder();
+
+    abstract void add(B builder,
+                      T value);
+
+    abstract B clear(B builder);
+
+    abstract String leafClassName();
+
+    public void testEmpty()
+    {
+        final L list = empty();
+        list.checkInvariants();
+        assertEquals(0, list.size());
+        assertEquals(true, list.isEmpty());
+        assertEquals(0, iteratorValues(list).size());
+        assertEquals(0, arrayValues(list).size());
+        assertEquals("[]", list.toString());
+        assertSame(list, of(1).deleteFirst());
+        assertSame(list, builder().build());
+        TestUtil.verifyOutOfBounds(() -> get(list, 0));
+        TestUtil.verifyOutOfBounds(() -> list.deleteLast());
+        TestUtil.verifyOutOfBounds(() -> insert(list, 1, value(1)));
+        assertEquals(of(5), insert(list, 0, value(5)));
+    }
+
+    public void testRandom()
+    {
+        final Random random = new Random(2201L);
+        for (int loop = 1; loop <= 50; ++loop) {
+            L list = empty();
+            final List<T> expected = new ArrayList<>();
+            for (int i = random.nextInt(3000); i > 0; --i) {
+                final T value = value(random.nextInt(100000));
+                final int command = random.nextInt(12);
+                if (command < 4) {
+                    list = insertLast(list, value);
+                    expected.add(value);
+                } else if (command < 7) {
+                    list = insertFirst(list, value);
+                    expected.add(0, value);
+                } else if (command == 7) {
+                    final int index = random.nextInt(expected.size() + 1);
+                    list = insert(list, index, value);
+                    expected.add(index, value);
+                } else if (command == 8 && !expected.isEmpty()) {
+                    final int index = random.nextInt(expected.size());
+                    list = assign(list, index, value);
+                    expected.set(index, value);
+                } else if (command == 9 && !expected.isEmpty()) {
+                    final int index = random.nextInt(expected.size());
+                    list = list.delete(index);
+                    expected.remove(index);
+                } else if (command == 10 && !expected.isEmpty()) {
+                    list = list.deleteFirst();
+                    expected.remove(0);
+                } else if (!expected.isEmpty()) {
+                    list = list.deleteLast();
+                    expected.remove(expected.size() - 1);
+                }
+            }
+            list.checkInvariants();
+            verifyContents(expected, list);
+
+            final int index = random.nextInt(expected.size() + 1);
+            verifyContents(expected.subList(0, index), list.prefix(index));
+            verifyContents(expected.subList(index, expected.size()), list.suffix(index));
+            verifyContents(expected, list.prefix(index).insertAllLast(list.suffix(index)));
+        }
+    }
+
+    public void testBuilder()
+    {
+        final List<T> expected = new ArrayList<>();
+        final B builder = builder();
+        for (int i = 0; i < 10000; ++i) {
+            add(builder, value(i));
+            expected.add(value(i));
+            assertEquals(expected.size(), builder.size());
+        }
+        final L list = builder.build();
+        list.checkInvariants();
+        verifyContents(expected, list);
+        verifyContents(expected, builder.build());
+        assertEquals(0, clear(builder).size());
+
+        final StructureStatistics stats = list.getStatistics();
+        assertEquals(Integer.valueOf(10000 / PrimitiveValueNode.MAX_SIZE + 1), stats.getNodeCounts().get(leafClassName()));
+        assertEquals(true, stats.getEstimatedBytes() < 10000L * 16);
+    }
+
+    public void testStreams()
+    {
+        final L list = of(5, 1, 4, 2, 3);
+        assertEquals(of(1, 2, 3, 4, 5), sorted(list));
+        assertEquals(value(15), sum(list, false));
+        assertEquals(value(15), reduceSum(list));
+        assertEquals(streamValues(list).toString(), list.toString());
+
+        final B builder = builder();
+        for (int i = 1; i <= 10000; ++i) {
+            add(builder, value(i));
+        }
+        assertEquals(value(50005000), sum(builder.build(), true));
+    }
+
+    public void testEquals()
+    {
+        assertEquals(of(1, 2, 3), insertLast(of(1, 2), value(3)));
+        assertEquals(of(1, 2, 3).hashCode(), insertLast(of(1, 2), value(3)).hashCode());
+        assertEquals(false, of(1, 2, 3).equals(of(1, 2)));
+        assertEquals(false, of(1, 2, 3).equals(of(1, 2, 4)));
+    }
+
+    private void verifyContents(List<T> expected,
+                                L list)
+    {
+        assertEquals(expected.size(), list.size());
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.get(i), get(list, i));
+        }
+        assertEquals(expected, forEachValues(list));
+        assertEquals(expected, iteratorValues(list));
+        assertEquals(expected, streamValues(list));
+        assertEquals(expected, arrayValues(list));
+    }
+}
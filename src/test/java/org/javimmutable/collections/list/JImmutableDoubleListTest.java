@@ -0,0 +1,178 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.DoubleConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class JImmutableDoubleListTest
+    extends AbstractPrimitiveListTestCase<Double, JImmutableDoubleList, JImmutableDoubleList.Builder>
+{
+    @Override
+    JImmutableDoubleList empty()
+    {
+        return JImmutableDoubleList.of();
+    }
+
+    @Override
+    JImmutableDoubleList of(int... values)
+    {
+        return JImmutableDoubleList.of(IntStream.of(values).asDoubleStream().toArray());
+    }
+
+    @Override
+    Double value(int value)
+    {
+        return (double)value;
+    }
+
+    @Override
+    JImmutableDoubleList insertFirst(JImmutableDoubleList list,
+                                     Double value)
+    {
+        return list.insertFirst(value);
+    }
+
+    @Override
+    JImmutableDoubleList insertLast(JImmutableDoubleList list,
+                                    Double value)
+    {
+        return list.insertLast(value);
+    }
+
+    @Override
+    JImmutableDoubleList insert(JImmutableDoubleList list,
+                                int index,
+                                Double value)
+    {
+        return list.insert(index, value);
+    }
+
+    @Override
+    JImmutableDoubleList assign(JImmutableDoubleList list,
+                                int index,
+                                Double value)
+    {
+        return list.assign(index, value);
+    }
+
+    @Override
+    Double get(JImmutableDoubleList list,
+               int index)
+    {
+        return list.get(index);
+    }
+
+    @Override
+    List<Double> forEachValues(JImmutableDoubleList list)
+    {
+        final List<Double> values = new ArrayList<>();
+        list.forEach((DoubleConsumer)values::add);
+        return values;
+    }
+
+    @Override
+    List<Double> iteratorValues(JImmutableDoubleList list)
+    {
+        final List<Double> values = new ArrayList<>();
+        list.iterator().forEachRemaining((DoubleConsumer)values::add);
+        return values;
+    }
+
+    @Override
+    List<Double> streamValues(JImmutableDoubleList list)
+    {
+        return list.stream().boxed().collect(Collectors.toList());
+    }
+
+    @Override
+    List<Double> arrayValues(JImmutableDoubleList list)
+    {
+        final List<Double> values = new ArrayList<>();
+        for (double value : list.toArray()) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    JImmutableDoubleList sorted(JImmutableDoubleList list)
+    {
+        return JImmutableDoubleList.of(list.stream().sorted().toArray());
+    }
+
+    @Override
+    Double sum(JImmutableDoubleList list,
+               boolean parallel)
+    {
+        return parallel ? list.stream().parallel().sum() : list.stream().sum();
+    }
+
+    @Override
+    Double reduceSum(JImmutableDoubleList list)
+    {
+        return list.reduce(0, (a, b) -> a + b);
+    }
+
+    @Override
+    JImmutableDoubleList.Builder builder()
+    {
+        return JImmutableDoubleList.builder();
+    }
+
+    @Override
+    void add(JImmutableDoubleList.Builder builder,
+             Double value)
+    {
+        builder.add(value);
+    }
+
+    @Override
+    JImmutableDoubleList.Builder clear(JImmutableDoubleList.Builder builder)
+    {
+        return builder.clear();
+    }
+
+    @Override
+    String leafClassName()
+    {
+        return "DoubleValueNode";
+    }
+}
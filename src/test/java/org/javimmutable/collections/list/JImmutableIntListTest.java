@@ -0,0 +1,177 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.stream.Collectors;
+
+public class JImmutableIntListTest
+    extends AbstractPrimitiveListTestCase<Integer, JImmutableIntList, JImmutableIntList.Builder>
+{
+    @Override
+    JImmutableIntList empty()
+    {
+        return JImmutableIntList.of();
+    }
+
+    @Override
+    JImmutableIntList of(int... values)
+    {
+        return JImmutableIntList.of(values);
+    }
+
+    @Override
+    Integer value(int value)
+    {
+        return value;
+    }
+
+    @Override
+    JImmutableIntList insertFirst(JImmutableIntList list,
+                                  Integer value)
+    {
+        return list.insertFirst(value);
+    }
+
+    @Override
+    JImmutableIntList insertLast(JImmutableIntList list,
+                                 Integer value)
+    {
+        return list.insertLast(value);
+    }
+
+    @Override
+    JImmutableIntList insert(JImmutableIntList list,
+                             int index,
+                             Integer value)
+    {
+        return list.insert(index, value);
+    }
+
+    @Override
+    JImmutableIntList assign(JImmutableIntList list,
+                             int index,
+                             Integer value)
+    {
+        return list.assign(index, value);
+    }
+
+    @Override
+    Integer get(JImmutableIntList list,
+                int index)
+    {
+        return list.get(index);
+    }
+
+    @Override
+    List<Integer> forEachValues(JImmutableIntList list)
+    {
+        final List<Integer> values = new ArrayList<>();
+        list.forEach((IntConsumer)values::add);
+        return values;
+    }
+
+    @Override
+    List<Integer> iteratorValues(JImmutableIntList list)
+    {
+        final List<Integer> values = new ArrayList<>();
+        list.iterator().forEachRemaining((IntConsumer)values::add);
+        return values;
+    }
+
+    @Override
+    List<Integer> streamValues(JImmutableIntList list)
+    {
+        return list.stream().boxed().collect(Collectors.toList());
+    }
+
+    @Override
+    List<Integer> arrayValues(JImmutableIntList list)
+    {
+        final List<Integer> values = new ArrayList<>();
+        for (int value : list.toArray()) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    JImmutableIntList sorted(JImmutableIntList list)
+    {
+        return JImmutableIntList.of(list.stream().sorted().toArray());
+    }
+
+    @Override
+    Integer sum(JImmutableIntList list,
+                boolean parallel)
+    {
+        return parallel ? list.stream().parallel().sum() : list.stream().sum();
+    }
+
+    @Override
+    Integer reduceSum(JImmutableIntList list)
+    {
+        return list.reduce(0, (a, b) -> a + b);
+    }
+
+    @Override
+    JImmutableIntList.Builder builder()
+    {
+        return JImmutableIntList.builder();
+    }
+
+    @Override
+    void add(JImmutableIntList.Builder builder,
+             Integer value)
+    {
+        builder.add(value);
+    }
+
+    @Override
+    JImmutableIntList.Builder clear(JImmutableIntList.Builder builder)
+    {
+        return builder.clear();
+    }
+
+    @Override
+    String leafClassName()
+    {
+        return "IntValueNode";
+    }
+}
@@ -0,0 +1,178 @@
+///###////////////////////////////////////////////////////////////////////////
+//
+// Burton Computer Corporation
+// http://www.burton-computer.com
+//
+// Copyright (c) 2019, Burton Computer Corporation
+// All rights reserved.
+//
+// Redistribution and use in source and binary forms, with or without
+// modification, are permitted provided that the following conditions are met:
+//
+//     Redistributions of source code must retain the above copyright
+//     notice, this list of conditions and the following disclaimer.
+//
+//     Redistributions in binary form must reproduce the above copyright
+//     notice, this list of conditions and the following disclaimer in
+//     the documentation and/or other materials provided with the
+//     distribution.
+//
+//     Neither the name of the Burton Computer Corporation nor the names
+//     of its contributors may be used to endorse or promote products
+//     derived from this software without specific prior written permission.
+//
+// THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+// "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+// LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+// A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT
+// HOLDER OR CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL,
+// SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT
+// LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE,
+// DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY
+// THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+// (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE
+// OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+
+
+package org.javimmutable.collections.list;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+public class JImmutableLongListTest
+    extends AbstractPrimitiveListTestCase<Long, JImmutableLongList, JImmutableLongList.Builder>
+{
+    @Override
+    JImmutableLongList empty()
+    {
+        return JImmutableLongList.of();
+    }
+
+    @Override
+    JImmutableLongList of(int... values)
+    {
+        return JImmutableLongList.of(IntStream.of(values).asLongStream().toArray());
+    }
+
+    @Override
+    Long value(int value)
+    {
+        return (long)value;
+    }
+
+    @Override
+    JImmutableLongList insertFirst(JImmutableLongList list,
+                                   Long value)
+    {
+        return list.insertFirst(value);
+    }
+
+    @Override
+    JImmutableLongList insertLast(JImmutableLongList list,
+                                  Long value)
+    {
+        return list.insertLast(value);
+    }
+
+    @Override
+    JImmutableLongList insert(JImmutableLongList list,
+                              int index,
+                              Long value)
+    {
+        return list.insert(index, value);
+    }
+
+    @Override
+    JImmutableLongList assign(JImmutableLongList list,
+                              int index,
+                              Long value)
+    {
+        return list.assign(index, value);
+    }
+
+    @Override
+    Long get(JImmutableLongList list,
+             int index)
+    {
+        return list.get(index);
+    }
+
+    @Override
+    List<Long> forEachValues(JImmutableLongList list)
+    {
+        final List<Long> values = new ArrayList<>();
+        list.forEach((LongConsumer)values::add);
+        return values;
+    }
+
+    @Override
+    List<Long> iteratorValues(JImmutableLongList list)
+    {
+        final List<Long> values = new ArrayList<>();
+        list.iterator().forEachRemaining((LongConsumer)values::add);
+        return values;
+    }
+
+    @Override
+    List<Long> streamValues(JImmutableLongList list)
+    {
+        return list.stream().boxed().collect(Collectors.toList());
+    }
+
+    @Override
+    List<Long> arrayValues(JImmutableLongList list)
+    {
+        final List<Long> values = new ArrayList<>();
+        for (long value : list.toArray()) {
+            values.add(value);
+        }
+        return values;
+    }
+
+    @Override
+    JImmutableLongList sorted(JImmutableLongList list)
+    {
+        return JImmutableLongList.of(list.stream().sorted().toArray());
+    }
+
+    @Override
+    Long sum(JImmutableLongList list,
+             boolean parallel)
+    {
+        return parallel ? list.stream().parallel().sum() : list.stream().sum();
+    }
+
+    @Override
+    Long reduceSum(JImmutableLongList list)
+    {
+        return list.reduce(0, (a, b) -> a + b);
+    }
+
+    @Override
+    JImmutableLongList.Builder builder()
+    {
+        return JImmutableLongList.builder();
+    }
+
+    @Override
+    void add(JImmutableLongList.Builder builder,
+             Long value)
+    {
+        builder.add(value);
+    }
+
+    @Override
+    JImmutableLongList.Builder clear(JImmutableLongList.Builder builder)
+    {
+        return builder.clear();
+    }
+
+    @Override
+    String leafClassName()
+    {
+        return "LongValueNode";
+    }
+}
@@ -43,19 +43,23 @@ import org.javimmutable.collections.common.StandardBuilderTests;
 import org.javimmutable.collections.common.StandardIterableStreamableTests;
 import org.javimmutable.collections.common.StandardJImmutableListTests;
 import org.javimmutable.collections.common.StandardSerializableTests;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.common.TestUtil;
 import org.javimmutable.collections.indexed.IndexedArray;
 import org.javimmutable.collections.indexed.IndexedList;
 import org.javimmutable.collections.iterators.IndexedIterator;
 import org.javimmutable.collections.iterators.StandardIteratorTests;
 
+import javax.annotation.Nonnull;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Random;
+import java.util.Spliterator;
 import java.util.stream.IntStream;
 
 import static java.util.Arrays.asList;
@@ -754,6 +758,89 @@ public class JImmutableTreeListTest
         StandardIteratorTests.indexedIteratorTest(list, list.size(), list.iterator());
     }
 
+    public void testStatistics()
+    {
+        assertEquals(0, JImmutableTreeList.of().getStatistics().getNodeCount());
+        assertEquals(Collections.singletonMap("OneValueNode", 1), JImmutableTreeList.of().insert(1).getStatistics().getNodeCounts());
+
+        // buffers are reported as stored rather than merged into the tree
+        final StructureStatistics buffered = JImmutableTreeList.<Integer>of().insertFirst(1).insertLast(2).getStatistics();
+        assertEquals(Collections.singletonMap("OneValueNode", 2), buffered.getNodeCounts());
+        assertEquals(0, buffered.getBranchCount());
+        assertEquals(0, buffered.getMaxDepth());
+
+        final JImmutableTreeList<Integer> list = JImmutableTreeList.<Integer>of().insertAll(IntStream.range(0, 10000).boxed().iterator());
+        final StructureStatistics stats = list.getStatistics();
+        final int branches = stats.getNodeCounts().get("BranchNode");
+        final int leaves = stats.getNodeCounts().get("MultiValueNode");
+        assertEquals(branches + 1, leaves);
+        assertEquals(branches, stats.getBranchCount());
+        assertEquals(2.0, stats.getAverageFanOut());
+        assertEquals(true, leaves >= 10000 / MultiValueNode.MAX_SIZE);
+        assertEquals(true, stats.getEstimatedBytes() >= 10000 * 4);
+    }
+
+    public void testBuffers()
+    {
+        final Random random = new Random(2101L);
+        for (int loop = 1; loop <= 50; ++loop) {
+            JImmutableTreeList<Integer> list = JImmutableTreeList.of();
+            final List<Integer> expected = new ArrayList<>();
+            for (int i = random.nextInt(2000); i > 0; --i) {
+                final int command = random.nextInt(10);
+                if (command < 4) {
+                    list = list.insertLast(i);
+                    expected.add(i);
+                } else if (command < 8) {
+                    list = list.insertFirst(i);
+                    expected.add(0, i);
+                } else if (command == 8 && !expected.isEmpty()) {
+                    final int index = random.nextInt(expected.size());
+                    list = list.assign(index, -i);
+                    expected.set(index, -i);
+                } else if (!expected.isEmpty()) {
+                    if (random.nextBoolean()) {
+                        list = list.deleteFirst();
+                        expected.remove(0);
+                    } else {
+                        list = list.deleteLast();
+                        expected.remove(expected.size() - 1);
+                    }
+                }
+                list.checkInvariants();
+            }
+            assertEquals(expected.size(), list.size());
+            for (int i = 0; i < expected.size(); ++i) {
+                assertEquals(expected.get(i), list.get(i));
+            }
+            assertEquals(expected, list.getList());
+            assertEquals(expected, list.reduce(new ArrayList<Integer>(), (answer, value) -> {
+                answer.add(value);
+                return answer;
+            }));
+            StandardIteratorTests.indexedIteratorTest(list, list.size(), list.iterator());
+            StandardIterableStreamableTests.verifyOrderedUsingCollection(expected, list);
+            if (!expected.isEmpty()) {
+                final int index = random.nextInt(expected.size());
+                assertEquals(expected.subList(0, index), list.prefix(index).getList());
+                assertEquals(expected.subList(index, expected.size()), list.suffix(index).getList());
+                expected.add(index, -1);
+                assertEquals(expected, list.insert(index, -1).getList());
+            }
+        }
+
+        JImmutableTreeList<Integer> list = JImmutableTreeList.of();
+        for (int i = 0; i < 10000; ++i) {
+            list = list.insertLast(i).insertFirst(-i);
+        }
+        list.checkInvariants();
+        final int leaves = list.getStatistics().getNodeCounts().get("MultiValueNode");
+        // partial leaves at either end of the tree plus the head and tail buffers
+        assertEquals(true, leaves <= 4 + 20000 / MultiValueNode.MAX_SIZE);
+        TestUtil.verifyOutOfBounds(() -> JImmutableTreeList.of().insertLast(1).get(1));
+        TestUtil.verifyOutOfBounds(() -> JImmutableTreeList.of().insertLast(1).assign(1, 2));
+    }
+
     public void testSlice()
     {
         final JImmutableList<Integer> list = rangeList(1, 9);
@@ -1134,6 +1221,145 @@ public class JImmutableTreeListTest
         assertEquals(original, original.stream().parallel().collect(JImmutableTreeList.createListCollector()));
     }
 
+    public void testSorted()
+    {
+        final Random random = new Random(2401L);
+        final Comparator<Integer> byTens = Comparator.comparingInt(i -> i / 10);
+        for (int size : asList(0, 1, 2, 100, 129, 1000, 50000)) {
+            JImmutableTreeList<Integer> list = JImmutableTreeList.of();
+            final List<Integer> expected = new ArrayList<>();
+            for (int i = 0; i < size; ++i) {
+                final int value = random.nextInt(size * 5 + 1);
+                if (random.nextBoolean()) {
+                    list = list.insertLast(value);
+                    expected.add(value);
+                } else {
+                    list = list.insertFirst(value);
+                    expected.add(0, value);
+                }
+            }
+            expected.sort(byTens);
+            for (JImmutableTreeList<Integer> sorted : asList(list.sorted(byTens), list.parallelSorted(byTens))) {
+                sorted.checkInvariants();
+                assertEquals(expected, sorted.getList());
+            }
+
+            final JImmutableTreeList<Integer> sorted = list.sorted(Comparator.naturalOrder());
+            expected.sort(Comparator.naturalOrder());
+            assertEquals(expected, sorted.getList());
+            for (int i = 0; i < 100; ++i) {
+                final int value = random.nextInt(size * 5 + 10) - 5;
+                final int index = sorted.binarySearch(value, Comparator.naturalOrder());
+                if (index >= 0) {
+                    assertEquals(Integer.valueOf(value), sorted.get(index));
+                } else {
+                    assertEquals(Collections.binarySearch(expected, value), index);
+                }
+            }
+        }
+        final JImmutableTreeList<Integer> single = JImmutableTreeList.<Integer>of().insert(1);
+        assertSame(single, single.sorted(Comparator.naturalOrder()));
+        assertEquals(-1, JImmutableTreeList.<Integer>of().binarySearch(1, Comparator.naturalOrder()));
+    }
+
+    public void testBulkCopy()
+    {
+        final Random random = new Random(2501L);
+        for (int size : asList(0, 1, 31, 100, 129, 1000, 25000)) {
+            JImmutableTreeList<Integer> list = JImmutableTreeList.<Integer>of().insertAll(IntStream.range(0, size).boxed().iterator());
+            for (int i = 1; i <= 40; ++i) {
+                list = list.insertFirst(-i).insertLast(size + i);
+            }
+            final List<Integer> expected = list.getList();
+            final int length = expected.size();
+
+            assertEquals(expected, asList(list.toArray(new Integer[0])));
+            final Integer[] exact = new Integer[length];
+            assertSame(exact, list.toArray(exact));
+            assertEquals(expected, asList(exact));
+            final Integer[] larger = new Integer[length + 2];
+            Arrays.fill(larger, 99);
+            assertSame(larger, list.toArray(larger));
+            assertEquals(expected, asList(larger).subList(0, length));
+            assertNull(larger[length]);
+            assertEquals(Integer.valueOf(99), larger[length + 1]);
+
+            for (int loop = 0; loop < 50; ++loop) {
+                final int from = random.nextInt(length + 1);
+                final int to = from + random.nextInt(length - from + 1);
+                final Object[] dest = new Object[to - from + 4];
+                list.copyRange(from, to, dest, 2);
+                assertEquals(expected.subList(from, to), asList(dest).subList(2, 2 + to - from));
+                assertNull(dest[1]);
+                assertNull(dest[dest.length - 1]);
+            }
+
+            final List<Object> chunked = new ArrayList<>();
+            list.forEachChunk((values, offset, count) -> {
+                assertTrue(count > 0);
+                chunked.addAll(asList(values).subList(offset, offset + count));
+                Arrays.fill(values, offset, offset + count, -1);
+            });
+            assertEquals(expected, chunked);
+            assertEquals(expected, list.getList());
+        }
+
+        final JImmutableTreeList<Integer> list = JImmutableTreeList.<Integer>of().insertAll(asList(1, 2, 3));
+        assertThatThrownBy(() -> list.copyRange(-1, 2, new Object[3], 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.copyRange(2, 1, new Object[3], 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.copyRange(0, 4, new Object[4], 0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.copyRange(0, 3, new Object[3], 1)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> list.copyRange(0, 3, new String[3], 0)).isInstanceOf(ArrayStoreException.class);
+    }
+
+    public void testSpliterator()
+    {
+        final Random random = new Random(2301L);
+        for (int size : asList(0, 1, 100, 129, 1000, 25000)) {
+            JImmutableTreeList<Integer> list = JImmutableTreeList.<Integer>of().insertAll(IntStream.range(0, size).boxed().iterator());
+            for (int i = 0; i < 40; ++i) {
+                list = list.insertFirst(-i).insertLast(size + i);
+            }
+            final List<Integer> expected = new ArrayList<>(list.getList());
+            for (int loop = 0; loop < 10; ++loop) {
+                final Spliterator<Integer> spliterator = list.spliterator();
+                assertEquals(Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.IMMUTABLE, spliterator.characteristics());
+                assertEquals(expected.size(), spliterator.getExactSizeIfKnown());
+                final List<Integer> actual = new ArrayList<>();
+                traverseSplits(random, spliterator, actual);
+                assertEquals(expected, actual);
+            }
+            assertEquals(expected, list.parallelStream().collect(toList()));
+        }
+    }
+
+    private static void traverseSplits(@Nonnull Random random,
+                                       @Nonnull Spliterator<Integer> spliterator,
+                                       @Nonnull List<Integer> values)
+    {
+        final long size = spliterator.estimateSize();
+        final int before = values.size();
+        if (random.nextInt(4) == 0 && spliterator.tryAdvance(values::add)) {
+            assertEquals(size - 1, spliterator.estimateSize());
+        }
+        final Spliterator<Integer> prefix = random.nextInt(5) == 0 ? null : spliterator.trySplit();
+        if (prefix == null) {
+            if (random.nextBoolean()) {
+                spliterator.forEachRemaining(values::add);
+            } else {
+                while (spliterator.tryAdvance(values::add)) {
+                    assertEquals(size - (values.size() - before), spliterator.estimateSize());
+                }
+            }
+        } else {
+            assertEquals(size - (values.size() - before), prefix.estimateSize() + spliterator.estimateSize());
+            traverseSplits(random, prefix, values);
+            traverseSplits(random, spliterator, values);
+        }
+        assertEquals(0, spliterator.estimateSize());
+        assertEquals(size, values.size() - before);
+    }
+
     public void testBuilder()
         throws InterruptedException
     {
@@ -46,12 +46,16 @@ import org.javimmutable.collections.Sum2;
 import org.javimmutable.collections.Sum2Throws;
 import org.javimmutable.collections.common.StandardJImmutableMapTests;
 import org.javimmutable.collections.common.StandardSerializableTests;
+import org.javimmutable.collections.common.StructureStatistics;
 import org.javimmutable.collections.iterators.StandardIteratorTests;
 
+import javax.annotation.Nonnull;
 import java.io.IOException;
+import java.util.AbstractMap;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -304,6 +308,183 @@ public class JImmutableTreeMapTest
 
     }
 
+    public void testSplitJoin()
+    {
+        final Random random = new Random(1600L);
+        final Comparator<Integer> comp = ComparableComparator.of();
+        for (int loop = 0; loop < 100; ++loop) {
+            final TreeMap<Integer, Integer> expected = new TreeMap<>();
+            AbstractNode<Integer, Integer> root = FringeNode.instance();
+            for (int i = random.nextInt(500); i > 0; --i) {
+                final Integer key = random.nextInt(1000);
+                expected.put(key, i);
+                root = root.assign(comp, key, i);
+            }
+            for (int i = 0; i < 20; ++i) {
+                final Integer key = random.nextInt(1000);
+                final AbstractNode.SplitResult<Integer, Integer> split = root.split(comp, key);
+                split.left.checkInvariants(comp);
+                split.right.checkInvariants(comp);
+                assertEquals(new ArrayList<>(expected.headMap(key).entrySet()), entries(split.left));
+                assertEquals(new ArrayList<>(expected.tailMap(key, false).entrySet()), entries(split.right));
+                if (expected.containsKey(key)) {
+                    assertNotNull(split.match);
+                    assertEquals(expected.get(key), split.match.value());
+                    final AbstractNode<Integer, Integer> joined = ValueNode.join(split.left, key, split.match.value(), split.right);
+                    joined.checkInvariants(comp);
+                    assertEquals(new ArrayList<>(expected.entrySet()), entries(joined));
+                } else {
+                    assertNull(split.match);
+                    final AbstractNode<Integer, Integer> joined = ValueNode.concat(split.left, split.right);
+                    joined.checkInvariants(comp);
+                    assertEquals(new ArrayList<>(expected.entrySet()), entries(joined));
+                }
+            }
+        }
+
+        // trees of very different depths
+        AbstractNode<Integer, Integer> big = FringeNode.instance();
+        for (int i = 0; i < 10000; ++i) {
+            big = big.assign(comp, i, i);
+        }
+        final AbstractNode<Integer, Integer> small = ValueNode.instance(20000, 20000);
+        final AbstractNode<Integer, Integer> joined = ValueNode.join(big, 15000, 15000, small);
+        joined.checkInvariants(comp);
+        assertEquals(10002, joined.size());
+        final AbstractNode<Integer, Integer> reversed = ValueNode.join(ValueNode.instance(-2, -2), -1, -1, big);
+        reversed.checkInvariants(comp);
+        assertEquals(Integer.valueOf(-2), reversed.reduce(null, (s, k, v) -> (s == null) ? k : s));
+    }
+
+    public void testMergeMaps()
+    {
+        final Random random = new Random(1601L);
+        for (int loop = 0; loop < 60; ++loop) {
+            final int range = (loop < 50) ? 400 : 100000;
+            final int size = (loop < 50) ? 300 : 30000;
+            final TreeMap<Integer, Integer> expected1 = new TreeMap<>();
+            final TreeMap<Integer, Integer> expected2 = new TreeMap<>();
+            JImmutableTreeMap<Integer, Integer> map1 = JImmutableTreeMap.of();
+            JImmutableTreeMap<Integer, Integer> map2 = JImmutableTreeMap.of();
+            for (int i = random.nextInt(size); i > 0; --i) {
+                final Integer key = random.nextInt(range);
+                expected1.put(key, i);
+                map1 = map1.assign(key, i);
+            }
+            for (int i = random.nextInt(size); i > 0; --i) {
+                final Integer key = random.nextInt(range);
+                expected2.put(key, -i);
+                map2 = map2.assign(key, -i);
+            }
+
+            final TreeMap<Integer, Integer> union = new TreeMap<>(expected1);
+            union.putAll(expected2);
+            verifyMerged(union, map1.assignAll(map2));
+
+            final TreeMap<Integer, Integer> intersection = new TreeMap<>(expected1);
+            intersection.keySet().retainAll(expected2.keySet());
+            verifyMerged(intersection, map1.retainKeys(map2));
+
+            final TreeMap<Integer, Integer> difference = new TreeMap<>(expected1);
+            difference.keySet().removeAll(expected2.keySet());
+            verifyMerged(difference, map1.deleteKeys(map2));
+
+            final JImmutableTreeMap<Integer, Integer> reversed = (JImmutableTreeMap<Integer, Integer>)JImmutableTreeMap.<Integer, Integer>of(Comparator.reverseOrder()).assignAll(expected2);
+            verifyMerged(intersection, map1.retainKeys(reversed));
+            verifyMerged(difference, map1.deleteKeys(reversed));
+        }
+
+        final JImmutableTreeMap<Integer, Integer> map = (JImmutableTreeMap<Integer, Integer>)JImmutableTreeMap.<Integer, Integer>of().assignAll(asList(1, 2, 3, 4, 5).stream().collect(Collectors.toMap(i -> i, i -> i)));
+        final JImmutableTreeMap<Integer, Integer> other = JImmutableTreeMap.<Integer, Integer>of().assign(10, 10);
+        assertSame(map, map.assignAll(JImmutableTreeMap.of()));
+        assertSame(map, map.assignAll(map));
+        assertSame(map, map.retainKeys(map));
+        assertSame(map, map.deleteKeys(other));
+        assertSame(JImmutableTreeMap.of(), map.deleteKeys(map));
+        assertSame(JImmutableTreeMap.of(), map.retainKeys(other));
+    }
+
+    public void testRangeQueries()
+    {
+        final Random random = new Random(1701L);
+        for (int loop = 0; loop < 40; ++loop) {
+            final int range = (loop < 30) ? 200 : 20000;
+            final TreeMap<Integer, Integer> expected = new TreeMap<>();
+            JImmutableTreeMap<Integer, Integer> map = JImmutableTreeMap.of();
+            for (int i = random.nextInt(range); i > 0; --i) {
+                final Integer key = random.nextInt(range);
+                expected.put(key, i);
+                map = map.assign(key, i);
+            }
+            for (int i = 0; i < 100; ++i) {
+                final Integer key = random.nextInt(range + 20) - 10;
+                verifyEntry(expected.floorEntry(key), map.floorEntry(key));
+                verifyEntry(expected.ceilingEntry(key), map.ceilingEntry(key));
+                verifyEntry(expected.lowerEntry(key), map.lowerEntry(key));
+                verifyEntry(expected.higherEntry(key), map.higherEntry(key));
+                verifyMerged(new TreeMap<>(expected.headMap(key, false)), map.headMap(key));
+                verifyMerged(new TreeMap<>(expected.tailMap(key, true)), map.tailMap(key));
+
+                final Integer toKey = key + random.nextInt(range / 4);
+                final TreeMap<Integer, Integer> subMap = new TreeMap<>(expected.subMap(key, true, toKey, false));
+                verifyMerged(subMap, map.subMap(key, toKey));
+                assertEquals(new ArrayList<>(subMap.entrySet()), map.entries(key, toKey).stream().collect(Collectors.toList()));
+                assertEquals(subMap.size(), map.entries(key, toKey).parallelStream().count());
+            }
+        }
+
+        final JImmutableTreeMap<Integer, Integer> map = (JImmutableTreeMap<Integer, Integer>)JImmutableTreeMap.<Integer, Integer>of().assignAll(asList(10, 20, 30).stream().collect(Collectors.toMap(i -> i, i -> i)));
+        assertEquals(true, map.floorEntry(5).isEmpty());
+        assertEquals(true, map.higherEntry(30).isEmpty());
+        assertEquals(MapEntry.of(20, 20), map.lowerEntry(30).getValue());
+        assertEquals(map, map.subMap(0, 100));
+        assertEquals(true, map.subMap(20, 20).isEmpty());
+        emptyIteratorTest(map.entries(15, 20).iterator());
+        try {
+            map.subMap(20, 10);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+        try {
+            map.entries(20, 10);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    public void testDiff()
+    {
+        Random random = new Random(400L);
+        for (int loop = 0; loop < 100; ++loop) {
+            final int maxKey = (loop % 2 == 0) ? 1000 : 99999999;
+            JImmutableMap<Integer, Integer> older = JImmutableTreeMap.of();
+            final int olderSize = random.nextInt(500);
+            for (int i = 0; i < olderSize; ++i) {
+                older = older.assign(random.nextInt(maxKey), i);
+            }
+            JImmutableMap<Integer, Integer> newer = older;
+            final int changes = random.nextInt(50);
+            for (int i = 0; i < changes; ++i) {
+                final Integer key = random.nextInt(maxKey);
+                switch (random.nextInt(3)) {
+                    case 0:
+                        newer = newer.assign(key, -i);
+                        break;
+                    case 1:
+                        newer = newer.delete(key);
+                        break;
+                    case 2:
+                        newer = newer.update(key, h -> h.isEmpty() ? 0 : h.getValue());
+                        break;
+                }
+            }
+            StandardJImmutableMapTests.verifyDiff(older, newer);
+            StandardJImmutableMapTests.verifyDiff(older, JImmutableTreeMap.of());
+        }
+    }
+
     public void testIterator()
     {
         List<JImmutableMap.Entry<Integer, Integer>> expected = new ArrayList<>();
@@ -457,6 +638,201 @@ public class JImmutableTreeMapTest
         }
     }
 
+    public void testHashCode()
+    {
+        verifyHashCode(JImmutableTreeMap.of());
+        verifyHashCode(JImmutableTreeMap.of(Comparator.<Integer>reverseOrder()));
+    }
+
+    public void testStructuralEquals()
+    {
+        verifyEquals(JImmutableTreeMap.of());
+        verifyEquals(JImmutableTreeMap.of(Comparator.<Integer>reverseOrder()));
+        assertEquals(JImmutableTreeMap.<Integer, Integer>of().assign(1, 2).assign(3, 4), JImmutableTreeMap.<Integer, Integer>of(Comparator.reverseOrder()).assign(3, 4).assign(1, 2));
+    }
+
+    public void testStatistics()
+    {
+        assertEquals(0, JImmutableTreeMap.<Integer, Integer>of().getStatistics().getNodeCount());
+
+        JImmutableTreeMap<Integer, Integer> map = JImmutableTreeMap.of();
+        for (int i = 0; i < 1000; ++i) {
+            map = map.assign(i, i);
+        }
+        final StructureStatistics stats = map.getStatistics();
+        assertEquals(Collections.singletonMap("ValueNode", 1000), stats.getNodeCounts());
+        assertEquals(1000, stats.getDepthCounts().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(Integer.valueOf(1), stats.getDepthCounts().get(0));
+        assertEquals(true, stats.getMaxDepth() <= 2 * 10);
+        assertEquals(999.0 / stats.getBranchCount(), stats.getAverageFanOut(), 0.0001);
+        assertEquals(1000 * StructureStatistics.objectBytes(4, 2), stats.getEstimatedBytes());
+        assertEquals(true, stats.getCollisionChainCounts().isEmpty());
+        assertEquals(stats.getNodeCounts(), ((JImmutableTreeSet<Integer>)JImmutableTreeSet.<Integer>of().insertAll(map.keys().iterator())).getStatistics().getNodeCounts());
+    }
+
+    public void testParallelReduce()
+    {
+        final Random random = new Random(900L);
+        verifyParallelReduce(JImmutableTreeMap.of());
+        for (int size : asList(1, 100, 5000, 50000)) {
+            JImmutableMap<Integer, Integer> map = JImmutableTreeMap.of();
+            for (int i = 0; i < size; ++i) {
+                map = map.assign(random.nextInt(), i);
+            }
+            verifyParallelReduce(map);
+        }
+    }
+
+    private static void verifyMerged(@Nonnull TreeMap<Integer, Integer> expected,
+                                     @Nonnull JImmutableMap<Integer, Integer> actual)
+    {
+        actual.checkInvariants();
+        assertEquals(expected, actual.getMap());
+        assertEquals(new ArrayList<>(expected.keySet()), actual.keys().stream().collect(Collectors.toList()));
+    }
+
+    public void testSeekAndDescendingEntries()
+    {
+        final Random random = new Random(1901L);
+        for (int loop = 0; loop < 30; ++loop) {
+            final int range = (loop < 20) ? 200 : 20000;
+            final TreeMap<Integer, Integer> expected = new TreeMap<>();
+            JImmutableTreeMap<Integer, Integer> map = JImmutableTreeMap.of();
+            for (int i = random.nextInt(range); i > 0; --i) {
+                final Integer key = random.nextInt(range);
+                expected.put(key, i);
+                map = map.assign(key, i);
+            }
+            StandardIteratorTests.verifyOrderedIterable(immutableEntries(expected.descendingMap()), map.descendingEntries());
+            for (int i = 0; i < 25; ++i) {
+                final Integer key = random.nextInt(range + 20) - 10;
+                StandardIteratorTests.verifyOrderedIterable(immutableEntries(expected.tailMap(key, true)), map.tailEntries(key));
+                StandardIteratorTests.verifyOrderedIterable(immutableEntries(expected.headMap(key, false).descendingMap()), map.descendingEntries(key));
+                assertEquals(immutableEntries(expected.headMap(key, false).descendingMap()), map.descendingEntries(key).parallelStream().collect(Collectors.toList()));
+                assertEquals(immutableEntries(expected.headMap(key, false).descendingMap()).stream().limit(5).collect(Collectors.toList()),
+                             map.descendingEntries(key).stream().limit(5).collect(Collectors.toList()));
+            }
+        }
+        StandardIteratorTests.emptyIteratorTest(JImmutableTreeMap.<Integer, Integer>of().descendingEntries().iterator());
+        StandardIteratorTests.emptyIteratorTest(JImmutableTreeMap.<Integer, Integer>of().assign(1, 1).descendingEntries(1).iterator());
+    }
+
+    public void testRangeDeletion()
+    {
+        final Random random = new Random(2001L);
+        for (int loop = 0; loop < 30; ++loop) {
+            final int range = (loop < 20) ? 200 : 20000;
+            final TreeMap<Integer, Integer> expected = new TreeMap<>();
+            JImmutableTreeMap<Integer, Integer> map = JImmutableTreeMap.of();
+            for (int i = random.nextInt(range); i > 0; --i) {
+                final Integer key = random.nextInt(range);
+                expected.put(key, i);
+                map = map.assign(key, i);
+            }
+            for (int i = 0; i < 50; ++i) {
+                final Integer fromKey = random.nextInt(range + 20) - 10;
+                final Integer toKey = fromKey + random.nextInt(range / 2);
+
+                final TreeMap<Integer, Integer> retained = new TreeMap<>(expected.subMap(fromKey, toKey));
+                verifyMerged(retained, map.retainRange(fromKey, toKey));
+
+                final TreeMap<Integer, Integer> deleted = new TreeMap<>(expected);
+                deleted.keySet().removeAll(retained.keySet());
+                verifyMerged(deleted, map.deleteRange(fromKey, toKey));
+            }
+        }
+
+        final JImmutableTreeMap<Integer, Integer> map = JImmutableTreeMap.<Integer, Integer>of().assign(10, 10).assign(20, 20).assign(30, 30);
+        assertSame(map, map.deleteRange(11, 20));
+        assertSame(map, map.deleteRange(20, 20));
+        assertSame(map, map.retainRange(10, 31));
+        assertSame(JImmutableTreeMap.of(), map.deleteRange(0, 100));
+        assertSame(JImmutableTreeMap.of(), map.retainRange(11, 20));
+        assertEquals(asList(10, 30), map.deleteRange(20, 30).keys().stream().collect(Collectors.toList()));
+        try {
+            map.deleteRange(20, 10);
+            fail();
+        } catch (IllegalArgumentException ignored) {
+            // expected
+        }
+    }
+
+    public void testPositionalAccess()
+    {
+        final Random random = new Random(1801L);
+        for (int loop = 0; loop < 40; ++loop) {
+            final int range = (loop < 30) ? 200 : 20000;
+            final TreeMap<Integer, Integer> expected = new TreeMap<>();
+            JImmutableTreeMap<Integer, Integer> map = JImmutableTreeMap.of();
+            for (int i = random.nextInt(range); i > 0; --i) {
+                final Integer key = random.nextInt(range);
+                expected.put(key, i);
+                map = map.assign(key, i);
+            }
+            final List<Map.Entry<Integer, Integer>> entries = new ArrayList<>(expected.entrySet());
+            for (int i = 0; i < entries.size(); ++i) {
+                assertEquals(entries.get(i), map.getEntryAt(i));
+                assertEquals(i, map.indexOf(entries.get(i).getKey()));
+            }
+            for (int i = 0; i < 100; ++i) {
+                final Integer key = random.nextInt(range + 20) - 10;
+                assertEquals(expected.containsKey(key) ? expected.headMap(key).size() : -1, map.indexOf(key));
+
+                final int fromIndex = random.nextInt(entries.size() + 1);
+                final int toIndex = fromIndex + random.nextInt(entries.size() - fromIndex + 1);
+                final TreeMap<Integer, Integer> slice = new TreeMap<>();
+                for (Map.Entry<Integer, Integer> entry : entries.subList(fromIndex, toIndex)) {
+                    slice.put(entry.getKey(), entry.getValue());
+                }
+                verifyMerged(slice, map.slice(fromIndex, toIndex));
+            }
+            assertSame(map, map.slice(0, map.size()));
+        }
+
+        final JImmutableTreeMap<Integer, Integer> map = JImmutableTreeMap.<Integer, Integer>of().assign(10, 10).assign(20, 20);
+        for (int index : asList(-1, 2)) {
+            try {
+                map.getEntryAt(index);
+                fail();
+            } catch (IndexOutOfBoundsException ignored) {
+                // expected
+            }
+        }
+        for (int[] indexes : asList(new int[]{-1, 1}, new int[]{0, 3}, new int[]{2, 1})) {
+            try {
+                map.slice(indexes[0], indexes[1]);
+                fail();
+            } catch (IndexOutOfBoundsException ignored) {
+                // expected
+            }
+        }
+    }
+
+    @Nonnull
+    private static List<JImmutableMap.Entry<Integer, Integer>> immutableEntries(@Nonnull Map<Integer, Integer> map)
+    {
+        return map.entrySet().stream().map(e -> MapEntry.of(e.getKey(), e.getValue())).collect(Collectors.toList());
+    }
+
+    private static void verifyEntry(Map.Entry<Integer, Integer> expected,
+                                    @Nonnull Holder<JImmutableMap.Entry<Integer, Integer>> actual)
+    {
+        if (expected == null) {
+            assertEquals(true, actual.isEmpty());
+        } else {
+            assertEquals(expected.getKey(), actual.getValue().getKey());
+            assertEquals(expected.getValue(), actual.getValue().getValue());
+        }
+    }
+
+    @Nonnull
+    private static List<Map.Entry<Integer, Integer>> entries(@Nonnull AbstractNode<Integer, Integer> node)
+    {
+        final List<Map.Entry<Integer, Integer>> answer = new ArrayList<>();
+        node.forEach((k, v) -> answer.add(new AbstractMap.SimpleImmutableEntry<>(k, v)));
+        return answer;
+    }
+
     private JImmutableTreeMap<Integer, Integer> add(JImmutableMap<Integer, Integer> map,
                                                     Integer value)
     {
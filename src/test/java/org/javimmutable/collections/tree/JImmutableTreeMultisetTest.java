@@ -242,6 +242,37 @@ public class JImmutableTreeMultisetTest
         StandardJImmutableMultisetTests.verifyIterators(jmet, expected);
     }
 
+    public void testPositionalAccess()
+    {
+        Multiset<Integer> expected = TreeMultiset.create();
+        JImmutableTreeMultiset<Integer> jmet = JImmutableTreeMultiset.of();
+        Random random = new Random(1803L);
+        for (int i = 0; i < 10000; ++i) {
+            int value = random.nextInt(2000);
+            expected.add(value);
+            jmet = (JImmutableTreeMultiset<Integer>)jmet.insert(value);
+        }
+        List<Integer> values = new ArrayList<>(expected.elementSet());
+        for (int i = 0; i < values.size(); ++i) {
+            assertEquals(values.get(i), jmet.getValueAt(i));
+            assertEquals(i, jmet.indexOf(values.get(i)));
+        }
+        assertEquals(-1, jmet.indexOf(5000));
+        for (int i = 0; i < 100; ++i) {
+            int fromIndex = random.nextInt(values.size() + 1);
+            int toIndex = fromIndex + random.nextInt(values.size() - fromIndex + 1);
+            Multiset<Integer> slice = TreeMultiset.create();
+            for (Integer value : values.subList(fromIndex, toIndex)) {
+                slice.add(value, expected.count(value));
+            }
+            JImmutableTreeMultiset<Integer> actual = jmet.slice(fromIndex, toIndex);
+            actual.checkInvariants();
+            assertEquals(slice.size(), actual.occurrenceCount());
+            assertEquals(new ArrayList<>(slice), asList(actual));
+        }
+        assertSame(jmet, jmet.slice(0, jmet.size()));
+    }
+
     public void testDeleteAll()
     {
         JImmutableTreeMultiset<Integer> jmet = JImmutableTreeMultiset.of();
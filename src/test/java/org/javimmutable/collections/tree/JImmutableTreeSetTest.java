@@ -45,7 +45,10 @@ import org.javimmutable.collections.common.StandardIterableStreamableTests;
 import org.javimmutable.collections.common.StandardJImmutableSetTests;
 import org.javimmutable.collections.common.StandardSerializableTests;
 import org.javimmutable.collections.common.TestUtil;
+import org.javimmutable.collections.hash.JImmutableHashSet;
+import org.javimmutable.collections.inorder.JImmutableInsertOrderSet;
 import org.javimmutable.collections.iterators.StandardIteratorTests;
+import org.javimmutable.collections.list.JImmutableTreeList;
 
 import javax.annotation.Nonnull;
 import java.util.ArrayList;
@@ -58,6 +61,7 @@ import java.util.List;
 import java.util.Random;
 import java.util.Set;
 import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
@@ -216,6 +220,78 @@ public class JImmutableTreeSetTest
         }
     }
 
+    public void testHashCode()
+    {
+        assertEquals(0, JImmutableTreeSet.of().hashCode());
+        JImmutableSet<Integer> set = JImmutableTreeSet.of();
+        for (int i = 0; i < 1000; ++i) {
+            set = set.insert(i * 7);
+        }
+        final JImmutableSet<Integer> other = JImmutableHashSet.<Integer>of().insertAll(set);
+        assertEquals(set, other);
+        assertEquals(set.hashCode(), other.hashCode());
+        assertEquals(new HashSet<>(set.getSet()).hashCode(), set.hashCode());
+        assertEquals(set.hashCode(), JImmutableInsertOrderSet.<Integer>of().insertAll(set.getSet().stream().sorted(Comparator.reverseOrder()).iterator()).hashCode());
+        assertEquals(set.hashCode(), set.insert(-1).delete(-1).hashCode());
+    }
+
+    public void testParallelReduce()
+    {
+        final JImmutableSet<Integer> set = JImmutableTreeSet.<Integer>of().insertAll(IntStream.range(-10000, 10000).boxed().iterator());
+        final List<Integer> expected = set.stream().collect(Collectors.toList());
+        final List<Integer> values = set.parallelReduce(JImmutableTreeList.<Integer>of(), (list, v) -> list.insertLast(v), (a, b) -> a.insertAllLast(b)).getList();
+        assertEquals(expected, values);
+        assertEquals(Long.valueOf(-10000L), set.parallelReduce(0L, (s, v) -> s + v, (a, b) -> a + b));
+
+        final Set<Integer> visited = ConcurrentHashMap.newKeySet();
+        set.parallelForEach(v -> assertTrue(visited.add(v)));
+        assertEquals(set.getSet(), visited);
+        assertEquals(Long.valueOf(0L), JImmutableTreeSet.<Integer>of().parallelReduce(0L, (s, v) -> s + v, (a, b) -> a + b));
+    }
+
+    public void testSetAlgebra()
+    {
+        final Random random = new Random(1602L);
+        for (int loop = 0; loop < 60; ++loop) {
+            final int range = (loop < 50) ? 400 : 100000;
+            final int size = (loop < 50) ? 300 : 30000;
+            final Set<Integer> expected1 = new TreeSet<>();
+            final Set<Integer> expected2 = new TreeSet<>();
+            JImmutableSet<Integer> set1 = JImmutableTreeSet.of();
+            JImmutableSet<Integer> set2 = JImmutableTreeSet.of();
+            for (int i = random.nextInt(size); i > 0; --i) {
+                final Integer value = random.nextInt(range);
+                expected1.add(value);
+                set1 = set1.insert(value);
+            }
+            for (int i = random.nextInt(size); i > 0; --i) {
+                final Integer value = random.nextInt(range);
+                expected2.add(value);
+                set2 = set2.insert(value);
+            }
+
+            final Set<Integer> union = new TreeSet<>(expected1);
+            union.addAll(expected2);
+            verifyAlgebra(union, set1.union(set2));
+            verifyAlgebra(union, set2.insertAll(set1));
+
+            final Set<Integer> intersection = new TreeSet<>(expected1);
+            intersection.retainAll(expected2);
+            verifyAlgebra(intersection, set1.intersection(set2));
+            verifyAlgebra(intersection, set1.intersection((Iterable<Integer>)set2));
+
+            final Set<Integer> difference = new TreeSet<>(expected1);
+            difference.removeAll(expected2);
+            verifyAlgebra(difference, set1.deleteAll(set2));
+        }
+
+        final JImmutableSet<Integer> set = JImmutableTreeSet.<Integer>of().insertAll(asList(1, 2, 3));
+        assertSame(set, set.union(JImmutableTreeSet.<Integer>of().insert(2)));
+        assertSame(set, set.intersection(set.insert(4)));
+        assertSame(set, set.deleteAll(JImmutableTreeSet.<Integer>of().insert(4)));
+        assertEquals(true, set.deleteAll(set).isEmpty());
+    }
+
     public void testSortOrder()
     {
         final Comparator<Integer> reverser = (a, b) -> -a.compareTo(b);
@@ -233,6 +309,68 @@ public class JImmutableTreeSetTest
         StandardIteratorTests.listIteratorTest(new ArrayList<>(expected), set.iterator());
     }
 
+    public void testRangeDeletion()
+    {
+        final TreeSet<Integer> expected = new TreeSet<>();
+        JImmutableTreeSet<Integer> set = JImmutableTreeSet.of();
+        final Random random = new Random(2002L);
+        for (int i = 0; i < 5000; ++i) {
+            final int value = random.nextInt(10000);
+            expected.add(value);
+            set = (JImmutableTreeSet<Integer>)set.insert(value);
+        }
+        for (int i = 0; i < 100; ++i) {
+            final int fromValue = random.nextInt(10000);
+            final int toValue = fromValue + random.nextInt(2000);
+            final JImmutableSet<Integer> retained = set.retainRange(fromValue, toValue);
+            retained.checkInvariants();
+            assertEquals(expected.subSet(fromValue, toValue), retained.getSet());
+
+            final Set<Integer> deleted = new TreeSet<>(expected);
+            deleted.removeAll(expected.subSet(fromValue, toValue));
+            final JImmutableSet<Integer> actual = set.deleteRange(fromValue, toValue);
+            actual.checkInvariants();
+            assertEquals(deleted, actual.getSet());
+            assertEquals(new ArrayList<>(deleted), new ArrayList<>(actual.getSet()));
+        }
+        assertSame(set, set.deleteRange(10000, 20000));
+        assertEquals(true, set.retainRange(10000, 20000).isEmpty());
+    }
+
+    public void testPositionalAccess()
+    {
+        final Comparator<Integer> reverser = (a, b) -> -a.compareTo(b);
+        final TreeSet<Integer> expected = new TreeSet<>(reverser);
+        JImmutableTreeSet<Integer> set = JImmutableTreeSet.of(reverser);
+        final Random random = new Random(1802L);
+        for (int i = 0; i < 5000; ++i) {
+            final int value = random.nextInt(10000);
+            expected.add(value);
+            set = (JImmutableTreeSet<Integer>)set.insert(value);
+        }
+        final List<Integer> values = new ArrayList<>(expected);
+        for (int i = 0; i < values.size(); ++i) {
+            assertEquals(values.get(i), set.getValueAt(i));
+            assertEquals(i, set.indexOf(values.get(i)));
+        }
+        assertEquals(-1, set.indexOf(-1));
+        for (int i = 0; i < 100; ++i) {
+            final int fromIndex = random.nextInt(values.size() + 1);
+            final int toIndex = fromIndex + random.nextInt(values.size() - fromIndex + 1);
+            final JImmutableSet<Integer> slice = set.slice(fromIndex, toIndex);
+            slice.checkInvariants();
+            assertEquals(values.subList(fromIndex, toIndex), new ArrayList<>(slice.getSet()));
+        }
+        assertSame(set, set.slice(0, set.size()));
+        assertSame(reverser, ((JImmutableTreeSet<Integer>)set.slice(1, 1)).getComparator());
+        try {
+            set.getValueAt(set.size());
+            fail();
+        } catch (IndexOutOfBoundsException ignored) {
+            // expected
+        }
+    }
+
     public void testDeleteAll()
     {
         JImmutableTreeSet<Integer> map = JImmutableTreeSet.of();
@@ -353,4 +491,11 @@ public class JImmutableTreeSetTest
     {
         return new SetBuilderTestAdapter<>(JImmutableTreeSet.builder(ComparableComparator.<Integer>of()));
     }
+
+    private static void verifyAlgebra(@Nonnull Set<Integer> expected,
+                                      @Nonnull JImmutableSet<Integer> actual)
+    {
+        actual.checkInvariants();
+        assertEquals(new ArrayList<>(expected), actual.stream().collect(Collectors.toList()));
+    }
 }
@@ -232,6 +232,36 @@ public class JImmutablesTest
         verifyUnordered(isMap, entries, () -> JImmutables.<String, String>mapBuilder().add(entries).build());
     }
 
+    public void testChampMap()
+    {
+        Map<Integer, Integer> input = new HashMap<>();
+        input.put(1, 3);
+        input.put(-2, 4);
+        input.put(300000, 5);
+
+        JImmutableMap<Integer, Integer> map = JImmutables.<Integer, Integer>champMap().assignAll(input);
+        assertEquals(input, map.getMap());
+        assertEquals(map, JImmutables.<Integer, Integer>champMapBuilder().add(input).build());
+        assertEquals(JImmutables.map(input), map);
+    }
+
+    public void testPrimitiveKeyMaps()
+    {
+        Map<Integer, Integer> input = new HashMap<>();
+        input.put(1, 3);
+        input.put(-2, 4);
+        input.put(300000, 5);
+
+        JImmutableMap<Integer, Integer> intMap = JImmutables.<Integer>intMap().assignAll(input);
+        assertEquals(input, intMap.getMap());
+        assertEquals(intMap, JImmutables.<Integer>intMapBuilder().add(input).build());
+        assertEquals(JImmutables.map(input), intMap);
+
+        JImmutableMap<Long, String> longMap = JImmutables.<String>longMap().assign(1L << 40, "a").assign(-1L, "b");
+        assertEquals("a", longMap.get(1L << 40));
+        assertEquals(longMap, JImmutables.<String>longMapBuilder().add(1L << 40, "a").add(-1L, "b").build());
+    }
+
     public void testSortedMap()
     {
         Map<Integer, Integer> input = new HashMap<>();